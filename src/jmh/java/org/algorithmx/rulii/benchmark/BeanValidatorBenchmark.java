@@ -0,0 +1,136 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark;
+
+import org.algorithmx.rulii.annotation.Validate;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.rules.min.Min;
+import org.algorithmx.rulii.validation.rules.notnull.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BeanValidator on a nested graph (Order -&gt; Customer/Address, LineItems) of varying size.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanValidatorBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private RuleContext context;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        this.context = RuleContextBuilder.with(Bindings.create()).ruleRegistry(RuleRegistry.create()).build();
+        this.order = new Order(new Customer("customer", new Address("street", null)));
+
+        for (int i = 0; i < items; i++) {
+            order.items.add(new LineItem(i % 3 == 0 ? null : "sku-" + i, i % 5));
+        }
+    }
+
+    @Benchmark
+    public RuleViolations validate() {
+        return new BeanValidator().validate(context, order, new BeanHolder(order, Order.class));
+    }
+
+    public static class Order {
+
+        @NotNull @Validate
+        private final Customer customer;
+        @Validate
+        private final List<@Validate LineItem> items = new ArrayList<>();
+
+        public Order(Customer customer) {
+            super();
+            this.customer = customer;
+        }
+    }
+
+    public static class Customer {
+
+        @NotNull
+        private final String name;
+        @NotNull @Validate
+        private final Address address;
+
+        public Customer(String name, Address address) {
+            super();
+            this.name = name;
+            this.address = address;
+        }
+    }
+
+    public static class Address {
+
+        @NotNull
+        private final String street;
+        @NotNull
+        private final String city;
+
+        public Address(String street, String city) {
+            super();
+            this.street = street;
+            this.city = city;
+        }
+    }
+
+    public static class LineItem {
+
+        @NotNull
+        private final String sku;
+        @Min(1)
+        private final Integer quantity;
+
+        public LineItem(String sku, Integer quantity) {
+            super();
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark;
+
+import org.algorithmx.rulii.bind.ScopedBindings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DefaultScopedBindings lookups at varying scope depths. The looked up value lives in the root scope so each lookup
+ * walks through all the scopes.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingsBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int depth;
+
+    private ScopedBindings bindings;
+    private String currentName;
+
+    @Setup
+    public void setup() {
+        this.bindings = ScopedBindings.create();
+        bindings.bind("rootValue", Integer.class, 1);
+
+        for (int i = 0; i < depth; i++) {
+            bindings.addScope("scope-" + i);
+            bindings.bind("value" + i, String.class, "value" + i);
+        }
+
+        this.currentName = "value" + (depth - 1);
+    }
+
+    @Benchmark
+    public Object rootLookup() {
+        return bindings.getValue("rootValue");
+    }
+
+    @Benchmark
+    public Object currentScopeLookup() {
+        return bindings.getBinding(currentName);
+    }
+
+    @Benchmark
+    public Object missingLookup() {
+        return bindings.getBinding("missing");
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark;
+
+import org.algorithmx.rulii.convert.ConverterRegistry;
+import org.algorithmx.rulii.util.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DefaultConverterRegistry.find for exact, widening and missing source/target combinations.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterRegistryBenchmark {
+
+    private static final Type LIST_OF_STRINGS = new TypeReference<List<String>>() {}.getType();
+
+    private final ConverterRegistry registry = ConverterRegistry.create();
+
+    @Benchmark
+    public Object stringToInteger() {
+        return registry.find(String.class, Integer.class);
+    }
+
+    @Benchmark
+    public Object stringToBigDecimal() {
+        return registry.find(String.class, BigDecimal.class);
+    }
+
+    @Benchmark
+    public Object missing() {
+        return registry.find(LIST_OF_STRINGS, BigDecimal.class);
+    }
+}
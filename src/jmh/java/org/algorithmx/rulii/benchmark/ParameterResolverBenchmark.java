@@ -0,0 +1,97 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.bind.match.DefaultParameterResolver;
+import org.algorithmx.rulii.bind.match.ParameterMatch;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.model.MethodDefinition;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DefaultParameterResolver match/resolve for a method with a mix of value, Binding and converted parameters.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterResolverBenchmark {
+
+    private final DefaultParameterResolver resolver = new DefaultParameterResolver();
+
+    private RuleContext context;
+    private MethodDefinition definition;
+    private ParameterMatch[] matches;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        this.context = RuleContextBuilder.with(Bindings.create()
+                    .bind("id", Integer.class, 5)
+                    .bind("name", String.class, "benchmark")
+                    .bind("amount", String.class, "100.25")
+                    .bind("count", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .build();
+        this.definition = MethodDefinition.load(ParameterResolverBenchmark.class.getMethod("target",
+                Integer.class, String.class, BigDecimal.class, Binding.class));
+        this.matches = match();
+    }
+
+    @Benchmark
+    public ParameterMatch[] match() {
+        return resolver.match(definition, context.getBindings(), context.getMatchingStrategy(),
+                context.getObjectFactory());
+    }
+
+    @Benchmark
+    public Object[] resolve() {
+        return resolver.resolve(matches, definition, context.getBindings(), context.getMatchingStrategy(),
+                context.getConverterRegistry());
+    }
+
+    @Benchmark
+    public Object[] matchAndResolve() {
+        return context.resolve(context.match(definition), definition);
+    }
+
+    public static boolean target(Integer id, String name, BigDecimal amount, Binding<Integer> count) {
+        return id != null && name != null && amount != null && count != null;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark;
+
+import org.algorithmx.rulii.annotation.Given;
+import org.algorithmx.rulii.annotation.Rule;
+import org.algorithmx.rulii.annotation.Then;
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.rule.RuleResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RulingClass.run for class based and lambda based Rules.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleBenchmark {
+
+    private RuleContext context;
+    private org.algorithmx.rulii.core.rule.Rule<?> lambdaRule;
+    private org.algorithmx.rulii.core.rule.Rule<?> classRule;
+
+    @Setup
+    public void setup() {
+        this.context = RuleContextBuilder.with(Bindings.create()
+                    .bind("value", Integer.class, 5)
+                    .bind("count", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .build();
+        this.lambdaRule = RuleBuilder
+                .name("LambdaRule")
+                .given(ConditionBuilder.build((Integer value) -> value != null && value < 10))
+                .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                .build();
+        this.classRule = RuleBuilder.build(BenchmarkRule.class);
+    }
+
+    @Benchmark
+    public RuleResult lambdaRule() {
+        return lambdaRule.run(context);
+    }
+
+    @Benchmark
+    public RuleResult classRule() {
+        return classRule.run(context);
+    }
+
+    @Rule(name = "BenchmarkRule")
+    public static class BenchmarkRule {
+
+        public BenchmarkRule() {
+            super();
+        }
+
+        @Given
+        public boolean when(Integer value) {
+            return value != null && value < 10;
+        }
+
+        @Then
+        public void then(Binding<Integer> count) {
+            count.setValue(count.getValue() + 1);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSetResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RulingFamily with a varying number of Rules (half of them pass).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleSetBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private RuleContext context;
+    private RuleSet rules;
+
+    @Setup
+    public void setup() {
+        this.context = RuleContextBuilder.with(Bindings.create()
+                    .bind("value", Integer.class, 1)
+                    .bind("count", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .build();
+
+        RuleSetBuilder builder = RuleSetBuilder.with("BenchmarkRuleSet");
+
+        for (int i = 0; i < size; i++) {
+            // Lambdas must not capture (the captured values shift the parameter names)
+            builder.rule(RuleBuilder
+                    .name("Rule" + i)
+                    .given(i % 2 == 0
+                            ? ConditionBuilder.build((Integer value) -> value > 0)
+                            : ConditionBuilder.build((Integer value) -> value < 0))
+                    .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                    .build());
+        }
+
+        this.rules = builder.build();
+    }
+
+    @Benchmark
+    public RuleSetResult run() {
+        return rules.run(context);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark;
+
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.condition.Condition;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.script.ScriptLanguageManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Script based Condition vs the equivalent lambda based Condition. Requires a JavaScript engine on the classpath
+ * (Nashorn ships with the JDK up to 14; add org.openjdk.nashorn:nashorn-core on later JDKs).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScriptConditionBenchmark {
+
+    private RuleContext context;
+    private Condition scriptCondition;
+    private Condition lambdaCondition;
+
+    @Setup
+    public void setup() {
+        if (!ScriptLanguageManager.getAvailableScriptingLanguages().contains(ScriptLanguageManager.JAVASCRIPT)) {
+            throw new IllegalStateException("No JavaScript engine available. Add a JavaScript engine (ex: nashorn-core) "
+                    + "to the classpath.");
+        }
+
+        this.context = RuleContextBuilder.with(Bindings.create()
+                    .bind("a", String.class, "xxx")
+                    .bind("b", Integer.class, 15))
+                .ruleRegistry(RuleRegistry.create())
+                .build();
+        this.scriptCondition = ConditionBuilder.build("b >= 15 && a == 'xxx'");
+        this.lambdaCondition = ConditionBuilder.build((Integer b, String a) -> b >= 15 && "xxx".equals(a));
+    }
+
+    @Benchmark
+    public boolean script() {
+        return scriptCondition.isTrue(context);
+    }
+
+    @Benchmark
+    public boolean lambda() {
+        return lambdaCondition.isTrue(context);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark;
+
+import org.algorithmx.rulii.lib.apache.validation.EmailScanner;
+import org.algorithmx.rulii.lib.apache.validation.EmailValidator;
+import org.algorithmx.rulii.lib.apache.validation.UrlScanner;
+import org.algorithmx.rulii.lib.apache.validation.UrlValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regex based (Apache) Email/Url validators vs the single pass scanners.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final String[] EMAILS = {
+            "john.doe@example.com", "jane@sub.example.co.uk", "invalid@@example.com", "no-at-sign.example.com",
+            "first.last@localhost", "x@example.invalidtld"};
+    private static final String[] URLS = {
+            "http://www.example.com/path/to/page?q=1#top", "https://example.org:8443/a/b", "ftp://files.example.com",
+            "http://invalid..example.com", "mailto:someone@example.com", "http://example.com:99999/"};
+
+    private final EmailValidator emailValidator = EmailValidator.getInstance();
+    private final EmailScanner emailScanner = EmailScanner.getInstance();
+    private final UrlValidator urlValidator = new UrlValidator();
+    private final UrlScanner urlScanner = new UrlScanner();
+
+    @Benchmark
+    public void emailValidator(Blackhole blackhole) {
+        for (String email : EMAILS) blackhole.consume(emailValidator.isValid(email));
+    }
+
+    @Benchmark
+    public void emailScanner(Blackhole blackhole) {
+        for (String email : EMAILS) blackhole.consume(emailScanner.isValid(email));
+    }
+
+    @Benchmark
+    public void urlValidator(Blackhole blackhole) {
+        for (String url : URLS) blackhole.consume(urlValidator.isValid(url));
+    }
+
+    @Benchmark
+    public void urlScanner(Blackhole blackhole) {
+        for (String url : URLS) blackhole.consume(urlScanner.isValid(url));
+    }
+}
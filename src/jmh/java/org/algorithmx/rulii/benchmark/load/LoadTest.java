@@ -0,0 +1,250 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark.load;
+
+import org.algorithmx.rulii.metrics.HistogramSnapshot;
+import org.algorithmx.rulii.metrics.LatencyHistogram;
+import org.algorithmx.rulii.metrics.RuleMetricsListener;
+import org.algorithmx.rulii.metrics.RuleMetricsRegistry;
+import org.algorithmx.rulii.trace.TraceRecorder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multi-threaded (macro) load test. Runs each Workload against shared registries at increasing thread counts and
+ * reports the throughput scaling curve along with latency percentiles, which shows where threads start contending.
+ *
+ * Usage : LoadTest [--threads=1,2,4,8] [--warmup=2] [--duration=5] [--workloads=ruleset,ruleset-traced,validation]
+ *                  [--csv=target/load-test.csv]
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class LoadTest {
+
+    private final int[] threadCounts;
+    private final long warmupMillis;
+    private final long durationMillis;
+
+    public LoadTest(int[] threadCounts, long warmupMillis, long durationMillis) {
+        super();
+        this.threadCounts = threadCounts;
+        this.warmupMillis = warmupMillis;
+        this.durationMillis = durationMillis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Map<String, Workload> workloads = createWorkloads();
+
+        LoadTest test = new LoadTest(parseThreads(options.get("threads")),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("warmup", "2"))),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("duration", "5"))));
+
+        List<LoadTestResult> results = new ArrayList<>();
+        String selected = options.getOrDefault("workloads", String.join(",", workloads.keySet()));
+
+        for (String name : selected.split(",")) {
+            Workload workload = workloads.get(name.trim());
+            if (workload == null) throw new IllegalArgumentException("Unknown workload [" + name + "] available "
+                    + workloads.keySet());
+
+            System.out.println();
+            System.out.println("Workload : " + workload.getName() + " (" + workload.getDescription() + ")");
+            System.out.println(LoadTestResult.getHeader());
+            results.addAll(test.run(workload, result -> System.out.println(result)));
+        }
+
+        if (options.containsKey("csv")) writeCsv(options.get("csv"), results);
+    }
+
+    /**
+     * Runs the Workload at each of the thread counts.
+     *
+     * @param workload workload to run.
+     * @param reporter called with each result as it becomes available.
+     * @return results (one per thread count).
+     * @throws InterruptedException if interrupted.
+     */
+    public List<LoadTestResult> run(Workload workload, java.util.function.Consumer<LoadTestResult> reporter)
+            throws InterruptedException {
+        List<LoadTestResult> result = new ArrayList<>(threadCounts.length);
+        double baseline = 0.0d;
+
+        // Discarded run so the first step (the scaling baseline) is not penalized by the JIT warm up
+        runStep(workload, threadCounts[0]);
+
+        for (int threads : threadCounts) {
+            Step step = runStep(workload, threads);
+            double throughput = step.latency.getCount() / (step.elapsedNanos / 1_000_000_000.0d);
+            if (baseline == 0.0d) baseline = throughput / threads;
+
+            LoadTestResult stepResult = new LoadTestResult(workload.getName(), threads, throughput,
+                    baseline == 0.0d ? 0.0d : throughput / baseline,
+                    step.latency.getValueAtPercentile(50), step.latency.getValueAtPercentile(90),
+                    step.latency.getValueAtPercentile(99), step.latency.getValueAtPercentile(99.9),
+                    step.latency.getMax(), step.errors);
+            result.add(stepResult);
+            reporter.accept(stepResult);
+        }
+
+        return result;
+    }
+
+    private Step runStep(Workload workload, int threads) throws InterruptedException {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Worker[] workers = new Worker[threads];
+
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(workload.createOperation(), latency, errors, ready, start);
+            workers[i].setName("load-" + workload.getName() + "-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+
+        ready.await();
+        start.countDown();
+        Thread.sleep(warmupMillis);
+
+        for (Worker worker : workers) worker.recording = true;
+        long begin = System.nanoTime();
+        Thread.sleep(durationMillis);
+        for (Worker worker : workers) worker.recording = false;
+        long elapsed = System.nanoTime() - begin;
+
+        for (Worker worker : workers) worker.running = false;
+        for (Worker worker : workers) worker.join();
+
+        return new Step(latency.snapshot(), elapsed, errors.sum());
+    }
+
+    private static Map<String, Workload> createWorkloads() {
+        Map<String, Workload> result = new LinkedHashMap<>();
+        result.put("ruleset", new RuleSetWorkload("ruleset", 20));
+        result.put("ruleset-traced", new RuleSetWorkload("ruleset-traced", 20, new TraceRecorder(),
+                new RuleMetricsListener(RuleMetricsRegistry.create())));
+        result.put("validation", new ValidationWorkload(50));
+        return result;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> result = new LinkedHashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) throw new IllegalArgumentException("Invalid argument ["
+                    + arg + "] expected --name=value");
+            int index = arg.indexOf('=');
+            result.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+
+        return result;
+    }
+
+    private static int[] parseThreads(String value) {
+        if (value != null) return java.util.Arrays.stream(value.split(",")).mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+
+        // Powers of 2 up to the number of cpus (and the number of cpus itself)
+        int cpus = Runtime.getRuntime().availableProcessors();
+        List<Integer> result = new ArrayList<>();
+        for (int i = 1; i < cpus; i <<= 1) result.add(i);
+        result.add(cpus);
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void writeCsv(String file, List<LoadTestResult> results) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8))) {
+            out.println(LoadTestResult.getCsvHeader());
+            results.forEach(r -> out.println(r.toCsv()));
+        }
+    }
+
+    private static final class Step {
+
+        private final HistogramSnapshot latency;
+        private final long elapsedNanos;
+        private final long errors;
+
+        private Step(HistogramSnapshot latency, long elapsedNanos, long errors) {
+            super();
+            this.latency = latency;
+            this.elapsedNanos = elapsedNanos;
+            this.errors = errors;
+        }
+    }
+
+    private static final class Worker extends Thread {
+
+        private final Workload.Operation operation;
+        private final LatencyHistogram latency;
+        private final LongAdder errors;
+        private final CountDownLatch ready;
+        private final CountDownLatch start;
+
+        private volatile boolean running = true;
+        private volatile boolean recording = false;
+
+        private Worker(Workload.Operation operation, LatencyHistogram latency, LongAdder errors,
+                       CountDownLatch ready, CountDownLatch start) {
+            super();
+            this.operation = operation;
+            this.latency = latency;
+            this.errors = errors;
+            this.ready = ready;
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            ready.countDown();
+
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            while (running) {
+                long begin = System.nanoTime();
+
+                try {
+                    operation.execute();
+                } catch (RuntimeException e) {
+                    if (recording) errors.increment();
+                }
+
+                if (recording) latency.record(System.nanoTime() - begin);
+            }
+        }
+    }
+}
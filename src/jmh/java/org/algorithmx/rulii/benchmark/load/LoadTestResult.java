@@ -0,0 +1,134 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark.load;
+
+/**
+ * Result of running a Workload with a fixed number of threads.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class LoadTestResult {
+
+    private final String workload;
+    private final int threads;
+    private final double throughput;
+    private final double scaling;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+    private final long max;
+    private final long errors;
+
+    public LoadTestResult(String workload, int threads, double throughput, double scaling, long p50, long p90,
+                          long p99, long p999, long max, long errors) {
+        super();
+        this.workload = workload;
+        this.threads = threads;
+        this.throughput = throughput;
+        this.scaling = scaling;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+        this.errors = errors;
+    }
+
+    public static String getHeader() {
+        return String.format("%8s %14s %9s %11s %11s %11s %11s %11s %11s %8s", "threads", "ops/sec", "scaling",
+                "efficiency", "p50(us)", "p90(us)", "p99(us)", "p99.9(us)", "max(us)", "errors");
+    }
+
+    public static String getCsvHeader() {
+        return "workload,threads,opsPerSec,scaling,efficiency,p50Nanos,p90Nanos,p99Nanos,p999Nanos,maxNanos,errors";
+    }
+
+    public String getWorkload() {
+        return workload;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Operations per second.
+     *
+     * @return throughput.
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Throughput relative to the single thread throughput.
+     *
+     * @return scaling factor.
+     */
+    public double getScaling() {
+        return scaling;
+    }
+
+    /**
+     * Scaling relative to the ideal (linear) scaling.
+     *
+     * @return scaling efficiency (0 - 1).
+     */
+    public double getEfficiency() {
+        return scaling / threads;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public String toCsv() {
+        return String.format("%s,%d,%.1f,%.3f,%.3f,%d,%d,%d,%d,%d,%d", workload, threads, throughput, scaling,
+                getEfficiency(), p50, p90, p99, p999, max, errors);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%8d %14.1f %9.2f %10.0f%% %11.1f %11.1f %11.1f %11.1f %11.1f %8d", threads, throughput,
+                scaling, getEfficiency() * 100, p50 / 1000.0d, p90 / 1000.0d, p99 / 1000.0d, p999 / 1000.0d,
+                max / 1000.0d, errors);
+    }
+}
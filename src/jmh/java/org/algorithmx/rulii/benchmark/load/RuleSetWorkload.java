@@ -0,0 +1,96 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark.load;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.event.ExecutionListener;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a shared RuleSet (registered in a shared RuleRegistry) with a new RuleContext per execution. Optionally
+ * traces each execution with shared listeners (ex: TraceRecorder, RuleMetricsListener).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class RuleSetWorkload implements Workload {
+
+    private final String name;
+    private final RuleRegistry registry = RuleRegistry.create();
+    private final RuleSet rules;
+    private final ExecutionListener[] listeners;
+
+    public RuleSetWorkload(String name, int size, ExecutionListener...listeners) {
+        super();
+        this.name = name;
+        this.listeners = listeners;
+        RuleSetBuilder builder = RuleSetBuilder.with("LoadRuleSet");
+
+        for (int i = 0; i < size; i++) {
+            // Lambdas must not capture (the captured values shift the parameter names)
+            builder.rule(RuleBuilder
+                    .name("Rule" + i)
+                    .given(i % 2 == 0
+                            ? ConditionBuilder.build((Integer value) -> value > 50)
+                            : ConditionBuilder.build((Integer value, String code) -> value < 50 && code != null))
+                    .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                    .build());
+        }
+
+        this.rules = builder.build();
+        registry.register(rules);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return "RuleSet with " + rules.size() + " rules" + (listeners.length > 0
+                ? " traced by " + listeners.length + " shared listener(s)" : "");
+    }
+
+    @Override
+    public Operation createOperation() {
+        return () -> {
+            RuleContextBuilder builder = RuleContextBuilder.with(Bindings.create()
+                        .bind("value", Integer.class, ThreadLocalRandom.current().nextInt(100))
+                        .bind("code", String.class, "code")
+                        .bind("count", Integer.class, 0))
+                    .ruleRegistry(registry);
+
+            for (ExecutionListener listener : listeners) {
+                builder.traceUsing(listener);
+            }
+
+            return ((RuleSet) registry.get("LoadRuleSet")).run(builder.build());
+        };
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.benchmark.load;
+
+import org.algorithmx.rulii.annotation.Validate;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.validation.RuleViolationBuilder;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.actions.rules.Rules;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.rules.min.Min;
+import org.algorithmx.rulii.validation.rules.notnull.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates an Order graph (annotation rules plus a RuleSet looked up from a shared RuleRegistry) with a new
+ * BeanValidator and RuleContext per execution.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class ValidationWorkload implements Workload {
+
+    private final RuleRegistry registry = RuleRegistry.create();
+    private final int items;
+
+    public ValidationWorkload(int items) {
+        super();
+        this.items = items;
+        registry.register(RuleSetBuilder.with("lineItemRules")
+                .rule(RuleBuilder
+                        .name("maxQuantityRule")
+                        .given(ConditionBuilder.build((Integer quantity) -> quantity == null || quantity < 100))
+                        .otherwise(ActionBuilder.build((String sku, Integer quantity, RuleViolations violations) ->
+                                violations.add(RuleViolationBuilder
+                                        .with("MaxQuantityRule")
+                                        .errorCode("error.201")
+                                        .param("sku", sku)
+                                        .param("quantity", quantity)
+                                        .build())))
+                        .build())
+                .build());
+    }
+
+    @Override
+    public String getName() {
+        return "validation";
+    }
+
+    @Override
+    public String getDescription() {
+        return "BeanValidator on an Order with " + items + " line items";
+    }
+
+    @Override
+    public Operation createOperation() {
+        Order order = new Order();
+
+        for (int i = 0; i < items; i++) {
+            order.items.add(new LineItem(i % 3 == 0 ? null : "sku-" + i,
+                    i % 5 == 0 ? 0 : (i % 7 == 0 ? 100 + i : i % 50 + 1)));
+        }
+
+        BeanHolder holder = new BeanHolder(order, Order.class);
+
+        return () -> new BeanValidator().validate(RuleContextBuilder.with(Bindings.create())
+                .ruleRegistry(registry).build(), order, holder);
+    }
+
+    public static class Order {
+
+        @Validate
+        private final List<@Validate @Rules(ruleSet = "lineItemRules") LineItem> items = new ArrayList<>();
+    }
+
+    public static class LineItem {
+
+        @NotNull
+        private final String sku;
+        @Min(1)
+        private final Integer quantity;
+
+        public LineItem(String sku, Integer quantity) {
+            super();
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+    }
+}
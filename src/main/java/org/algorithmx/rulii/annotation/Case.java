@@ -0,0 +1,52 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Registers the Rule against the given discriminator values of a switch RuleSet (see RuleSetBuilder.switchOn). The
+ * Rule is only run if the discriminator binding holds one of the values (or as part of the default branch).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface Case {
+
+	/**
+	 * Discriminator values this Rule is registered against.
+	 *
+	 * @return discriminator values.
+	 */
+	String[] value() default {};
+
+	/**
+	 * Whether this Rule is (also) part of the default branch.
+	 *
+	 * @return true if the Rule runs when no other value matches.
+	 */
+	boolean isDefault() default false;
+}
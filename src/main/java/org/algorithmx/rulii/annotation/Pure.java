@@ -0,0 +1,57 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks a Condition/Function (or all the Conditions of a Rule class) as pure; ie: the result only depends on the
+ * argument values and the method has no side effects. Results of pure methods are cached (keyed by the resolved
+ * argument values) and returned without invoking the method again. Pure methods cannot take a Binding or the
+ * RuleContext as a parameter. Actions are never cached.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Documented
+public @interface Pure {
+
+	/**
+	 * Maximum number of results to cache.
+	 *
+	 * @return max cache size.
+	 */
+	int maxSize() default 1024;
+
+	/**
+	 * How long a result is cached for; zero (default) means results never expire.
+	 *
+	 * @return time to live.
+	 */
+	long expireAfter() default 0;
+
+	TimeUnit unit() default TimeUnit.SECONDS;
+}
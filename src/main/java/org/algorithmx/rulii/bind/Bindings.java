@@ -42,6 +42,14 @@ public interface Bindings extends Iterable<Binding<?>> {
         return new DefaultBindings();
     }
 
+    /**
+     * Creates Bindings that support O(1) snapshots and forks (see PersistentBindings).
+     * @return new persistent Bindings instance.
+     */
+    static PersistentBindings createPersistent() {
+        return new PersistentBindings();
+    }
+
     /**
      * Declares a new Binding given a name, type and an initial value.
      *
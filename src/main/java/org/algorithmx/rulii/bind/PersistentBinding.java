@@ -0,0 +1,90 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.bind;
+
+import java.lang.reflect.Type;
+
+/**
+ * Binding stored in PersistentBindings. The Binding is only edited in place by its current owner; once the Bindings
+ * are forked (or a snapshot is taken) the Binding is shared and any change is made on a copy.
+ *
+ * @param <T> generic type of the Binding.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+class PersistentBinding<T> extends DefaultBinding<T> {
+
+    private final PersistentBindings home;
+    private final Object owner;
+
+    PersistentBinding(PersistentBindings home, Object owner, String name, Type type, T value, boolean editable,
+                      boolean primary, String description) {
+        super(name, type, editable, primary, description);
+        this.home = home;
+        this.owner = owner;
+        super.setValueInternal(value);
+    }
+
+    /**
+     * Creates a copy of this Binding owned by the given Bindings.
+     *
+     * @param home owning Bindings.
+     * @param owner ownership token.
+     * @return copy of this Binding.
+     */
+    PersistentBinding<T> copy(PersistentBindings home, Object owner) {
+        return new PersistentBinding<>(home, owner, getName(), getType(), super.getValue(), isEditable(), isPrimary(),
+                getDescription());
+    }
+
+    boolean isOwnedBy(Object owner) {
+        return this.owner == owner;
+    }
+
+    @Override
+    public T getValue() {
+        if (isCurrent()) return super.getValue();
+        // Shared with a fork/snapshot; read the current version in our Bindings
+        return home.<T>getCurrentBinding(getName()).getRawValue();
+    }
+
+    @Override
+    protected void setValueInternal(T value) {
+        if (isCurrent()) {
+            super.setValueInternal(value);
+        } else {
+            // Shared with a fork/snapshot; write to our own copy instead
+            home.<T>getOwnedBinding(getName()).setRawValue(value);
+        }
+    }
+
+    private boolean isCurrent() {
+        // home is null while the super ctor runs
+        return home == null || home.isOwner(owner);
+    }
+
+    T getRawValue() {
+        return super.getValue();
+    }
+
+    private void setRawValue(T value) {
+        super.setValueInternal(value);
+    }
+}
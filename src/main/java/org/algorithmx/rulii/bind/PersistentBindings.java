@@ -0,0 +1,276 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.bind;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.util.TypeReference;
+import org.algorithmx.rulii.util.collection.PersistentHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Bindings backed by a persistent hash map (HAMT). Taking a snapshot or forking is O(1); all the Bindings are shared
+ * (structural sharing) until they are changed. Changes made to a fork (new Bindings or new values) are not visible to
+ * the original (or other forks) and vice versa. Ideal for what-if evaluations of a large base set of Bindings.
+ *
+ * Only the Bindings created by the BindingBuilder (DefaultBinding) are copied on write; other Binding implementations
+ * (ex: SupplierBinding) are shared by all the forks.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class PersistentBindings implements Bindings {
+
+    private static final Set<String> RESERVED_WORDS = Collections.unmodifiableSet(
+            new HashSet<>(ReservedBindings.reservedBindings()));
+
+    private volatile PersistentHashMap<String, Binding<?>> bindings;
+    // Bindings tagged with this token can be edited in place; changes whenever the Bindings are shared
+    private volatile Object owner = new Object();
+    private final boolean readOnly;
+
+    PersistentBindings() {
+        this(PersistentHashMap.empty(), false);
+    }
+
+    private PersistentBindings(PersistentHashMap<String, Binding<?>> bindings, boolean readOnly) {
+        super();
+        this.bindings = bindings;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Creates a fork of these Bindings (O(1)). The fork starts with the same Bindings/values; from then on changes made
+     * to either are not visible to the other.
+     *
+     * @return forked Bindings.
+     */
+    public synchronized PersistentBindings fork() {
+        // Everything is now shared; both sides copy on write
+        if (!readOnly) this.owner = new Object();
+        return new PersistentBindings(bindings, false);
+    }
+
+    /**
+     * Creates an immutable point in time copy of these Bindings (O(1)).
+     *
+     * @return snapshot of the Bindings.
+     */
+    public synchronized PersistentBindings snapshot() {
+        if (readOnly) return this;
+        this.owner = new Object();
+        return new PersistentBindings(bindings, true);
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public <S extends Bindings, T> S bind(Binding<T> binding) {
+        Assert.notNull(binding, "binding cannot be null");
+
+        if (RESERVED_WORDS.contains(binding.getName())) {
+            throw new InvalidBindingException("Binding name [" + binding.getName() + "] is a reserved name. " +
+                    "Please rename and try again. Given Binding [" + binding + "]");
+        }
+
+        return promiscuousBind(binding);
+    }
+
+    public synchronized <S extends Bindings, T> S promiscuousBind(Binding<T> binding) {
+        Assert.notNull(binding, "binding cannot be null");
+
+        if (readOnly) throw new UnsupportedOperationException("Bindings snapshot cannot be edited.");
+
+        Binding<?> existingBinding = bindings.get(binding.getName());
+
+        // Looks like we already have a binding
+        if (existingBinding != null) {
+            throw new BindingAlreadyExistsException(existingBinding);
+        }
+
+        bindings = bindings.put(binding.getName(), binding.getClass() == DefaultBinding.class
+                ? new PersistentBinding<>(this, owner, binding.getName(), binding.getType(), binding.getValue(),
+                    binding.isEditable(), binding.isPrimary(), binding.getDescription())
+                : binding);
+
+        return (S) this;
+    }
+
+    @Override
+    public int size() {
+        return bindings.size();
+    }
+
+    @Override
+    public Iterator<Binding<?>> iterator() {
+        List<Binding<?>> result = new ArrayList<>(size());
+
+        for (String name : bindings.keys()) {
+            result.add(getBinding(name));
+        }
+
+        return result.iterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Binding<T> getBinding(String name) {
+        Assert.notNull(name, "name cannot be null.");
+        Binding<T> result = (Binding<T>) bindings.get(name);
+
+        if (result == null) return null;
+        // Detach the shared Binding so that it does not follow later changes of the original
+        if (readOnly) return result instanceof PersistentBinding
+                ? ((PersistentBinding<T>) result).copy(null, null).immutableSelf()
+                : result.immutableSelf();
+        if (result instanceof PersistentBinding && !((PersistentBinding<T>) result).isOwnedBy(owner)) {
+            return getOwnedBinding(name);
+        }
+
+        return result;
+    }
+
+    @Override
+    public <T> Binding<T> getBinding(String name, TypeReference<T> typeRef) {
+        Binding<T> result = getBinding(name);
+        // Make sure it also matches the Type
+        return result != null && result.isTypeAcceptable(typeRef.getType())
+                ? result
+                : null;
+    }
+
+    /**
+     * Returns the Binding (as it is stored) with the given name.
+     *
+     * @param name binding name.
+     * @param <T> generic type of the Binding.
+     * @return current version of the Binding.
+     */
+    @SuppressWarnings("unchecked")
+    <T> PersistentBinding<T> getCurrentBinding(String name) {
+        return (PersistentBinding<T>) bindings.get(name);
+    }
+
+    /**
+     * Returns the Binding with the given name that is owned by these Bindings; the shared version is copied if need be.
+     *
+     * @param name binding name.
+     * @param <T> generic type of the Binding.
+     * @return owned Binding.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> PersistentBinding<T> getOwnedBinding(String name) {
+        if (readOnly) throw new UnsupportedOperationException("Bindings snapshot cannot be edited.");
+
+        PersistentBinding<T> result = (PersistentBinding<T>) bindings.get(name);
+
+        if (!result.isOwnedBy(owner)) {
+            result = result.copy(this, owner);
+            bindings = bindings.put(name, result);
+        }
+
+        return result;
+    }
+
+    private static Object getValue(Binding<?> binding) {
+        // Shared Bindings hold the value as of the fork/snapshot
+        return binding instanceof PersistentBinding ? ((PersistentBinding<?>) binding).getRawValue() : binding.getValue();
+    }
+
+    boolean isOwner(Object owner) {
+        return this.owner == owner;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, Binding<T>> getBindings(TypeReference<T> typeRef) {
+        Map<String, Binding<T>> result = new HashMap<>();
+
+        // Types never change; only the matches are copied (if shared)
+        bindings.forEach((name, binding) -> {
+            if (binding.isTypeAcceptable(typeRef.getType())) result.put(name, getBinding(name));
+        });
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public Map<String, ?> asMap() {
+        Map<String, Object> result = new HashMap<>();
+        bindings.forEach((name, binding) -> result.put(name, getValue(binding)));
+        return result;
+    }
+
+    @Override
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(bindings.keys()));
+    }
+
+    /**
+     * Snapshots are immutable; no need to wrap.
+     *
+     * @return immutable snapshot of these Bindings.
+     */
+    @Override
+    public Bindings asImmutableBindings() {
+        return snapshot();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        if (!Bindings.class.isAssignableFrom(o.getClass())) return false;
+        Bindings other = (Bindings) o;
+        return asMap().equals(other.asMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(asMap());
+    }
+
+    @Override
+    public String prettyPrint(String prefix) {
+        StringBuilder result = new StringBuilder(System.lineSeparator());
+
+        bindings.forEach((name, binding) -> {
+            if (getValue(binding) instanceof Bindings) return;
+            result.append(prefix + binding.getSummary() + System.lineSeparator());
+        });
+
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return prettyPrint("");
+    }
+}
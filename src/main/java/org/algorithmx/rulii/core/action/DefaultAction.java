@@ -67,15 +67,17 @@ public class DefaultAction implements Action {
         ParameterMatch[] matches = null;
         Object[] values = null;
         ExecutionEvent<ActionExecution> event = null;
+        // Only build the event if someone is listening (and the execution is sampled)
+        boolean traced = context.getEventProcessor().isSampled();
 
         try {
             matches = context.match(getMethodDefinition());
             values = context.resolve(matches, getMethodDefinition());
             run(values);
-            event = new ExecutionEvent(EventType.ON_ACTION, new ActionExecution(this, getMethodDefinition(),
+            if (traced) event = new ExecutionEvent(EventType.ON_ACTION, new ActionExecution(this, getMethodDefinition(),
                     RuleUtils.immutable(matches), values));
         } catch (Exception e) {
-            event = new ExecutionEvent(EventType.ON_ACTION, new ActionExecution(this, e, getMethodDefinition(),
+            if (traced) event = new ExecutionEvent(EventType.ON_ACTION, new ActionExecution(this, e, getMethodDefinition(),
                     RuleUtils.immutable(matches), values));
             throw new ActionExecutionException("Unexpected error occurred trying to execute Action.",
                     e, this, matches, values);
@@ -0,0 +1,131 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.core.condition;
+
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.metrics.AdaptiveOrder;
+
+/**
+ * AND/OR of any number of Conditions whose evaluation order adapts to the observed cost and pass rate of each
+ * Condition (see AdaptiveOrder). Evaluation is short-circuited (AND stops at the first false, OR at the first true);
+ * as the order changes over time the Conditions must be free of side effects.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class AdaptiveCompositeCondition implements SimpleCondition {
+
+    public enum Operator { AND, OR }
+
+    private final Operator operator;
+    private final SimpleCondition[] conditions;
+    private final AdaptiveOrder adaptiveOrder;
+
+    public AdaptiveCompositeCondition(Operator operator, int reorderInterval, SimpleCondition...conditions) {
+        super();
+        Assert.notNull(operator, "operator cannot be null.");
+        Assert.notNull(conditions, "conditions cannot be null.");
+        Assert.notNullArray(conditions, "conditions");
+        this.operator = operator;
+        this.conditions = conditions.clone();
+        this.adaptiveOrder = new AdaptiveOrder(getNames(conditions), reorderInterval);
+    }
+
+    /**
+     * All the given Conditions must be true.
+     *
+     * @param conditions conditions (must be free of side effects).
+     * @return adaptive AND condition.
+     */
+    public static AdaptiveCompositeCondition allOf(SimpleCondition...conditions) {
+        return new AdaptiveCompositeCondition(Operator.AND, AdaptiveOrder.DEFAULT_REORDER_INTERVAL, conditions);
+    }
+
+    /**
+     * At least one of the given Conditions must be true.
+     *
+     * @param conditions conditions (must be free of side effects).
+     * @return adaptive OR condition.
+     */
+    public static AdaptiveCompositeCondition anyOf(SimpleCondition...conditions) {
+        return new AdaptiveCompositeCondition(Operator.OR, AdaptiveOrder.DEFAULT_REORDER_INTERVAL, conditions);
+    }
+
+    @Override
+    public boolean isTrue(RuleContext context) throws ConditionExecutionException {
+        // AND is decided by the first false; OR by the first true
+        boolean decisiveValue = operator == Operator.OR;
+        boolean result = !decisiveValue;
+
+        try {
+            for (int index : adaptiveOrder.getOrder()) {
+                long start = System.nanoTime();
+                boolean value = conditions[index].isTrue(context);
+                boolean decisive = value == decisiveValue;
+                adaptiveOrder.record(index, System.nanoTime() - start, decisive);
+
+                if (decisive) {
+                    result = decisiveValue;
+                    break;
+                }
+            }
+        } finally {
+            adaptiveOrder.executionComplete();
+        }
+
+        return result;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public SimpleCondition[] getConditions() {
+        return conditions.clone();
+    }
+
+    /**
+     * Ordering stats/decisions.
+     *
+     * @return adaptive order.
+     */
+    public AdaptiveOrder getAdaptiveOrder() {
+        return adaptiveOrder;
+    }
+
+    private static String[] getNames(SimpleCondition[] conditions) {
+        String[] result = new String[conditions.length];
+
+        for (int i = 0; i < conditions.length; i++) {
+            String name = conditions[i] instanceof Condition ? ((Condition) conditions[i]).getName() : null;
+            result[i] = name != null ? name : "condition-" + i;
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveCompositeCondition{" +
+                "operator=" + operator +
+                ", adaptiveOrder=" + adaptiveOrder +
+                '}';
+    }
+}
@@ -51,6 +51,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
@@ -166,7 +167,7 @@ public class ConditionBuilder extends ExecutableBuilder {
      */
     public Condition build() {
         getDefinition().validate();
-        return new DefaultCondition(getTarget(), getDefinition());
+        return new DefaultCondition(getTarget(), getDefinition(), createResultCache());
     }
 
     public static Condition TRUE() {
@@ -560,6 +561,29 @@ public class ConditionBuilder extends ExecutableBuilder {
         return this;
     }
 
+    /**
+     * Caches the results of the Condition (keyed by the argument values); the Condition must be pure. Results never expire.
+     *
+     * @param maxSize max number of results to cache.
+     * @return this for fluency.
+     */
+    public ConditionBuilder memoize(int maxSize) {
+        return memoize(maxSize, 0, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Caches the results of the Condition (keyed by the argument values); the Condition must be pure.
+     *
+     * @param maxSize max number of results to cache.
+     * @param ttl how long a result is cached for.
+     * @param unit time unit.
+     * @return this for fluency.
+     */
+    public ConditionBuilder memoize(int maxSize, long ttl, TimeUnit unit) {
+        setMemoization(maxSize, ttl, unit);
+        return this;
+    }
+
     public ParameterDefinitionEditor<ConditionBuilder> param(int index) {
         return new ParameterDefinitionEditor(getDefinition().getParameterDefinition(index), this);
     }
@@ -57,7 +57,7 @@ public class DefaultCompositeCondition implements CompositeCondition {
     @Override
     public boolean isTrue(RuleContext context) throws ConditionExecutionException {
         boolean leftResult = leftOperand.isTrue(context);
-        boolean rightResult = leftOperand.isTrue(context);
+        boolean rightResult = rightOperand.isTrue(context);
         return predicate.test(leftResult, rightResult);
     }
 }
@@ -27,6 +27,8 @@ import org.algorithmx.rulii.event.EventType;
 import org.algorithmx.rulii.event.ExecutionEvent;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 import org.algorithmx.rulii.util.RuleUtils;
+import org.algorithmx.rulii.util.cache.ArgumentKey;
+import org.algorithmx.rulii.util.cache.ResultCache;
 import org.algorithmx.rulii.util.reflect.MethodExecutor;
 
 /**
@@ -40,13 +42,26 @@ public class DefaultCondition implements Condition {
     private final MethodDefinition methodDefinition;
     private final MethodExecutor methodExecutor;
     private final Object target;
+    private final ResultCache<ArgumentKey, Boolean> resultCache;
 
     public DefaultCondition(Object target, MethodDefinition methodDefinition) {
+        this(target, methodDefinition, null);
+    }
+
+    /**
+     * Condition whose results are cached (keyed by the argument values).
+     *
+     * @param target condition target.
+     * @param methodDefinition meta info.
+     * @param resultCache result cache (optional).
+     */
+    public DefaultCondition(Object target, MethodDefinition methodDefinition, ResultCache<ArgumentKey, Boolean> resultCache) {
         super();
         Assert.notNull(methodDefinition, "methodDefinition cannot be null.");
         this.methodDefinition = methodDefinition;
         this.target = target;
         this.methodExecutor = MethodExecutor.create(methodDefinition.getMethod());
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -59,16 +74,18 @@ public class DefaultCondition implements Condition {
         ParameterMatch[] matches = null;
         Object[] values = null;
         ExecutionEvent<ConditionExecution> event = null;
+        // Only build the event if someone is listening (and the execution is sampled)
+        boolean traced = context.getEventProcessor().isSampled();
 
         try {
             matches = context.match(getMethodDefinition());
             values = context.resolve(matches, getMethodDefinition());
-            boolean result = isTrue(values);
-            event = new ExecutionEvent(EventType.ON_CONDITION,
+            boolean result = resultCache != null ? isTrueMemoized(values) : isTrue(values);
+            if (traced) event = new ExecutionEvent(EventType.ON_CONDITION,
                     new ConditionExecution(this, result, getMethodDefinition(), RuleUtils.immutable(matches), values));
             return result;
         } catch (Exception e) {
-            event = new ExecutionEvent(EventType.ON_CONDITION,
+            if (traced) event = new ExecutionEvent(EventType.ON_CONDITION,
                     new ConditionExecution(this, e, getMethodDefinition(), RuleUtils.immutable(matches), values));
             throw new ConditionExecutionException("Unexpected error occurred trying to execute Condition.",
                     e, this, matches, values);
@@ -89,6 +106,24 @@ public class DefaultCondition implements Condition {
         return (Boolean) result;
     }
 
+    /**
+     * Returns the cached result for the given arguments; the method is only invoked on a cache miss.
+     *
+     * @param values argument values.
+     * @return result of the Condition.
+     */
+    protected boolean isTrueMemoized(Object[] values) {
+        ArgumentKey key = ArgumentKey.of(values);
+        Boolean result = resultCache.get(key);
+
+        if (result == null) {
+            result = isTrue(values);
+            resultCache.put(key, result);
+        }
+
+        return result;
+    }
+
     @Override
     public final MethodDefinition getMethodDefinition() {
         return methodDefinition;
@@ -99,6 +134,15 @@ public class DefaultCondition implements Condition {
         return target;
     }
 
+    /**
+     * Result cache (only avail for memoized instances).
+     *
+     * @return result cache; null if the results are not cached.
+     */
+    public ResultCache<ArgumentKey, Boolean> getResultCache() {
+        return resultCache;
+    }
+
     @Override
     public String toString() {
         return "DefaultCondition{" +
@@ -0,0 +1,181 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.core.context;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Time and execution budget of a RuleContext. The budget is shared between a context and all of its child contexts
+ * (ex: async validation) so the whole request is bound by the same deadline and rule execution limit. Checks are
+ * cooperative; they happen at the safe points of the Rule/RuleSet execution.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class ExecutionBudget {
+
+    public static final int UNLIMITED = -1;
+
+    private static final long NO_DEADLINE = 0L;
+
+    // Nothing is counted without limits; safe to share
+    private static final ExecutionBudget NONE = new ExecutionBudget(NO_DEADLINE, UNLIMITED);
+
+    private final long deadline;
+    private final int maxRuleExecutions;
+    private final AtomicInteger ruleExecutions = new AtomicInteger();
+
+    private ExecutionBudget(long deadline, int maxRuleExecutions) {
+        super();
+        this.deadline = deadline;
+        this.maxRuleExecutions = maxRuleExecutions;
+    }
+
+    /**
+     * Budget without any limits.
+     *
+     * @return unlimited budget.
+     */
+    public static ExecutionBudget unlimited() {
+        return NONE;
+    }
+
+    /**
+     * Creates a new budget starting now.
+     *
+     * @param timeoutNanos time allowed (in nanos); zero or less means no time limit.
+     * @param maxRuleExecutions maximum number of Rule executions; zero or less means no limit.
+     * @return new budget.
+     */
+    public static ExecutionBudget create(long timeoutNanos, int maxRuleExecutions) {
+        if (timeoutNanos <= 0 && maxRuleExecutions <= 0) return NONE;
+
+        long deadline = NO_DEADLINE;
+
+        if (timeoutNanos > 0) {
+            deadline = System.nanoTime() + timeoutNanos;
+            // Zero is reserved for "no deadline"
+            if (deadline == NO_DEADLINE) deadline = 1L;
+        }
+
+        return new ExecutionBudget(deadline, maxRuleExecutions > 0 ? maxRuleExecutions : UNLIMITED);
+    }
+
+    public static ExecutionBudget create(long timeout, TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        return create(unit.toNanos(timeout), UNLIMITED);
+    }
+
+    /**
+     * Creates a new budget with the given timeout (starting now) and the same execution limit.
+     *
+     * @param timeout time allowed.
+     * @param unit time unit.
+     * @return new budget.
+     */
+    public ExecutionBudget withTimeout(long timeout, TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        return create(unit.toNanos(timeout), maxRuleExecutions);
+    }
+
+    /**
+     * Creates a new budget with the given execution limit and the same deadline.
+     *
+     * @param maxRuleExecutions maximum number of Rule executions; zero or less means no limit.
+     * @return new budget.
+     */
+    public ExecutionBudget withMaxRuleExecutions(int maxRuleExecutions) {
+        return new ExecutionBudget(deadline, maxRuleExecutions > 0 ? maxRuleExecutions : UNLIMITED);
+    }
+
+    public boolean hasDeadline() {
+        return deadline != NO_DEADLINE;
+    }
+
+    /**
+     * Determines whether the deadline has passed.
+     *
+     * @return true if the deadline has passed; false otherwise (or if there is no deadline).
+     */
+    public boolean isTimedOut() {
+        return deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Remaining time before the deadline.
+     *
+     * @param unit desired time unit.
+     * @return remaining time (zero if the deadline has passed); Long.MAX_VALUE if there is no deadline.
+     */
+    public long getRemaining(TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        if (deadline == NO_DEADLINE) return Long.MAX_VALUE;
+        long remaining = deadline - System.nanoTime();
+        return remaining > 0 ? unit.convert(remaining, TimeUnit.NANOSECONDS) : 0L;
+    }
+
+    /**
+     * Accounts for a Rule execution.
+     *
+     * @return true if the Rule can be executed; false if the execution limit has been reached.
+     */
+    public boolean acquireRuleExecution() {
+        // Nothing to count
+        if (maxRuleExecutions == UNLIMITED) return true;
+        return ruleExecutions.incrementAndGet() <= maxRuleExecutions;
+    }
+
+    /**
+     * Determines whether the Rule execution limit has been reached.
+     *
+     * @return true if no more Rules can be executed.
+     */
+    public boolean isExecutionLimitReached() {
+        return maxRuleExecutions != UNLIMITED && ruleExecutions.get() >= maxRuleExecutions;
+    }
+
+    /**
+     * Determines whether this budget has been exhausted (either timed out or the execution limit has been reached).
+     *
+     * @return true if exhausted.
+     */
+    public boolean isExhausted() {
+        return isTimedOut() || isExecutionLimitReached();
+    }
+
+    public int getMaxRuleExecutions() {
+        return maxRuleExecutions;
+    }
+
+    public int getRuleExecutions() {
+        return ruleExecutions.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionBudget{" +
+                "remainingMillis=" + (hasDeadline() ? getRemaining(TimeUnit.MILLISECONDS) : "unlimited") +
+                ", maxRuleExecutions=" + maxRuleExecutions +
+                ", ruleExecutions=" + ruleExecutions.get() +
+                '}';
+    }
+}
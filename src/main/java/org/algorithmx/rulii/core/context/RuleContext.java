@@ -18,6 +18,10 @@
 
 package org.algorithmx.rulii.core.context;
 
+import org.algorithmx.rulii.bind.BindingBuilder;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.bind.DefaultBindings;
+import org.algorithmx.rulii.bind.ReservedBindings;
 import org.algorithmx.rulii.bind.ScopedBindings;
 import org.algorithmx.rulii.bind.match.BindingMatchingStrategy;
 import org.algorithmx.rulii.bind.match.ParameterMatch;
@@ -36,6 +40,7 @@ import org.algorithmx.rulii.core.registry.RuleRegistry;
 import java.time.Clock;
 import java.util.Date;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Responsible for state management during Rule execution. This class provides access to everything that is required
@@ -46,8 +51,9 @@ import java.util.Locale;
  */
 public class RuleContext {
 
-    private final Date creationTime = new Date();
-    private RuleExecutionStatus executionStatus = RuleExecutionStatus.ACTIVE;
+    private long creationTime = System.currentTimeMillis();
+    private volatile RuleExecutionStatus executionStatus = RuleExecutionStatus.ACTIVE;
+    private volatile ExecutionBudget budget = ExecutionBudget.unlimited();
 
     private final ScopedBindings bindings;
     private final Locale locale;
@@ -97,6 +103,30 @@ public class RuleContext {
         this.clock = clock;
     }
 
+    /**
+     * Creates a new RuleContext that shares all the configuration of this context but has its own Bindings stack.
+     * The Bindings of this context are visible through the root scope of the child (they should be treated as
+     * read-only while the child is in use). Useful when work needs to be split across multiple threads.
+     *
+     * @return child context.
+     */
+    public RuleContext createChildContext() {
+        ScopedBindings childBindings = ScopedBindings.create(ScopedBindings.ROOT_SCOPE, getBindings());
+        RuleContext result = new RuleContext(childBindings, locale, matchingStrategy, parameterResolver,
+                messageResolver, messageFormatter, objectFactory, eventProcessor, converterRegistry,
+                extractorRegistry, ruleRegistry, scriptProcessor, clock);
+        // Child shares the same deadline and execution limit
+        result.budget = budget;
+        // Make the child Context avail in the bindings (it hides the parent one).
+        Bindings childScope = childBindings.addScope("child-context-scope");
+        ((DefaultBindings) childScope).promiscuousBind(BindingBuilder
+                .with(ReservedBindings.RULE_CONTEXT.getName())
+                .type(RuleContext.class)
+                .value(result)
+                .build());
+        return result;
+    }
+
     public ParameterMatch[] match(MethodDefinition definition) {
         return getParameterResolver().match(definition, getBindings(), getMatchingStrategy(), getObjectFactory());
     }
@@ -191,7 +221,7 @@ public class RuleContext {
     }
 
     public Date getCreationTime() {
-        return creationTime;
+        return new Date(creationTime);
     }
 
     public boolean isActive() {
@@ -202,8 +232,54 @@ public class RuleContext {
         this.executionStatus = RuleExecutionStatus.IN_ACTIVE;
     }
 
+    /**
+     * Sets a time budget (starting now) for the execution. Rules/RuleSets check the budget cooperatively and end with
+     * a TIMED_OUT status once it has passed. Long running Conditions/Actions may also check isTimedOut().
+     *
+     * @param timeout time allowed.
+     * @param unit time unit.
+     */
+    public void setTimeout(long timeout, TimeUnit unit) {
+        setBudget(budget.withTimeout(timeout, unit));
+    }
+
+    /**
+     * Sets the maximum number of Rule executions allowed.
+     *
+     * @param maxRuleExecutions max number of Rule executions; zero or less means no limit.
+     */
+    public void setMaxRuleExecutions(int maxRuleExecutions) {
+        setBudget(budget.withMaxRuleExecutions(maxRuleExecutions));
+    }
+
+    public void setBudget(ExecutionBudget budget) {
+        Assert.notNull(budget, "budget cannot be null.");
+        this.budget = budget;
+    }
+
+    public ExecutionBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Determines whether the time budget of this context has passed.
+     *
+     * @return true if timed out.
+     */
+    public boolean isTimedOut() {
+        return budget.isTimedOut();
+    }
+
+    /**
+     * Makes this context active again (used when a context is reused).
+     */
+    void activate() {
+        this.executionStatus = RuleExecutionStatus.ACTIVE;
+        this.creationTime = System.currentTimeMillis();
+    }
+
     @Override
     public String toString() {
-        return "RuleContext created at " + creationTime;
+        return "RuleContext created at " + getCreationTime();
     }
 }
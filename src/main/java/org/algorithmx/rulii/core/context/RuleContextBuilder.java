@@ -32,6 +32,7 @@ import org.algorithmx.rulii.config.RuliiSystem;
 import org.algorithmx.rulii.convert.ConverterRegistry;
 import org.algorithmx.rulii.core.registry.RuleRegistry;
 import org.algorithmx.rulii.event.EventProcessor;
+import org.algorithmx.rulii.event.SamplingPolicy;
 import org.algorithmx.rulii.event.ExecutionListener;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 import org.algorithmx.rulii.script.NoOpScriptProcessor;
@@ -44,8 +45,11 @@ import org.algorithmx.rulii.validation.extract.ExtractorRegistry;
 
 import java.time.Clock;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Builder class to properly build a RuleContext with the bells and whistles.
@@ -69,6 +73,10 @@ public class RuleContextBuilder {
     private Clock clock;
     private Locale locale;
     private List<ExecutionListener> listeners = new ArrayList<>();
+    private SamplingPolicy samplingPolicy;
+    private Map<String, SamplingPolicy> samplingPolicies = new HashMap<>();
+    private long timeoutNanos = 0L;
+    private int maxRuleExecutions = ExecutionBudget.UNLIMITED;
 
     private RuleContextBuilder(RuliiConfiguration configuration) {
         super();
@@ -185,6 +193,32 @@ public class RuleContextBuilder {
         return this;
     }
 
+    /**
+     * Sets the default SamplingPolicy; only sampled (top-level) executions are traced.
+     *
+     * @param samplingPolicy sampling policy.
+     * @return this for fluency.
+     */
+    public RuleContextBuilder sampleUsing(SamplingPolicy samplingPolicy) {
+        Assert.notNull(samplingPolicy, "samplingPolicy cannot be null.");
+        this.samplingPolicy = samplingPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the SamplingPolicy to use when the given Rule/RuleSet is the top-level execution.
+     *
+     * @param name Rule/RuleSet name.
+     * @param samplingPolicy sampling policy.
+     * @return this for fluency.
+     */
+    public RuleContextBuilder sampleUsing(String name, SamplingPolicy samplingPolicy) {
+        Assert.notNull(name, "name cannot be null.");
+        Assert.notNull(samplingPolicy, "samplingPolicy cannot be null.");
+        this.samplingPolicies.put(name, samplingPolicy);
+        return this;
+    }
+
     public RuleContextBuilder converterRegistry(ConverterRegistry converterRegistry) {
         Assert.notNull(converterRegistry, "converterRegistry cannot be null.");
         this.converterRegistry = converterRegistry;
@@ -215,12 +249,48 @@ public class RuleContextBuilder {
         return this;
     }
 
+    /**
+     * Time budget for each execution (starts when the RuleContext/RuleSession is created).
+     *
+     * @param timeout time allowed; zero or less means no time limit.
+     * @param unit time unit.
+     * @return this for fluency.
+     */
+    public RuleContextBuilder timeout(long timeout, TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        this.timeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Maximum number of Rule executions allowed per execution.
+     *
+     * @param maxRuleExecutions max number of Rule executions; zero or less means no limit.
+     * @return this for fluency.
+     */
+    public RuleContextBuilder maxRuleExecutions(int maxRuleExecutions) {
+        this.maxRuleExecutions = maxRuleExecutions;
+        return this;
+    }
+
     public RuleContextBuilder clock(Clock clock) {
         Assert.notNull(clock, "clock cannot be null.");
         this.clock = clock;
         return this;
     }
 
+    /**
+     * Builds a shareable RuleEngine with the desired parameters. The Bindings (and EventProcessor) of this builder are
+     * not used; each RuleSession created by the engine gets its own.
+     *
+     * @return new Rule Engine.
+     */
+    public RuleEngine buildEngine() {
+        return new RuleEngine(locale, matchingStrategy, parameterResolver, messageResolver, messageFormatter,
+                objectFactory, converterRegistry, extractorRegistry, ruleRegistry, scriptProcessor, clock, listeners,
+                samplingPolicy, samplingPolicies, timeoutNanos, maxRuleExecutions);
+    }
+
     /**
      * Builds a Rule Context with desired parameters.
      *
@@ -240,6 +310,9 @@ public class RuleContextBuilder {
                 .build());
         scopedBindings.addScope(ScopedBindings.GLOBAL_SCOPE, bindings);
         listeners.stream().forEach(listener -> result.getEventProcessor().addEventListener(listener));
+        if (samplingPolicy != null) result.getEventProcessor().setSamplingPolicy(samplingPolicy);
+        samplingPolicies.forEach((name, policy) -> result.getEventProcessor().setSamplingPolicy(name, policy));
+        result.setBudget(ExecutionBudget.create(timeoutNanos, maxRuleExecutions));
 
         return result;
     }
@@ -0,0 +1,238 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.core.context;
+
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.bind.match.BindingMatchingStrategy;
+import org.algorithmx.rulii.bind.match.ParameterResolver;
+import org.algorithmx.rulii.convert.ConverterRegistry;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.event.EventProcessor;
+import org.algorithmx.rulii.event.ExecutionListener;
+import org.algorithmx.rulii.event.SamplingPolicy;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.script.DefaultScriptProcessor;
+import org.algorithmx.rulii.script.ScriptProcessor;
+import org.algorithmx.rulii.script.ThreadLocalScriptProcessor;
+import org.algorithmx.rulii.text.MessageFormatter;
+import org.algorithmx.rulii.text.MessageResolver;
+import org.algorithmx.rulii.util.reflect.ObjectFactory;
+import org.algorithmx.rulii.validation.extract.ExtractorRegistry;
+
+import javax.script.ScriptEngineFactory;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable, thread-safe holder of all the shared Rule execution configuration (registries, resolvers, formatters,
+ * listeners etc). A RuleEngine is meant to be created once and shared; each request gets its own (cheap) RuleSession
+ * which only carries the per request Bindings stack, execution status and event state.
+ *
+ * RuleEngine engine = RuleContextBuilder.with().ruleRegistry(registry).buildEngine();
+ * RuleSession session = engine.newSession(bindings);
+ *
+ * Script engines are not thread-safe, so the standard (DefaultScriptProcessor) script processor is replaced with one
+ * that gives each thread its own ScriptEngine. Custom ScriptProcessors are shared as is and must be thread-safe.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class RuleEngine {
+
+    private final Locale locale;
+    private final BindingMatchingStrategy matchingStrategy;
+    private final ParameterResolver parameterResolver;
+    private final MessageResolver messageResolver;
+    private final MessageFormatter messageFormatter;
+    private final ObjectFactory objectFactory;
+    private final ConverterRegistry converterRegistry;
+    private final ExtractorRegistry extractorRegistry;
+    private final RuleRegistry ruleRegistry;
+    private final ScriptProcessor scriptProcessor;
+    private final Clock clock;
+    private final List<ExecutionListener> listeners;
+    private final SamplingPolicy samplingPolicy;
+    private final Map<String, SamplingPolicy> samplingPolicies;
+    private final long timeoutNanos;
+    private final int maxRuleExecutions;
+
+    RuleEngine(Locale locale, BindingMatchingStrategy matchingStrategy, ParameterResolver parameterResolver,
+               MessageResolver messageResolver, MessageFormatter messageFormatter, ObjectFactory objectFactory,
+               ConverterRegistry converterRegistry, ExtractorRegistry extractorRegistry, RuleRegistry ruleRegistry,
+               ScriptProcessor scriptProcessor, Clock clock, List<ExecutionListener> listeners,
+               SamplingPolicy samplingPolicy, Map<String, SamplingPolicy> samplingPolicies,
+               long timeoutNanos, int maxRuleExecutions) {
+        super();
+        Assert.notNull(locale, "locale cannot be null.");
+        Assert.notNull(matchingStrategy, "matchingStrategy cannot be null.");
+        Assert.notNull(parameterResolver, "parameterResolver cannot be null.");
+        Assert.notNull(messageResolver, "messageResolver cannot be null.");
+        Assert.notNull(messageFormatter, "messageFormatter cannot be null.");
+        Assert.notNull(objectFactory, "objectFactory cannot be null.");
+        Assert.notNull(converterRegistry, "converterRegistry cannot be null.");
+        Assert.notNull(extractorRegistry, "extractorRegistry cannot be null.");
+        Assert.notNull(ruleRegistry, "ruleRegistry cannot be null.");
+        Assert.notNull(scriptProcessor, "scriptProcessor cannot be null.");
+        Assert.notNull(clock, "clock cannot be null.");
+        this.locale = locale;
+        this.matchingStrategy = matchingStrategy;
+        this.parameterResolver = parameterResolver;
+        this.messageResolver = messageResolver;
+        this.messageFormatter = messageFormatter;
+        this.objectFactory = objectFactory;
+        this.converterRegistry = converterRegistry;
+        this.extractorRegistry = extractorRegistry;
+        this.ruleRegistry = ruleRegistry;
+        this.scriptProcessor = perThread(scriptProcessor);
+        this.clock = clock;
+        this.listeners = Collections.unmodifiableList(new ArrayList<>(listeners));
+        this.samplingPolicy = samplingPolicy;
+        this.samplingPolicies = Collections.unmodifiableMap(new HashMap<>(samplingPolicies));
+        this.timeoutNanos = timeoutNanos;
+        this.maxRuleExecutions = maxRuleExecutions;
+    }
+
+    private static ScriptProcessor perThread(ScriptProcessor scriptProcessor) {
+        if (!(scriptProcessor instanceof DefaultScriptProcessor)) return scriptProcessor;
+        ScriptEngineFactory factory = scriptProcessor.getEngine().getFactory();
+        return factory != null ? new ThreadLocalScriptProcessor(factory) : scriptProcessor;
+    }
+
+    /**
+     * Creates a RuleEngine with the default configuration.
+     *
+     * @return new RuleEngine.
+     */
+    public static RuleEngine create() {
+        return RuleContextBuilder.with().buildEngine();
+    }
+
+    /**
+     * Creates a new (empty) session.
+     *
+     * @return new session.
+     */
+    public RuleSession newSession() {
+        return newSession(Bindings.create());
+    }
+
+    /**
+     * Creates a new session with the given Bindings as the global scope.
+     *
+     * @param bindings request bindings.
+     * @return new session.
+     */
+    public RuleSession newSession(Bindings bindings) {
+        return new RuleSession(this, bindings);
+    }
+
+    /**
+     * Each session gets its own EventProcessor (it carries per execution state) loaded with the shared listeners.
+     *
+     * @return new EventProcessor.
+     */
+    EventProcessor createEventProcessor() {
+        EventProcessor result = EventProcessor.create();
+        listeners.forEach(result::addEventListener);
+        if (samplingPolicy != null) result.setSamplingPolicy(samplingPolicy);
+        samplingPolicies.forEach(result::setSamplingPolicy);
+        return result;
+    }
+
+    /**
+     * Each session (and each reset) gets a fresh budget; the deadline starts when the budget is created.
+     *
+     * @return new ExecutionBudget.
+     */
+    ExecutionBudget createBudget() {
+        return ExecutionBudget.create(timeoutNanos, maxRuleExecutions);
+    }
+
+    public Locale getLocale() {
+        return locale;
+    }
+
+    public BindingMatchingStrategy getMatchingStrategy() {
+        return matchingStrategy;
+    }
+
+    public ParameterResolver getParameterResolver() {
+        return parameterResolver;
+    }
+
+    public MessageResolver getMessageResolver() {
+        return messageResolver;
+    }
+
+    public MessageFormatter getMessageFormatter() {
+        return messageFormatter;
+    }
+
+    public ObjectFactory getObjectFactory() {
+        return objectFactory;
+    }
+
+    public ConverterRegistry getConverterRegistry() {
+        return converterRegistry;
+    }
+
+    public ExtractorRegistry getExtractorRegistry() {
+        return extractorRegistry;
+    }
+
+    public RuleRegistry getRuleRegistry() {
+        return ruleRegistry;
+    }
+
+    public ScriptProcessor getScriptProcessor() {
+        return scriptProcessor;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public List<ExecutionListener> getListeners() {
+        return listeners;
+    }
+
+    public long getTimeout(TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        return unit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public int getMaxRuleExecutions() {
+        return maxRuleExecutions;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleEngine{" +
+                "locale=" + locale +
+                ", ruleRegistry=" + ruleRegistry +
+                ", listeners=" + listeners.size() +
+                '}';
+    }
+}
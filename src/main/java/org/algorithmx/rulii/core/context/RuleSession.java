@@ -0,0 +1,97 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.core.context;
+
+import org.algorithmx.rulii.bind.BindingBuilder;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.bind.DefaultBindings;
+import org.algorithmx.rulii.bind.ReservedBindings;
+import org.algorithmx.rulii.bind.ScopedBindings;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+/**
+ * Per request RuleContext created by a RuleEngine. All the configuration is shared with the engine; the session only
+ * owns its Bindings stack, execution status and EventProcessor. Sessions are not thread-safe but can be reset and
+ * reused (ex: from a pool or a ThreadLocal).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class RuleSession extends RuleContext {
+
+    private final RuleEngine engine;
+
+    RuleSession(RuleEngine engine, Bindings bindings) {
+        super(ScopedBindings.create(), engine.getLocale(), engine.getMatchingStrategy(), engine.getParameterResolver(),
+                engine.getMessageResolver(), engine.getMessageFormatter(), engine.getObjectFactory(),
+                engine.createEventProcessor(), engine.getConverterRegistry(), engine.getExtractorRegistry(),
+                engine.getRuleRegistry(), engine.getScriptProcessor(), engine.getClock());
+        Assert.notNull(bindings, "bindings cannot be null.");
+        this.engine = engine;
+        // Make the Context avail in the bindings.
+        ((DefaultBindings) getBindings().getRootScope()).promiscuousBind(BindingBuilder
+                .with(ReservedBindings.RULE_CONTEXT.getName())
+                .type(RuleContext.class)
+                .value(this)
+                .build());
+        getBindings().addScope(ScopedBindings.GLOBAL_SCOPE, bindings);
+        setBudget(engine.createBudget());
+    }
+
+    /**
+     * Resets the session (with new empty Bindings) so it can be reused.
+     *
+     * @return this session.
+     */
+    public RuleSession reset() {
+        return reset(Bindings.create());
+    }
+
+    /**
+     * Resets the session so it can be reused for another request. All the scopes are discarded and the given
+     * Bindings become the global scope; the session is made active again (with a fresh
+     * execution budget).
+     *
+     * @param bindings request bindings.
+     * @return this session.
+     */
+    public RuleSession reset(Bindings bindings) {
+        Assert.notNull(bindings, "bindings cannot be null.");
+        ScopedBindings scopes = getBindings();
+
+        // Discard everything but the root scope (which holds the RuleContext)
+        while (scopes.getScopeSize() > 1) {
+            scopes.removeScope();
+        }
+
+        scopes.addScope(ScopedBindings.GLOBAL_SCOPE, bindings);
+        setBudget(engine.createBudget());
+        activate();
+        return this;
+    }
+
+    public RuleEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleSession created at " + getCreationTime();
+    }
+}
@@ -27,6 +27,8 @@ import org.algorithmx.rulii.event.ExecutionEvent;
 import org.algorithmx.rulii.event.FunctionExecution;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 import org.algorithmx.rulii.util.RuleUtils;
+import org.algorithmx.rulii.util.cache.ArgumentKey;
+import org.algorithmx.rulii.util.cache.ResultCache;
 import org.algorithmx.rulii.util.reflect.MethodExecutor;
 
 /**
@@ -40,6 +42,7 @@ public class DefaultFunction<T> implements Function<T> {
     private final MethodDefinition methodDefinition;
     private final MethodExecutor methodExecutor;
     private final Object target;
+    private final ResultCache<ArgumentKey, T> resultCache;
 
     /**
      * Ctor taking meta information and the target object.
@@ -48,11 +51,23 @@ public class DefaultFunction<T> implements Function<T> {
      * @param target action target.
      */
     public DefaultFunction(Object target, MethodDefinition methodDefinition) {
+        this(target, methodDefinition, null);
+    }
+
+    /**
+     * Function whose (non null) results are cached (keyed by the argument values).
+     *
+     * @param target function target.
+     * @param methodDefinition meta info.
+     * @param resultCache result cache (optional).
+     */
+    public DefaultFunction(Object target, MethodDefinition methodDefinition, ResultCache<ArgumentKey, T> resultCache) {
         super();
         Assert.notNull(methodDefinition, "methodDefinition cannot be null.");
         this.methodDefinition = methodDefinition;
         this.target = target;
         this.methodExecutor = MethodExecutor.create(methodDefinition.getMethod());
+        this.resultCache = resultCache;
     }
 
     @Override
@@ -65,16 +80,18 @@ public class DefaultFunction<T> implements Function<T> {
         ParameterMatch[] matches = null;
         Object[] values = null;
         ExecutionEvent<FunctionExecution> event = null;
+        // Only build the event if someone is listening (and the execution is sampled)
+        boolean traced = context.getEventProcessor().isSampled();
 
         try {
             matches = context.match(getMethodDefinition());
             values = context.resolve(matches, getMethodDefinition());
-            T result = apply(values);
-            event = new ExecutionEvent(EventType.ON_FUNCTION,
+            T result = resultCache != null ? applyMemoized(values) : apply(values);
+            if (traced) event = new ExecutionEvent(EventType.ON_FUNCTION,
                     new FunctionExecution(this, result, getMethodDefinition(), RuleUtils.immutable(matches), values));
             return result;
         } catch (Exception e) {
-            event = new ExecutionEvent(EventType.ON_FUNCTION,
+            if (traced) event = new ExecutionEvent(EventType.ON_FUNCTION,
                     new FunctionExecution(this, e, getMethodDefinition(), RuleUtils.immutable(matches), values));
             throw new FunctionExecutionException("Unexpected error occurred trying to execute Function.",
                     e, this, matches, values);
@@ -89,6 +106,24 @@ public class DefaultFunction<T> implements Function<T> {
         return methodExecutor.execute(target, args);
     }
 
+    /**
+     * Returns the cached result for the given arguments; the method is only invoked on a cache miss.
+     *
+     * @param values argument values.
+     * @return result of the Function.
+     */
+    protected T applyMemoized(Object[] values) {
+        ArgumentKey key = ArgumentKey.of(values);
+        T result = resultCache.get(key);
+
+        if (result == null) {
+            result = apply(values);
+            resultCache.put(key, result);
+        }
+
+        return result;
+    }
+
     @Override
     public final MethodDefinition getMethodDefinition() {
         return methodDefinition;
@@ -99,6 +134,15 @@ public class DefaultFunction<T> implements Function<T> {
         return target;
     }
 
+    /**
+     * Result cache (only avail for memoized instances).
+     *
+     * @return result cache; null if the results are not cached.
+     */
+    public ResultCache<ArgumentKey, T> getResultCache() {
+        return resultCache;
+    }
+
     @Override
     public String toString() {
         return "DefaultFunction{" +
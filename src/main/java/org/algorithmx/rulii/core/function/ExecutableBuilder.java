@@ -18,20 +18,30 @@
 
 package org.algorithmx.rulii.core.function;
 
+import org.algorithmx.rulii.annotation.Pure;
+import org.algorithmx.rulii.bind.Bindings;
 import org.algorithmx.rulii.config.RuliiSystem;
 import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.core.context.RuleContext;
 import org.algorithmx.rulii.core.model.MethodDefinition;
 import org.algorithmx.rulii.core.model.ParameterDefinition;
+import org.algorithmx.rulii.lib.spring.core.annotation.AnnotationUtils;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 import org.algorithmx.rulii.util.LambdaUtils;
+import org.algorithmx.rulii.util.cache.ArgumentKey;
+import org.algorithmx.rulii.util.cache.ResultCache;
 
 import java.lang.invoke.SerializedLambda;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
 
 public abstract class ExecutableBuilder {
 
     private Object target;
     private MethodDefinition definition;
+    private int cacheSize = 0;
+    private long cacheTtlNanos = 0L;
 
     protected ExecutableBuilder(Object target, MethodDefinition definition) {
         super();
@@ -118,6 +128,67 @@ public abstract class ExecutableBuilder {
         return definition;
     }
 
+    /**
+     * Caches the results (keyed by the argument values) of the method. Only use this for pure methods.
+     *
+     * @param maxSize max number of results to cache.
+     * @param ttl time to live; zero or less means results never expire.
+     * @param unit time unit.
+     */
+    protected void setMemoization(int maxSize, long ttl, TimeUnit unit) {
+        Assert.isTrue(maxSize > 0, "maxSize must be > 0");
+        Assert.notNull(unit, "unit cannot be null.");
+        this.cacheSize = maxSize;
+        this.cacheTtlNanos = unit.toNanos(ttl);
+    }
+
+    /**
+     * Creates the result cache if memoization has been requested (either thru the builder or via the @Pure
+     * annotation on the method/class).
+     *
+     * @param <V> result type.
+     * @return result cache; null if the results are not to be cached.
+     */
+    protected <V> ResultCache<ArgumentKey, V> createResultCache() {
+        int size = cacheSize;
+        long ttlNanos = cacheTtlNanos;
+
+        if (size == 0) {
+            Pure pure = getPureAnnotation();
+            if (pure == null) return null;
+            size = pure.maxSize();
+            ttlNanos = pure.unit().toNanos(pure.expireAfter());
+        }
+
+        validatePure();
+        return ResultCache.create(size, ttlNanos, TimeUnit.NANOSECONDS);
+    }
+
+    protected Pure getPureAnnotation() {
+        Pure result = getDefinition().getMethod() != null
+                ? AnnotationUtils.findAnnotation(getDefinition().getMethod(), Pure.class)
+                : null;
+        if (result == null && getTarget() != null) result = AnnotationUtils.findAnnotation(getTarget().getClass(), Pure.class);
+        return result;
+    }
+
+    /**
+     * Results can only be keyed by plain values; Bindings and the RuleContext are mutable.
+     */
+    protected void validatePure() {
+        for (ParameterDefinition parameter : getDefinition().getParameterDefinitions()) {
+            Type type = parameter.getType();
+            boolean mutable = parameter.isBindingType() || (type instanceof Class
+                    && (RuleContext.class.isAssignableFrom((Class<?>) type) || Bindings.class.isAssignableFrom((Class<?>) type)));
+
+            if (mutable) {
+                throw new UnrulyException("Pure method [" + getDefinition().getMethod() + "] cannot take parameter ["
+                        + parameter.getTypeAndName() + "]. Results are cached by argument value; Bindings and the "
+                        + "RuleContext are not allowed.");
+            }
+        }
+    }
+
     private static Method getImplementationMethod(Class<?> c, Method candidate) {
         return RuliiSystem.getInstance().getMethodResolver().getImplementationMethod(c, candidate);
     }
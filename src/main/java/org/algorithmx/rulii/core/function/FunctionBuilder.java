@@ -39,6 +39,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
@@ -141,7 +142,7 @@ public class FunctionBuilder<T> extends ExecutableBuilder {
      */
     public Function<T> build() {
         getDefinition().validate();
-        return new DefaultFunction(getTarget(), getDefinition());
+        return new DefaultFunction(getTarget(), getDefinition(), createResultCache());
     }
 
     public static <T> Function<T> build(String script, String scriptingLanguage) {
@@ -564,6 +565,29 @@ public class FunctionBuilder<T> extends ExecutableBuilder {
         return this;
     }
 
+    /**
+     * Caches the results of the Function (keyed by the argument values); the Function must be pure. Results never expire.
+     *
+     * @param maxSize max number of results to cache.
+     * @return this for fluency.
+     */
+    public FunctionBuilder<T> memoize(int maxSize) {
+        return memoize(maxSize, 0, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Caches the results of the Function (keyed by the argument values); the Function must be pure.
+     *
+     * @param maxSize max number of results to cache.
+     * @param ttl how long a result is cached for.
+     * @param unit time unit.
+     * @return this for fluency.
+     */
+    public FunctionBuilder<T> memoize(int maxSize, long ttl, TimeUnit unit) {
+        setMemoization(maxSize, ttl, unit);
+        return this;
+    }
+
     public ParameterDefinitionEditor<FunctionBuilder<T>> param(int index) {
         return new ParameterDefinitionEditor(getDefinition().getParameterDefinition(index), this);
     }
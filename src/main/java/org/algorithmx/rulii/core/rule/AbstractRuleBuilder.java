@@ -29,6 +29,7 @@ import org.algorithmx.rulii.util.RunnableComparator;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class AbstractRuleBuilder<T> {
 
@@ -36,6 +37,7 @@ public class AbstractRuleBuilder<T> {
     private String name;
     private String description;
     private int order = Ordered.LOWEST_PRECEDENCE;
+    private long timeoutNanos = 0L;
     private Condition preCondition = null;
     private Condition condition;
     private Action otherwiseAction;
@@ -82,6 +84,20 @@ public class AbstractRuleBuilder<T> {
         return this;
     }
 
+    /**
+     * Time budget of the Rule. Checked cooperatively (between the Rule steps); the Rule ends with a TIMED_OUT status
+     * once the budget is used up.
+     *
+     * @param timeout time allowed; zero or less means no time limit.
+     * @param unit time unit.
+     * @return this for fluency.
+     */
+    public AbstractRuleBuilder<T> timeout(long timeout, TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        this.timeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
     public AbstractRuleBuilder<T> preCondition(Condition preCondition) {
         this.preCondition = preCondition;
         return this;
@@ -129,6 +145,10 @@ public class AbstractRuleBuilder<T> {
         return order;
     }
 
+    protected long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
     protected Condition getPreCondition() {
         return preCondition;
     }
@@ -182,6 +202,6 @@ public class AbstractRuleBuilder<T> {
         }
 
         return new RulingClass(ruleDefinition, getTarget(), getPreCondition(), getCondition(),
-                getThenActions(), getOtherwiseAction());
+                getThenActions(), getOtherwiseAction(), getTimeoutNanos());
     }
 }
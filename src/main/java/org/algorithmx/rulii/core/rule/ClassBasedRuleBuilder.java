@@ -21,6 +21,7 @@ package org.algorithmx.rulii.core.rule;
 import org.algorithmx.rulii.annotation.Description;
 import org.algorithmx.rulii.annotation.Given;
 import org.algorithmx.rulii.annotation.Order;
+import org.algorithmx.rulii.annotation.Timeout;
 import org.algorithmx.rulii.annotation.Otherwise;
 import org.algorithmx.rulii.annotation.PreCondition;
 import org.algorithmx.rulii.annotation.Then;
@@ -31,6 +32,8 @@ import org.algorithmx.rulii.core.condition.Condition;
 import org.algorithmx.rulii.core.condition.ConditionBuilder;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Builder class for all Class based Rule(s).
  *
@@ -70,6 +73,11 @@ public class ClassBasedRuleBuilder<T> extends AbstractRuleBuilder<T> {
         return orderAnnotation != null ? orderAnnotation.value() : Ordered.LOWEST_PRECEDENCE;
     }
 
+    public static <T> long getRuleTimeout(Class<T> ruleClass) {
+        Timeout timeoutAnnotation = ruleClass.getAnnotation(Timeout.class);
+        return timeoutAnnotation != null ? timeoutAnnotation.unit().toNanos(timeoutAnnotation.value()) : 0L;
+    }
+
     /**
      * Loads the given Rule class. The Rule class must be annotated with @Rule and must define a single "given" method
      * which returns a boolean. The when method can take a arbitrary number of arguments.
@@ -87,6 +95,7 @@ public class ClassBasedRuleBuilder<T> extends AbstractRuleBuilder<T> {
         name(getRuleName(ruleClass));
         description(getRuleDescription(ruleClass));
         order(getRuleOrder(ruleClass));
+        timeout(getRuleTimeout(ruleClass), TimeUnit.NANOSECONDS);
         loadPreCondition(ruleClass, target);
         loadCondition(ruleClass, target);
         loadThenActions(target);
@@ -20,7 +20,11 @@ package org.algorithmx.rulii.core.rule;
 
 public enum RuleExecutionStatus {
 
-    PASS, FAIL, SKIPPED;
+    PASS, FAIL, SKIPPED, TIMED_OUT,
+    /**
+     * The Rule did not run because the Rule execution limit of the ExecutionBudget had been reached.
+     */
+    BUDGET_EXHAUSTED;
 
     public boolean isPass() {
         return this == PASS;
@@ -33,4 +37,12 @@ public enum RuleExecutionStatus {
     public boolean isSkipped() {
         return this == SKIPPED;
     }
+
+    public boolean isTimedOut() {
+        return this == TIMED_OUT;
+    }
+
+    public boolean isBudgetExhausted() {
+        return this == BUDGET_EXHAUSTED;
+    }
 }
@@ -26,9 +26,11 @@ import org.algorithmx.rulii.event.EventType;
 import org.algorithmx.rulii.event.ExecutionEvent;
 import org.algorithmx.rulii.event.RuleExecution;
 import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.trace.jfr.FlightRecorderEvents;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Default Rule Implementation (implements Identifiable).
@@ -44,6 +46,7 @@ public class RulingClass<T> implements Rule<T> {
     private final List<Action> actions;
     private final Action otherwiseAction;
     private final T target;
+    private final long timeoutNanos;
 
     /**
      * Rule defined with all the given properties.
@@ -57,6 +60,22 @@ public class RulingClass<T> implements Rule<T> {
      */
     RulingClass(RuleDefinition ruleDefinition, T target, Condition preCondition, Condition condition,
                        List<Action> thenActions, Action otherwiseAction) {
+        this(ruleDefinition, target, preCondition, condition, thenActions, otherwiseAction, 0L);
+    }
+
+    /**
+     * Rule defined with all the given properties and a time budget.
+     *
+     * @param ruleDefinition meta information.
+     * @param target target Rule class.
+     * @param preCondition pre-condition.
+     * @param condition given condition.
+     * @param thenActions all the Then actions.
+     * @param otherwiseAction the Otherwise action (optional);
+     * @param timeoutNanos time budget of the Rule (zero or less means no time limit).
+     */
+    RulingClass(RuleDefinition ruleDefinition, T target, Condition preCondition, Condition condition,
+                List<Action> thenActions, Action otherwiseAction, long timeoutNanos) {
         super();
         Assert.notNull(ruleDefinition, "ruleDefinition cannot be null");
         this.ruleDefinition = ruleDefinition;
@@ -67,6 +86,7 @@ public class RulingClass<T> implements Rule<T> {
         this.actions = thenActions != null ? Collections.unmodifiableList(thenActions) : Collections.emptyList();
         // Otherwise action (Optional)
         this.otherwiseAction = otherwiseAction;
+        this.timeoutNanos = timeoutNanos > 0 ? timeoutNanos : 0L;
     }
 
     @Override
@@ -76,20 +96,52 @@ public class RulingClass<T> implements Rule<T> {
         if (!context.isActive()) throw new UnrulyException("RuleContext is not Active. Perhaps it was stopped earlier ? "
                 + "Create a new RuleContext and try again.");
 
-        // Rule Start Event
-        context.getEventProcessor().fireListeners(createEvent(EventType.RULE_START, null));
+        // Sampling decision is made once per top-level execution
+        context.getEventProcessor().beginExecution(getName());
 
+        Object flightEvent = FlightRecorderEvents.beginRule();
+        long startTime = timeoutNanos > 0 ? System.nanoTime() : 0L;
+        RuleExecutionStatus status = null;
         Boolean result = false;
 
         try {
+            // Rule Start Event
+            fireEvent(context, EventType.RULE_START, null, null);
+
+            // Out of time; do not start
+            if (context.isTimedOut()) {
+                status = RuleExecutionStatus.TIMED_OUT;
+                return new RuleResult(getName(), status);
+            }
+
+            // The execution limit has been reached; do not start
+            if (!context.getBudget().acquireRuleExecution()) {
+                status = RuleExecutionStatus.BUDGET_EXHAUSTED;
+                return new RuleResult(getName(), status);
+            }
+
             // Check the Pre-Condition
             boolean preConditionCheck = processCondition(context, getPreCondition(), EventType.RULE_PRE_CONDITION_START,
                     EventType.RULE_PRE_CONDITION_END);
             // We did not pass the Pre-Condition
-            if (!preConditionCheck) return new RuleResult(getName(), RuleExecutionStatus.SKIPPED);
+            if (!preConditionCheck) {
+                status = RuleExecutionStatus.SKIPPED;
+                return new RuleResult(getName(), status);
+            }
+
+            if (isTimedOut(context, startTime)) {
+                status = RuleExecutionStatus.TIMED_OUT;
+                return new RuleResult(getName(), status);
+            }
 
             result = processCondition(context, getCondition(), EventType.RULE_CONDITION_START, EventType.RULE_CONDITION_END);
 
+            // Do not run any Actions if we are out of time
+            if (isTimedOut(context, startTime)) {
+                status = RuleExecutionStatus.TIMED_OUT;
+                return new RuleResult(getName(), status);
+            }
+
             // The Condition passed
             if (result) {
                 // Execute associated Actions.
@@ -97,18 +149,44 @@ public class RulingClass<T> implements Rule<T> {
                     processAction(context, action, EventType.RULE_ACTION_START, EventType.RULE_ACTION_END);
                     // Looks like stopExecution was called on the RuleContext
                     if (!context.isActive()) break;
+
+                    if (isTimedOut(context, startTime)) {
+                        status = RuleExecutionStatus.TIMED_OUT;
+                        return new RuleResult(getName(), status);
+                    }
                 }
             } else {
                 // Execute otherwise Action.
                 processAction(context, getOtherwiseAction(), EventType.RULE_OTHERWISE_ACTION_START,
                         EventType.RULE_OTHERWISE_ACTION_END);
             }
+
+            status = result ? RuleExecutionStatus.PASS : RuleExecutionStatus.FAIL;
         } finally {
             // Rule End Event
-            context.getEventProcessor().fireListeners(createEvent(EventType.RULE_END, result));
+            fireEvent(context, EventType.RULE_END, result, status);
+            FlightRecorderEvents.endRule(flightEvent, getName(), status);
+            context.getEventProcessor().endExecution();
         }
 
-        return new RuleResult(getName(), result ? RuleExecutionStatus.PASS : RuleExecutionStatus.FAIL);
+        return new RuleResult(getName(), status);
+    }
+
+    /**
+     * Checks whether the RuleContext deadline or the time budget of this Rule has passed.
+     *
+     * @param context rule context.
+     * @param startTime time (nanos) the Rule started.
+     * @return true if out of time.
+     */
+    protected boolean isTimedOut(RuleContext context, long startTime) {
+        if (context.isTimedOut()) return true;
+        return timeoutNanos > 0 && System.nanoTime() - startTime >= timeoutNanos;
+    }
+
+    public long getTimeout(TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        return unit.convert(timeoutNanos, TimeUnit.NANOSECONDS);
     }
 
     protected boolean processCondition(RuleContext context, Condition condition, EventType startEventType, EventType endEventType) {
@@ -117,17 +195,24 @@ public class RulingClass<T> implements Rule<T> {
         if (condition == null) return true;
 
         // Fire the event
-        context.getEventProcessor().fireListeners(createEvent(startEventType, condition));
+        fireEvent(context, startEventType, condition, null);
+
+        Object flightEvent = FlightRecorderEvents.beginCondition();
+        boolean result = false;
+        boolean error = true;
 
         try {
             // Check the condition
-            return condition.isTrue(context);
+            result = condition.isTrue(context);
+            error = false;
+            return result;
         } catch (Exception e) {
             throw new RuleExecutionException("Unexpected error occurred while trying to execution Condition ["
                     + startEventType.getDescription() + "] on Rule [" + getName() + "].", e, this.getTarget(), startEventType);
         } finally {
             // Fire the end event
-            context.getEventProcessor().fireListeners(createEvent(endEventType, condition));
+            fireEvent(context, endEventType, condition, null);
+            FlightRecorderEvents.endCondition(flightEvent, getName(), startEventType.getDescription(), result, error);
         }
     }
 
@@ -137,21 +222,38 @@ public class RulingClass<T> implements Rule<T> {
         if (action == null) return;
 
         // Fire the start event
-        context.getEventProcessor().fireListeners(createEvent(startEventType, action));
+        fireEvent(context, startEventType, action, null);
+
+        Object flightEvent = FlightRecorderEvents.beginAction();
+        boolean error = true;
 
         try {
             action.run(context);
+            error = false;
         } catch (Exception e) {
             throw new RuleExecutionException("Unexpected error occurred while trying to execution Action ["
                     + startEventType.getDescription() + "] on Rule [" + getName() + "].", e, this.getTarget(), startEventType);
         } finally {
             // Fire the end event
-            context.getEventProcessor().fireListeners(createEvent(endEventType, action));
+            fireEvent(context, endEventType, action, null);
+            FlightRecorderEvents.endAction(flightEvent, getName(), startEventType.getDescription(), error);
         }
     }
 
+    protected void fireEvent(RuleContext context, EventType eventType, Object executingElement,
+                             RuleExecutionStatus status) {
+        // Only build the event if someone is listening (and the execution is sampled)
+        if (!context.getEventProcessor().isSampled()) return;
+        context.getEventProcessor().fireListeners(createEvent(eventType, executingElement, status));
+    }
+
     protected ExecutionEvent<RuleExecution> createEvent(EventType eventType, Object executingElement) {
-        RuleExecution ruleExecution = new RuleExecution( this, executingElement);
+        return createEvent(eventType, executingElement, null);
+    }
+
+    protected ExecutionEvent<RuleExecution> createEvent(EventType eventType, Object executingElement,
+                                                        RuleExecutionStatus status) {
+        RuleExecution ruleExecution = new RuleExecution( this, executingElement, status);
         return new ExecutionEvent<>(eventType, ruleExecution);
     }
 
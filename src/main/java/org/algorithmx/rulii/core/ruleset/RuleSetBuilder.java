@@ -18,20 +18,29 @@
 
 package org.algorithmx.rulii.core.ruleset;
 
+import org.algorithmx.rulii.annotation.Case;
+import org.algorithmx.rulii.core.Identifiable;
 import org.algorithmx.rulii.core.Runnable;
+import org.algorithmx.rulii.core.UnrulyException;
 import org.algorithmx.rulii.core.action.Action;
 import org.algorithmx.rulii.core.condition.Condition;
 import org.algorithmx.rulii.core.condition.ConditionBuilder;
 import org.algorithmx.rulii.core.model.Definition;
 import org.algorithmx.rulii.core.rule.Rule;
 import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.metrics.AdaptiveOrder;
 import org.algorithmx.rulii.util.RuleUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class RuleSetBuilder {
 
@@ -41,6 +50,11 @@ public class RuleSetBuilder {
 
     private Condition preCondition;
     private Condition stopCondition;
+    private int reorderInterval = 0;
+    private boolean flatten = false;
+    private String discriminator;
+    private final Map<Object, List<Runnable>> cases = new LinkedHashMap<>();
+    private final List<Runnable> defaultItems = new ArrayList<>();
 
     protected RuleSetBuilder() {
         super();
@@ -270,10 +284,89 @@ public class RuleSetBuilder {
         return this;
     }
 
+    /**
+     * Runs the items in an adaptive order (see AdaptiveOrder); the items that fail most often (cheaply) are run first.
+     * Only valid for independent items with the StopConditions.ANY_FAIL stop condition.
+     *
+     * @return this for fluency.
+     */
+    public RuleSetBuilder adaptiveOrdering() {
+        return adaptiveOrdering(AdaptiveOrder.DEFAULT_REORDER_INTERVAL);
+    }
+
+    /**
+     * Runs the items in an adaptive order (see AdaptiveOrder); the items that fail most often (cheaply) are run first.
+     * Only valid for independent items with the StopConditions.ANY_FAIL stop condition.
+     *
+     * @param reorderInterval number of executions between reorders.
+     * @return this for fluency.
+     */
+    public RuleSetBuilder adaptiveOrdering(int reorderInterval) {
+        Assert.isTrue(reorderInterval > 0, "reorderInterval must be > 0");
+        this.reorderInterval = reorderInterval;
+        return this;
+    }
+
+    /**
+     * Inlines the nested RuleSets (that have no pre/stop condition and do not need a scope of their own) into a single
+     * execution sequence. Only applies if this RuleSet does not have a stop condition. The flattened RuleSets do not
+     * fire their own RuleSet events; their Rule results are identical.
+     *
+     * @return this for fluency.
+     */
+    public RuleSetBuilder flatten() {
+        this.flatten = true;
+        return this;
+    }
+
+    /**
+     * Turns this RuleSet into a switch (see SwitchingFamily); the items are registered against the values of the given
+     * binding and only the matching items are run. Rules added with rule(s) must be annotated with @Case.
+     *
+     * @param bindingName name of the discriminator binding.
+     * @return this for fluency.
+     */
+    public RuleSetBuilder switchOn(String bindingName) {
+        Assert.notNull(bindingName, "bindingName cannot be null.");
+        this.discriminator = bindingName;
+        return this;
+    }
+
+    /**
+     * Registers the given items against a discriminator value (requires switchOn).
+     *
+     * @param value discriminator value.
+     * @param items items to run when the discriminator binding holds the value.
+     * @return this for fluency.
+     */
+    public RuleSetBuilder when(Object value, Runnable...items) {
+        Assert.notNull(value, "value cannot be null.");
+        Assert.notNullArray(items, "items");
+        cases.computeIfAbsent(value, k -> new ArrayList<>()).addAll(Arrays.asList(items));
+        return this;
+    }
+
+    /**
+     * Registers the items of the default branch; they are run when none of the discriminator values match (requires
+     * switchOn).
+     *
+     * @param items default items.
+     * @return this for fluency.
+     */
+    public RuleSetBuilder otherwise(Runnable...items) {
+        Assert.notNullArray(items, "items");
+        defaultItems.addAll(Arrays.asList(items));
+        return this;
+    }
+
     public RuleSetDefinition buildRuleSetDefinition() {
-        List<Definition> definitions = new ArrayList<>(getRuleSetItems().size());
+        return buildRuleSetDefinition(getRuleSetItems());
+    }
 
-        getRuleSetItems().stream().forEach(r -> {
+    protected RuleSetDefinition buildRuleSetDefinition(Collection<? extends Runnable> items) {
+        List<Definition> definitions = new ArrayList<>(items.size());
+
+        items.stream().forEach(r -> {
             if (r instanceof Rule) {
                 definitions.add(((Rule) r).getRuleDefinition());
             } else if (r instanceof RuleSet) {
@@ -293,13 +386,84 @@ public class RuleSetBuilder {
 
     public RuleSetBuilder clear() {
         this.ruleSetItems.clear();
+        this.cases.clear();
+        this.defaultItems.clear();
         return this;
     }
 
     public RuleSet build() {
+        if (discriminator != null) return buildSwitch();
+
+        if (!cases.isEmpty() || !defaultItems.isEmpty()) {
+            throw new UnrulyException("RuleSet [" + getName() + "] has when/otherwise items but no discriminator. "
+                    + "Use switchOn to turn it into a switch RuleSet.");
+        }
+
+        Runnable[] items = getRuleSetItems().toArray(new Runnable[getRuleSetItems().size()]);
         return new RulingFamily(buildRuleSetDefinition(),
-                getPreCondition(), getStopCondition(),
-                getRuleSetItems().toArray(new Runnable[getRuleSetItems().size()]));
+                getPreCondition(), getStopCondition(), createAdaptiveOrder(items), flatten, items);
+    }
+
+    protected RuleSet buildSwitch() {
+        if (reorderInterval != 0 || flatten) {
+            throw new UnrulyException("Switch RuleSets cannot be adaptive/flattened. RuleSet [" + getName() + "]");
+        }
+
+        Map<Object, List<Runnable>> switchCases = new LinkedHashMap<>();
+        cases.forEach((value, items) -> switchCases.put(value, new ArrayList<>(items)));
+        List<Runnable> switchDefaults = new ArrayList<>(defaultItems);
+
+        // Rules added directly are registered using their @Case annotation
+        for (Runnable item : getRuleSetItems()) {
+            Case annotation = getCase(item);
+
+            if (annotation == null) {
+                throw new UnrulyException("Item [" + (item instanceof Identifiable ? ((Identifiable) item).getName() : item)
+                        + "] of the switch RuleSet [" + getName() + "] must be registered against a discriminator value "
+                        + "(use when/otherwise or annotate the Rule class with @Case).");
+            }
+
+            for (String value : annotation.value()) {
+                switchCases.computeIfAbsent(value, k -> new ArrayList<>()).add(item);
+            }
+
+            if (annotation.isDefault()) switchDefaults.add(item);
+        }
+
+        // Same item may be registered against several values
+        List<Runnable> allItems = new ArrayList<>();
+        Set<Runnable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        switchCases.values().forEach(items -> items.stream().filter(seen::add).forEach(allItems::add));
+        switchDefaults.stream().filter(seen::add).forEach(allItems::add);
+
+        return new SwitchingFamily(buildRuleSetDefinition(allItems), getPreCondition(), getStopCondition(),
+                discriminator, switchCases, switchDefaults);
+    }
+
+    private static Case getCase(Runnable item) {
+        if (!(item instanceof Rule)) return null;
+        Rule<?> rule = (Rule<?>) item;
+        Class<?> ruleClass = rule.getRuleDefinition().getRuleClass();
+        if (ruleClass == null && rule.getTarget() != null) ruleClass = rule.getTarget().getClass();
+        return ruleClass != null ? ruleClass.getAnnotation(Case.class) : null;
+    }
+
+    protected AdaptiveOrder createAdaptiveOrder(Runnable[] items) {
+        if (reorderInterval == 0) return null;
+
+        // Reordering is only safe if the outcome does not depend on the order
+        if (getStopCondition() != StopConditions.ANY_FAIL) {
+            throw new UnrulyException("Adaptive ordering requires the StopConditions.ANY_FAIL stop condition. RuleSet ["
+                    + getName() + "]");
+        }
+
+        String[] names = new String[items.length];
+
+        for (int i = 0; i < items.length; i++) {
+            names[i] = items[i] instanceof Identifiable ? ((Identifiable) items[i]).getName() : "item-" + i;
+        }
+
+        return new AdaptiveOrder(names, reorderInterval);
     }
 
     public String getName() {
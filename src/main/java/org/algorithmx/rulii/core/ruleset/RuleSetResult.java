@@ -38,6 +38,8 @@ public class RuleSetResult implements Iterable<RuleResult>, RuleResultExtractor
     private final List<RuleResult> results = new LinkedList<>();
     private final Bindings bindings;
     private boolean preConditionCheck = false;
+    private boolean timedOut = false;
+    private boolean budgetExhausted = false;
 
     public RuleSetResult(Bindings bindings) {
         super();
@@ -100,6 +102,10 @@ public class RuleSetResult implements Iterable<RuleResult>, RuleResultExtractor
         return getRuleResults(RuleExecutionStatus.SKIPPED);
     }
 
+    public RuleResult[] getTimedOutResults() {
+        return getRuleResults(RuleExecutionStatus.TIMED_OUT);
+    }
+
     public RuleResult get(int index) {
         return results.get(index);
     }
@@ -113,11 +119,11 @@ public class RuleSetResult implements Iterable<RuleResult>, RuleResultExtractor
     }
 
     public boolean isAnyPass() {
-        return isTrue(r -> !r.getStatus().isPass());
+        return isAny(r -> r.getStatus().isPass());
     }
 
     public boolean isAnySkip() {
-        return isTrue(r -> !r.getStatus().isSkipped());
+        return isAny(r -> r.getStatus().isSkipped());
     }
 
     public boolean isAllSkip() {
@@ -129,7 +135,7 @@ public class RuleSetResult implements Iterable<RuleResult>, RuleResultExtractor
     }
 
     public boolean isAnyFail() {
-        return isTrue(r -> !r.getStatus().isFail());
+        return isAny(r -> r.getStatus().isFail());
     }
 
     public boolean isAllFailOrSkip() {
@@ -138,7 +144,7 @@ public class RuleSetResult implements Iterable<RuleResult>, RuleResultExtractor
 
     public boolean isTrue(RuleExecutionStatus...statuses) {
         Set<RuleExecutionStatus> values = statuses != null ? new HashSet<>(Arrays.asList(statuses)) : new HashSet<>();
-        return isTrue(r -> values.contains(r));
+        return isTrue(r -> values.contains(r.getStatus()));
     }
 
     public boolean isTrue(Predicate<RuleResult> predicate) {
@@ -154,9 +160,22 @@ public class RuleSetResult implements Iterable<RuleResult>, RuleResultExtractor
         return result;
     }
 
+    public boolean isAny(Predicate<RuleResult> predicate) {
+        boolean result = false;
+
+        for (RuleResult ruleResult : results) {
+            if (predicate.test(ruleResult)) {
+                result = true;
+                break;
+            }
+        }
+
+        return result;
+    }
+
     public RuleResult[] getRuleResults(RuleExecutionStatus...statuses) {
         Set<RuleExecutionStatus> values = statuses != null ? new HashSet<>(Arrays.asList(statuses)) : new HashSet<>();
-        return getRuleResults(r -> values.contains(r));
+        return getRuleResults(r -> values.contains(r.getStatus()));
     }
 
     public RuleResult[] getRuleResults(Predicate<RuleResult> predicate) {
@@ -193,11 +212,48 @@ public class RuleSetResult implements Iterable<RuleResult>, RuleResultExtractor
         this.preConditionCheck = preConditionCheck;
     }
 
+    /**
+     * Determines whether the RuleSet stopped early because it ran out of time.
+     *
+     * @return true if the RuleSet timed out.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * Determines whether the RuleSet stopped early because the Rule execution limit was reached.
+     *
+     * @return true if the execution limit was reached.
+     */
+    public boolean isBudgetExhausted() {
+        return budgetExhausted;
+    }
+
+    void setBudgetExhausted(boolean budgetExhausted) {
+        this.budgetExhausted = budgetExhausted;
+    }
+
+    /**
+     * Determines whether the RuleSet stopped early (timed out or the Rule execution limit was reached).
+     *
+     * @return true if the RuleSet did not run all its items because it ran out of budget.
+     */
+    public boolean isStoppedEarly() {
+        return timedOut || budgetExhausted;
+    }
+
     @Override
     public String toString() {
         return "RuleResultSet{" +
                 "results=" + results +
                 ", preConditionCheck=" + preConditionCheck +
+                ", timedOut=" + timedOut +
+                ", budgetExhausted=" + budgetExhausted +
                 '}';
     }
 }
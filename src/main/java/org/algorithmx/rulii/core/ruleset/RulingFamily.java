@@ -22,18 +22,27 @@ import org.algorithmx.rulii.bind.Bindings;
 import org.algorithmx.rulii.core.Identifiable;
 import org.algorithmx.rulii.core.Runnable;
 import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.core.action.Action;
 import org.algorithmx.rulii.core.condition.Condition;
 import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.model.MethodDefinition;
+import org.algorithmx.rulii.core.model.ParameterDefinition;
+import org.algorithmx.rulii.core.rule.Rule;
 import org.algorithmx.rulii.core.rule.RuleResult;
 import org.algorithmx.rulii.core.rule.RuleResultExtractor;
 import org.algorithmx.rulii.event.EventType;
 import org.algorithmx.rulii.event.ExecutionEvent;
 import org.algorithmx.rulii.event.RuleSetExecution;
 import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.metrics.AdaptiveOrder;
+import org.algorithmx.rulii.trace.jfr.FlightRecorderEvents;
 import org.algorithmx.rulii.util.RuleUtils;
 
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Default implementation of the RuleSet.
@@ -43,21 +52,165 @@ import java.util.Iterator;
  */
 public class RulingFamily implements RuleSet {
 
+    private static final String RULE_SET_RESULT = "ruleSetResult";
+
     private final RuleSetDefinition ruleSetDefinition;
     private final Runnable[] ruleSetItems;
     private final Condition preCondition;
     private final Condition stopCondition;
+    private final AdaptiveOrder adaptiveOrder;
+    // Items in execution order (nested RuleSets may have been flattened into it) along with their parent names
+    private final Runnable[] executionItems;
+    private final String[] executionParents;
+    private final boolean scopeRequired;
+    private final String scopeName;
 
     public RulingFamily(RuleSetDefinition ruleSetDefinition,
                         Condition preCondition, Condition stopCondition,
                         Runnable...ruleSetItems) {
+        this(ruleSetDefinition, preCondition, stopCondition, null, false, ruleSetItems);
+    }
+
+    /**
+     * RuleSet whose items are run in an adaptive order (see AdaptiveOrder). Only meant for independent items with an
+     * ANY_FAIL stop condition; the items that are most likely to fail (cheaply) are run first.
+     *
+     * @param ruleSetDefinition meta information.
+     * @param preCondition pre-condition (optional).
+     * @param stopCondition stop condition (optional).
+     * @param adaptiveOrder adaptive order (optional).
+     * @param ruleSetItems items of the RuleSet.
+     */
+    public RulingFamily(RuleSetDefinition ruleSetDefinition,
+                        Condition preCondition, Condition stopCondition, AdaptiveOrder adaptiveOrder,
+                        Runnable...ruleSetItems) {
+        this(ruleSetDefinition, preCondition, stopCondition, adaptiveOrder, false, ruleSetItems);
+    }
+
+    /**
+     * RuleSet with all the options.
+     *
+     * @param ruleSetDefinition meta information.
+     * @param preCondition pre-condition (optional).
+     * @param stopCondition stop condition (optional).
+     * @param adaptiveOrder adaptive order (optional).
+     * @param flatten whether to inline the nested RuleSets that allow it (see canBeFlattened) into one execution
+     *                sequence. Flattened RuleSets do not fire their own RuleSet events.
+     * @param ruleSetItems items of the RuleSet.
+     */
+    public RulingFamily(RuleSetDefinition ruleSetDefinition,
+                        Condition preCondition, Condition stopCondition, AdaptiveOrder adaptiveOrder,
+                        boolean flatten, Runnable...ruleSetItems) {
         super();
         Assert.notNull(ruleSetDefinition, "ruleSetDefinition cannot be null");
         this.ruleSetDefinition = ruleSetDefinition;
         this.ruleSetItems = ruleSetItems != null ? ruleSetItems : new Runnable[0];
         this.preCondition = preCondition;
         this.stopCondition = stopCondition;
+        this.adaptiveOrder = adaptiveOrder;
         Assert.notNullArray(ruleSetItems, "ruleSetItems");
+        Assert.isTrue(!(flatten && adaptiveOrder != null), "Adaptive RuleSets cannot be flattened.");
+
+        // Running the stop condition after each nested item would change the outcome
+        if (flatten && stopCondition == null) {
+            List<Runnable> items = new ArrayList<>(this.ruleSetItems.length);
+            List<String> parents = new ArrayList<>(this.ruleSetItems.length);
+            flatten(this.ruleSetItems, items, parents);
+            this.executionItems = items.toArray(new Runnable[items.size()]);
+            this.executionParents = parents.toArray(new String[parents.size()]);
+        } else {
+            this.executionItems = this.ruleSetItems;
+            this.executionParents = new String[this.ruleSetItems.length];
+        }
+
+        this.scopeRequired = isScopeRequired(stopCondition, this.executionItems);
+        this.scopeName = getName() + "-scope";
+    }
+
+    private static void flatten(Runnable[] candidates, List<Runnable> items, List<String> parents) {
+        for (Runnable candidate : candidates) {
+            if (candidate instanceof RulingFamily && ((RulingFamily) candidate).canBeFlattened()) {
+                RulingFamily nested = (RulingFamily) candidate;
+
+                for (int i = 0; i < nested.executionItems.length; i++) {
+                    items.add(nested.executionItems[i]);
+                    parents.add(nested.executionParents[i] != null ? nested.executionParents[i] : nested.getName());
+                }
+            } else {
+                items.add(candidate);
+                parents.add(null);
+            }
+        }
+    }
+
+    /**
+     * Determines whether this RuleSet can be inlined into its parent. Only plain RuleSets (no pre/stop condition, not
+     * adaptive, not sub-classed) that do not need a scope of their own can be flattened.
+     *
+     * @return true if this RuleSet can be flattened.
+     */
+    protected boolean canBeFlattened() {
+        return getClass() == RulingFamily.class && preCondition == null && stopCondition == null
+                && adaptiveOrder == null && !scopeRequired;
+    }
+
+    /**
+     * The RuleSet scope is only needed if an item (or the stop condition) refers to the ruleSetResult or may declare
+     * bindings of its own (takes Bindings or the RuleContext). Items that cannot be inspected always need the scope.
+     */
+    private static boolean isScopeRequired(Condition stopCondition, Runnable[] items) {
+        if (stopCondition != null && isScopeRequired(stopCondition.getMethodDefinition())) return true;
+
+        for (Runnable item : items) {
+            if (isScopeRequired(item)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean isScopeRequired(Runnable item) {
+        if (item instanceof Rule) {
+            Rule<?> rule = (Rule<?>) item;
+            if (rule.getPreCondition() != null && isScopeRequired(rule.getPreCondition().getMethodDefinition())) return true;
+            if (rule.getCondition() != null && isScopeRequired(rule.getCondition().getMethodDefinition())) return true;
+            if (rule.getOtherwiseAction() != null && isScopeRequired(rule.getOtherwiseAction().getMethodDefinition())) return true;
+
+            for (Action action : rule.getActions()) {
+                if (isScopeRequired(action.getMethodDefinition())) return true;
+            }
+
+            return false;
+        }
+
+        // Nested RuleSet creates its own scope (if it needs one); only its pre-condition runs in ours
+        if (item instanceof RulingFamily) {
+            Condition nestedPreCondition = ((RulingFamily) item).getPreCondition();
+            return nestedPreCondition != null && isScopeRequired(nestedPreCondition.getMethodDefinition());
+        }
+
+        if (item instanceof Action) return isScopeRequired(((Action) item).getMethodDefinition());
+        if (item instanceof Condition) return isScopeRequired(((Condition) item).getMethodDefinition());
+
+        return true;
+    }
+
+    private static boolean isScopeRequired(MethodDefinition definition) {
+        if (definition == null) return true;
+
+        for (ParameterDefinition parameter : definition.getParameterDefinitions()) {
+            if (RULE_SET_RESULT.equals(parameter.getName())) return true;
+            if (isScopeRequired(parameter.getType())) return true;
+            if (parameter.isBindingType() && isScopeRequired(parameter.getUnderlyingType())) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean isScopeRequired(Type type) {
+        if (!(type instanceof Class)) return false;
+        Class<?> clazz = (Class<?>) type;
+        return RuleSetResult.class.equals(clazz) || Bindings.class.isAssignableFrom(clazz)
+                || RuleContext.class.isAssignableFrom(clazz);
     }
 
     @Override
@@ -67,9 +220,30 @@ public class RulingFamily implements RuleSet {
         if (!context.isActive()) throw new UnrulyException("RuleContext is not Active. Perhaps it was stopped earlier ? "
                 + "Create a new RuleContext and try again.");
 
-        // RuleSet Start Event
-        context.getEventProcessor().fireListeners(createEvent(EventType.RULE_SET_START, null));
+        // Sampling decision is made once per top-level execution
+        context.getEventProcessor().beginExecution(getName());
+
+        Object flightEvent = FlightRecorderEvents.beginRuleSet();
+        RuleSetResult result = null;
+        String outcome = "ERROR";
 
+        try {
+            // RuleSet Start Event
+            fireEvent(context, EventType.RULE_SET_START, null);
+            result = runRules(context);
+            outcome = result.isTimedOut() ? "TIMED_OUT"
+                    : result.isBudgetExhausted() ? "BUDGET_EXHAUSTED"
+                    : result.isPreConditionCheck() ? "COMPLETED" : "SKIPPED";
+            return result;
+        } finally {
+            // RuleSet End Event (result is null if the RuleSet ended with an error)
+            fireEvent(context, EventType.RULE_SET_END, result);
+            FlightRecorderEvents.endRuleSet(flightEvent, getName(), size(), outcome);
+            context.getEventProcessor().endExecution();
+        }
+    }
+
+    protected RuleSetResult runRules(RuleContext context) {
         RuleSetResult result = new RuleSetResult(context.getBindings());
 
         // Run the PreCondition if there is one.
@@ -80,55 +254,122 @@ public class RulingFamily implements RuleSet {
         // RuleSet did not pass the precondition; Do not execute the rules.
         if (!preConditionCheck) return result;
 
-        // Create a new Scope for the RuleSet to use
-        Bindings ruleSetScope = createRuleSetScope(context, result);
+        // Create a new Scope for the RuleSet to use (only if someone needs it)
+        Bindings ruleSetScope = scopeRequired ? createRuleSetScope(context, result) : null;
         try {
-            int index = 0;
+            runItems(context, result);
+        } finally {
+            if (ruleSetScope != null) removeRuleSetScope(context, ruleSetScope);
+            if (adaptiveOrder != null) adaptiveOrder.executionComplete();
+        }
 
-            // Execute the rules/actions in order; STOP if the stopCondition is met.
-            for (Runnable runnable : getRuleSetItems()) {
-                try {
-                    // Run the rule/action
-                    Object executionResult = runnable.run(context);
+        return result;
+    }
 
-                    if (executionResult instanceof RuleResult) {
-                        ((RuleResult) executionResult).setParentName(this.getName());
-                    }
+    /**
+     * Runs the items of this RuleSet (once the pre-condition has passed).
+     *
+     * @param context rule context.
+     * @param result results of the run.
+     */
+    protected void runItems(RuleContext context, RuleSetResult result) {
+        runItems(context, result, executionItems, executionParents,
+                adaptiveOrder != null ? adaptiveOrder.getOrder() : null);
+    }
 
-                    // Add the results if avail
-                    if (runnable instanceof RuleResultExtractor) {
-                        RuleResult[] results = ((RuleResultExtractor) executionResult).extract();
-                        if (results != null) result.addAll();
-                    }
+    /**
+     * Runs the given items in order; stops if the stop condition is met (or the execution is stopped/out of time).
+     *
+     * @param context rule context.
+     * @param result results of the run.
+     * @param items items to run.
+     * @param parents parent names of the items (null entries mean this RuleSet).
+     * @param order execution order (optional).
+     */
+    protected final void runItems(RuleContext context, RuleSetResult result, Runnable[] items, String[] parents,
+                                  int[] order) {
+        int index = 0;
+
+        // Execute the rules/actions in order; STOP if the stopCondition is met.
+        for (int i = 0; i < items.length; i++) {
+            int itemIndex = order != null ? order[i] : i;
+            Runnable runnable = items[itemIndex];
+
+            // Out of time (or the execution limit has been reached); do not run the remaining items
+            if (context.getBudget().isExhausted()) {
+                stop(context, result);
+                break;
+            }
+
+            try {
+                long startTime = order != null ? System.nanoTime() : 0L;
+                // Run the rule/action
+                Object executionResult = runnable.run(context);
 
-                    index++;
-                } catch (Exception e) {
-                    throw new RuleSetExecutionException("Unexpected error occurred trying to execute "
-                            + runnable.getClass().getSimpleName()
-                            + "[" + (runnable instanceof Identifiable
-                                    ? ((Identifiable) runnable).getName()
-                                    : runnable.toString())
-                                + "] at Index [" + index + "/" + size() + "] on RuleSet [" + getName() + "]", e, this);
+                if (order != null) {
+                    adaptiveOrder.record(itemIndex, System.nanoTime() - startTime, isFail(executionResult));
                 }
 
-                // Looks like stopExecution was called on the RuleContext
-                if (!context.isActive()) {
-                    break;
+                if (executionResult instanceof RuleResult) {
+                    RuleResult ruleResult = (RuleResult) executionResult;
+                    ruleResult.setParentName(parents[itemIndex] != null ? parents[itemIndex] : this.getName());
+                    // A Rule that ran out of its own time budget only affects that Rule
+                    if (ruleResult.getStatus().isTimedOut() && context.getBudget().isTimedOut()) {
+                        result.setTimedOut(true);
+                    } else if (ruleResult.getStatus().isBudgetExhausted()) {
+                        result.setBudgetExhausted(true);
+                    }
+                } else if (executionResult instanceof RuleSetResult) {
+                    RuleSetResult ruleSetResult = (RuleSetResult) executionResult;
+                    if (ruleSetResult.isTimedOut()) result.setTimedOut(true);
+                    if (ruleSetResult.isBudgetExhausted()) result.setBudgetExhausted(true);
                 }
 
-                // Check to see if we need to stop the execution?
-                if (getStopCondition() != null && processCondition(context, getStopCondition(),
-                        EventType.RULE_SET_STOP_CONDITION_START, EventType.RULE_SET_STOP_CONDITION_END)) {
-                    break;
+                // Add the results if avail
+                if (executionResult instanceof RuleResultExtractor) {
+                    RuleResult[] results = ((RuleResultExtractor) executionResult).extract();
+                    if (results != null) result.addAll(results);
                 }
+
+                index++;
+            } catch (Exception e) {
+                throw new RuleSetExecutionException("Unexpected error occurred trying to execute "
+                        + runnable.getClass().getSimpleName()
+                        + "[" + (runnable instanceof Identifiable
+                                ? ((Identifiable) runnable).getName()
+                                : runnable.toString())
+                            + "] at Index [" + index + "/" + size() + "] on RuleSet [" + getName() + "]", e, this);
+            }
+
+            // Looks like stopExecution was called on the RuleContext
+            if (!context.isActive()) {
+                break;
+            }
+
+            // Ran out of budget (the whole execution, not just a single Rule)
+            if (result.isStoppedEarly()) {
+                break;
+            }
+
+            // Check to see if we need to stop the execution?
+            if (getStopCondition() != null && processCondition(context, getStopCondition(),
+                    EventType.RULE_SET_STOP_CONDITION_START, EventType.RULE_SET_STOP_CONDITION_END)) {
+                break;
             }
-        } finally {
-            removeRuleSetScope(context, ruleSetScope);
-            // RuleSet End Event
-            context.getEventProcessor().fireListeners(createEvent(EventType.RULE_SET_END, null));
         }
+    }
 
-        return result;
+    private static void stop(RuleContext context, RuleSetResult result) {
+        if (context.getBudget().isTimedOut()) {
+            result.setTimedOut(true);
+        } else {
+            result.setBudgetExhausted(true);
+        }
+    }
+
+    private static boolean isFail(Object executionResult) {
+        if (executionResult instanceof RuleResult) return ((RuleResult) executionResult).getStatus().isFail();
+        return executionResult instanceof RuleSetResult && ((RuleSetResult) executionResult).isAnyFail();
     }
 
     protected boolean processCondition(RuleContext context, Condition condition, EventType startEventType, EventType endEventType) {
@@ -137,7 +378,7 @@ public class RulingFamily implements RuleSet {
         if (condition == null) return true;
 
         // Fire the event
-        context.getEventProcessor().fireListeners(createEvent(startEventType, condition));
+        fireEvent(context, startEventType, condition);
 
         try {
             // Check the condition
@@ -147,18 +388,24 @@ public class RulingFamily implements RuleSet {
                     + startEventType.getDescription() + "] on RuleSet [" + getName() + "].", e, this);
         } finally {
             // Fire the end event
-            context.getEventProcessor().fireListeners(createEvent(endEventType, condition));
+            fireEvent(context, endEventType, condition);
         }
     }
 
+    protected void fireEvent(RuleContext context, EventType eventType, Object executingElement) {
+        // Only build the event if someone is listening (and the execution is sampled)
+        if (!context.getEventProcessor().isSampled()) return;
+        context.getEventProcessor().fireListeners(createEvent(eventType, executingElement));
+    }
+
     protected ExecutionEvent<RuleSetExecution> createEvent(EventType eventType, Object executingElement) {
         RuleSetExecution ruleExecution = new RuleSetExecution( this, executingElement);
         return new ExecutionEvent<>(eventType, ruleExecution);
     }
 
     protected Bindings createRuleSetScope(RuleContext context, RuleSetResult ruleResultSet) {
-        Bindings result = context.getBindings().addScope(getName() + "-scope");
-        context.getBindings().bind("ruleSetResult", RuleSetResult.class, ruleResultSet);
+        Bindings result = context.getBindings().addScope(scopeName);
+        context.getBindings().bind(RULE_SET_RESULT, RuleSetResult.class, ruleResultSet);
         return result;
     }
 
@@ -211,6 +458,33 @@ public class RulingFamily implements RuleSet {
         return stopCondition;
     }
 
+    /**
+     * Ordering stats/decisions (only avail if the RuleSet is adaptive).
+     *
+     * @return adaptive order; null if the items are run in the declared order.
+     */
+    public AdaptiveOrder getAdaptiveOrder() {
+        return adaptiveOrder;
+    }
+
+    /**
+     * Items in the order they are executed (nested RuleSets may have been flattened into it).
+     *
+     * @return execution items.
+     */
+    public Runnable[] getExecutionItems() {
+        return executionItems.clone();
+    }
+
+    /**
+     * Determines whether a scope is created for each run of this RuleSet.
+     *
+     * @return true if a scope is created.
+     */
+    public boolean isScopeRequired() {
+        return scopeRequired;
+    }
+
     @Override
     public int size() {
         return getRuleSetItems().length;
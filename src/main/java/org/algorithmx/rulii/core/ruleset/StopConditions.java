@@ -24,16 +24,16 @@ import org.algorithmx.rulii.core.condition.ConditionBuilder;
 public final class StopConditions {
 
     // All Rules must PASS (no SKIP or FAIL)
-    public static Condition ALL_PASS = ConditionBuilder.build((RuleSetResult result)
-            -> result.isAllPass());
+    public static Condition ALL_PASS = ConditionBuilder.build((RuleSetResult ruleSetResult)
+            -> ruleSetResult.isAllPass());
     // All Rules must either PASS or SKIP (no FAIL)
-    public static Condition ALL_PASS_OR_SKIP = ConditionBuilder.build((RuleSetResult result) -> result.isAllPassOrSkip());
+    public static Condition ALL_PASS_OR_SKIP = ConditionBuilder.build((RuleSetResult ruleSetResult) -> ruleSetResult.isAllPassOrSkip());
     // At least one PASS
-    public static Condition ANY_PASS = ConditionBuilder.build((RuleSetResult result) -> result.isAnyPass());
+    public static Condition ANY_PASS = ConditionBuilder.build((RuleSetResult ruleSetResult) -> ruleSetResult.isAnyPass());
     // At least one SKIP
-    public static Condition ANY_SKIP = ConditionBuilder.build((RuleSetResult result) -> result.isAnySkip());
+    public static Condition ANY_SKIP = ConditionBuilder.build((RuleSetResult ruleSetResult) -> ruleSetResult.isAnySkip());
     // At least one FAIL
-    public static Condition ANY_FAIL = ConditionBuilder.build((RuleSetResult result) -> result.isAnyFail());
+    public static Condition ANY_FAIL = ConditionBuilder.build((RuleSetResult ruleSetResult) -> ruleSetResult.isAnyFail());
 
     private StopConditions() {
         super();
@@ -0,0 +1,162 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.core.ruleset;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.core.Runnable;
+import org.algorithmx.rulii.core.condition.Condition;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RuleSet whose items are registered against the values of a discriminator binding (think switch statement). Instead
+ * of checking the pre-condition of each Rule, the matching items are found with a single hash lookup; the default
+ * items are run if there is no match (or the discriminator binding does not exist).
+ *
+ * Discriminator values are matched as is; non String values are also matched against their String form (ex: enums
+ * against their names).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class SwitchingFamily extends RulingFamily {
+
+    private static final Runnable[] NO_ITEMS = new Runnable[0];
+
+    private final String discriminator;
+    private final Map<Object, Runnable[]> cases;
+    private final Runnable[] defaultItems;
+    // All the dispatched items belong to this RuleSet (shared; never written to)
+    private final String[] parents;
+
+    /**
+     * Switch RuleSet.
+     *
+     * @param ruleSetDefinition meta information.
+     * @param preCondition pre-condition (optional).
+     * @param stopCondition stop condition (optional).
+     * @param discriminator name of the discriminator binding.
+     * @param cases items registered against each discriminator value.
+     * @param defaultItems items to run if none of the values match (optional).
+     */
+    public SwitchingFamily(RuleSetDefinition ruleSetDefinition, Condition preCondition, Condition stopCondition,
+                           String discriminator, Map<?, ? extends List<? extends Runnable>> cases,
+                           List<? extends Runnable> defaultItems) {
+        super(ruleSetDefinition, preCondition, stopCondition, null, false, collectItems(cases, defaultItems));
+        Assert.notNull(discriminator, "discriminator cannot be null.");
+        Assert.notNull(cases, "cases cannot be null.");
+        this.discriminator = discriminator;
+
+        // Keeps the declared order (ie. for getCases)
+        Map<Object, Runnable[]> items = new LinkedHashMap<>();
+        int maxSize = defaultItems != null ? defaultItems.size() : 0;
+
+        for (Map.Entry<?, ? extends List<? extends Runnable>> entry : cases.entrySet()) {
+            Assert.notNull(entry.getKey(), "discriminator values cannot be null.");
+            items.put(entry.getKey(), entry.getValue().toArray(new Runnable[entry.getValue().size()]));
+            maxSize = Math.max(maxSize, entry.getValue().size());
+        }
+
+        this.cases = Collections.unmodifiableMap(items);
+        this.defaultItems = defaultItems != null ? defaultItems.toArray(new Runnable[defaultItems.size()]) : NO_ITEMS;
+        this.parents = new String[maxSize];
+    }
+
+    private static Runnable[] collectItems(Map<?, ? extends List<? extends Runnable>> cases,
+                                           List<? extends Runnable> defaultItems) {
+        List<Runnable> result = new ArrayList<>();
+
+        if (cases != null) cases.values().forEach(items -> items.forEach(item -> addItem(result, item)));
+        if (defaultItems != null) defaultItems.forEach(item -> addItem(result, item));
+
+        return result.toArray(new Runnable[result.size()]);
+    }
+
+    private static void addItem(List<Runnable> items, Runnable item) {
+        // Same item may be registered against several values
+        for (Runnable existing : items) {
+            if (existing == item) return;
+        }
+
+        items.add(item);
+    }
+
+    @Override
+    protected void runItems(RuleContext context, RuleSetResult result) {
+        runItems(context, result, getItems(context), parents, null);
+    }
+
+    /**
+     * Finds the items registered against the current value of the discriminator binding.
+     *
+     * @param context rule context.
+     * @return matching items; default items if there is no match.
+     */
+    protected Runnable[] getItems(RuleContext context) {
+        Binding<Object> binding = context.getBindings().getBinding(discriminator);
+        Object value = binding != null ? binding.getValue() : null;
+
+        if (value == null) return defaultItems;
+
+        Runnable[] result = cases.get(value);
+        if (result == null && !(value instanceof String)) result = cases.get(String.valueOf(value));
+
+        return result != null ? result : defaultItems;
+    }
+
+    /**
+     * Name of the discriminator binding.
+     *
+     * @return discriminator binding name.
+     */
+    public String getDiscriminator() {
+        return discriminator;
+    }
+
+    /**
+     * Items registered against each discriminator value.
+     *
+     * @return items per discriminator value.
+     */
+    public Map<Object, Runnable[]> getCases() {
+        Map<Object, Runnable[]> result = new LinkedHashMap<>();
+        cases.forEach((value, items) -> result.put(value, items.clone()));
+        return result;
+    }
+
+    /**
+     * Items that are run if none of the discriminator values match.
+     *
+     * @return default items.
+     */
+    public Runnable[] getDefaultItems() {
+        return defaultItems.clone();
+    }
+
+    @Override
+    protected boolean canBeFlattened() {
+        return false;
+    }
+}
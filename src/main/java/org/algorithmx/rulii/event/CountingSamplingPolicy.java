@@ -0,0 +1,57 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.event;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples every Nth execution.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class CountingSamplingPolicy implements SamplingPolicy {
+
+    private final int interval;
+    private final AtomicLong counter = new AtomicLong();
+
+    public CountingSamplingPolicy(int interval) {
+        super();
+        Assert.isTrue(interval > 0, "interval must be > 0");
+        this.interval = interval;
+    }
+
+    @Override
+    public boolean sample() {
+        return counter.getAndIncrement() % interval == 0;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    @Override
+    public String toString() {
+        return "CountingSamplingPolicy{" +
+                "interval=" + interval +
+                '}';
+    }
+}
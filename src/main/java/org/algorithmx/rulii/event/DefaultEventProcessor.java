@@ -20,13 +20,23 @@ package org.algorithmx.rulii.event;
 
 import org.algorithmx.rulii.lib.spring.util.Assert;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DefaultEventProcessor implements EventProcessor {
 
-    private final List<ExecutionListener> listeners = new ArrayList<>();
-    private boolean eventsEnabled = true;
+    // Sampling state of the current (top-level) execution of each thread. Shared by all the processors so creating a
+    // processor (ie. per RuleContext) costs nothing; nested executions (even on other processors) follow the
+    // decision made for the top-level execution.
+    private static final ThreadLocal<SamplingState> SAMPLING_STATE = ThreadLocal.withInitial(SamplingState::new);
+
+    // Read on every event; written rarely
+    private final List<ExecutionListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, SamplingPolicy> samplingPolicies = new ConcurrentHashMap<>();
+    private volatile SamplingPolicy samplingPolicy = SamplingPolicy.always();
+    private volatile boolean eventsEnabled = true;
 
     public DefaultEventProcessor() {
         super();
@@ -40,15 +50,60 @@ public class DefaultEventProcessor implements EventProcessor {
         this.eventsEnabled = eventsEnabled;
     }
 
-    public synchronized void addEventListener(ExecutionListener listener) {
+    @Override
+    public boolean isSampled() {
+        if (!eventsEnabled || listeners.isEmpty()) return false;
+        SamplingState state = SAMPLING_STATE.get();
+        return state.depth == 0 || state.sampled;
+    }
+
+    @Override
+    public boolean beginExecution(String name) {
+        SamplingState state = SAMPLING_STATE.get();
+
+        // Top-level execution; make the sampling decision (do not consume a sample if no one is listening, nested
+        // executions on other processors are then not held back)
+        if (state.depth++ == 0) {
+            state.sampled = !eventsEnabled || listeners.isEmpty() || getSamplingPolicy(name).sample();
+        }
+
+        return isSampled();
+    }
+
+    @Override
+    public void endExecution() {
+        SamplingState state = SAMPLING_STATE.get();
+        if (state.depth > 0) state.depth--;
+    }
+
+    @Override
+    public void setSamplingPolicy(SamplingPolicy samplingPolicy) {
+        Assert.notNull(samplingPolicy, "samplingPolicy cannot be null.");
+        this.samplingPolicy = samplingPolicy;
+    }
+
+    @Override
+    public void setSamplingPolicy(String name, SamplingPolicy samplingPolicy) {
+        Assert.notNull(name, "name cannot be null.");
+        Assert.notNull(samplingPolicy, "samplingPolicy cannot be null.");
+        samplingPolicies.put(name, samplingPolicy);
+    }
+
+    @Override
+    public SamplingPolicy getSamplingPolicy(String name) {
+        SamplingPolicy result = name != null && !samplingPolicies.isEmpty() ? samplingPolicies.get(name) : null;
+        return result != null ? result : samplingPolicy;
+    }
+
+    public void addEventListener(ExecutionListener listener) {
         this.listeners.add(listener);
     }
 
-    public synchronized void removeEventListener(ExecutionListener listener) {
+    public void removeEventListener(ExecutionListener listener) {
         this.listeners.remove(listener);
     }
 
-    public synchronized <T> void fireListeners(ExecutionEvent<T> event) {
+    public <T> void fireListeners(ExecutionEvent<T> event) {
         Assert.notNull(event, "event cannot be null.");
         // Events turned off
         if (!isEventsEnabled()) return;
@@ -58,4 +113,8 @@ public class DefaultEventProcessor implements EventProcessor {
         }
     }
 
+    private static class SamplingState {
+        private int depth = 0;
+        private boolean sampled = true;
+    }
 }
@@ -33,4 +33,57 @@ public interface EventProcessor {
     void removeEventListener(ExecutionListener listener);
 
     <T> void fireListeners(ExecutionEvent<T> event);
+
+    /**
+     * Determines whether events need to be built and fired for the current execution (ie: events are enabled, there
+     * are listeners and the current top-level execution was sampled). Callers should check this before creating
+     * any events. Defaults to always sampled (for implementations that do not support sampling).
+     *
+     * @return true if events are to be fired.
+     */
+    default boolean isSampled() {
+        return true;
+    }
+
+    /**
+     * Marks the start of a Rule/RuleSet execution. The sampling decision is made (using the SamplingPolicy registered
+     * for the given name or the default SamplingPolicy) at the start of the top-level execution; nested executions
+     * inherit the decision.
+     *
+     * @param name name of the executing Rule/RuleSet.
+     * @return true if the execution is sampled.
+     */
+    default boolean beginExecution(String name) {
+        return isSampled();
+    }
+
+    /**
+     * Marks the end of a Rule/RuleSet execution.
+     */
+    default void endExecution() {
+        // Nothing to do
+    }
+
+    /**
+     * Sets the default SamplingPolicy.
+     *
+     * @param samplingPolicy default SamplingPolicy.
+     */
+    default void setSamplingPolicy(SamplingPolicy samplingPolicy) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support sampling.");
+    }
+
+    /**
+     * Sets the SamplingPolicy to use when the given Rule/RuleSet is the top-level execution.
+     *
+     * @param name Rule/RuleSet name.
+     * @param samplingPolicy SamplingPolicy to use.
+     */
+    default void setSamplingPolicy(String name, SamplingPolicy samplingPolicy) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support sampling.");
+    }
+
+    default SamplingPolicy getSamplingPolicy(String name) {
+        return SamplingPolicy.always();
+    }
 }
@@ -0,0 +1,72 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.event;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples (at most) a fixed number of executions per second. The count is reset at the start of each one second
+ * window.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class RateLimitedSamplingPolicy implements SamplingPolicy {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxPerSecond;
+    private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger count = new AtomicInteger();
+
+    public RateLimitedSamplingPolicy(int maxPerSecond) {
+        super();
+        Assert.isTrue(maxPerSecond >= 0, "maxPerSecond must be >= 0");
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public boolean sample() {
+        long current = System.nanoTime() / WINDOW_NANOS;
+        long previous = window.get();
+
+        // New window; whoever moves the window resets the count.
+        if (current != previous && window.compareAndSet(previous, current)) {
+            count.set(0);
+        }
+
+        // Stop counting once we are over the limit (avoids overflow)
+        return count.get() < maxPerSecond && count.incrementAndGet() <= maxPerSecond;
+    }
+
+    public int getMaxPerSecond() {
+        return maxPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitedSamplingPolicy{" +
+                "maxPerSecond=" + maxPerSecond +
+                '}';
+    }
+}
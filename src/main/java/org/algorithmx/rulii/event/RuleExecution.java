@@ -19,18 +19,25 @@
 package org.algorithmx.rulii.event;
 
 import org.algorithmx.rulii.core.rule.Rule;
+import org.algorithmx.rulii.core.rule.RuleExecutionStatus;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 
 public class RuleExecution<T> {
 
     private final Rule rule;
     private final T executingElement;
+    private final RuleExecutionStatus status;
 
     public RuleExecution(Rule rule, T executingElement) {
+        this(rule, executingElement, null);
+    }
+
+    public RuleExecution(Rule rule, T executingElement, RuleExecutionStatus status) {
         super();
         Assert.notNull(rule, "rule cannot be null.");
         this.rule = rule;
         this.executingElement = executingElement;
+        this.status = status;
     }
 
     public T getExecutingElement() {
@@ -41,11 +48,22 @@ public class RuleExecution<T> {
         return rule;
     }
 
+    /**
+     * Status of the Rule execution. Only available on RULE_END events; a null status on RULE_END means
+     * the Rule ended with an error.
+     *
+     * @return execution status (if available).
+     */
+    public RuleExecutionStatus getStatus() {
+        return status;
+    }
+
     @Override
     public String toString() {
         return "RuleExecution{" +
                 "rule=" + rule +
                 ", executingElement=" + executingElement +
+                ", status=" + status +
                 '}';
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.event;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+/**
+ * Decides whether a (top-level) Rule/RuleSet execution is traced. Unsampled executions do not build any events nor
+ * call any listeners. Policies hold their own state (counters etc) and are meant to be shared across RuleContexts.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface SamplingPolicy {
+
+    SamplingPolicy ALWAYS   = () -> true;
+    SamplingPolicy NEVER    = () -> false;
+
+    static SamplingPolicy always() {
+        return ALWAYS;
+    }
+
+    static SamplingPolicy never() {
+        return NEVER;
+    }
+
+    /**
+     * Samples every Nth execution.
+     *
+     * @param n sampling interval.
+     * @return 1 in N sampling policy.
+     */
+    static SamplingPolicy oneIn(int n) {
+        Assert.isTrue(n > 0, "n must be > 0");
+        return n == 1 ? ALWAYS : new CountingSamplingPolicy(n);
+    }
+
+    /**
+     * Samples at most the given number of executions per second.
+     *
+     * @param maxPerSecond max number of sampled executions per second.
+     * @return rate limited sampling policy.
+     */
+    static SamplingPolicy perSecond(int maxPerSecond) {
+        Assert.isTrue(maxPerSecond >= 0, "maxPerSecond must be >= 0");
+        return maxPerSecond == 0 ? NEVER : new RateLimitedSamplingPolicy(maxPerSecond);
+    }
+
+    /**
+     * Determines whether the next execution is to be traced.
+     *
+     * @return true if the execution is sampled.
+     */
+    boolean sample();
+}
@@ -0,0 +1,185 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.lib.apache.validation;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+/**
+ * Single pass (regex free) version of the DomainValidator. ASCII domains are scanned directly and the TLDs are looked
+ * up in a trie; anything else (ie. IDNs or validators with TLD overrides) is handed to the DomainValidator. The results
+ * are the same as the DomainValidator.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class DomainScanner {
+
+    private static final int MAX_DOMAIN_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private final DomainValidator validator;
+    private final boolean allowLocal;
+    private final boolean overridden;
+    private final TldTrie tlds = TldTrie.getDefault();
+
+    private static class LazyHolder {
+        private static final DomainScanner DOMAIN_SCANNER = new DomainScanner(DomainValidator.getInstance(false));
+        private static final DomainScanner DOMAIN_SCANNER_WITH_LOCAL = new DomainScanner(DomainValidator.getInstance(true));
+    }
+
+    public DomainScanner(DomainValidator validator) {
+        super();
+        Assert.notNull(validator, "validator cannot be null.");
+        this.validator = validator;
+        this.allowLocal = validator.isAllowLocal();
+        this.overridden = hasOverrides(validator);
+    }
+
+    public static DomainScanner getInstance() {
+        return getInstance(false);
+    }
+
+    public static DomainScanner getInstance(boolean allowLocal) {
+        return allowLocal ? LazyHolder.DOMAIN_SCANNER_WITH_LOCAL : LazyHolder.DOMAIN_SCANNER;
+    }
+
+    /**
+     * Same as DomainValidator.isValid(String).
+     *
+     * @param domain the parameter to check for domain name syntax
+     * @return true if the parameter is a valid domain name
+     */
+    public boolean isValid(String domain) {
+        if (domain == null) return false;
+        return isValid(domain, 0, domain.length());
+    }
+
+    /**
+     * Same as DomainValidator.isValid(String) on the given range.
+     *
+     * @param value value containing the domain.
+     * @param start start of the domain (inclusive).
+     * @param end end of the domain (exclusive).
+     * @return true if the range is a valid domain name
+     */
+    public boolean isValid(String value, int start, int end) {
+        if (!isAscii(value, start, end)) return validator.isValid(value.substring(start, end));
+        if (end - start > MAX_DOMAIN_LENGTH || start >= end) return false;
+
+        // Trailing dot is only allowed after the top label
+        int limit = value.charAt(end - 1) == '.' ? end - 1 : end;
+        int labels = 0;
+        int labelStart = start;
+
+        for (int i = start; i <= limit; i++) {
+            if (i == limit || value.charAt(i) == '.') {
+                if (!isValidLabel(value, labelStart, i)) return false;
+                labels++;
+                labelStart = i + 1;
+            } else if (!isLabelChar(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        if (labels == 1) {
+            // Hostname (ie. localhost)
+            return allowLocal && limit == end;
+        }
+
+        int topStart = lastIndexOf(value, '.', start, limit) + 1;
+        if (!isAlpha(value.charAt(topStart))) return false;
+
+        return isValidTldInternal(value, topStart, limit);
+    }
+
+    /**
+     * Same as DomainValidator.isValidTld(String).
+     *
+     * @param tld the parameter to check for TLD status, not null
+     * @return true if the parameter is a TLD
+     */
+    public boolean isValidTld(String tld) {
+        if (overridden || !isAscii(tld, 0, tld.length())) return validator.isValidTld(tld);
+        // Leading dot is ignored
+        return isValidTldInternal(tld, tld.startsWith(".") ? 1 : 0, tld.length());
+    }
+
+    private boolean isValidTldInternal(String value, int start, int end) {
+        if (overridden) return validator.isValidTld(value.substring(start, end));
+
+        int flags = tlds.lookup(value, start, end);
+        return (allowLocal && (flags & TldTrie.LOCAL) != 0)
+                || (flags & (TldTrie.INFRASTRUCTURE | TldTrie.GENERIC | TldTrie.COUNTRY_CODE)) != 0;
+    }
+
+    public boolean isAllowLocal() {
+        return allowLocal;
+    }
+
+    public DomainValidator getValidator() {
+        return validator;
+    }
+
+    // RFC2396 : 1-63 alphanumerics or hyphens, starting/ending with an alphanumeric
+    private static boolean isValidLabel(String value, int start, int end) {
+        int length = end - start;
+        return length > 0 && length <= MAX_LABEL_LENGTH
+                && isAlphaNumeric(value.charAt(start)) && isAlphaNumeric(value.charAt(end - 1));
+    }
+
+    private static int lastIndexOf(String value, char c, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (value.charAt(i) == c) return i;
+        }
+
+        return start - 1;
+    }
+
+    static boolean isAscii(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) > 0x7F) return false;
+        }
+
+        return true;
+    }
+
+    static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    static boolean isAlphaNumeric(char c) {
+        return isAlpha(c) || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isLabelChar(char c) {
+        return isAlphaNumeric(c) || c == '-';
+    }
+
+    private static boolean hasOverrides(DomainValidator validator) {
+        for (DomainValidator.ArrayType type : new DomainValidator.ArrayType[] {
+                DomainValidator.ArrayType.GENERIC_PLUS, DomainValidator.ArrayType.GENERIC_MINUS,
+                DomainValidator.ArrayType.COUNTRY_CODE_PLUS, DomainValidator.ArrayType.COUNTRY_CODE_MINUS,
+                DomainValidator.ArrayType.LOCAL_PLUS, DomainValidator.ArrayType.LOCAL_MINUS}) {
+            if (validator.getOverrides(type).length > 0) return true;
+        }
+
+        return false;
+    }
+}
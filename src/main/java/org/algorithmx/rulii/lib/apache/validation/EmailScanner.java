@@ -0,0 +1,149 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.lib.apache.validation;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+/**
+ * Single pass (regex free) version of the EmailValidator. Plain ASCII addresses (the vast majority) are scanned
+ * directly; addresses with quoted/escaped user names, IP literals, control or non ASCII characters are handed to the
+ * EmailValidator. The results are the same as the EmailValidator.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class EmailScanner {
+
+    private static final int MAX_USERNAME_LEN = 64;
+
+    private static final EmailScanner EMAIL_SCANNER = new EmailScanner(false, false);
+    private static final EmailScanner EMAIL_SCANNER_WITH_TLD = new EmailScanner(false, true);
+    private static final EmailScanner EMAIL_SCANNER_WITH_LOCAL = new EmailScanner(true, false);
+    private static final EmailScanner EMAIL_SCANNER_WITH_LOCAL_WITH_TLD = new EmailScanner(true, true);
+
+    private final boolean allowTld;
+    private final DomainScanner domainScanner;
+    private final EmailValidator validator;
+
+    private EmailScanner(boolean allowLocal, boolean allowTld) {
+        this(EmailValidator.getInstance(allowLocal, allowTld), DomainScanner.getInstance(allowLocal), allowTld);
+    }
+
+    /**
+     * Creates a scanner that falls back to the given validator. The validator and the domain scanner must have the same
+     * settings.
+     *
+     * @param validator fallback validator.
+     * @param domainScanner domain scanner.
+     * @param allowTld whether top level domains are allowed (must match the validator).
+     */
+    public EmailScanner(EmailValidator validator, DomainScanner domainScanner, boolean allowTld) {
+        super();
+        Assert.notNull(validator, "validator cannot be null.");
+        Assert.notNull(domainScanner, "domainScanner cannot be null.");
+        this.validator = validator;
+        this.domainScanner = domainScanner;
+        this.allowTld = allowTld;
+    }
+
+    public static EmailScanner getInstance() {
+        return EMAIL_SCANNER;
+    }
+
+    public static EmailScanner getInstance(boolean allowLocal, boolean allowTld) {
+        if (allowLocal) return allowTld ? EMAIL_SCANNER_WITH_LOCAL_WITH_TLD : EMAIL_SCANNER_WITH_LOCAL;
+        return allowTld ? EMAIL_SCANNER_WITH_TLD : EMAIL_SCANNER;
+    }
+
+    /**
+     * Same as EmailValidator.isValid(String).
+     *
+     * @param email the value validation is being performed on.
+     * @return true if the email address is valid.
+     */
+    public boolean isValid(String email) {
+        if (email == null) return false;
+
+        int length = email.length();
+
+        if (length == 0 || email.charAt(length - 1) == '.') return false;
+
+        int at = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+
+            // Leave the unusual ones to the validator
+            if (c > 0x7E || c < 0x20 || c == '"' || c == '\\' || c == '[') return validator.isValid(email);
+            if (c == '@') at = i;
+        }
+
+        // (.+)@(\S+)
+        if (at <= 0 || at == length - 1) return false;
+
+        return isValidUser(email, 0, at) && isValidDomain(email, at + 1, length);
+    }
+
+    // WORD(.WORD)* where WORD is made up of the valid characters and '
+    private static boolean isValidUser(String email, int start, int end) {
+        if (end - start > MAX_USERNAME_LEN) return false;
+
+        boolean wordStart = true;
+
+        for (int i = start; i < end; i++) {
+            char c = email.charAt(i);
+
+            if (c == '.') {
+                if (wordStart) return false;
+                wordStart = true;
+            } else if (isUserChar(c)) {
+                wordStart = false;
+            } else {
+                return false;
+            }
+        }
+
+        return !wordStart;
+    }
+
+    private boolean isValidDomain(String email, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (email.charAt(i) == ' ') return false;
+        }
+
+        if (domainScanner.isValid(email, start, end)) return true;
+
+        return allowTld && email.charAt(start) != '.' && domainScanner.isValidTld(email.substring(start, end));
+    }
+
+    private static boolean isUserChar(char c) {
+        switch (c) {
+            case ' ': case '(': case ')': case '<': case '>': case '@': case ',': case ';': case ':': case '.':
+            case '[': case ']': case '"': case '\\':
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    public boolean isAllowTld() {
+        return allowTld;
+    }
+}
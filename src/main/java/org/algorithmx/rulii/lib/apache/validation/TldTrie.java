@@ -0,0 +1,166 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.lib.apache.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact (array based) trie of the IANA top level domains. Lookups are case insensitive, work on a range of a String
+ * (no substring/lower case copies) and return the kind(s) of TLD that matched.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+final class TldTrie {
+
+    static final int INFRASTRUCTURE = 1;
+    static final int GENERIC = 2;
+    static final int COUNTRY_CODE = 4;
+    static final int LOCAL = 8;
+
+    private static final TldTrie DEFAULT = create();
+
+    // Node n has edgeCounts[n] edges starting at firstEdges[n]; edges are sorted by character
+    private final int[] firstEdges;
+    private final int[] edgeCounts;
+    private final byte[] flags;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+
+    private TldTrie(int[] firstEdges, int[] edgeCounts, byte[] flags, char[] edgeChars, int[] edgeTargets) {
+        super();
+        this.firstEdges = firstEdges;
+        this.edgeCounts = edgeCounts;
+        this.flags = flags;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+    }
+
+    static TldTrie getDefault() {
+        return DEFAULT;
+    }
+
+    private static TldTrie create() {
+        Node root = new Node();
+        add(root, DomainValidator.getTLDEntries(DomainValidator.ArrayType.INFRASTRUCTURE_RO), INFRASTRUCTURE);
+        add(root, DomainValidator.getTLDEntries(DomainValidator.ArrayType.GENERIC_RO), GENERIC);
+        add(root, DomainValidator.getTLDEntries(DomainValidator.ArrayType.COUNTRY_CODE_RO), COUNTRY_CODE);
+        add(root, DomainValidator.getTLDEntries(DomainValidator.ArrayType.LOCAL_RO), LOCAL);
+
+        // Flatten breadth first
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(root);
+        int edgeCount = 0;
+
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            node.id = i;
+            edgeCount += node.children.size();
+            nodes.addAll(node.children.values());
+        }
+
+        int[] firstEdges = new int[nodes.size()];
+        int[] edgeCounts = new int[nodes.size()];
+        byte[] flags = new byte[nodes.size()];
+        char[] edgeChars = new char[edgeCount];
+        int[] edgeTargets = new int[edgeCount];
+        int edge = 0;
+
+        for (Node node : nodes) {
+            firstEdges[node.id] = edge;
+            edgeCounts[node.id] = node.children.size();
+            flags[node.id] = (byte) node.flags;
+
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                edgeChars[edge] = child.getKey();
+                edgeTargets[edge] = child.getValue().id;
+                edge++;
+            }
+        }
+
+        return new TldTrie(firstEdges, edgeCounts, flags, edgeChars, edgeTargets);
+    }
+
+    private static void add(Node root, String[] tlds, int flag) {
+        for (String tld : tlds) {
+            Node node = root;
+
+            for (int i = 0; i < tld.length(); i++) {
+                node = node.children.computeIfAbsent(toLowerCase(tld.charAt(i)), c -> new Node());
+            }
+
+            node.flags |= flag;
+        }
+    }
+
+    /**
+     * Looks up the given range (case insensitive).
+     *
+     * @param value value containing the TLD.
+     * @param start start of the TLD (inclusive).
+     * @param end end of the TLD (exclusive).
+     * @return TLD flags (0 if the range is not a known TLD).
+     */
+    int lookup(String value, int start, int end) {
+        if (start >= end) return 0;
+
+        int node = 0;
+
+        for (int i = start; i < end; i++) {
+            node = next(node, toLowerCase(value.charAt(i)));
+            if (node < 0) return 0;
+        }
+
+        return flags[node];
+    }
+
+    private int next(int node, char c) {
+        int low = firstEdges[node];
+        int high = low + edgeCounts[node] - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char edge = edgeChars[middle];
+
+            if (edge < c) low = middle + 1;
+            else if (edge > c) high = middle - 1;
+            else return edgeTargets[middle];
+        }
+
+        return -1;
+    }
+
+    int size() {
+        return flags.length;
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private int flags;
+        private int id;
+    }
+}
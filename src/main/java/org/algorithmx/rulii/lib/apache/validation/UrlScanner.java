@@ -0,0 +1,260 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.lib.apache.validation;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.Locale;
+
+/**
+ * Single pass (regex free) version of the UrlValidator. Common ASCII http(s)/ftp style urls are scanned directly;
+ * anything unusual (user info, IPv6 hosts, percent encoding, dot segments, file urls, non ASCII characters etc) is
+ * handed to the UrlValidator. The results are the same as the UrlValidator.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class UrlScanner {
+
+    private static final int MAX_PORT = 0xFFFF;
+
+    private static final int VALID      = 1;
+    private static final int INVALID    = 0;
+    private static final int UNKNOWN    = -1;
+
+    private static final String[] DEFAULT_SCHEMES = {"http", "https", "ftp"};
+
+    private final String[] schemes;
+    private final RegexValidator authorityValidator;
+    private final long options;
+    private final DomainScanner domainScanner;
+    private final UrlValidator validator;
+
+    public UrlScanner() {
+        this(null, null, 0L);
+    }
+
+    public UrlScanner(String[] schemes, RegexValidator authorityValidator, long options) {
+        super();
+        this.options = options;
+        this.schemes = toLowerCase(schemes != null ? schemes : DEFAULT_SCHEMES);
+        this.authorityValidator = authorityValidator;
+        this.validator = new UrlValidator(schemes, authorityValidator, options);
+        this.domainScanner = DomainScanner.getInstance(isOn(UrlValidator.ALLOW_LOCAL_URLS));
+    }
+
+    /**
+     * Same as UrlValidator.isValid(String).
+     *
+     * @param value the value validation is being performed on.
+     * @return true if the url is valid.
+     */
+    public boolean isValid(String value) {
+        if (value == null) return false;
+
+        int result = scan(value);
+        return result == UNKNOWN ? validator.isValid(value) : result == VALID;
+    }
+
+    private int scan(String value) {
+        int length = value.length();
+
+        // scheme ":" (the first of ":/?#" must be the ':' otherwise there is no scheme)
+        int colon = indexOfAny(value, 0, length, ":/?#");
+        if (colon <= 0 || colon == length || value.charAt(colon) != ':') return INVALID;
+        if (!isValidScheme(value, colon) || !isAllowedScheme(value, colon)) return INVALID;
+        // file: urls have their own rules
+        if (colon == 4 && value.regionMatches(true, 0, "file", 0, 4)) return UNKNOWN;
+
+        // "//" authority
+        int authorityStart = colon + 3;
+        if (authorityStart > length || value.charAt(colon + 1) != '/' || value.charAt(colon + 2) != '/') return INVALID;
+
+        int authorityEnd = indexOfAny(value, authorityStart, length, "/?#");
+        int result = scanAuthority(value, authorityStart, authorityEnd);
+        if (result != VALID) return result;
+
+        // path
+        int pathEnd = indexOfAny(value, authorityEnd, length, "?#");
+        result = scanPath(value, authorityEnd, pathEnd);
+        if (result != VALID) return result;
+
+        // query
+        int queryEnd = pathEnd;
+
+        if (pathEnd < length && value.charAt(pathEnd) == '?') {
+            queryEnd = indexOfAny(value, pathEnd + 1, length, "#");
+            if (!isQueryChars(value, pathEnd + 1, queryEnd)) return UNKNOWN;
+        }
+
+        // fragment
+        if (queryEnd < length) {
+            if (isOn(UrlValidator.NO_FRAGMENTS)) return INVALID;
+            if (!isQueryChars(value, queryEnd + 1, length)) return UNKNOWN;
+        }
+
+        return VALID;
+    }
+
+    // host [ ":" port ]
+    private int scanAuthority(String value, int start, int end) {
+        if (start == end) return INVALID;
+
+        int hostEnd = end;
+
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+
+            if (c == ':') {
+                hostEnd = i;
+                break;
+            }
+
+            if (!DomainScanner.isAlphaNumeric(c) && c != '-' && c != '.') return UNKNOWN;
+        }
+
+        int port = 0;
+
+        for (int i = hostEnd + 1; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return UNKNOWN;
+            if (port <= MAX_PORT) port = port * 10 + (c - '0');
+        }
+
+        if (hostEnd == start) return UNKNOWN;
+        if (authorityValidator != null && authorityValidator.isValid(value.substring(start, end))) return VALID;
+
+        int result = port > MAX_PORT ? INVALID : isValidHost(value, start, hostEnd) ? VALID : INVALID;
+        // The authority validator has the final say
+        return result == INVALID && authorityValidator != null ? UNKNOWN : result;
+    }
+
+    private boolean isValidHost(String value, int start, int end) {
+        return domainScanner.isValid(value, start, end)
+                || InetAddressValidator.getInstance().isValidInet4Address(value.substring(start, end));
+    }
+
+    private int scanPath(String value, int start, int end) {
+        int segmentStart = start + 1;
+
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+
+            if (c == '/') {
+                if (isDotSegment(value, segmentStart, i)) return UNKNOWN;
+                segmentStart = i + 1;
+            } else if (!isPathChar(c)) {
+                return UNKNOWN;
+            }
+        }
+
+        if (start < end && isDotSegment(value, segmentStart, end)) return UNKNOWN;
+        if (isOff(UrlValidator.ALLOW_2_SLASHES)) {
+            int slashes = value.indexOf("//", start);
+            if (slashes >= 0 && slashes < end - 1) return INVALID;
+        }
+
+        return VALID;
+    }
+
+    private static boolean isDotSegment(String value, int start, int end) {
+        int length = end - start;
+        return (length == 1 && value.charAt(start) == '.')
+                || (length == 2 && value.charAt(start) == '.' && value.charAt(start + 1) == '.');
+    }
+
+    private static boolean isQueryChars(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (!isPathChar(c) && c != '?') return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isPathChar(char c) {
+        if (DomainScanner.isAlphaNumeric(c)) return true;
+
+        switch (c) {
+            case '-': case '_': case '.': case '!': case '~': case '*': case '\'': case '(': case ')':
+            case ':': case '@': case '&': case '=': case '+': case '$': case ',': case ';': case '/':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // ALPHA *( ALPHA / DIGIT / "+" / "-" / "." )
+    private static boolean isValidScheme(String value, int end) {
+        if (!DomainScanner.isAlpha(value.charAt(0))) return false;
+
+        for (int i = 1; i < end; i++) {
+            char c = value.charAt(i);
+            if (!DomainScanner.isAlphaNumeric(c) && c != '+' && c != '-' && c != '.') return false;
+        }
+
+        return true;
+    }
+
+    private boolean isAllowedScheme(String value, int end) {
+        if (isOn(UrlValidator.ALLOW_ALL_SCHEMES)) return true;
+
+        for (String scheme : schemes) {
+            if (scheme.length() == end && value.regionMatches(true, 0, scheme, 0, end)) return true;
+        }
+
+        return false;
+    }
+
+    private static int indexOfAny(String value, int start, int end, String chars) {
+        for (int i = start; i < end; i++) {
+            if (chars.indexOf(value.charAt(i)) >= 0) return i;
+        }
+
+        return end;
+    }
+
+    private static String[] toLowerCase(String[] values) {
+        String[] result = new String[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            Assert.notNull(values[i], "scheme cannot be null.");
+            result[i] = values[i].toLowerCase(Locale.ENGLISH);
+        }
+
+        return result;
+    }
+
+    private boolean isOn(long flag) {
+        return (options & flag) > 0;
+    }
+
+    private boolean isOff(long flag) {
+        return (options & flag) == 0;
+    }
+
+    public long getOptions() {
+        return options;
+    }
+
+    public UrlValidator getValidator() {
+        return validator;
+    }
+}
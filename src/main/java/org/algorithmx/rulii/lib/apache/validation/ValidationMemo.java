@@ -0,0 +1,114 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.lib.apache.validation;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.function.Predicate;
+
+/**
+ * Bounded memo of recently validated Strings. The memo is direct mapped (each value has exactly one slot) so lookups
+ * are a single array read and the memory used is fixed. Colliding values simply replace each other. Safe to share
+ * between threads as the entries are immutable.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class ValidationMemo implements Predicate<String> {
+
+    public static final int DEFAULT_SIZE            = 1024;
+    public static final int DEFAULT_MAX_LENGTH      = 256;
+
+    private final Predicate<String> validator;
+    private final Entry[] entries;
+    private final int mask;
+    private final int maxLength;
+
+    private ValidationMemo(Predicate<String> validator, int size, int maxLength) {
+        super();
+        Assert.notNull(validator, "validator cannot be null.");
+        Assert.isTrue(size > 0, "size must be > 0.");
+        Assert.isTrue(maxLength >= 0, "maxLength must be >= 0.");
+        this.validator = validator;
+        int capacity = Integer.highestOneBit(Math.min(size, 1 << 30));
+        if (capacity < size) capacity <<= 1;
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+        this.maxLength = maxLength;
+    }
+
+    public static ValidationMemo memoize(Predicate<String> validator) {
+        return new ValidationMemo(validator, DEFAULT_SIZE, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Memoizes the given validator.
+     *
+     * @param validator validator to memoize.
+     * @param size number of slots (rounded up to a power of 2).
+     * @param maxLength Strings longer than this are not memoized.
+     * @return memoized validator.
+     */
+    public static ValidationMemo memoize(Predicate<String> validator, int size, int maxLength) {
+        return new ValidationMemo(validator, size, maxLength);
+    }
+
+    @Override
+    public boolean test(String value) {
+        if (value == null || value.length() > maxLength) return validator.test(value);
+
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        Entry entry = entries[index];
+
+        if (entry != null && entry.hash == hash && entry.value.equals(value)) return entry.valid;
+
+        boolean result = validator.test(value);
+        entries[index] = new Entry(value, hash, result);
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = null;
+        }
+    }
+
+    public int getSize() {
+        return entries.length;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    private static final class Entry {
+        private final String value;
+        private final int hash;
+        private final boolean valid;
+
+        private Entry(String value, int hash, boolean valid) {
+            super();
+            this.value = value;
+            this.hash = hash;
+            this.valid = valid;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.metrics;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of the cost (time) and the decisiveness (how often an item ends the evaluation early) of a group of
+ * independent items and periodically reorders them so the cheapest, most decisive items are run first. The expected
+ * cost of a short-circuited evaluation is minimized by running the items in ascending order of
+ * cost / probability-of-being-decisive.
+ *
+ * Items that have not been evaluated yet are treated as free; this makes sure they get sampled. The stats do not go
+ * stale: once an item has been evaluated more than DECAY_WINDOW reorder intervals worth of times its stats are halved
+ * (so recent evaluations weigh more), and an item that has not been evaluated at all (ie. it is always short-circuited)
+ * for EXPLORATION_INTERVAL reorders is moved to the front for the next interval so its stats are refreshed.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class AdaptiveOrder {
+
+    public static final int DEFAULT_REORDER_INTERVAL = 1000;
+    public static final int DECAY_WINDOW = 8;
+    public static final int EXPLORATION_INTERVAL = 10;
+
+    private final String[] names;
+    private final LongAdder[] evaluations;
+    private final LongAdder[] decisiveCounts;
+    private final LongAdder[] totalNanos;
+    private final int reorderInterval;
+    private final AtomicLong executionCount = new AtomicLong();
+    private final AtomicLong reorderCount = new AtomicLong();
+    // Only accessed by reorder/reset (synchronized)
+    private final long[] lastEvaluations;
+    private final int[] idleReorders;
+
+    private volatile int[] order;
+
+    public AdaptiveOrder(String[] names, int reorderInterval) {
+        super();
+        Assert.notNull(names, "names cannot be null.");
+        Assert.isTrue(reorderInterval > 0, "reorderInterval must be > 0");
+        this.names = names.clone();
+        this.reorderInterval = reorderInterval;
+        this.evaluations = createAdders(names.length);
+        this.decisiveCounts = createAdders(names.length);
+        this.totalNanos = createAdders(names.length);
+        this.lastEvaluations = new long[names.length];
+        this.idleReorders = new int[names.length];
+        this.order = new int[names.length];
+
+        // Start with the declared order
+        for (int i = 0; i < names.length; i++) {
+            order[i] = i;
+        }
+    }
+
+    /**
+     * Current execution order (indexes of the items). The returned array must not be modified.
+     *
+     * @return execution order.
+     */
+    public int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Records the evaluation of an item.
+     *
+     * @param index declared index of the item.
+     * @param nanos time taken.
+     * @param decisive true if the item ended the evaluation.
+     */
+    public void record(int index, long nanos, boolean decisive) {
+        evaluations[index].increment();
+        totalNanos[index].add(nanos);
+        if (decisive) decisiveCounts[index].increment();
+    }
+
+    /**
+     * Marks the end of an execution; the items are reordered every reorderInterval executions.
+     */
+    public void executionComplete() {
+        if (executionCount.incrementAndGet() % reorderInterval == 0) reorder();
+    }
+
+    /**
+     * Recomputes the execution order based on the stats collected so far.
+     */
+    public synchronized void reorder() {
+        int size = names.length;
+        Integer[] indexes = new Integer[size];
+        double[] scores = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+            long count = evaluations[i].sum();
+            idleReorders[i] = count == lastEvaluations[i] ? idleReorders[i] + 1 : 0;
+
+            if (idleReorders[i] >= EXPLORATION_INTERVAL) {
+                // Not evaluated for a while; run it first for the next interval to refresh its stats
+                idleReorders[i] = 0;
+                scores[i] = -1.0d;
+            } else {
+                scores[i] = getScore(i);
+            }
+
+            if (count > (long) reorderInterval * DECAY_WINDOW) decay(i);
+            lastEvaluations[i] = evaluations[i].sum();
+        }
+
+        // Stable sort; ties keep the declared order
+        Arrays.sort(indexes, (a, b) -> Double.compare(scores[a], scores[b]));
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) result[i] = indexes[i];
+
+        if (!Arrays.equals(result, order)) {
+            order = result;
+            reorderCount.incrementAndGet();
+        }
+    }
+
+    private void decay(int index) {
+        // Evaluations recorded concurrently are kept (they are added back on top of the halved values)
+        evaluations[index].add(-(evaluations[index].sum() / 2));
+        decisiveCounts[index].add(-(decisiveCounts[index].sum() / 2));
+        totalNanos[index].add(-(totalNanos[index].sum() / 2));
+    }
+
+    private double getScore(int index) {
+        long count = evaluations[index].sum();
+        if (count == 0) return 0.0d;
+        double cost = (double) totalNanos[index].sum() / count;
+        // Laplace smoothing so that an item that has never been decisive still gets a (large) finite score
+        double decisiveRate = (decisiveCounts[index].sum() + 1.0d) / (count + 2.0d);
+        return cost / decisiveRate;
+    }
+
+    public long getExecutionCount() {
+        return executionCount.get();
+    }
+
+    public long getReorderCount() {
+        return reorderCount.get();
+    }
+
+    public int getReorderInterval() {
+        return reorderInterval;
+    }
+
+    /**
+     * Stats of all the items (in the current execution order).
+     *
+     * @return item stats.
+     */
+    public List<ItemStats> snapshot() {
+        int[] currentOrder = order;
+        List<ItemStats> result = new ArrayList<>(currentOrder.length);
+
+        for (int rank = 0; rank < currentOrder.length; rank++) {
+            int index = currentOrder[rank];
+            result.add(new ItemStats(names[index], index, rank, evaluations[index].sum(),
+                    decisiveCounts[index].sum(), totalNanos[index].sum(), getScore(index)));
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < names.length; i++) {
+            evaluations[i].reset();
+            decisiveCounts[i].reset();
+            totalNanos[i].reset();
+            lastEvaluations[i] = 0;
+            idleReorders[i] = 0;
+        }
+
+        executionCount.set(0);
+    }
+
+    private static LongAdder[] createAdders(int size) {
+        LongAdder[] result = new LongAdder[size];
+        for (int i = 0; i < size; i++) result[i] = new LongAdder();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveOrder{" +
+                "executions=" + getExecutionCount() +
+                ", reorders=" + getReorderCount() +
+                ", items=" + snapshot() +
+                '}';
+    }
+
+    /**
+     * Stats of a single item.
+     */
+    public static final class ItemStats {
+
+        private final String name;
+        private final int index;
+        private final int rank;
+        private final long evaluationCount;
+        private final long decisiveCount;
+        private final long totalNanos;
+        private final double score;
+
+        ItemStats(String name, int index, int rank, long evaluationCount, long decisiveCount, long totalNanos,
+                  double score) {
+            super();
+            this.name = name;
+            this.index = index;
+            this.rank = rank;
+            this.evaluationCount = evaluationCount;
+            this.decisiveCount = decisiveCount;
+            this.totalNanos = totalNanos;
+            this.score = score;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Declared index of the item.
+         *
+         * @return declared index.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Current position of the item in the execution order.
+         *
+         * @return rank.
+         */
+        public int getRank() {
+            return rank;
+        }
+
+        public long getEvaluationCount() {
+            return evaluationCount;
+        }
+
+        public long getDecisiveCount() {
+            return decisiveCount;
+        }
+
+        public double getDecisiveRate() {
+            return evaluationCount == 0 ? 0.0d : (double) decisiveCount / evaluationCount;
+        }
+
+        public double getMeanNanos() {
+            return evaluationCount == 0 ? 0.0d : (double) totalNanos / evaluationCount;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return "ItemStats{" +
+                    "name='" + name + '\'' +
+                    ", index=" + index +
+                    ", rank=" + rank +
+                    ", evaluations=" + evaluationCount +
+                    ", decisiveRate=" + getDecisiveRate() +
+                    ", meanNanos=" + getMeanNanos() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.metrics;
+
+import org.algorithmx.rulii.core.rule.RuleExecutionStatus;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (per ExecutionPhase) and outcome counters of a single Rule/RuleSet.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class ExecutionMetrics implements ExecutionMetricsMXBean {
+
+    public enum Kind { RULE, RULE_SET }
+
+    private final String name;
+    private final Kind kind;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[ExecutionPhase.values().length];
+    private final LongAdder passCount = new LongAdder();
+    private final LongAdder failCount = new LongAdder();
+    private final LongAdder skipCount = new LongAdder();
+    private final LongAdder timedOutCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+
+    public ExecutionMetrics(String name, Kind kind) {
+        super();
+        Assert.notNull(name, "name cannot be null.");
+        Assert.notNull(kind, "kind cannot be null.");
+        this.name = name;
+        this.kind = kind;
+
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records the time taken by a phase.
+     *
+     * @param phase execution phase.
+     * @param nanos time taken.
+     */
+    public void record(ExecutionPhase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the outcome of an execution.
+     *
+     * @param status execution status; null if the execution ended with an error.
+     */
+    public void recordOutcome(RuleExecutionStatus status) {
+        if (status == null) errorCount.increment();
+        else if (status.isPass()) passCount.increment();
+        else if (status.isFail()) failCount.increment();
+        else if (status.isTimedOut()) timedOutCount.increment();
+        // Skipped or not started (execution limit reached)
+        else skipCount.increment();
+    }
+
+    public LatencyHistogram getHistogram(ExecutionPhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    public ExecutionMetricsSnapshot snapshot() {
+        Map<ExecutionPhase, HistogramSnapshot> phases = new EnumMap<>(ExecutionPhase.class);
+
+        for (ExecutionPhase phase : ExecutionPhase.values()) {
+            phases.put(phase, histograms[phase.ordinal()].snapshot());
+        }
+
+        return new ExecutionMetricsSnapshot(name, kind, passCount.sum(), failCount.sum(), skipCount.sum(),
+                timedOutCount.sum(), errorCount.sum(), phases);
+    }
+
+    @Override
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+
+        passCount.reset();
+        failCount.reset();
+        skipCount.reset();
+        timedOutCount.reset();
+        errorCount.reset();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    @Override
+    public String getType() {
+        return kind.name();
+    }
+
+    @Override
+    public long getExecutionCount() {
+        return passCount.sum() + failCount.sum() + skipCount.sum() + timedOutCount.sum() + errorCount.sum();
+    }
+
+    @Override
+    public long getPassCount() {
+        return passCount.sum();
+    }
+
+    @Override
+    public long getFailCount() {
+        return failCount.sum();
+    }
+
+    @Override
+    public long getSkipCount() {
+        return skipCount.sum();
+    }
+
+    @Override
+    public long getTimedOutCount() {
+        return timedOutCount.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    @Override
+    public double getMeanNanos() {
+        return getHistogram(ExecutionPhase.TOTAL).snapshot().getMean();
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return getHistogram(ExecutionPhase.TOTAL).snapshot().getMax();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return percentile(ExecutionPhase.TOTAL, 50.0d);
+    }
+
+    @Override
+    public long getP90Nanos() {
+        return percentile(ExecutionPhase.TOTAL, 90.0d);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return percentile(ExecutionPhase.TOTAL, 99.0d);
+    }
+
+    @Override
+    public long getP999Nanos() {
+        return percentile(ExecutionPhase.TOTAL, 99.9d);
+    }
+
+    @Override
+    public long percentileNanos(String phase, double percentile) {
+        Assert.notNull(phase, "phase cannot be null.");
+        return percentile(ExecutionPhase.valueOf(phase.trim().toUpperCase()), percentile);
+    }
+
+    private long percentile(ExecutionPhase phase, double percentile) {
+        return getHistogram(phase).snapshot().getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionMetrics{" +
+                "name='" + name + '\'' +
+                ", kind=" + kind +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.metrics;
+
+/**
+ * JMX view of the metrics collected for a single Rule/RuleSet. All the times are in nanos.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public interface ExecutionMetricsMXBean {
+
+    String getName();
+
+    String getType();
+
+    long getExecutionCount();
+
+    long getPassCount();
+
+    long getFailCount();
+
+    long getSkipCount();
+
+    long getTimedOutCount();
+
+    long getErrorCount();
+
+    double getMeanNanos();
+
+    long getMaxNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getP999Nanos();
+
+    /**
+     * Latency percentile of a given phase.
+     *
+     * @param phase phase name (TOTAL, PRE_CONDITION, CONDITION or ACTION).
+     * @param percentile percentile (0 - 100).
+     * @return value at the percentile (in nanos).
+     */
+    long percentileNanos(String phase, double percentile);
+
+    void reset();
+}
@@ -0,0 +1,111 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable copy of the ExecutionMetrics of a Rule/RuleSet.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class ExecutionMetricsSnapshot {
+
+    private final String name;
+    private final ExecutionMetrics.Kind kind;
+    private final long passCount;
+    private final long failCount;
+    private final long skipCount;
+    private final long timedOutCount;
+    private final long errorCount;
+    private final Map<ExecutionPhase, HistogramSnapshot> phases;
+
+    ExecutionMetricsSnapshot(String name, ExecutionMetrics.Kind kind, long passCount, long failCount, long skipCount,
+                             long timedOutCount, long errorCount, Map<ExecutionPhase, HistogramSnapshot> phases) {
+        super();
+        this.name = name;
+        this.kind = kind;
+        this.passCount = passCount;
+        this.failCount = failCount;
+        this.skipCount = skipCount;
+        this.timedOutCount = timedOutCount;
+        this.errorCount = errorCount;
+        this.phases = Collections.unmodifiableMap(phases);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutionMetrics.Kind getKind() {
+        return kind;
+    }
+
+    public long getExecutionCount() {
+        return passCount + failCount + skipCount + timedOutCount + errorCount;
+    }
+
+    public long getPassCount() {
+        return passCount;
+    }
+
+    public long getFailCount() {
+        return failCount;
+    }
+
+    public long getSkipCount() {
+        return skipCount;
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public HistogramSnapshot getLatency() {
+        return phases.get(ExecutionPhase.TOTAL);
+    }
+
+    public HistogramSnapshot getLatency(ExecutionPhase phase) {
+        return phases.get(phase);
+    }
+
+    public Map<ExecutionPhase, HistogramSnapshot> getPhases() {
+        return phases;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionMetricsSnapshot{" +
+                "name='" + name + '\'' +
+                ", kind=" + kind +
+                ", pass=" + passCount +
+                ", fail=" + failCount +
+                ", skip=" + skipCount +
+                ", timedOut=" + timedOutCount +
+                ", error=" + errorCount +
+                ", latency=" + getLatency() +
+                '}';
+    }
+}
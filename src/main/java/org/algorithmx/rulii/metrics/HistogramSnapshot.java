@@ -0,0 +1,110 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.metrics;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+/**
+ * Immutable copy of a LatencyHistogram.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long count, long sum, long min, long max) {
+        super();
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0d : (double) sum / count;
+    }
+
+    /**
+     * Returns the value at the given percentile. The value is the highest value that is equivalent (ie: falls in the
+     * same bucket) to the recorded value, capped at the max recorded value.
+     *
+     * @param percentile percentile (0 - 100).
+     * @return value at the given percentile; 0 if nothing has been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        Assert.isTrue(percentile >= 0.0d && percentile <= 100.0d, "percentile must be between 0 and 100.");
+        if (count == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil((percentile / 100.0d) * count));
+        long running = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            running += counts[i];
+            if (running >= target) return Math.min(LatencyHistogram.highestValueAt(i), max);
+        }
+
+        return max;
+    }
+
+    /**
+     * Number of values recorded with the same bucket as the given value.
+     *
+     * @param value desired value.
+     * @return count of equivalent values.
+     */
+    public long getCountAtValue(long value) {
+        long v = value < 0 ? 0 : Math.min(value, LatencyHistogram.MAX_VALUE);
+        return counts[LatencyHistogram.indexOf(v)];
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", min=" + min +
+                ", mean=" + getMean() +
+                ", p50=" + getValueAtPercentile(50) +
+                ", p99=" + getValueAtPercentile(99) +
+                ", max=" + max +
+                '}';
+    }
+}
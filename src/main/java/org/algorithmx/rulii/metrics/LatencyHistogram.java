@@ -0,0 +1,125 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear (HDR style) latency histogram. Values are grouped into power of 2 ranges, each of which is split into
+ * 2^SUB_BUCKET_BITS linear sub buckets; this gives a fixed relative error (12.5%) across the entire range
+ * (1ns - ~18 minutes) with a small, fixed number of buckets. Values outside of the range are clamped.
+ *
+ * Recording is lock-free; every bucket is a striped LongAdder so concurrent recording threads do not contend on
+ * the same cache line.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS    = 3;
+    static final int SUB_BUCKET_COUNT   = 1 << SUB_BUCKET_BITS;
+    static final int MAX_EXPONENT       = 40;
+    static final long MAX_VALUE         = (1L << MAX_EXPONENT) - 1;
+    static final int BUCKET_COUNT       = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        super();
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the given value (negative values are recorded as 0).
+     *
+     * @param value value to record (typically nanos).
+     */
+    public void record(long value) {
+        long v = value < 0 ? 0 : (value > MAX_VALUE ? MAX_VALUE : value);
+        buckets[indexOf(v)].increment();
+        count.increment();
+        sum.add(v);
+        min.accumulate(v);
+        max.accumulate(v);
+    }
+
+    /**
+     * Takes a point in time copy of the histogram. The copy is not atomic with respect to concurrent recordings
+     * (a concurrent value may show up in the count but not in the buckets) but it is always internally usable.
+     *
+     * @return snapshot of the histogram.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+
+        long minValue = min.get();
+        return new HistogramSnapshot(counts, total, sum.sum(), minValue == Long.MAX_VALUE ? 0 : minValue, max.get());
+    }
+
+    /**
+     * Clears all the recorded values.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+
+        count.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long lowestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return ((long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT)) << shift;
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return lowestValueAt(index) + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.metrics;
+
+import org.algorithmx.rulii.core.rule.RuleExecutionStatus;
+import org.algorithmx.rulii.core.ruleset.RuleSetResult;
+import org.algorithmx.rulii.event.ExecutionEvent;
+import org.algorithmx.rulii.event.ExecutionListener;
+import org.algorithmx.rulii.event.RuleExecution;
+import org.algorithmx.rulii.event.RuleSetExecution;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.Arrays;
+
+/**
+ * Listener that times each Rule/RuleSet phase (start/end event pairs) and records the outcome into a
+ * RuleMetricsRegistry. Start times are kept in a per-thread stack so nothing is allocated per event.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class RuleMetricsListener implements ExecutionListener {
+
+    private final RuleMetricsRegistry registry;
+    private final ThreadLocal<TimeStack> stacks = ThreadLocal.withInitial(TimeStack::new);
+
+    public RuleMetricsListener(RuleMetricsRegistry registry) {
+        super();
+        Assert.notNull(registry, "registry cannot be null.");
+        this.registry = registry;
+    }
+
+    @Override
+    public <T> void onEvent(ExecutionEvent<T> event) {
+        if (event == null) return;
+
+        switch (event.getEventType()) {
+            case RULE_START:
+            case RULE_PRE_CONDITION_START:
+            case RULE_CONDITION_START:
+            case RULE_ACTION_START:
+            case RULE_OTHERWISE_ACTION_START:
+            case RULE_SET_START:
+            case RULE_SET_PRE_CONDITION_START:
+            case RULE_SET_STOP_CONDITION_START:
+                stacks.get().push(System.nanoTime());
+                break;
+            case RULE_END:
+                onRuleEnd((RuleExecution) event.getData());
+                break;
+            case RULE_PRE_CONDITION_END:
+                recordRule((RuleExecution) event.getData(), ExecutionPhase.PRE_CONDITION);
+                break;
+            case RULE_CONDITION_END:
+                recordRule((RuleExecution) event.getData(), ExecutionPhase.CONDITION);
+                break;
+            case RULE_ACTION_END:
+            case RULE_OTHERWISE_ACTION_END:
+                recordRule((RuleExecution) event.getData(), ExecutionPhase.ACTION);
+                break;
+            case RULE_SET_END:
+                onRuleSetEnd((RuleSetExecution) event.getData());
+                break;
+            case RULE_SET_PRE_CONDITION_END:
+                recordRuleSet((RuleSetExecution) event.getData(), ExecutionPhase.PRE_CONDITION);
+                break;
+            case RULE_SET_STOP_CONDITION_END:
+                recordRuleSet((RuleSetExecution) event.getData(), ExecutionPhase.CONDITION);
+                break;
+            default:
+        }
+    }
+
+    public RuleMetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    private void onRuleEnd(RuleExecution execution) {
+        long elapsed = elapsed();
+        if (elapsed < 0) return;
+
+        ExecutionMetrics metrics = registry.getRuleMetrics(execution.getRule().getName());
+        metrics.record(ExecutionPhase.TOTAL, elapsed);
+        metrics.recordOutcome(execution.getStatus());
+    }
+
+    private void onRuleSetEnd(RuleSetExecution execution) {
+        long elapsed = elapsed();
+        if (elapsed < 0) return;
+
+        Object result = execution.getExecutingElement();
+        RuleExecutionStatus status = null;
+
+        if (result instanceof RuleSetResult) {
+            RuleSetResult ruleSetResult = (RuleSetResult) result;
+            status = ruleSetResult.isTimedOut() ? RuleExecutionStatus.TIMED_OUT
+                    : ruleSetResult.isBudgetExhausted() ? RuleExecutionStatus.BUDGET_EXHAUSTED
+                    : ruleSetResult.isPreConditionCheck() ? RuleExecutionStatus.PASS : RuleExecutionStatus.SKIPPED;
+        }
+
+        ExecutionMetrics metrics = registry.getRuleSetMetrics(execution.getRules().getName());
+        metrics.record(ExecutionPhase.TOTAL, elapsed);
+        metrics.recordOutcome(status);
+    }
+
+    private void recordRule(RuleExecution execution, ExecutionPhase phase) {
+        long elapsed = elapsed();
+        if (elapsed >= 0) registry.getRuleMetrics(execution.getRule().getName()).record(phase, elapsed);
+    }
+
+    private void recordRuleSet(RuleSetExecution execution, ExecutionPhase phase) {
+        long elapsed = elapsed();
+        if (elapsed >= 0) registry.getRuleSetMetrics(execution.getRules().getName()).record(phase, elapsed);
+    }
+
+    private long elapsed() {
+        long end = System.nanoTime();
+        TimeStack stack = stacks.get();
+        // Unbalanced end event (listener was added mid execution); ignore it.
+        if (stack.isEmpty()) return -1;
+        return end - stack.pop();
+    }
+
+    private static final class TimeStack {
+
+        private long[] times = new long[16];
+        private int depth = 0;
+
+        void push(long time) {
+            if (depth == times.length) times = Arrays.copyOf(times, depth << 1);
+            times[depth++] = time;
+        }
+
+        long pop() {
+            return times[--depth];
+        }
+
+        boolean isEmpty() {
+            return depth == 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.metrics;
+
+import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the ExecutionMetrics of all the Rules/RuleSets (by name). Metrics are created on first use; once
+ * registerMBeans(...) has been called each metric (existing and future) is also exposed as an MXBean named
+ * "[domain]:type=Rule|RuleSet,name=[name]".
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class RuleMetricsRegistry {
+
+    public static final String DEFAULT_DOMAIN = "org.algorithmx.rulii";
+
+    private final Map<String, ExecutionMetrics> ruleMetrics = new ConcurrentHashMap<>();
+    private final Map<String, ExecutionMetrics> ruleSetMetrics = new ConcurrentHashMap<>();
+
+    private volatile MBeanServer mbeanServer;
+    private volatile String domain;
+
+    public RuleMetricsRegistry() {
+        super();
+    }
+
+    public static RuleMetricsRegistry create() {
+        return new RuleMetricsRegistry();
+    }
+
+    public ExecutionMetrics getRuleMetrics(String name) {
+        Assert.notNull(name, "name cannot be null.");
+        ExecutionMetrics result = ruleMetrics.get(name);
+        return result != null ? result : ruleMetrics.computeIfAbsent(name,
+                n -> register(new ExecutionMetrics(n, ExecutionMetrics.Kind.RULE)));
+    }
+
+    public ExecutionMetrics getRuleSetMetrics(String name) {
+        Assert.notNull(name, "name cannot be null.");
+        ExecutionMetrics result = ruleSetMetrics.get(name);
+        return result != null ? result : ruleSetMetrics.computeIfAbsent(name,
+                n -> register(new ExecutionMetrics(n, ExecutionMetrics.Kind.RULE_SET)));
+    }
+
+    /**
+     * Point in time copy of all the metrics (Rules followed by RuleSets).
+     *
+     * @return metric snapshots.
+     */
+    public List<ExecutionMetricsSnapshot> snapshot() {
+        List<ExecutionMetricsSnapshot> result = new ArrayList<>(ruleMetrics.size() + ruleSetMetrics.size());
+        ruleMetrics.values().forEach(m -> result.add(m.snapshot()));
+        ruleSetMetrics.values().forEach(m -> result.add(m.snapshot()));
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Resets all the metrics (the metrics themselves are kept).
+     */
+    public void reset() {
+        ruleMetrics.values().forEach(ExecutionMetrics::reset);
+        ruleSetMetrics.values().forEach(ExecutionMetrics::reset);
+    }
+
+    public void registerMBeans(MBeanServer server) {
+        registerMBeans(server, DEFAULT_DOMAIN);
+    }
+
+    /**
+     * Exposes all the metrics as MXBeans under the given domain.
+     *
+     * @param server target MBeanServer.
+     * @param domain JMX domain.
+     */
+    public synchronized void registerMBeans(MBeanServer server, String domain) {
+        Assert.notNull(server, "server cannot be null.");
+        Assert.notNull(domain, "domain cannot be null.");
+        if (mbeanServer != null) throw new UnrulyException("MBeans are already registered with [" + mbeanServer + "]");
+
+        this.domain = domain;
+        this.mbeanServer = server;
+
+        ruleMetrics.values().forEach(this::register);
+        ruleSetMetrics.values().forEach(this::register);
+    }
+
+    /**
+     * Removes all the MXBeans registered by this registry.
+     */
+    public synchronized void unregisterMBeans() {
+        MBeanServer server = this.mbeanServer;
+        if (server == null) return;
+
+        this.mbeanServer = null;
+
+        for (ExecutionMetrics metrics : ruleMetrics.values()) unregister(server, metrics);
+        for (ExecutionMetrics metrics : ruleSetMetrics.values()) unregister(server, metrics);
+    }
+
+    public ObjectName getObjectName(ExecutionMetrics metrics) {
+        return getObjectName(domain != null ? domain : DEFAULT_DOMAIN, metrics);
+    }
+
+    private ExecutionMetrics register(ExecutionMetrics metrics) {
+        MBeanServer server = this.mbeanServer;
+        if (server == null) return metrics;
+
+        ObjectName name = getObjectName(metrics);
+
+        try {
+            if (!server.isRegistered(name)) server.registerMBean(metrics, name);
+        } catch (JMException e) {
+            throw new UnrulyException("Unable to register MBean [" + name + "]", e);
+        }
+
+        return metrics;
+    }
+
+    private void unregister(MBeanServer server, ExecutionMetrics metrics) {
+        ObjectName name = getObjectName(metrics);
+
+        try {
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+        } catch (JMException e) {
+            throw new UnrulyException("Unable to unregister MBean [" + name + "]", e);
+        }
+    }
+
+    private static ObjectName getObjectName(String domain, ExecutionMetrics metrics) {
+        try {
+            return new ObjectName(domain + ":type=" + (metrics.getKind() == ExecutionMetrics.Kind.RULE ? "Rule" : "RuleSet")
+                    + ",name=" + ObjectName.quote(metrics.getName()));
+        } catch (JMException e) {
+            throw new UnrulyException("Invalid MBean name for [" + metrics.getName() + "]", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.script;
+
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+
+/**
+ * ScriptProcessor that gives each thread its own ScriptEngine (created lazily from the factory). Script engines (ex:
+ * Nashorn) are generally not thread-safe; this lets a single RuleEngine be shared by concurrent sessions.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class ThreadLocalScriptProcessor implements ScriptProcessor {
+
+    private final ScriptEngineFactory factory;
+    private final ThreadLocal<ScriptProcessor> processors;
+
+    public ThreadLocalScriptProcessor(ScriptEngineFactory factory) {
+        super();
+        Assert.notNull(factory, "factory cannot be null.");
+        this.factory = factory;
+        this.processors = ThreadLocal.withInitial(() -> ScriptProcessor.create(factory.getScriptEngine()));
+    }
+
+    @Override
+    public ScriptContext createContext(Bindings bindings) {
+        return processors.get().createContext(bindings);
+    }
+
+    @Override
+    public Object evaluate(String script, Bindings bindings) throws EvaluationException {
+        return processors.get().evaluate(script, bindings);
+    }
+
+    @Override
+    public boolean evaluateCondition(String script, Bindings bindings) throws EvaluationException {
+        return processors.get().evaluateCondition(script, bindings);
+    }
+
+    @Override
+    public Object evaluate(String script, ScriptContext context) throws EvaluationException {
+        return processors.get().evaluate(script, context);
+    }
+
+    /**
+     * Returns the ScriptEngine of the calling thread.
+     *
+     * @return current thread's ScriptEngine.
+     */
+    @Override
+    public ScriptEngine getEngine() {
+        return processors.get().getEngine();
+    }
+
+    public ScriptEngineFactory getFactory() {
+        return factory;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadLocalScriptProcessor{" +
+                "factory=" + factory +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.text;
+
+import org.algorithmx.rulii.lib.spring.util.ConcurrentReferenceHashMap;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MessageFormatter that compiles each message template once (see MessageTemplate) and caches it.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class CachedMessageFormatter implements MessageFormatter {
+
+    private final Map<String, MessageTemplate> templates = new ConcurrentReferenceHashMap<>();
+
+    public CachedMessageFormatter() {
+        super();
+    }
+
+    @Override
+    public String format(Locale locale, String message, Object...args) {
+        return getTemplate(message).format(locale, args);
+    }
+
+    @Override
+    public String format(Locale locale, String message, ParameterInfo...parameters) {
+        return getTemplate(message).format(locale, parameters);
+    }
+
+    /**
+     * Returns the compiled version of the given template.
+     *
+     * @param message message template.
+     * @return compiled template.
+     */
+    public MessageTemplate getTemplate(String message) {
+        MessageTemplate result = templates.get(message);
+
+        if (result == null) {
+            result = MessageTemplate.compile(message);
+            templates.put(message, result);
+        }
+
+        return result;
+    }
+
+    public void clear() {
+        templates.clear();
+    }
+}
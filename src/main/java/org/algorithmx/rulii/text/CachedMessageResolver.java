@@ -0,0 +1,97 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.text;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.lib.spring.util.ConcurrentReferenceHashMap;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MessageResolver that remembers the messages (including missing ones) resolved by the delegate, by Locale and code.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class CachedMessageResolver implements MessageResolver {
+
+    private static final String NOT_FOUND = new String("<not-found>");
+
+    private final MessageResolver delegate;
+    private final Map<MessageKey, String> messages = new ConcurrentReferenceHashMap<>();
+
+    public CachedMessageResolver(MessageResolver delegate) {
+        super();
+        Assert.notNull(delegate, "delegate cannot be null.");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String resolve(Locale locale, String code, String defaultMessage) {
+        if (code == null) return defaultMessage;
+
+        MessageKey key = new MessageKey(locale != null ? locale : Locale.getDefault(), code);
+        String result = messages.get(key);
+
+        if (result == null) {
+            result = delegate.resolve(key.locale, code, null);
+            if (result == null) result = NOT_FOUND;
+            messages.put(key, result);
+        }
+
+        return result == NOT_FOUND ? defaultMessage : result;
+    }
+
+    public MessageResolver getDelegate() {
+        return delegate;
+    }
+
+    public void clear() {
+        messages.clear();
+    }
+
+    private static final class MessageKey {
+
+        private final Locale locale;
+        private final String code;
+        private final int hash;
+
+        private MessageKey(Locale locale, String code) {
+            super();
+            this.locale = locale;
+            this.code = code;
+            this.hash = 31 * locale.hashCode() + code.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MessageKey that = (MessageKey) o;
+            return hash == that.hash && code.equals(that.code) && locale.equals(that.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -23,7 +23,7 @@ import java.util.Locale;
 public interface MessageFormatter {
 
     static MessageFormatter create() {
-        return new DefaultMessageFormatter();
+        return new CachedMessageFormatter();
     }
 
     String format(Locale locale, String message, Object...args);
@@ -23,7 +23,7 @@ import java.util.Locale;
 public interface MessageResolver {
 
     static MessageResolver create(String...baseNames) {
-        return new CompositeResourceBundleMessageResolver(baseNames);
+        return new CachedMessageResolver(new CompositeResourceBundleMessageResolver(baseNames));
     }
 
     default String resolve(Locale locale, String code) {
@@ -0,0 +1,278 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.text;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.text.DateFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-parsed (thread safe) message template. Templates can contain named placeholders (ie. ${name}) and indexed
+ * arguments (ie. {0}).
+ *
+ * Simple templates (no format types/styles and no quotes) are formatted by concatenating the literal segments and the
+ * argument values. All other templates are formatted by a MessageFormat, producing the same results.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class MessageTemplate {
+
+    private static final Map<Locale, Boolean> PLAIN_DIGITS = new ConcurrentHashMap<>();
+
+    private final String template;
+    // Only set for simple templates
+    private final String[] literals;
+    private final String[] names;
+    private final int[] indexes;
+    private final boolean named;
+    // Only set for complex templates
+    private final FormattedText formattedText;
+
+    private MessageTemplate(String template, String[] literals, String[] names, int[] indexes, boolean named,
+                            FormattedText formattedText) {
+        super();
+        this.template = template;
+        this.literals = literals;
+        this.names = names;
+        this.indexes = indexes;
+        this.named = named;
+        this.formattedText = formattedText;
+    }
+
+    /**
+     * Parses the given template.
+     *
+     * @param template message template.
+     * @return compiled template.
+     */
+    public static MessageTemplate compile(String template) {
+        Assert.notNull(template, "template cannot be null.");
+
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean named = false;
+        int length = template.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = template.charAt(i);
+
+            if (c == '$' && i + 1 < length && template.charAt(i + 1) == '{') {
+                int end = template.indexOf('}', i + 2);
+                String[] values = end < 0 ? null : template.substring(i + 2, end).split(",");
+
+                // Unterminated, blank, with options or with MessageFormat syntax in the name
+                if (values == null || values.length != 1 || values[0].trim().isEmpty()
+                        || values[0].indexOf('{') >= 0 || values[0].indexOf('\'') >= 0) return complex(template);
+
+                literals.add(literal.toString());
+                literal.setLength(0);
+                names.add(values[0].trim());
+                indexes.add(-1);
+                named = true;
+                i = end;
+            } else if (c == '{') {
+                int end = template.indexOf('}', i + 1);
+                int index = end < 0 ? -1 : parseIndex(template, i + 1, end);
+
+                if (index < 0) return complex(template);
+
+                literals.add(literal.toString());
+                literal.setLength(0);
+                names.add(null);
+                indexes.add(index);
+                i = end;
+            } else if (c == '\'' || c == '}') {
+                return complex(template);
+            } else {
+                literal.append(c);
+            }
+        }
+
+        literals.add(literal.toString());
+
+        int[] result = new int[indexes.size()];
+        for (int i = 0; i < result.length; i++) result[i] = indexes.get(i);
+
+        return new MessageTemplate(template, literals.toArray(new String[literals.size()]),
+                names.toArray(new String[names.size()]), result, named, null);
+    }
+
+    private static MessageTemplate complex(String template) {
+        return new MessageTemplate(template, null, null, null, true, FormattedTextParser.parse(template));
+    }
+
+    private static int parseIndex(String template, int start, int end) {
+        if (start == end || end - start > 9) return -1;
+
+        int result = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = template.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            result = result * 10 + (c - '0');
+        }
+
+        return result;
+    }
+
+    /**
+     * Formats the template with the given named parameters.
+     *
+     * @param locale locale to use.
+     * @param parameters named parameters.
+     * @return formatted text.
+     */
+    public String format(Locale locale, ParameterInfo...parameters) {
+        int size = parameters != null ? parameters.length : 0;
+        Object[] args = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            args[i] = parameters[i].getValue();
+        }
+
+        if (!isSimple() || locale == null || (named && size == 0)) {
+            FormattedText text = formattedText != null ? formattedText : FormattedTextParser.parse(template);
+            String pattern = text.hasPlaceholders() ? text.replaceWithIndex(parameters) : template;
+            return new MessageFormat(pattern, locale).format(args);
+        }
+
+        StringBuilder result = new StringBuilder(template.length() + 16 * indexes.length);
+
+        for (int i = 0; i < indexes.length; i++) {
+            result.append(literals[i]);
+
+            if (names[i] != null) {
+                ParameterInfo parameter = findParameter(names[i], parameters);
+
+                if (parameter == null) {
+                    result.append('[').append(names[i]).append(" not found]");
+                } else {
+                    appendArgument(result, locale, parameter.getIndex(), args);
+                }
+            } else {
+                appendArgument(result, locale, indexes[i], args);
+            }
+        }
+
+        return result.append(literals[indexes.length]).toString();
+    }
+
+    /**
+     * Formats the template with the given indexed arguments.
+     *
+     * @param locale locale to use.
+     * @param args arguments.
+     * @return formatted text.
+     */
+    public String format(Locale locale, Object...args) {
+        if (!isSimple() || named || locale == null) return new MessageFormat(template, locale).format(args);
+
+        StringBuilder result = new StringBuilder(template.length() + 16 * indexes.length);
+
+        for (int i = 0; i < indexes.length; i++) {
+            result.append(literals[i]);
+            appendArgument(result, locale, indexes[i], args);
+        }
+
+        return result.append(literals[indexes.length]).toString();
+    }
+
+    public boolean isSimple() {
+        return formattedText == null;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    private static ParameterInfo findParameter(String name, ParameterInfo...parameters) {
+        // Last one wins
+        for (int i = parameters.length - 1; i >= 0; i--) {
+            if (name.equals(parameters[i].getName())) return parameters[i];
+        }
+
+        return null;
+    }
+
+    private static void appendArgument(StringBuilder result, Locale locale, int index, Object...args) {
+        if (args == null || index < 0 || index >= args.length) {
+            result.append('{').append(index).append('}');
+            return;
+        }
+
+        Object value = args[index];
+
+        if (value == null) {
+            result.append("null");
+        } else if (value instanceof String) {
+            result.append((String) value);
+        } else if (value instanceof Number || value instanceof Date) {
+            appendFormatted(result, locale, value);
+        } else {
+            result.append(value);
+        }
+    }
+
+    private static void appendFormatted(StringBuilder result, Locale locale, Object value) {
+        if ((value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+                && isPlainDigits(locale)) {
+            long number = ((Number) value).longValue();
+
+            // No grouping separators required
+            if (number > -1000 && number < 1000) {
+                result.append(number);
+                return;
+            }
+        }
+
+        // Same as MessageFormat
+        result.append(value instanceof Number
+                ? NumberFormat.getInstance(locale).format(value)
+                : DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale).format(value));
+    }
+
+    private static boolean isPlainDigits(Locale locale) {
+        return PLAIN_DIGITS.computeIfAbsent(locale, l -> {
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(l);
+            return symbols.getZeroDigit() == '0' && symbols.getMinusSign() == '-'
+                    && NumberFormat.getInstance(l).format(-1).equals("-1");
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "MessageTemplate{" +
+                "template='" + template + '\'' +
+                ", simple=" + isSimple() +
+                '}';
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.trace;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Fixed size ring buffer of trace records owned by a single (writer) thread. Records are kept in parallel arrays so
+ * nothing is allocated per record; once full the oldest records are overwritten.
+ *
+ * The write position only ever moves forward (and is only written by the owning thread). Clearing the buffer (from any
+ * thread) just records the position it was cleared at; older records are then ignored.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+final class TraceBuffer {
+
+    private static final AtomicLongFieldUpdater<TraceBuffer> POSITION =
+            AtomicLongFieldUpdater.newUpdater(TraceBuffer.class, "position");
+
+    private final WeakReference<Thread> thread;
+    private final long threadId;
+    private final String threadName;
+    private final long[] times;
+    private final int[] names;
+    private final byte[] types;
+    private final byte[] outcomes;
+    private final int mask;
+
+    // Only written by the owning thread; published with an ordered store so that dumps see complete records
+    private volatile long position = 0;
+    // Position at the time of the last clear
+    private volatile long clearedAt = 0;
+
+    TraceBuffer(Thread thread, int capacity) {
+        super();
+        this.thread = new WeakReference<>(thread);
+        this.threadId = thread.getId();
+        this.threadName = thread.getName();
+        this.times = new long[capacity];
+        this.names = new int[capacity];
+        this.types = new byte[capacity];
+        this.outcomes = new byte[capacity];
+        this.mask = capacity - 1;
+    }
+
+    void write(long time, int name, byte type, byte outcome) {
+        long current = position;
+        int index = (int) (current & mask);
+        times[index] = time;
+        names[index] = name;
+        types[index] = type;
+        outcomes[index] = outcome;
+        // No need for a full volatile write; readers only need to see the record before the new position
+        POSITION.lazySet(this, current + 1);
+    }
+
+    /**
+     * Copies the records (oldest first) that were written at or after the given time. This is a best effort copy; a
+     * record may get overwritten by the owning thread while it is being copied.
+     *
+     * @param all whether to include all the records (from is ignored).
+     * @param from earliest time (nanos) to include.
+     * @param visitor receives the records.
+     */
+    void read(boolean all, long from, RecordVisitor visitor) {
+        long end = position;
+        long start = Math.max(clearedAt, end - times.length);
+
+        for (long i = start; i < end; i++) {
+            int index = (int) (i & mask);
+            long time = times[index];
+            if (!all && time - from < 0) continue;
+            visitor.visit(time, names[index], types[index], outcomes[index]);
+        }
+    }
+
+    int size() {
+        long end = position;
+        return (int) Math.min(Math.max(0, end - clearedAt), times.length);
+    }
+
+    /**
+     * Discards the current records. Safe to call from any thread (the owning thread keeps writing where it was).
+     */
+    void clear() {
+        clearedAt = position;
+    }
+
+    boolean isThreadAlive() {
+        Thread result = thread.get();
+        return result != null && result.isAlive();
+    }
+
+    long getThreadId() {
+        return threadId;
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    interface RecordVisitor {
+        void visit(long time, int name, byte type, byte outcome);
+    }
+}
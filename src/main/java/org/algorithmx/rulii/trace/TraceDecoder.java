@@ -0,0 +1,175 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.trace;
+
+import org.algorithmx.rulii.event.EventType;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.util.RuleUtils;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline decoder for the dumps written by the TraceRecorder. The records can either be read as is or turned into the
+ * same text format produced by the ExecutionCollector(s).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class TraceDecoder {
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
+    private TraceDecoder() {
+        super();
+    }
+
+    /**
+     * Reads all the records in the dump (grouped by thread, oldest first).
+     *
+     * @param in dump.
+     * @return trace records.
+     * @throws IOException thrown if the dump cannot be read.
+     */
+    public static List<TraceRecord> read(InputStream in) throws IOException {
+        Assert.notNull(in, "in cannot be null.");
+        DataInputStream input = new DataInputStream(in);
+
+        if (input.readInt() != TraceRecorder.MAGIC) throw new IOException("Not a trace dump.");
+
+        short version = input.readShort();
+        if (version != TraceRecorder.VERSION) throw new IOException("Unsupported trace dump version [" + version + "]");
+
+        // Dump times (wall clock/nanos); not needed to decode
+        input.readLong();
+        input.readLong();
+
+        String[] names = new String[input.readInt()];
+
+        for (int i = 1; i < names.length; i++) {
+            names[i] = input.readUTF();
+        }
+
+        int threadCount = input.readInt();
+        List<TraceRecord> result = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            long threadId = input.readLong();
+            String threadName = input.readUTF();
+            int count = input.readInt();
+
+            for (int j = 0; j < count; j++) {
+                long time = input.readLong();
+                int name = input.readInt();
+                EventType eventType = EVENT_TYPES[input.readByte()];
+                byte outcome = input.readByte();
+                result.add(new TraceRecord(threadId, threadName, time, eventType, getName(names, name), outcome));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Decodes the dump into the human readable (ExecutionCollector) format.
+     *
+     * @param in dump.
+     * @return trace text.
+     * @throws IOException thrown if the dump cannot be read.
+     */
+    public static String decode(InputStream in) throws IOException {
+        return format(read(in));
+    }
+
+    public static String format(List<TraceRecord> records) {
+        Assert.notNull(records, "records cannot be null.");
+        StringBuilder result = new StringBuilder();
+        Long threadId = null;
+        int tabCount = 0;
+
+        for (TraceRecord record : records) {
+            if (threadId == null || threadId != record.getThreadId()) {
+                threadId = record.getThreadId();
+                tabCount = 0;
+                append(result, "Thread : " + record.getThreadName() + " [" + record.getThreadId() + "]");
+            }
+
+            switch (record.getEventType()) {
+                case ON_FUNCTION:
+                    append(result, RuleUtils.getTabs(tabCount + 1) + "Function Result : "
+                            + (record.isError() ? "Error" : "Executed"));
+                    break;
+                case ON_CONDITION:
+                    append(result, RuleUtils.getTabs(tabCount + 1) + "Condition Result : "
+                            + (record.isError() ? "Error" : record.getResult()));
+                    break;
+                case ON_ACTION:
+                    append(result, RuleUtils.getTabs(tabCount + 1) + "Action Result : "
+                            + (record.isError() ? "Error" : "Executed"));
+                    break;
+                case RULE_START:
+                    append(result, RuleUtils.getTabs(++tabCount) + "Rule : " + record.getName());
+                    break;
+                case RULE_PRE_CONDITION_START:
+                    append(result, RuleUtils.getTabs(++tabCount) + "Rule Pre Condition : ");
+                    break;
+                case RULE_CONDITION_START:
+                    append(result, RuleUtils.getTabs(++tabCount) + "Given : ");
+                    break;
+                case RULE_ACTION_START:
+                    append(result, RuleUtils.getTabs(++tabCount) + "Action : ");
+                    break;
+                case RULE_OTHERWISE_ACTION_START:
+                    append(result, RuleUtils.getTabs(++tabCount) + "Otherwise : ");
+                    break;
+                case RULE_SET_START:
+                    append(result, RuleUtils.getTabs(tabCount) + "RuleSet : " + record.getName()
+                            + System.lineSeparator());
+                    break;
+                case RULE_SET_PRE_CONDITION_START:
+                    append(result, RuleUtils.getTabs(++tabCount) + "RuleSet Pre Condition : ");
+                    break;
+                case RULE_SET_STOP_CONDITION_START:
+                    append(result, RuleUtils.getTabs(++tabCount) + "RuleSet Stop Condition : ");
+                    break;
+                case RULE_SET_END:
+                    break;
+                default:
+                    // All the other end events
+                    if (tabCount > 0) tabCount--;
+            }
+        }
+
+        return result.toString();
+    }
+
+    private static void append(StringBuilder builder, String text) {
+        builder.append(text);
+        builder.append(System.lineSeparator());
+    }
+
+    private static String getName(String[] names, int id) {
+        if (id == 0) return null;
+        return id < names.length ? names[id] : "#" + id;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.trace;
+
+import org.algorithmx.rulii.core.rule.RuleExecutionStatus;
+import org.algorithmx.rulii.event.EventType;
+
+/**
+ * A single decoded trace record.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class TraceRecord {
+
+    public static final byte NONE       = 0;
+    public static final byte TRUE       = 1;
+    public static final byte FALSE      = 2;
+    public static final byte ERROR      = 3;
+    // Rule outcomes (RULE_END) other than TRUE (PASS) and FALSE (FAIL)
+    public static final byte SKIPPED    = 4;
+    public static final byte TIMED_OUT  = 5;
+    public static final byte BUDGET_EXHAUSTED = 6;
+
+    private final long threadId;
+    private final String threadName;
+    private final long nanoTime;
+    private final EventType eventType;
+    private final String name;
+    private final byte outcome;
+
+    public TraceRecord(long threadId, String threadName, long nanoTime, EventType eventType, String name, byte outcome) {
+        super();
+        this.threadId = threadId;
+        this.threadName = threadName;
+        this.nanoTime = nanoTime;
+        this.eventType = eventType;
+        this.name = name;
+        this.outcome = outcome;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * System.nanoTime() at the time of the event.
+     *
+     * @return time in nanos.
+     */
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Name of the Rule/RuleSet (or method) behind the event; null if the event has no name.
+     *
+     * @return name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public byte getOutcome() {
+        return outcome;
+    }
+
+    public Boolean getResult() {
+        return outcome == TRUE ? Boolean.TRUE : outcome == FALSE ? Boolean.FALSE : null;
+    }
+
+    public boolean isError() {
+        return outcome == ERROR;
+    }
+
+    /**
+     * Status of the Rule execution (only available on RULE_END records).
+     *
+     * @return execution status; null if not available (or the Rule ended with an error).
+     */
+    public RuleExecutionStatus getStatus() {
+        if (eventType != EventType.RULE_END) return null;
+
+        switch (outcome) {
+            case TRUE: return RuleExecutionStatus.PASS;
+            case FALSE: return RuleExecutionStatus.FAIL;
+            case SKIPPED: return RuleExecutionStatus.SKIPPED;
+            case TIMED_OUT: return RuleExecutionStatus.TIMED_OUT;
+            case BUDGET_EXHAUSTED: return RuleExecutionStatus.BUDGET_EXHAUSTED;
+            default: return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TraceRecord{" +
+                "threadId=" + threadId +
+                ", nanoTime=" + nanoTime +
+                ", eventType=" + eventType +
+                ", name='" + name + '\'' +
+                ", outcome=" + outcome +
+                '}';
+    }
+}
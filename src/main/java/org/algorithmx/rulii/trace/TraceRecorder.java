@@ -0,0 +1,297 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.trace;
+
+import org.algorithmx.rulii.core.model.MethodDefinition;
+import org.algorithmx.rulii.core.rule.RuleExecutionStatus;
+import org.algorithmx.rulii.event.ActionExecution;
+import org.algorithmx.rulii.event.ConditionExecution;
+import org.algorithmx.rulii.event.EventType;
+import org.algorithmx.rulii.event.ExecutionEvent;
+import org.algorithmx.rulii.event.ExecutionListener;
+import org.algorithmx.rulii.event.FunctionExecution;
+import org.algorithmx.rulii.event.RuleExecution;
+import org.algorithmx.rulii.event.RuleSetExecution;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Low overhead execution trace recorder. Each event is written as a fixed size binary record (event type, name id,
+ * System.nanoTime() and outcome) into a ring buffer owned by the executing thread; nothing is formatted or allocated
+ * per event. Rule/RuleSet names are kept in a dictionary and only written out (once) when the recorder is dumped.
+ *
+ * The recorder is meant to be left on permanently; dump(...) writes out the most recent records (optionally limited
+ * to the last N seconds) which can be turned back into the usual text format with the TraceDecoder.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class TraceRecorder implements ExecutionListener {
+
+    static final int MAGIC                  = 0x52545243; // RTRC
+    static final short VERSION              = 1;
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int NO_NAME = 0;
+
+    private final int capacity;
+    private final ThreadLocal<TraceBuffer> buffers;
+    private final Queue<TraceBuffer> allBuffers = new ConcurrentLinkedQueue<>();
+    private final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public TraceRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a recorder that keeps (at least) the given number of records per thread.
+     *
+     * @param capacity number of records kept per thread (rounded up to a power of 2).
+     */
+    public TraceRecorder(int capacity) {
+        super();
+        Assert.isTrue(capacity > 0 && capacity <= 1 << 30, "capacity must be between 1 and 2^30.");
+        int size = Integer.highestOneBit(capacity);
+        this.capacity = size < capacity ? size << 1 : size;
+        this.buffers = ThreadLocal.withInitial(this::createBuffer);
+        this.names.add(null);
+    }
+
+    @Override
+    public <T> void onEvent(ExecutionEvent<T> event) {
+        if (event == null) return;
+
+        Object data = event.getData();
+        String name = null;
+        byte outcome = TraceRecord.NONE;
+
+        switch (event.getEventType()) {
+            case ON_CONDITION:
+                ConditionExecution condition = (ConditionExecution) data;
+                name = getName(condition.getMethodDefinition());
+                outcome = condition.isError() ? TraceRecord.ERROR : toOutcome(condition.getResult());
+                break;
+            case ON_FUNCTION:
+                FunctionExecution function = (FunctionExecution) data;
+                name = getName(function.getMethodDefinition());
+                outcome = function.isError() ? TraceRecord.ERROR : TraceRecord.NONE;
+                break;
+            case ON_ACTION:
+                ActionExecution action = (ActionExecution) data;
+                name = getName(action.getMethodDefinition());
+                outcome = action.isError() ? TraceRecord.ERROR : TraceRecord.NONE;
+                break;
+            case RULE_SET_START:
+            case RULE_SET_END:
+            case RULE_SET_PRE_CONDITION_START:
+            case RULE_SET_PRE_CONDITION_END:
+            case RULE_SET_STOP_CONDITION_START:
+            case RULE_SET_STOP_CONDITION_END:
+                name = ((RuleSetExecution) data).getRules().getName();
+                break;
+            case RULE_END:
+                RuleExecution ruleEnd = (RuleExecution) data;
+                name = ruleEnd.getRule().getName();
+                outcome = toOutcome(ruleEnd.getStatus());
+                break;
+            default:
+                name = ((RuleExecution) data).getRule().getName();
+        }
+
+        record(event.getEventType(), name, outcome);
+    }
+
+    /**
+     * Records an event directly (without the need for an ExecutionEvent).
+     *
+     * @param eventType type of event.
+     * @param name Rule/RuleSet name (optional).
+     * @param outcome outcome (one of the TraceRecord constants).
+     */
+    public void record(EventType eventType, String name, byte outcome) {
+        buffers.get().write(System.nanoTime(), getNameId(name), (byte) eventType.ordinal(), outcome);
+    }
+
+    /**
+     * Writes out all the records currently held.
+     *
+     * @param out destination.
+     * @throws IOException thrown if the records cannot be written.
+     */
+    public void dump(OutputStream out) throws IOException {
+        dump(out, true, 0L);
+    }
+
+    /**
+     * Writes out the records of the given time window (ie. last 10 seconds).
+     *
+     * @param out destination.
+     * @param window length of the window.
+     * @param unit window time unit.
+     * @throws IOException thrown if the records cannot be written.
+     */
+    public void dump(OutputStream out, long window, TimeUnit unit) throws IOException {
+        Assert.notNull(unit, "unit cannot be null.");
+        dump(out, false, System.nanoTime() - unit.toNanos(window));
+    }
+
+    protected void dump(OutputStream out, boolean all, long from) throws IOException {
+        Assert.notNull(out, "out cannot be null.");
+        DataOutputStream result = new DataOutputStream(out);
+
+        result.writeInt(MAGIC);
+        result.writeShort(VERSION);
+        result.writeLong(System.currentTimeMillis());
+        result.writeLong(System.nanoTime());
+
+        // Dictionary
+        String[] dictionary = getNames();
+        result.writeInt(dictionary.length);
+
+        for (int i = 1; i < dictionary.length; i++) {
+            result.writeUTF(dictionary[i]);
+        }
+
+        List<TraceBuffer> buffers = new ArrayList<>(allBuffers);
+        result.writeInt(buffers.size());
+
+        for (TraceBuffer buffer : buffers) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(buffer.size() * 14);
+            DataOutputStream records = new DataOutputStream(bytes);
+            int[] count = new int[1];
+
+            buffer.read(all, from, (time, name, type, outcome) -> {
+                try {
+                    records.writeLong(time);
+                    records.writeInt(name);
+                    records.writeByte(type);
+                    records.writeByte(outcome);
+                    count[0]++;
+                } catch (IOException e) {
+                    // Not possible with a ByteArrayOutputStream
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            result.writeLong(buffer.getThreadId());
+            result.writeUTF(buffer.getThreadName());
+            result.writeInt(count[0]);
+            bytes.writeTo(result);
+        }
+
+        result.flush();
+        removeDeadThreads();
+    }
+
+    /**
+     * Clears all the records (the dictionary is kept).
+     */
+    public void clear() {
+        for (TraceBuffer buffer : allBuffers) {
+            buffer.clear();
+        }
+
+        removeDeadThreads();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Dictionary id of the given name.
+     *
+     * @param name Rule/RuleSet name.
+     * @return id of the name (0 for null).
+     */
+    public int getNameId(String name) {
+        if (name == null) return NO_NAME;
+
+        Integer result = nameIds.get(name);
+        return result != null ? result : addName(name);
+    }
+
+    protected String[] getNames() {
+        synchronized (names) {
+            return names.toArray(new String[names.size()]);
+        }
+    }
+
+    private int addName(String name) {
+        synchronized (names) {
+            Integer result = nameIds.get(name);
+            if (result != null) return result;
+
+            names.add(name);
+            nameIds.put(name, names.size() - 1);
+            return names.size() - 1;
+        }
+    }
+
+    private void removeDeadThreads() {
+        Iterator<TraceBuffer> iterator = allBuffers.iterator();
+
+        while (iterator.hasNext()) {
+            if (!iterator.next().isThreadAlive()) iterator.remove();
+        }
+    }
+
+    private TraceBuffer createBuffer() {
+        TraceBuffer result = new TraceBuffer(Thread.currentThread(), capacity);
+        allBuffers.add(result);
+        return result;
+    }
+
+    private static String getName(MethodDefinition definition) {
+        return definition != null ? definition.getName() : null;
+    }
+
+    private static byte toOutcome(RuleExecutionStatus status) {
+        // No status means the Rule ended with an error
+        if (status == null) return TraceRecord.ERROR;
+
+        switch (status) {
+            case PASS: return TraceRecord.TRUE;
+            case FAIL: return TraceRecord.FALSE;
+            case SKIPPED: return TraceRecord.SKIPPED;
+            case TIMED_OUT: return TraceRecord.TIMED_OUT;
+            case BUDGET_EXHAUSTED: return TraceRecord.BUDGET_EXHAUSTED;
+            default: return TraceRecord.NONE;
+        }
+    }
+
+    private static byte toOutcome(Boolean value) {
+        return value == null ? TraceRecord.NONE : value ? TraceRecord.TRUE : TraceRecord.FALSE;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.trace.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evaluation of a Rule Condition (pre-condition/given).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@Name(FlightRecorderEvents.PREFIX + "ConditionEvaluated")
+@Label("Condition Evaluated")
+@Category({"Rulii"})
+@Enabled(false)
+@Description("Evaluation of a Rule Condition (pre-condition/given).")
+final class ConditionEvaluatedEvent extends Event {
+
+    @Label("Rule")
+    String ruleName;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Result")
+    boolean result;
+
+    @Label("Error")
+    boolean error;
+}
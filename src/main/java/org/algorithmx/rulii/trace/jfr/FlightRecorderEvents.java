@@ -0,0 +1,178 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.trace.jfr;
+
+/**
+ * Emits JDK Flight Recorder events for Rule/RuleSet/Bean validation execution. The JFR classes are only touched if
+ * JFR is available (JDK 11+/8u262+) so the library keeps working on older runtimes. When the events are not enabled
+ * in a recording (or JFR is not available) begin returns null and nothing else happens. Rule/RuleSet/Bean events
+ * have a default threshold of 1 ms; the (high volume) Condition/Action events are disabled by default.
+ *
+ * JFR support can be switched off with -Drulii.jfr.disabled=true.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class FlightRecorderEvents {
+
+    public static final String PREFIX = "org.algorithmx.rulii.";
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    private FlightRecorderEvents() {
+        super();
+    }
+
+    public static boolean isSupported() {
+        return AVAILABLE;
+    }
+
+    public static Object beginRule() {
+        return AVAILABLE ? Events.beginRule() : null;
+    }
+
+    public static void endRule(Object event, String ruleName, Object outcome) {
+        if (event != null) Events.endRule(event, ruleName, outcome);
+    }
+
+    public static Object beginCondition() {
+        return AVAILABLE ? Events.beginCondition() : null;
+    }
+
+    public static void endCondition(Object event, String ruleName, String phase, boolean result, boolean error) {
+        if (event != null) Events.endCondition(event, ruleName, phase, result, error);
+    }
+
+    public static Object beginAction() {
+        return AVAILABLE ? Events.beginAction() : null;
+    }
+
+    public static void endAction(Object event, String ruleName, String phase, boolean error) {
+        if (event != null) Events.endAction(event, ruleName, phase, error);
+    }
+
+    public static Object beginRuleSet() {
+        return AVAILABLE ? Events.beginRuleSet() : null;
+    }
+
+    public static void endRuleSet(Object event, String ruleSetName, int size, String outcome) {
+        if (event != null) Events.endRuleSet(event, ruleSetName, size, outcome);
+    }
+
+    public static Object beginBeanValidation() {
+        return AVAILABLE ? Events.beginBeanValidation() : null;
+    }
+
+    public static void endBeanValidation(Object event, Object bean, int violations, boolean error) {
+        if (event != null) Events.endBeanValidation(event, bean, violations, error);
+    }
+
+    private static boolean isAvailable() {
+        if (Boolean.getBoolean("rulii.jfr.disabled")) return false;
+
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * All the references to the JFR classes live here; this class is only loaded if JFR is available.
+     */
+    private static final class Events {
+
+        private static Object beginRule() {
+            RuleExecutedEvent result = new RuleExecutedEvent();
+            if (!result.isEnabled()) return null;
+            result.begin();
+            return result;
+        }
+
+        private static void endRule(Object event, String ruleName, Object outcome) {
+            RuleExecutedEvent result = (RuleExecutedEvent) event;
+            result.ruleName = ruleName;
+            result.outcome = outcome != null ? outcome.toString() : "ERROR";
+            result.commit();
+        }
+
+        private static Object beginCondition() {
+            ConditionEvaluatedEvent result = new ConditionEvaluatedEvent();
+            if (!result.isEnabled()) return null;
+            result.begin();
+            return result;
+        }
+
+        private static void endCondition(Object event, String ruleName, String phase, boolean value, boolean error) {
+            ConditionEvaluatedEvent result = (ConditionEvaluatedEvent) event;
+            result.ruleName = ruleName;
+            result.phase = phase;
+            result.result = value;
+            result.error = error;
+            result.commit();
+        }
+
+        private static Object beginAction() {
+            ActionExecutedEvent result = new ActionExecutedEvent();
+            if (!result.isEnabled()) return null;
+            result.begin();
+            return result;
+        }
+
+        private static void endAction(Object event, String ruleName, String phase, boolean error) {
+            ActionExecutedEvent result = (ActionExecutedEvent) event;
+            result.ruleName = ruleName;
+            result.phase = phase;
+            result.error = error;
+            result.commit();
+        }
+
+        private static Object beginRuleSet() {
+            RuleSetExecutedEvent result = new RuleSetExecutedEvent();
+            if (!result.isEnabled()) return null;
+            result.begin();
+            return result;
+        }
+
+        private static void endRuleSet(Object event, String ruleSetName, int size, String outcome) {
+            RuleSetExecutedEvent result = (RuleSetExecutedEvent) event;
+            result.ruleSetName = ruleSetName;
+            result.size = size;
+            result.outcome = outcome;
+            result.commit();
+        }
+
+        private static Object beginBeanValidation() {
+            BeanValidatedEvent result = new BeanValidatedEvent();
+            if (!result.isEnabled()) return null;
+            result.begin();
+            return result;
+        }
+
+        private static void endBeanValidation(Object event, Object bean, int violations, boolean error) {
+            BeanValidatedEvent result = (BeanValidatedEvent) event;
+            result.beanType = bean != null ? bean.getClass().getName() : null;
+            result.violations = violations;
+            result.error = error;
+            result.commit();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.cache;
+
+import java.util.Arrays;
+
+/**
+ * Cache key made up of the (resolved) argument values of a method call. Equality is based on the values (arrays are
+ * compared deeply); the arguments must not be modified once the key has been created.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class ArgumentKey {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Object[] values;
+    private final int hash;
+
+    private ArgumentKey(Object[] values) {
+        super();
+        this.values = values;
+        this.hash = Arrays.deepHashCode(values);
+    }
+
+    /**
+     * Creates a key with the given argument values (the array is not copied).
+     *
+     * @param values argument values.
+     * @return new key.
+     */
+    public static ArgumentKey of(Object...values) {
+        return new ArgumentKey(values != null ? values : NO_ARGS);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ArgumentKey)) return false;
+        ArgumentKey other = (ArgumentKey) o;
+        return hash == other.hash && Arrays.deepEquals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ArgumentKey" + Arrays.deepToString(values);
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.cache;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache with LRU (size based) and TTL (time since write) eviction. The cache is split into
+ * a number of independently locked segments to keep contention low; each segment evicts its least recently used
+ * entry once it is full. Null values are not cached.
+ *
+ * @param <K> key type.
+ * @param <V> value type.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class ResultCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    private ResultCache(int maxSize, long ttlNanos) {
+        super();
+        Assert.isTrue(maxSize > 0, "maxSize must be > 0");
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos > 0 ? ttlNanos : 0L;
+
+        // Power of two number of segments (no more segments than entries)
+        int count = 1;
+        while (count < MAX_SEGMENTS && count * 2 <= maxSize) count *= 2;
+
+        int capacity = (maxSize + count - 1) / count;
+        this.segments = new Segment[count];
+        this.mask = count - 1;
+
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(capacity, evictionCount);
+        }
+    }
+
+    /**
+     * Creates a size bound cache (entries never expire).
+     *
+     * @param maxSize max number of entries.
+     * @param <K> key type.
+     * @param <V> value type.
+     * @return new cache.
+     */
+    public static <K, V> ResultCache<K, V> create(int maxSize) {
+        return new ResultCache<>(maxSize, 0L);
+    }
+
+    /**
+     * Creates a size and time bound cache.
+     *
+     * @param maxSize max number of entries.
+     * @param ttl time to live (after write); zero or less means entries never expire.
+     * @param unit time unit.
+     * @param <K> key type.
+     * @param <V> value type.
+     * @return new cache.
+     */
+    public static <K, V> ResultCache<K, V> create(int maxSize, long ttl, TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        return new ResultCache<>(maxSize, unit.toNanos(ttl));
+    }
+
+    /**
+     * Returns the cached value.
+     *
+     * @param key cache key.
+     * @return cached value; null if there is no (live) value.
+     */
+    public V get(K key) {
+        Assert.notNull(key, "key cannot be null.");
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry;
+
+        synchronized (segment) {
+            entry = segment.get(key);
+
+            if (entry != null && isExpired(entry)) {
+                segment.remove(key);
+                expirationCount.increment();
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        return entry.value;
+    }
+
+    /**
+     * Caches the given value (null values are ignored).
+     *
+     * @param key cache key.
+     * @param value value to cache.
+     */
+    public void put(K key, V value) {
+        Assert.notNull(key, "key cannot be null.");
+        if (value == null) return;
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry = new Entry<>(value, ttlNanos > 0 ? System.nanoTime() : 0L);
+
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+    }
+
+    public void invalidate(K key) {
+        Assert.notNull(key, "key cannot be null.");
+        Segment<K, V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int result = 0;
+
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                result += segment.size();
+            }
+        }
+
+        return result;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTimeToLive(TimeUnit unit) {
+        Assert.notNull(unit, "unit cannot be null.");
+        return unit.convert(ttlNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Snapshot of the cache statistics.
+     *
+     * @return cache stats.
+     */
+    public CacheStats getStats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), expirationCount.sum(), size());
+    }
+
+    public void resetStats() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+        expirationCount.reset();
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.writeTime >= ttlNanos;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        // Spread the higher bits (same as HashMap)
+        return segments[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    @Override
+    public String toString() {
+        return "ResultCache{" +
+                "maxSize=" + maxSize +
+                ", ttlNanos=" + ttlNanos +
+                ", stats=" + getStats() +
+                '}';
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long writeTime;
+
+        private Entry(V value, long writeTime) {
+            super();
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final transient LongAdder evictionCount;
+
+        private Segment(int capacity, LongAdder evictionCount) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictionCount = evictionCount;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            boolean result = size() > capacity;
+            if (result) evictionCount.increment();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.collection;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Bloom filter over byte keys; answers "definitely not present" without touching the actual values. The k bit
+ * positions are derived from a single 64 bit FNV-1a hash (double hashing).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class BloomFilter {
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Bloom filter sized for the given number of keys and false positive probability.
+     *
+     * @param expectedInsertions expected number of keys.
+     * @param falsePositiveProbability desired false positive probability (0 - 1 exclusive).
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveProbability) {
+        super();
+        Assert.isTrue(expectedInsertions >= 0, "expectedInsertions must be >= 0");
+        Assert.isTrue(falsePositiveProbability > 0 && falsePositiveProbability < 1,
+                "falsePositiveProbability must be between 0 and 1 (exclusive)");
+        int n = Math.max(expectedInsertions, 1);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.words = new long[(int) Math.max(1, (bits + 63) / 64)];
+        this.bitCount = words.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void add(byte[] key) {
+        long hash = hash(key);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash, i, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(byte[] key) {
+        long hash = hash(key);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash, i, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Same check as mightContain against filter words stored in a buffer (ex: memory mapped file).
+     *
+     * @param buffer buffer holding the filter words.
+     * @param offset position of the first word.
+     * @param wordCount number of words.
+     * @param hashCount number of hashes.
+     * @param key key to check.
+     * @return false if the key is definitely not present.
+     */
+    public static boolean mightContain(ByteBuffer buffer, int offset, int wordCount, int hashCount, byte[] key) {
+        long hash = hash(key);
+        long bitCount = wordCount * 64L;
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(hash, i, bitCount);
+            if ((buffer.getLong(offset + (int) (bit >>> 6) * 8) & (1L << bit)) == 0) return false;
+        }
+
+        return true;
+    }
+
+    private static long hash(byte[] key) {
+        long result = 0xcbf29ce484222325L;
+
+        for (byte b : key) {
+            result ^= (b & 0xff);
+            result *= 0x100000001b3L;
+        }
+
+        return result;
+    }
+
+    private static long bitIndex(long hash, int i, long bitCount) {
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        int combined = hash1 + i * hash2;
+        if (combined < 0) combined = ~combined;
+        return combined % bitCount;
+    }
+
+    long[] getWords() {
+        return words;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+}
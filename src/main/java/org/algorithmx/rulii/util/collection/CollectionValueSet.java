@@ -0,0 +1,62 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.collection;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * ValueSet backed by a regular (unmodifiable) Set.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class CollectionValueSet implements ValueSet {
+
+    private final Set<?> values;
+
+    public CollectionValueSet(Collection<?> values) {
+        super();
+        Assert.notNull(values, "values cannot be null.");
+        this.values = values instanceof Set ? (Set<?>) values : new HashSet<>(values);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return values.contains(value);
+    }
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    public Set<?> getValues() {
+        return Collections.unmodifiableSet(values);
+    }
+
+    @Override
+    public String toString() {
+        return ValueSets.toString(values, size());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.collection;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ValueSet of integral numbers (Long, Integer, Short or Byte) stored in an open addressing (linear probing) long
+ * table; no boxing/per entry overhead. Only values of the same type as the elements match (like a HashSet).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class LongHashValueSet implements ValueSet {
+
+    private static final long EMPTY = 0L;
+
+    private final Class<?> type;
+    private final long[] table;
+    private final int mask;
+    // EMPTY marks the free slots; zero is tracked separately
+    private final boolean containsZero;
+    private final int size;
+
+    private LongHashValueSet(Class<?> type, long[] values) {
+        super();
+        this.type = type;
+        // Keep the load factor <= 0.5
+        int capacity = Integer.highestOneBit(Math.max(values.length, 1) * 2 - 1) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+
+        boolean zero = false;
+        int count = 0;
+
+        for (long value : values) {
+            if (value == EMPTY) {
+                if (!zero) count++;
+                zero = true;
+            } else if (insert(value)) {
+                count++;
+            }
+        }
+
+        this.containsZero = zero;
+        this.size = count;
+    }
+
+    public static boolean isSupported(Class<?> type) {
+        return Long.class.equals(type) || Integer.class.equals(type) || Short.class.equals(type)
+                || Byte.class.equals(type);
+    }
+
+    public static LongHashValueSet of(Class<?> type, Collection<?> values) {
+        Assert.notNull(type, "type cannot be null.");
+        Assert.notNull(values, "values cannot be null.");
+        Assert.isTrue(isSupported(type), "LongHashValueSet does not support type [" + type + "]");
+        long[] result = new long[values.size()];
+        int index = 0;
+
+        for (Object value : values) {
+            Assert.isTrue(type.isInstance(value), "Value [" + value + "] is not of type [" + type + "]");
+            result[index++] = ((Number) value).longValue();
+        }
+
+        return new LongHashValueSet(type, result);
+    }
+
+    public static LongHashValueSet of(long...values) {
+        Assert.notNull(values, "values cannot be null.");
+        return new LongHashValueSet(Long.class, values);
+    }
+
+    private static int hash(long value) {
+        long result = value * 0x9E3779B97F4A7C15L;
+        return (int) (result ^ (result >>> 32));
+    }
+
+    private boolean insert(long value) {
+        int index = hash(value) & mask;
+
+        while (table[index] != EMPTY) {
+            if (table[index] == value) return false;
+            index = (index + 1) & mask;
+        }
+
+        table[index] = value;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return value != null && value.getClass() == type && contains(((Number) value).longValue());
+    }
+
+    public boolean contains(long value) {
+        if (value == EMPTY) return containsZero;
+
+        int index = hash(value) & mask;
+
+        while (table[index] != EMPTY) {
+            if (table[index] == value) return true;
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        List<Long> values = new ArrayList<>(Math.min(size, MAX_DISPLAY_VALUES));
+        if (containsZero) values.add(EMPTY);
+
+        for (int i = 0; i < table.length && values.size() < MAX_DISPLAY_VALUES; i++) {
+            if (table[i] != EMPTY) values.add(table[i]);
+        }
+
+        return ValueSets.toString(values, size);
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.collection;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable ValueSet backed by a memory mapped file; the values are never loaded on to the heap (heap usage does not
+ * depend on the number of values). Lookups are a binary search over the sorted values, optionally preceded by a Bloom
+ * filter check. Values are matched by their String form. Files are limited to 2GB.
+ *
+ * File format (big endian) :
+ * <pre>
+ *   int      magic (RVS1)
+ *   int      version
+ *   int      value count (n)
+ *   int      Bloom filter hash count (0 = no filter)
+ *   int      Bloom filter word count (w)
+ *   long[w]  Bloom filter words
+ *   int[n+1] value offsets (relative to the start of the data)
+ *   byte[]   data; UTF-8 values sorted by their (unsigned) bytes
+ * </pre>
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class MappedValueSet implements ValueSet {
+
+    public static final int MAGIC = 0x52565331;
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int hashCount;
+    private final int bloomWords;
+    private final int bloomOffset;
+    private final int offsetsOffset;
+    private final int dataOffset;
+
+    private MappedValueSet(Path path, ByteBuffer buffer) {
+        super();
+        this.path = path;
+        this.buffer = buffer;
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("[" + path + "] is not a value set file.");
+        }
+
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported value set version [" + buffer.getInt(4) + "] in ["
+                    + path + "]");
+        }
+
+        this.size = buffer.getInt(8);
+        this.hashCount = buffer.getInt(12);
+        this.bloomWords = buffer.getInt(16);
+        this.bloomOffset = HEADER_SIZE;
+        this.offsetsOffset = bloomOffset + bloomWords * 8;
+        this.dataOffset = offsetsOffset + (size + 1) * 4;
+
+        if (dataOffset > buffer.limit() || dataOffset + getOffset(size) > buffer.limit()) {
+            throw new IllegalArgumentException("Value set file [" + path + "] is truncated.");
+        }
+    }
+
+    /**
+     * Memory maps the given value set file.
+     *
+     * @param path value set file.
+     * @return mapped value set.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public static MappedValueSet load(Path path) throws IOException {
+        Assert.notNull(path, "path cannot be null.");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Value set file [" + path + "] is too large (max 2GB).");
+            }
+
+            // Mapping stays valid after the channel is closed
+            return new MappedValueSet(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes the given values in the value set file format.
+     *
+     * @param path target file.
+     * @param values values (duplicates are removed).
+     * @param falsePositiveProbability Bloom filter false positive probability; zero (or less) means no Bloom filter.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, Collection<String> values, double falsePositiveProbability) throws IOException {
+        Assert.notNull(path, "path cannot be null.");
+        Assert.notNull(values, "values cannot be null.");
+        List<byte[]> keys = new ArrayList<>(values.size());
+
+        for (String value : values) {
+            Assert.notNull(value, "values cannot contain nulls.");
+            keys.add(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        keys.sort(MappedValueSet::compare);
+        List<byte[]> unique = new ArrayList<>(keys.size());
+
+        for (byte[] key : keys) {
+            if (unique.isEmpty() || compare(unique.get(unique.size() - 1), key) != 0) unique.add(key);
+        }
+
+        BloomFilter filter = null;
+
+        if (falsePositiveProbability > 0) {
+            filter = new BloomFilter(unique.size(), falsePositiveProbability);
+            for (byte[] key : unique) filter.add(key);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(unique.size());
+            out.writeInt(filter != null ? filter.getHashCount() : 0);
+            out.writeInt(filter != null ? filter.getWords().length : 0);
+
+            if (filter != null) {
+                for (long word : filter.getWords()) out.writeLong(word);
+            }
+
+            long offset = 0;
+            out.writeInt(0);
+
+            for (byte[] key : unique) {
+                offset += key.length;
+                if (offset > Integer.MAX_VALUE) throw new IOException("Value set data is too large (max 2GB).");
+                out.writeInt((int) offset);
+            }
+
+            for (byte[] key : unique) out.write(key);
+        }
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        if (value == null || size == 0) return false;
+
+        byte[] key = value.toString().getBytes(StandardCharsets.UTF_8);
+
+        if (hashCount > 0 && !BloomFilter.mightContain(buffer, bloomOffset, bloomWords, hashCount, key)) return false;
+
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int result = compare(mid, key);
+
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int getOffset(int index) {
+        return buffer.getInt(offsetsOffset + index * 4);
+    }
+
+    private int compare(int index, byte[] key) {
+        int start = dataOffset + getOffset(index);
+        int length = dataOffset + getOffset(index + 1) - start;
+        int min = Math.min(length, key.length);
+
+        for (int i = 0; i < min; i++) {
+            int result = (buffer.get(start + i) & 0xff) - (key[i] & 0xff);
+            if (result != 0) return result;
+        }
+
+        return length - key.length;
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        int min = Math.min(a.length, b.length);
+
+        for (int i = 0; i < min; i++) {
+            int result = (a[i] & 0xff) - (b[i] & 0xff);
+            if (result != 0) return result;
+        }
+
+        return a.length - b.length;
+    }
+
+    /**
+     * Value at the given index (in sorted order).
+     *
+     * @param index index of the value.
+     * @return value.
+     */
+    public String get(int index) {
+        Assert.isTrue(index >= 0 && index < size, "index out of range [" + index + "]");
+        int start = dataOffset + getOffset(index);
+        byte[] result = new byte[dataOffset + getOffset(index + 1) - start];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buffer.get(start + i);
+        }
+
+        return new String(result, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean hasBloomFilter() {
+        return hashCount > 0;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        List<String> values = new ArrayList<>();
+
+        for (int i = 0; i < size && i < MAX_DISPLAY_VALUES; i++) {
+            values.add(get(i));
+        }
+
+        return ValueSets.toString(values, size);
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.collection;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Persistent (immutable) hash map based on a Hash Array Mapped Trie. Each put returns a new map that shares all the
+ * untouched nodes with the original; only the path to the changed entry (at most 7 nodes) is copied. Instances are
+ * immutable and thread safe. Null keys/values are not supported.
+ *
+ * @param <K> key type.
+ * @param <V> value type.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class PersistentHashMap<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentHashMap(Node<K, V> root, int size) {
+        super();
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V get(K key) {
+        Assert.notNull(key, "key cannot be null.");
+        return root.get(key, hash(key), 0);
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Associates the value with the given key. This map is not modified.
+     *
+     * @param key key.
+     * @param value value.
+     * @return map with the new entry (this if the value was already associated with the key).
+     */
+    public PersistentHashMap<K, V> put(K key, V value) {
+        Assert.notNull(key, "key cannot be null.");
+        Assert.notNull(value, "value cannot be null.");
+        boolean[] added = new boolean[1];
+        Node<K, V> result = root.put(key, value, hash(key), 0, added);
+        return result == root ? this : new PersistentHashMap<>(result, added[0] ? size + 1 : size);
+    }
+
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Assert.notNull(action, "action cannot be null.");
+        root.forEach(action);
+    }
+
+    public List<K> keys() {
+        List<K> result = new ArrayList<>(size);
+        forEach((key, value) -> result.add(key));
+        return result;
+    }
+
+    public List<V> values() {
+        List<V> result = new ArrayList<>(size);
+        forEach((key, value) -> result.add(value));
+        return result;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bitPosition(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static <K, V> Node<K, V> createNode(int shift, K key1, V value1, int hash1, K key2, V value2, int hash2) {
+        if (hash1 == hash2) return new CollisionNode<>(hash1, new Object[] {key1, value1, key2, value2});
+        boolean[] added = new boolean[1];
+        Node<K, V> result = BitmapNode.<K, V>empty().put(key1, value1, hash1, shift, added);
+        return result.put(key2, value2, hash2, shift, added);
+    }
+
+    private interface Node<K, V> {
+
+        V get(K key, int hash, int shift);
+
+        Node<K, V> put(K key, V value, int hash, int shift, boolean[] added);
+
+        void forEach(BiConsumer<? super K, ? super V> action);
+    }
+
+    /**
+     * Up to 32 slots; the bitmap tells which slots are used. Each slot is either a key/value pair or (null, sub node).
+     */
+    private static final class BitmapNode<K, V> implements Node<K, V> {
+
+        private static final BitmapNode EMPTY = new BitmapNode<>(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            super();
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <K, V> BitmapNode<K, V> empty() {
+            return EMPTY;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(K key, int hash, int shift) {
+            int bit = bitPosition(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+
+            int index = index(bit);
+            Object existingKey = array[2 * index];
+            Object existingValue = array[2 * index + 1];
+
+            if (existingKey == null) return ((Node<K, V>) existingValue).get(key, hash, shift + BITS);
+            return key.equals(existingKey) ? (V) existingValue : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V> put(K key, V value, int hash, int shift, boolean[] added) {
+            int bit = bitPosition(hash, shift);
+            int index = index(bit);
+
+            // Free slot; insert the pair
+            if ((bitmap & bit) == 0) {
+                Object[] result = new Object[array.length + 2];
+                System.arraycopy(array, 0, result, 0, 2 * index);
+                result[2 * index] = key;
+                result[2 * index + 1] = value;
+                System.arraycopy(array, 2 * index, result, 2 * (index + 1), array.length - 2 * index);
+                added[0] = true;
+                return new BitmapNode<>(bitmap | bit, result);
+            }
+
+            Object existingKey = array[2 * index];
+            Object existingValue = array[2 * index + 1];
+
+            // Sub node
+            if (existingKey == null) {
+                Node<K, V> node = (Node<K, V>) existingValue;
+                Node<K, V> result = node.put(key, value, hash, shift + BITS, added);
+                return result == node ? this : copyAndSet(2 * index + 1, result);
+            }
+
+            // Same key; replace the value
+            if (key.equals(existingKey)) {
+                return existingValue == value ? this : copyAndSet(2 * index + 1, value);
+            }
+
+            // Different key in the same slot; push both down a level
+            added[0] = true;
+            Node<K, V> node = createNode(shift + BITS, (K) existingKey, (V) existingValue, hash(existingKey),
+                    key, value, hash);
+            Object[] result = array.clone();
+            result[2 * index] = null;
+            result[2 * index + 1] = node;
+            return new BitmapNode<>(bitmap, result);
+        }
+
+        private BitmapNode<K, V> copyAndSet(int index, Object value) {
+            Object[] result = array.clone();
+            result[index] = value;
+            return new BitmapNode<>(bitmap, result);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node<K, V>) array[i + 1]).forEach(action);
+                } else {
+                    action.accept((K) array[i], (V) array[i + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keys with the same (full) hash.
+     */
+    private static final class CollisionNode<K, V> implements Node<K, V> {
+
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object[] array) {
+            super();
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+
+            return -1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(K key, int hash, int shift) {
+            int index = this.hash == hash ? indexOf(key) : -1;
+            return index < 0 ? null : (V) array[index + 1];
+        }
+
+        @Override
+        public Node<K, V> put(K key, V value, int hash, int shift, boolean[] added) {
+            // Different hash; nest this node in a bitmap node
+            if (this.hash != hash) {
+                return new BitmapNode<K, V>(bitPosition(this.hash, shift), new Object[] {null, this})
+                        .put(key, value, hash, shift, added);
+            }
+
+            int index = indexOf(key);
+
+            if (index >= 0) {
+                if (array[index + 1] == value) return this;
+                Object[] result = array.clone();
+                result[index + 1] = value;
+                return new CollisionNode<>(hash, result);
+            }
+
+            Object[] result = new Object[array.length + 2];
+            System.arraycopy(array, 0, result, 0, array.length);
+            result[array.length] = key;
+            result[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode<>(hash, result);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(BiConsumer<? super K, ? super V> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept((K) array[i], (V) array[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PersistentHashMap<?, ?> that = (PersistentHashMap<?, ?>) o;
+        if (size != that.size) return false;
+        boolean[] result = {true};
+        forEach((key, value) -> {
+            if (result[0] && !value.equals(((PersistentHashMap<K, ?>) that).get(key))) result[0] = false;
+        });
+        return result[0];
+    }
+
+    @Override
+    public int hashCode() {
+        int[] result = {0};
+        forEach((key, value) -> result[0] += key.hashCode() ^ value.hashCode());
+        return result[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (result.length() > 1) result.append(", ");
+            result.append(key).append('=').append(value);
+        });
+        return result.append('}').toString();
+    }
+}
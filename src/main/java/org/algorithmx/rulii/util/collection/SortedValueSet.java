@@ -0,0 +1,73 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.collection;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * ValueSet of Strings stored in a sorted array (binary search); no per entry overhead unlike a HashSet.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class SortedValueSet implements ValueSet {
+
+    private final String[] values;
+
+    private SortedValueSet(String[] values) {
+        super();
+        this.values = values;
+    }
+
+    public static SortedValueSet of(Collection<?> values) {
+        Assert.notNull(values, "values cannot be null.");
+        TreeSet<String> result = new TreeSet<>();
+
+        for (Object value : values) {
+            Assert.isTrue(value instanceof String, "SortedValueSet only supports String values. Given [" + value + "]");
+            result.add((String) value);
+        }
+
+        return new SortedValueSet(result.toArray(new String[result.size()]));
+    }
+
+    public static SortedValueSet of(String...values) {
+        Assert.notNull(values, "values cannot be null.");
+        return of(Arrays.asList(values));
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return value instanceof String && Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        return ValueSets.toString(Arrays.asList(values), size());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.collection;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Read only set of values used for membership checks (ex: In validation rules). The implementations are compact
+ * alternatives to a HashSet; large reference lists can be kept off heap (see MappedValueSet).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public interface ValueSet {
+
+    /**
+     * Number of values to show in the textual representation.
+     */
+    int MAX_DISPLAY_VALUES = 10;
+
+    /**
+     * Creates the most compact ValueSet for the given values. Integral numbers (of the same type) are stored in an open
+     * addressing primitive set, Strings in a sorted array; anything else is kept in a HashSet.
+     *
+     * @param values values.
+     * @return value set.
+     */
+    static ValueSet of(Collection<?> values) {
+        Assert.notNull(values, "values cannot be null.");
+        Class<?> type = ValueSets.getElementType(values);
+
+        if (type == null) return new CollectionValueSet(values);
+        if (LongHashValueSet.isSupported(type)) return LongHashValueSet.of(type, values);
+        if (String.class.equals(type)) return SortedValueSet.of(values);
+
+        return new CollectionValueSet(values);
+    }
+
+    /**
+     * Wraps the given Set (no conversion).
+     *
+     * @param values values.
+     * @return value set.
+     */
+    static ValueSet wrap(Set<?> values) {
+        return new CollectionValueSet(values);
+    }
+
+    /**
+     * Memory maps the given value set file (see MappedValueSet for the format).
+     *
+     * @param path value set file.
+     * @return memory mapped value set.
+     */
+    static ValueSet load(Path path) {
+        try {
+            return MappedValueSet.load(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load value set [" + path + "]", e);
+        }
+    }
+
+    /**
+     * Determines whether the given value is a member of this set.
+     *
+     * @param value value to check.
+     * @return true if the value is in the set.
+     */
+    boolean contains(Object value);
+
+    /**
+     * Number of values in the set.
+     *
+     * @return size of the set.
+     */
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.util.collection;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * ValueSet helpers.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+final class ValueSets {
+
+    private ValueSets() {
+        super();
+    }
+
+    /**
+     * Finds the common type of the given values.
+     *
+     * @param values values.
+     * @return common type; null if the types are mixed (or a value is null).
+     */
+    static Class<?> getElementType(Collection<?> values) {
+        Class<?> result = null;
+
+        for (Object value : values) {
+            if (value == null) return null;
+            if (result == null) {
+                result = value.getClass();
+            } else if (!result.equals(value.getClass())) {
+                return null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Textual representation of a (potentially huge) set; only the first few values are shown.
+     *
+     * @param values values.
+     * @param size total number of values.
+     * @return text.
+     */
+    static String toString(Iterable<?> values, int size) {
+        StringBuilder result = new StringBuilder("[");
+        Iterator<?> iterator = values.iterator();
+
+        for (int i = 0; i < ValueSet.MAX_DISPLAY_VALUES && iterator.hasNext(); i++) {
+            if (i > 0) result.append(", ");
+            result.append(iterator.next());
+        }
+
+        if (size > ValueSet.MAX_DISPLAY_VALUES) result.append(", ... (").append(size).append(" values)");
+
+        return result.append("]").toString();
+    }
+}
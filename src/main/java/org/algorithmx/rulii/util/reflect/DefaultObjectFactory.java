@@ -23,8 +23,8 @@ import org.algorithmx.rulii.core.UnrulyException;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 
 import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Default Object Factory implementation. Objects are created via reflection using the default ctor.
@@ -34,9 +34,22 @@ import java.util.WeakHashMap;
  */
 public class DefaultObjectFactory implements ObjectFactory {
 
-    // Post Ctor cache by class.
-    private static final Map<Class<?>, Method> postConstructorCache = new WeakHashMap<>();
-    private static final Map<Class<?>, Object> objectCache          = new WeakHashMap<>();
+    // Post Ctor cache by class (empty if the class does not have one). Stored with the class (ClassValue) so the entries
+    // live exactly as long as the class does.
+    private static final ClassValue<Optional<Method>> postConstructorCache = new ClassValue<Optional<Method>>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            return Optional.ofNullable(ReflectionUtils.getPostConstructMethods(type));
+        }
+    };
+
+    // Cached (singleton) instance by class; set once
+    private static final ClassValue<AtomicReference<Object>> objectCache = new ClassValue<AtomicReference<Object>>() {
+        @Override
+        protected AtomicReference<Object> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
 
     private final boolean useCache;
 
@@ -83,31 +96,27 @@ public class DefaultObjectFactory implements ObjectFactory {
     public <T> T create(Class<T> type, boolean isUseCache) {
         Assert.notNull(type, "type cannot be null.");
 
-        if (isUseCache && objectCache.containsKey(type)) return (T) objectCache.get(type);
+        if (!isUseCache) return createObject(type);
 
-        // Create the object
-        T result = createInternal(type);
+        AtomicReference<Object> cached = objectCache.get(type);
+        Object existing = cached.get();
+        if (existing != null) return (T) existing;
 
-        Method postConstructor;
+        T result = createObject(type);
+        // Somebody else may have beaten us to it; everyone gets the same instance
+        return cached.compareAndSet(null, result) ? result : (T) cached.get();
+    }
 
-        // Check if we cached the post constructor
-        if (postConstructorCache.containsKey(type)) {
-            postConstructor = postConstructorCache.get(type);
-        } else {
-            // Find the post constructor if one exists.
-            postConstructor = ReflectionUtils.getPostConstructMethods(type);
-            // Cache the post constructor
-            postConstructorCache.put(type, postConstructor);
-        }
+    protected <T> T createObject(Class<T> type) {
+        // Create the object
+        T result = createInternal(type);
+        Method postConstructor = postConstructorCache.get(type).orElse(null);
 
         if (postConstructor != null) {
             // Call the Post Constructor
             ReflectionUtils.invokePostConstruct(postConstructor, result);
         }
 
-        // Cache it
-        if (isUseCache) objectCache.put(type, result);
-
         return result;
     }
 
@@ -45,11 +45,37 @@ public abstract class BindingValidationRule extends ValidationRule {
     @Otherwise
     public void otherwise(@Match(using = MatchByTypeMatchingStrategy.class) RuleContext context,
                           @Match(using = MatchByTypeMatchingStrategy.class) RuleViolations violations) {
-        Object value = getBindingValue(context);
+        violations.add(createRuleViolation(context, getBindingValue(context)));
+    }
+
+    /**
+     * Validates the given value directly without going through the Rule machinery (parameter matching, scopes and
+     * events). Values of unsupported types are skipped just like the @PreCondition does.
+     *
+     * @param context rule context.
+     * @param value value to validate.
+     * @return the violation if the value is invalid; null otherwise.
+     */
+    public RuleViolation validate(RuleContext context, Object value) {
+        if (value != null && !isSupported(value.getClass())) return null;
+        return isValid(context, value) ? null : createRuleViolation(context, value);
+    }
+
+    /**
+     * Determines whether this rule can be validated purely off the value being validated. Rules that need to look at
+     * other Bindings (ie. scripts or binding checks) must return false so they are run as regular Rules.
+     *
+     * @return true if the rule only depends on the value; false otherwise.
+     */
+    public boolean isBindingIndependent() {
+        return true;
+    }
+
+    protected RuleViolation createRuleViolation(RuleContext context, Object value) {
         RuleViolationBuilder builder = createRuleViolationBuilder()
                 .param("value", value);
         customizeViolation(context, builder);
-        violations.add(builder.build(context.getMessageResolver(), context.getMessageFormatter(), context.getLocale()));
+        return builder.build(context.getMessageResolver(), context.getMessageFormatter(), context.getLocale());
     }
 
     protected abstract boolean isValid(RuleContext context, Object value);
@@ -0,0 +1,69 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.text.MessageFormatter;
+import org.algorithmx.rulii.text.MessageResolver;
+import org.algorithmx.rulii.text.ParameterInfo;
+
+import java.util.Locale;
+
+/**
+ * Everything required to resolve and format a violation message at a later time.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+final class DeferredMessage {
+
+    private final MessageResolver messageResolver;
+    private final MessageFormatter messageFormatter;
+    private final Locale locale;
+    private final String errorCode;
+    private final String errorMessage;
+    private final String defaultMessage;
+    private final ParameterInfo[] params;
+
+    DeferredMessage(MessageResolver messageResolver, MessageFormatter messageFormatter, Locale locale,
+                    String errorCode, String errorMessage, String defaultMessage, ParameterInfo[] params) {
+        super();
+        Assert.notNull(messageResolver, "messageResolver cannot be null.");
+        this.messageResolver = messageResolver;
+        this.messageFormatter = messageFormatter;
+        this.locale = locale;
+        this.errorCode = errorCode;
+        this.errorMessage = errorMessage;
+        this.defaultMessage = defaultMessage;
+        this.params = params;
+    }
+
+    String format(Locale locale) {
+        String message = errorMessage != null
+                ? errorMessage
+                : messageResolver.resolve(locale, errorCode, defaultMessage);
+        if (message == null || messageFormatter == null) return message;
+        return messageFormatter.format(locale, message, params);
+    }
+
+    Locale getLocale() {
+        return locale;
+    }
+}
@@ -21,6 +21,7 @@ import org.algorithmx.rulii.lib.spring.util.Assert;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
@@ -28,6 +29,9 @@ import java.util.Objects;
  * Class containing all the details of a Rule Violation. It contains Rule Name, error code, severity, error message and all
  * relevant parameters.
  *
+ * Violations created by the RuleViolationBuilder with a MessageResolver defer the message lookup and formatting until
+ * the message is first read; the formatted message is then cached.
+ *
  * @author Max Arulananthan
  * @since 1.0
  */
@@ -36,8 +40,11 @@ public class RuleViolation {
     private final String ruleName;
     private final String errorCode;
     private final Severity severity;
-    private final String errorMessage;
     private final Map<String, String> params = new LinkedHashMap<>();
+    private volatile String errorMessage;
+    private volatile DeferredMessage deferredMessage;
+    private volatile boolean formatted = false;
+    private Locale formattedLocale;
 
     public RuleViolation(String ruleName, String errorCode) {
         this(ruleName, errorCode, Severity.ERROR, null);
@@ -86,9 +93,36 @@ public class RuleViolation {
      * @return error message.
      */
     public String getErrorMessage() {
+        if (deferredMessage != null && !formatted) format(null);
         return errorMessage;
     }
 
+    /**
+     * Formats the error message in the given Locale and caches it. Does nothing if the message was not deferred.
+     *
+     * @param locale desired locale (null means the Locale the violation was created with).
+     * @return formatted error message.
+     */
+    public synchronized String format(Locale locale) {
+        DeferredMessage deferred = deferredMessage;
+
+        if (deferred == null) return errorMessage;
+
+        Locale target = locale != null ? locale : deferred.getLocale();
+
+        if (!formatted || !Objects.equals(target, formattedLocale)) {
+            this.errorMessage = deferred.format(target);
+            this.formattedLocale = target;
+            this.formatted = true;
+        }
+
+        return errorMessage;
+    }
+
+    void setDeferredMessage(DeferredMessage deferredMessage) {
+        this.deferredMessage = deferredMessage;
+    }
+
     /**
      * Associated rule parameters.
      *
@@ -143,7 +177,7 @@ public class RuleViolation {
                 "ruleName='" + ruleName + '\'' +
                 ", errorCode='" + errorCode + '\'' +
                 ", severity=" + severity +
-                ", errorMessage='" + errorMessage + '\'' +
+                ", errorMessage='" + getErrorMessage() + '\'' +
                 ", params=" + params +
                 '}';
     }
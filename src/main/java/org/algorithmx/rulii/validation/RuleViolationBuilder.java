@@ -72,22 +72,27 @@ public class RuleViolationBuilder {
         return build(null, null , null);
     }
 
+    /**
+     * Builds the RuleViolation. The error message is resolved and formatted when it is first read (see
+     * RuleViolation.getErrorMessage()).
+     *
+     * @param messageResolver resolves the error message (optional).
+     * @param messageFormatter formats the error message.
+     * @param locale locale to use.
+     * @return new RuleViolation.
+     */
     public RuleViolation build(MessageResolver messageResolver, MessageFormatter messageFormatter, Locale locale) {
-        String message = messageResolver != null ? resolveErrorMessage(messageResolver, locale) : null;
-        RuleViolation result = new RuleViolation(ruleName, errorCode, severity,
-                message != null
-                        ? messageFormatter.format(locale, message, params.toArray(new ParameterInfo[params.size()]))
-                        : null);
+        RuleViolation result = new RuleViolation(ruleName, errorCode, severity, null);
+
+        if (messageResolver != null) {
+            result.setDeferredMessage(new DeferredMessage(messageResolver, messageFormatter, locale, errorCode,
+                    errorMessage, defaultMessage, params.toArray(new ParameterInfo[params.size()])));
+        }
 
         addRuleParameters(result, params);
         return result;
     }
 
-    private String resolveErrorMessage(MessageResolver messageResolver, Locale locale) {
-        if (errorMessage != null) return errorMessage;
-        return messageResolver != null ? messageResolver.resolve(locale, errorCode, defaultMessage) : null;
-    }
-
     private void addRuleParameters(RuleViolation error, List<ParameterInfo> parameters) {
         parameters.stream()
                 .filter(m -> m != null)
@@ -19,24 +19,88 @@ package org.algorithmx.rulii.validation;
 
 import org.algorithmx.rulii.lib.spring.util.Assert;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Locale;
 
 /**
  * Container for all Rule Violations.
  *
+ * Violations are kept in an append only, chunked store (existing violations are never copied as it grows) along with
+ * counts per Severity, so the has/count methods do not scan the violations. A ViolationSink can be used to receive the
+ * violations as they are added; the container can also be told not to keep the violations at all (counts are still
+ * kept).
+ *
+ * The public constructors create thread safe containers. Use singleThreaded() (no locking) when the violations are
+ * only ever accessed by a single thread.
+ *
  * @author Max Arulananthan
  * @since 1.0
  */
 public class RuleViolations implements Iterable<RuleViolation> {
 
-    private final List<RuleViolation> errors = Collections.synchronizedList(new ArrayList<>());
+    private static final int FIRST_CHUNK_SIZE = 8;
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    private final ViolationSink sink;
+    private final boolean retain;
+    private final Object lock;
+    private final int[] severityCounts = new int[SEVERITIES.length];
+
+    private RuleViolation[][] chunks = new RuleViolation[4][];
+    private int chunkCount = 0;
+    private int lastChunkSize = 0;
+    private int retainedCount = 0;
+    private int count = 0;
 
     public RuleViolations() {
+        this(null, true, true);
+    }
+
+    /**
+     * Creates a RuleViolations that sends each violation to the given sink as it is added.
+     *
+     * @param sink violation sink.
+     * @param retain true to keep the violations in this container as well; false to only count them.
+     */
+    public RuleViolations(ViolationSink sink, boolean retain) {
+        this(sink, retain, true);
+    }
+
+    protected RuleViolations(ViolationSink sink, boolean retain, boolean concurrent) {
         super();
+        this.sink = sink;
+        this.retain = retain;
+        this.lock = concurrent ? new Object() : null;
+    }
+
+    /**
+     * Creates a RuleViolations that can be safely used by multiple threads (same as new RuleViolations()).
+     *
+     * @return thread safe RuleViolations.
+     */
+    public static RuleViolations concurrent() {
+        return new RuleViolations(null, true, true);
+    }
+
+    /**
+     * Creates a RuleViolations without any locking. It must only be used by a single thread.
+     *
+     * @return single threaded RuleViolations.
+     */
+    public static RuleViolations singleThreaded() {
+        return new RuleViolations(null, true, false);
+    }
+
+    /**
+     * Creates a single threaded RuleViolations that streams the violations to the sink without keeping them.
+     *
+     * @param sink violation sink.
+     * @return streaming RuleViolations.
+     */
+    public static RuleViolations streaming(ViolationSink sink) {
+        Assert.notNull(sink, "sink cannot be null.");
+        return new RuleViolations(sink, false, false);
     }
 
     /**
@@ -46,12 +110,14 @@ public class RuleViolations implements Iterable<RuleViolation> {
      */
     public void add(RuleViolation error) {
         Assert.notNull(error, "error cannot be null.");
-        errors.add(error);
+        append(error);
     }
 
     public void add(RuleViolation...errors) {
         Assert.notNull(errors, "error cannot be null.");
-        this.errors.addAll(Arrays.asList(errors));
+        for (RuleViolation error : errors) {
+            if (error != null) append(error);
+        }
     }
 
     /**
@@ -76,17 +142,47 @@ public class RuleViolations implements Iterable<RuleViolation> {
      */
     public RuleViolation add(String ruleName, String errorCode, Severity severity, String errorMessage) {
         RuleViolation result = new RuleViolation(ruleName, errorCode, severity, errorMessage);
-        errors.add(result);
+        append(result);
         return result;
     }
 
+    protected void append(RuleViolation violation) {
+        if (lock == null) {
+            appendInternal(violation);
+        } else {
+            synchronized (lock) {
+                appendInternal(violation);
+            }
+        }
+
+        if (sink != null) sink.violation(violation);
+    }
+
+    private void appendInternal(RuleViolation violation) {
+        count++;
+        severityCounts[violation.getSeverity().ordinal()]++;
+
+        if (!retain) return;
+
+        if (chunkCount == 0 || lastChunkSize == chunks[chunkCount - 1].length) {
+            if (chunkCount == chunks.length) chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            // Each chunk is double the size of the previous one
+            chunks[chunkCount] = new RuleViolation[FIRST_CHUNK_SIZE << Math.min(chunkCount, 16)];
+            chunkCount++;
+            lastChunkSize = 0;
+        }
+
+        chunks[chunkCount - 1][lastChunkSize++] = violation;
+        retainedCount++;
+    }
+
     /**
      * Determines if this container has any associated errors (errors of severity FATAL or ERROR).
      *
      * @return true if this containers has any errors (errors of severity FATAL or ERROR); false otherwise.
      */
     public boolean hasSevereErrors() {
-        return errors.stream().filter(e -> e.getSeverity() == Severity.FATAL || e.getSeverity() == Severity.ERROR).count() > 0;
+        return getErrorCount(Severity.FATAL) + getErrorCount(Severity.ERROR) > 0;
     }
 
     /**
@@ -105,7 +201,12 @@ public class RuleViolations implements Iterable<RuleViolation> {
      * @return number of errors with the desired severity.
      */
     public long getErrorCount(Severity severity) {
-        return errors.stream().filter(e -> e.getSeverity() == severity).count();
+        if (severity == null) return 0;
+        if (lock == null) return severityCounts[severity.ordinal()];
+
+        synchronized (lock) {
+            return severityCounts[severity.ordinal()];
+        }
     }
 
     /**
@@ -136,33 +237,80 @@ public class RuleViolations implements Iterable<RuleViolation> {
     }
 
     /**
-     * Returns all the associated violation.
+     * Returns all the associated violation (only the ones that were kept, see RuleViolations(ViolationSink, boolean)).
      *
      * @return Rule Violations.
      */
     public RuleViolation[] getViolations() {
-        if (errors.isEmpty()) return new RuleViolation[0];
-        return errors.toArray(new RuleViolation[errors.size()]);
+        if (lock == null) return toArray();
+
+        synchronized (lock) {
+            return toArray();
+        }
+    }
+
+    private RuleViolation[] toArray() {
+        RuleViolation[] result = new RuleViolation[retainedCount];
+        int position = 0;
+
+        for (int i = 0; i < chunkCount; i++) {
+            int length = i == chunkCount - 1 ? lastChunkSize : chunks[i].length;
+            System.arraycopy(chunks[i], 0, result, position, length);
+            position += length;
+        }
+
+        return result;
     }
 
     /**
-     * Returns the number of errors in this container.
+     * Formats the error messages of all the violations in the given Locale.
+     *
+     * @param locale desired locale (null means the Locale the violations were created with).
+     * @return this container.
+     */
+    public RuleViolations format(Locale locale) {
+        for (RuleViolation violation : getViolations()) {
+            violation.format(locale);
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the number of errors in this container (including the ones that were streamed and not kept).
      *
      * @return size of the container.
      */
     public int size() {
-        return errors.size();
+        if (lock == null) return count;
+
+        synchronized (lock) {
+            return count;
+        }
+    }
+
+    /**
+     * Determines whether the violations are kept in this container.
+     *
+     * @return true if the violations are kept; false if they are only counted.
+     */
+    public boolean isRetained() {
+        return retain;
+    }
+
+    public ViolationSink getSink() {
+        return sink;
     }
 
     @Override
     public Iterator<RuleViolation> iterator() {
-        return errors.iterator();
+        return Arrays.asList(getViolations()).iterator();
     }
 
     @Override
     public String toString() {
         StringBuilder result = new StringBuilder("Violations [");
-        errors.stream().forEach(error -> result.append(error.toString() + System.lineSeparator()));
+        for (RuleViolation violation : getViolations()) result.append(violation.toString() + System.lineSeparator());
         result.append("]");
         return result.toString();
     }
@@ -0,0 +1,140 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+/**
+ * Determines when a validation has collected enough violations and can stop. A validation can stop on the first
+ * severe (FATAL or ERROR) violation (fail fast) and/or once a number of violations has been collected.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class ViolationBudget {
+
+    private static final ViolationBudget UNLIMITED = new ViolationBudget(false, Integer.MAX_VALUE);
+
+    private final boolean stopOnSevereViolation;
+    private final int maxViolations;
+
+    private ViolationBudget(boolean stopOnSevereViolation, int maxViolations) {
+        super();
+        Assert.isTrue(maxViolations > 0, "maxViolations must be > 0");
+        this.stopOnSevereViolation = stopOnSevereViolation;
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * Collect all the violations.
+     *
+     * @return unlimited budget.
+     */
+    public static ViolationBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Stop on the first FATAL or ERROR violation.
+     *
+     * @return fail fast budget.
+     */
+    public static ViolationBudget failFast() {
+        return new ViolationBudget(true, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Stop once the given number of violations have been collected.
+     *
+     * @param maxViolations maximum number of violations.
+     * @return max violations budget.
+     */
+    public static ViolationBudget maxViolations(int maxViolations) {
+        return new ViolationBudget(false, maxViolations);
+    }
+
+    /**
+     * Stop on the first FATAL or ERROR violation or once the given number of violations have been collected.
+     *
+     * @param stopOnSevereViolation stop on the first FATAL/ERROR violation.
+     * @param maxViolations maximum number of violations.
+     * @return new budget.
+     */
+    public static ViolationBudget create(boolean stopOnSevereViolation, int maxViolations) {
+        return new ViolationBudget(stopOnSevereViolation, maxViolations);
+    }
+
+    /**
+     * Determines whether the budget is used up after adding the given violation.
+     *
+     * @param violation violation that was just added.
+     * @param count number of violations (including the new one).
+     * @return true if no more violations are needed; false otherwise.
+     */
+    public boolean isExhausted(RuleViolation violation, int count) {
+        return count >= maxViolations || (stopOnSevereViolation && isSevere(violation));
+    }
+
+    /**
+     * Determines whether the budget is used up by the given violations.
+     *
+     * @param violations violations collected so far.
+     * @return true if no more violations are needed; false otherwise.
+     */
+    public boolean isExhausted(RuleViolations violations) {
+        return violations.size() >= maxViolations || (stopOnSevereViolation && violations.hasSevereErrors());
+    }
+
+    /**
+     * Budget that is left once the given number of violations have been collected.
+     *
+     * @param count violations collected so far.
+     * @return remaining budget.
+     */
+    public ViolationBudget remaining(int count) {
+        if (count == 0 || isUnlimited()) return this;
+        return new ViolationBudget(stopOnSevereViolation, Math.max(1, maxViolations - count));
+    }
+
+    public boolean isUnlimited() {
+        return !stopOnSevereViolation && maxViolations == Integer.MAX_VALUE;
+    }
+
+    public boolean isStopOnSevereViolation() {
+        return stopOnSevereViolation;
+    }
+
+    public int getMaxViolations() {
+        return maxViolations;
+    }
+
+    private static boolean isSevere(RuleViolation violation) {
+        return violation != null
+                && (violation.getSeverity() == Severity.FATAL || violation.getSeverity() == Severity.ERROR);
+    }
+
+    @Override
+    public String toString() {
+        return "ViolationBudget{" +
+                "stopOnSevereViolation=" + stopOnSevereViolation +
+                ", maxViolations=" + maxViolations +
+                '}';
+    }
+}
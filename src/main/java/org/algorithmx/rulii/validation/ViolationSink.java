@@ -0,0 +1,51 @@
+/**
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2019, Live Software & Consultants Inc (rules@algorithmx.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.algorithmx.rulii.validation;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+/**
+ * Receives the Rule Violations as they are added (ie. to stream them to the caller without accumulating them).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ViolationSink {
+
+    /**
+     * Called for every violation that is added.
+     *
+     * @param violation new violation.
+     */
+    void violation(RuleViolation violation);
+
+    /**
+     * Sink that sends every violation to this sink and then to the given sink.
+     *
+     * @param next next sink.
+     * @return combined sink.
+     */
+    default ViolationSink andThen(ViolationSink next) {
+        Assert.notNull(next, "next cannot be null.");
+        return v -> {
+            violation(v);
+            next.violation(v);
+        };
+    }
+}
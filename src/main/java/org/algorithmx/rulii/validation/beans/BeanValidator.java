@@ -26,16 +26,23 @@ import org.algorithmx.rulii.bind.load.PropertyBindingLoader;
 import org.algorithmx.rulii.core.Runnable;
 import org.algorithmx.rulii.core.context.RuleContext;
 import org.algorithmx.rulii.core.ruleset.RuleSet;
-import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
 import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.lib.spring.util.ConcurrentReferenceHashMap;
+import org.algorithmx.rulii.trace.jfr.FlightRecorderEvents;
 import org.algorithmx.rulii.util.RunnableComparator;
 import org.algorithmx.rulii.util.reflect.ObjectFactory;
 import org.algorithmx.rulii.util.reflect.ReflectionUtils;
 import org.algorithmx.rulii.validation.AnnotatedRunnableBuilder;
+import org.algorithmx.rulii.validation.RuleViolation;
 import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.ViolationBudget;
+import org.algorithmx.rulii.validation.ViolationSink;
 import org.algorithmx.rulii.validation.graph.AbstractObjectVisitor;
+import org.algorithmx.rulii.validation.graph.ForkableObjectVisitor;
 import org.algorithmx.rulii.validation.graph.GraphNode;
 import org.algorithmx.rulii.validation.graph.ObjectGraph;
+import org.algorithmx.rulii.validation.graph.ObjectGraphTraversalException;
+import org.algorithmx.rulii.validation.graph.ParallelObjectGraph;
 import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinition;
 import org.algorithmx.rulii.validation.types.MarkedAnnotation;
 
@@ -46,52 +53,153 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
-public class BeanValidator extends AbstractObjectVisitor {
+public class BeanValidator extends AbstractObjectVisitor implements ForkableObjectVisitor {
 
-    private static final Map<AnnotatedTypeDefinition, RuleSet> RULE_CACHE = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Map<AnnotatedTypeDefinition, ValidationPlan> PLAN_CACHE = new ConcurrentReferenceHashMap<>();
 
+    private final Supplier<ObjectGraph> graphSupplier;
+    private final ViolationBudget budget;
     private RuleContext context;
     private RuleViolations violations;
+    private int skippedCount;
+    private boolean budgetExhausted;
+    private boolean timedOut;
 
     public BeanValidator() {
+        this(ObjectGraph::new);
+    }
+
+    /**
+     * Creates a BeanValidator that stops as soon as the given budget is used up (ie. ViolationBudget.failFast()).
+     *
+     * @param budget violation budget.
+     */
+    public BeanValidator(ViolationBudget budget) {
+        this(ObjectGraph::new, budget);
+    }
+
+    /**
+     * Creates a BeanValidator that traverses the bean graph using the ObjectGraphs from the given supplier
+     * (ie. ParallelObjectGraph::new to validate large graphs concurrently).
+     *
+     * @param graphSupplier supplies the ObjectGraph to use for each validation.
+     */
+    public BeanValidator(Supplier<ObjectGraph> graphSupplier) {
+        this(graphSupplier, ViolationBudget.unlimited());
+    }
+
+    public BeanValidator(Supplier<ObjectGraph> graphSupplier, ViolationBudget budget) {
         super();
+        Assert.notNull(graphSupplier, "graphSupplier cannot be null.");
+        Assert.notNull(budget, "budget cannot be null.");
+        this.graphSupplier = graphSupplier;
+        this.budget = budget;
+    }
+
+    /**
+     * Creates a BeanValidator that splits large containers in the bean graph across the common ForkJoinPool.
+     *
+     * @return parallel BeanValidator.
+     */
+    public static BeanValidator parallel() {
+        return new BeanValidator(ParallelObjectGraph::new);
     }
 
     public RuleViolations validate(RuleContext context, Object bean, SourceHolder source) throws BeanValidationException {
+        return validate(context, bean, source, RuleViolations.singleThreaded());
+    }
+
+    /**
+     * Validates the bean and sends the violations to the given sink as they are found. The violations are not kept
+     * (the returned RuleViolations only has the counts).
+     *
+     * @param context rule context.
+     * @param bean bean to validate.
+     * @param source source of the bean.
+     * @param sink receives the violations.
+     * @return violation counts.
+     * @throws BeanValidationException thrown if there is an error validating the bean.
+     */
+    public RuleViolations validate(RuleContext context, Object bean, SourceHolder source, ViolationSink sink)
+            throws BeanValidationException {
+        Assert.notNull(sink, "sink cannot be null.");
+        return validate(context, bean, source, RuleViolations.streaming(sink));
+    }
+
+    protected RuleViolations validate(RuleContext context, Object bean, SourceHolder source,
+                                      RuleViolations violations) throws BeanValidationException {
         Assert.notNull(context, "context cannot be null.");
         Assert.notNull(source, "source cannot be null.");
+        Assert.notNull(violations, "violations cannot be null.");
 
         this.context = context;
-        this.violations = new RuleViolations();
+        this.violations = violations;
+        this.skippedCount = 0;
+        this.budgetExhausted = false;
+        this.timedOut = false;
 
         Bindings rootBeanScope = createRootBeanScope(bean, violations);
         context.getBindings().addScope("rootBeanScope", rootBeanScope);
         GraphNode candidate = new GraphNode(bean, source);
+        Object flightEvent = FlightRecorderEvents.beginBeanValidation();
+        boolean error = true;
 
         try {
-            ObjectGraph graph = new ObjectGraph();
+            ObjectGraph graph = graphSupplier.get();
             graph.traverse(candidate, this);
+            this.skippedCount = graph.getSkippedCount();
+            error = false;
         } catch (BeanValidationException e) {
             throw e;
         } catch (Exception e) {
             throw new BeanValidationException(candidate, violations, "Error trying to validate [" + candidate + "]", e);
         } finally {
             context.getBindings().removeScope(rootBeanScope);
+            FlightRecorderEvents.endBeanValidation(flightEvent, bean, violations.size(), error);
         }
 
         return violations;
     }
 
+    @Override
+    public ForkableObjectVisitor fork() {
+        BeanValidator result = createForkedValidator();
+        result.context = getContext().createChildContext();
+        result.violations = RuleViolations.singleThreaded();
+        return result;
+    }
+
+    @Override
+    public void join(ForkableObjectVisitor forked) {
+        Assert.isTrue(forked instanceof BeanValidator, "forked must be a BeanValidator.");
+        RuleViolations forkedViolations = ((BeanValidator) forked).getViolations();
+
+        for (RuleViolation violation : forkedViolations.getViolations()) {
+            if (!addViolation(violation)) break;
+        }
+    }
+
+    protected BeanValidator createForkedValidator() {
+        return new BeanValidator(graphSupplier, budget);
+    }
+
+    @Override
+    public boolean isDone() {
+        // Forked validators share the deadline of the parent context
+        if (!timedOut && context != null && context.isTimedOut()) timedOut = true;
+        return budgetExhausted || timedOut;
+    }
+
     @Override
     protected Class<? extends Annotation> getIntrospectionAnnotation() {
         return Validate.class;
@@ -102,9 +210,80 @@ public class BeanValidator extends AbstractObjectVisitor {
         return process(node);
     }
 
+    @Override
+    public void visitCandidate(GraphNode node, Consumer<GraphNode> sink) {
+        process(node, sink);
+    }
+
+    @Override
+    public void visitExpandedCandidate(GraphNode node) {
+        // Already introspected via another path; just run its rules
+        if (!isDone()) validateCandidate(node);
+    }
+
     protected Collection<GraphNode> process(GraphNode node) {
-        List<GraphNode> result = Collections.emptyList();
-        RuleViolations violations = new RuleViolations();
+        List<GraphNode> result = new ArrayList<>();
+        process(node, result::add);
+        return result;
+    }
+
+    protected void process(GraphNode node, Consumer<GraphNode> sink) {
+        if (isDone()) return;
+
+        validateCandidate(node);
+
+        if (isIntrospectionRequired(node)) {
+            try {
+                introspectCandidate(node, context.getExtractorRegistry(), context.getObjectFactory(), sink);
+            } catch (BeanValidationException | ObjectGraphTraversalException e) {
+                // Children are traversed as they are extracted; their errors are already reported
+                throw e;
+            } catch (Exception e) {
+                throw new BeanValidationException(node, violations, "Error trying to validate [" + node + "]", e);
+            }
+        }
+    }
+
+    protected void validateCandidate(GraphNode node) {
+        ValidationPlan plan = getValidationPlan(getContext().getObjectFactory(), node.getTypeDefinition(), "$value");
+
+        if (plan == null || plan.isEmpty()) {
+            // Nothing to run
+        } else if (plan.isDirect() && !getContext().getEventProcessor().isSampled()) {
+            // Direct plans fire no Rule events; only used when nobody is listening
+            runPlan(getContext(), plan, node);
+        } else {
+            runRuleSet(plan.getRuleSet(), node);
+        }
+    }
+
+    protected void runPlan(RuleContext context, ValidationPlan plan, GraphNode node) {
+        Object value = node.getTarget();
+        String field = null;
+
+        try {
+            for (int i = 0; i < plan.size(); i++) {
+                RuleViolation violation = plan.getRule(i).validate(context, value);
+
+                if (violation == null) continue;
+
+                if (field == null) field = node.getPath();
+                decorateViolation(violation, field, node);
+                if (!addViolation(violation)) break;
+            }
+        } catch (Exception e) {
+            throw new BeanValidationException(node, violations, "Error trying to validate [" + node + "]", e);
+        }
+    }
+
+    protected void runRuleSet(RuleSet rules, GraphNode node) {
+        // Violations are decorated and passed straight through (not collected)
+        String[] field = new String[1];
+        RuleViolations violations = RuleViolations.streaming(v -> {
+            if (field[0] == null) field[0] = node.getPath();
+            decorateViolation(v, field[0], node);
+            addViolation(v);
+        });
         Bindings beanScope = null;
 
         try {
@@ -113,20 +292,12 @@ public class BeanValidator extends AbstractObjectVisitor {
             getContext().getBindings().addScope("beanScope", beanScope);
             getContext().getBindings().addScope("candidateScope", createNodeScope("$value", node.getTarget()));
 
-            runRules(getContext(), node.getTypeDefinition(), "$value");
-            decorateAndTransferViolations(violations, this.violations, node);
-
-            if (isIntrospectionRequired(node)) {
-                result = introspectCandidate(node, context.getExtractorRegistry(), context.getObjectFactory());
-            }
-
+            rules.run(getContext());
         } catch (Exception e) {
-            throw new BeanValidationException(node, violations, "Error trying to validate [" + node + "]", e);
+            throw new BeanValidationException(node, this.violations, "Error trying to validate [" + node + "]", e);
         } finally {
             if (beanScope != null) context.getBindings().removeScope(beanScope);
         }
-
-        return result;
     }
 
     protected boolean isIntrospectionRequired(GraphNode candidate) {
@@ -136,34 +307,27 @@ public class BeanValidator extends AbstractObjectVisitor {
         return validate != null;
     }
 
-    protected void runRules(RuleContext context, AnnotatedTypeDefinition definition, String bindingName) {
-        if (definition == null) return;
-
-        RuleSet rules = getAnnotatedRules(context.getObjectFactory(), definition, bindingName);
-
-        if (rules == null) {
-            // TODO : Log
-        } else {
-            rules.run(context);
-        }
-    }
-
-    protected RuleSet getAnnotatedRules(ObjectFactory objectFactory, AnnotatedTypeDefinition definition,
-                                        String bindingName) {
+    protected ValidationPlan getValidationPlan(ObjectFactory objectFactory, AnnotatedTypeDefinition definition,
+                                               String bindingName) {
         return definition != null
-                ? RULE_CACHE.computeIfAbsent(definition, d -> createAnnotatedRules(objectFactory, d, bindingName))
+                ? PLAN_CACHE.computeIfAbsent(definition, d -> createValidationPlan(objectFactory, d, bindingName))
                 : null;
     }
 
-    protected RuleSet createAnnotatedRules(ObjectFactory objectFactory,
-                                           AnnotatedTypeDefinition definition,
-                                           String bindingName) {
+    protected ValidationPlan createValidationPlan(ObjectFactory objectFactory, AnnotatedTypeDefinition definition,
+                                                  String bindingName) {
+        return ValidationPlan.create(definition, createAnnotatedRunnables(objectFactory, definition, bindingName),
+                bindingName + "ValidationRules");
+    }
+
+    protected List<Runnable> createAnnotatedRunnables(ObjectFactory objectFactory,
+                                                      AnnotatedTypeDefinition definition,
+                                                      String bindingName) {
         Assert.notNull(bindingName, "bindingName cannot be null.");
 
-        if (definition == null || !definition.hasDeclaredRules()) return null;
+        if (definition == null || !definition.hasDeclaredRules()) return Collections.emptyList();
 
-        RuleSetBuilder result = RuleSetBuilder.with(bindingName + "ValidationRules");
-        List<Runnable> runnables = new ArrayList<>();
+        List<Runnable> result = new ArrayList<>();
 
         for (MarkedAnnotation marker : definition.getDeclaredRuleAnnotations()) {
             ValidationMarker validationRule = (ValidationMarker) marker.getMarker();
@@ -177,14 +341,13 @@ public class BeanValidator extends AbstractObjectVisitor {
             Runnable runnable = builder.build(marker.getOwner(), bindingName);
 
             if (runnable != null) {
-                runnables.add(runnable);
+                result.add(runnable);
             }
         }
 
         // Sort them in case order was specified
-        Collections.sort(runnables, new RunnableComparator());
-        result.addAll(runnables);
-        return result.size() > 0 ? result.build() : null;
+        Collections.sort(result, new RunnableComparator());
+        return result;
     }
 
     protected Bindings createRootBeanScope(Object bean, RuleViolations violations) {
@@ -220,15 +383,45 @@ public class BeanValidator extends AbstractObjectVisitor {
         return result;
     }
 
-    protected void decorateAndTransferViolations(RuleViolations source, RuleViolations target, GraphNode candidate) {
-        if (source != null && source.size() > 0) {
-            Arrays.stream(source.getViolations())
-                    .forEach(v -> {
-                        v.param("field", candidate.getPath());
-                        v.param("description", candidate.getTypeDefinition().getSignature());
-                        target.add(v);
-                    });
-        }
+    /**
+     * Adds the violation unless the violation budget has been used up.
+     *
+     * @param violation violation to add.
+     * @return true if more violations are needed; false if the budget is used up.
+     */
+    protected boolean addViolation(RuleViolation violation) {
+        if (budgetExhausted) return false;
+
+        getViolations().add(violation);
+        budgetExhausted = budget.isExhausted(violation, getViolations().size());
+        return !budgetExhausted;
+    }
+
+    /**
+     * Determines whether the last validation stopped early because the violation budget was used up.
+     *
+     * @return true if the validation stopped early; false otherwise.
+     */
+    public boolean isBudgetExhausted() {
+        return budgetExhausted;
+    }
+
+    /**
+     * Determines whether the last validation stopped early because the RuleContext timed out.
+     *
+     * @return true if the validation stopped early; false otherwise.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public ViolationBudget getBudget() {
+        return budget;
+    }
+
+    protected void decorateViolation(RuleViolation violation, String field, GraphNode candidate) {
+        violation.param("field", field);
+        violation.param("description", candidate.getTypeDefinition().getSignature());
     }
 
     protected RuleContext getContext() {
@@ -239,6 +432,16 @@ public class BeanValidator extends AbstractObjectVisitor {
         return violations;
     }
 
+    /**
+     * Number of graph nodes that were not validated during the last validation (already validated via another path,
+     * or outside the depth/node limits of the ObjectGraph).
+     *
+     * @return skipped node count.
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
     @Override
     protected Predicate<Class<?>> getClassFilter() {
         return c -> !ReflectionUtils.isJavaCoreClass(c);
@@ -0,0 +1,204 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.beans;
+
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleEngine;
+import org.algorithmx.rulii.core.context.RuleSession;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.lib.spring.util.ConcurrentReferenceHashMap;
+import org.algorithmx.rulii.validation.RuleViolations;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Validates the arguments/return value of intercepted method calls (used by the validating proxies/subclasses).
+ * The validation plan of each Method is looked up once; Methods without any rules go straight through. A
+ * MethodValidationException is thrown if there are any severe (ERROR/FATAL) violations.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class MethodValidationInterceptor {
+
+    private final MethodValidator validator;
+    private final RuleEngine engine;
+    private final Supplier<RuleContext> contextSupplier;
+    // One reusable session per thread (only used when the RuleContexts come from the engine)
+    private final ThreadLocal<SessionHolder> sessions = ThreadLocal.withInitial(SessionHolder::new);
+    private final Map<Method, MethodValidationPlan> plans = new ConcurrentReferenceHashMap<>();
+
+    public MethodValidationInterceptor() {
+        this(new MethodValidator(), RuleEngine.create());
+    }
+
+    /**
+     * Creates a new interceptor that validates using (per thread, reusable) sessions of the given engine.
+     *
+     * @param validator method validator.
+     * @param engine shared rule engine.
+     */
+    public MethodValidationInterceptor(MethodValidator validator, RuleEngine engine) {
+        super();
+        Assert.notNull(validator, "validator cannot be null.");
+        Assert.notNull(engine, "engine cannot be null.");
+        this.validator = validator;
+        this.engine = engine;
+        this.contextSupplier = null;
+    }
+
+    /**
+     * Creates a new interceptor.
+     *
+     * @param validator method validator.
+     * @param contextSupplier supplies the RuleContext for each intercepted call (used for both the argument and the
+     *                        return value validation).
+     */
+    public MethodValidationInterceptor(MethodValidator validator, Supplier<RuleContext> contextSupplier) {
+        super();
+        Assert.notNull(validator, "validator cannot be null.");
+        Assert.notNull(contextSupplier, "contextSupplier cannot be null.");
+        this.validator = validator;
+        this.engine = null;
+        this.contextSupplier = contextSupplier;
+    }
+
+    /**
+     * Calls the method on the target validating the arguments before the call and the return value after the call.
+     *
+     * @param target target object.
+     * @param method method being called.
+     * @param args method arguments.
+     * @return result of the call.
+     * @throws Throwable anything thrown by the target method.
+     */
+    public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        MethodValidationPlan plan = getValidationPlan(method);
+
+        if (plan.isEmpty()) return invokeTarget(target, method, args);
+
+        SessionHolder holder = sessions.get();
+        RuleContext context = acquireContext(holder);
+
+        try {
+            validateBefore(context, plan, args);
+            Object result = invokeTarget(target, method, args);
+            validateAfter(context, plan, result, args);
+            return result;
+        } finally {
+            releaseContext(holder, context);
+        }
+    }
+
+    /**
+     * Entry point for the generated subclasses. Validates the arguments, calls the super method and validates the
+     * return value, all within a single RuleContext.
+     *
+     * @param invoker generated subclass instance.
+     * @param index index of the overridden method.
+     * @param method method being called.
+     * @param args method arguments.
+     * @return result of the call.
+     * @throws Throwable anything thrown by the super method.
+     */
+    public Object invoke(SuperMethodInvoker invoker, int index, Method method, Object[] args) throws Throwable {
+        MethodValidationPlan plan = getValidationPlan(method);
+        SessionHolder holder = sessions.get();
+        RuleContext context = acquireContext(holder);
+
+        try {
+            validateBefore(context, plan, args);
+            Object result = invoker.invokeSuper(index, args);
+            validateAfter(context, plan, result, args);
+            return result;
+        } finally {
+            releaseContext(holder, context);
+        }
+    }
+
+    protected void validateBefore(RuleContext context, MethodValidationPlan plan, Object[] args) {
+        if (!plan.isParameterValidationRequired()) return;
+        RuleViolations violations = validator.validateBefore(context, plan, args);
+        handleViolations(plan.getMethod(), violations, "Invalid arguments");
+    }
+
+    protected void validateAfter(RuleContext context, MethodValidationPlan plan, Object result, Object[] args) {
+        if (!plan.isReturnValueValidationRequired()) return;
+        RuleViolations violations = validator.validateAfter(context, plan, result, args);
+        handleViolations(plan.getMethod(), violations, "Invalid return value");
+    }
+
+    /**
+     * RuleContext for an intercepted call. The thread's session is reused unless it is already in use (nested call).
+     *
+     * @param holder session of the current thread.
+     * @return RuleContext to use.
+     */
+    protected RuleContext acquireContext(SessionHolder holder) {
+        if (contextSupplier != null) return contextSupplier.get();
+        if (holder.inUse) return engine.newSession();
+
+        holder.inUse = true;
+        if (holder.session == null) holder.session = engine.newSession();
+        return holder.session.reset();
+    }
+
+    protected void releaseContext(SessionHolder holder, RuleContext context) {
+        if (context == holder.session) holder.inUse = false;
+    }
+
+    protected void handleViolations(Method method, RuleViolations violations, String message) {
+        if (violations.hasSevereErrors()) {
+            throw new MethodValidationException(method, violations, message + " for method [" + method + "] "
+                    + violations, null);
+        }
+    }
+
+    public MethodValidationPlan getValidationPlan(Method method) {
+        MethodValidationPlan result = plans.get(method);
+
+        if (result == null) {
+            result = validator.getValidationPlan(method);
+            plans.put(method, result);
+        }
+
+        return result;
+    }
+
+    public MethodValidator getValidator() {
+        return validator;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    protected static class SessionHolder {
+        private RuleSession session;
+        private boolean inUse = false;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.beans;
+
+import org.algorithmx.rulii.core.model.MethodDefinition;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.lib.spring.util.ConcurrentReferenceHashMap;
+import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinition;
+import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinitionBuilder;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Everything needed to validate the parameters/return value of a Method, worked out once per Method. Parameters (and
+ * return types) without any rules or introspection are left out of the plan; a Method with nothing to validate has an
+ * empty plan and can skip validation all together.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class MethodValidationPlan {
+
+    private static final Map<PlanKey, MethodValidationPlan> CACHE = new ConcurrentReferenceHashMap<>();
+    private static final int[] NONE = new int[0];
+
+    private final MethodDefinition methodDefinition;
+    private final AnnotatedTypeDefinition[] parameterDefinitions;
+    private final int[] validatedParameters;
+    private final AnnotatedTypeDefinition returnTypeDefinition;
+
+    private MethodValidationPlan(MethodDefinition methodDefinition, AnnotatedTypeDefinition[] parameterDefinitions,
+                                 int[] validatedParameters, AnnotatedTypeDefinition returnTypeDefinition) {
+        super();
+        this.methodDefinition = methodDefinition;
+        this.parameterDefinitions = parameterDefinitions;
+        this.validatedParameters = validatedParameters;
+        this.returnTypeDefinition = returnTypeDefinition;
+    }
+
+    /**
+     * Loads (and caches) the plan for the given Method.
+     *
+     * @param method method to be validated.
+     * @param introspectionAnnotation annotation that triggers introspection (ie. Validate).
+     * @param markerAnnotation annotation that marks rule annotations (ie. ValidationMarker).
+     * @return validation plan.
+     */
+    public static MethodValidationPlan load(Method method, Class<? extends Annotation> introspectionAnnotation,
+                                            Class<? extends Annotation> markerAnnotation) {
+        Assert.notNull(method, "method cannot be null.");
+        return CACHE.computeIfAbsent(new PlanKey(method, introspectionAnnotation, markerAnnotation),
+                key -> create(method, introspectionAnnotation, markerAnnotation));
+    }
+
+    private static MethodValidationPlan create(Method method, Class<? extends Annotation> introspectionAnnotation,
+                                               Class<? extends Annotation> markerAnnotation) {
+        MethodDefinition methodDefinition = MethodDefinition.load(method);
+        int count = methodDefinition.getParameterCount();
+        AnnotatedTypeDefinition[] parameterDefinitions = new AnnotatedTypeDefinition[count];
+        int[] validatedParameters = new int[count];
+        int validatedCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            parameterDefinitions[i] = AnnotatedTypeDefinitionBuilder
+                    .with(methodDefinition.getParameterDefinition(i).getAnnotatedType(),
+                            introspectionAnnotation, markerAnnotation)
+                    .build();
+            if (parameterDefinitions[i].requiresProcessing()) validatedParameters[validatedCount++] = i;
+        }
+
+        AnnotatedTypeDefinition returnTypeDefinition = null;
+        java.lang.reflect.Type returnType = methodDefinition.getReturnType();
+
+        if (!void.class.equals(returnType) && !Void.class.equals(returnType)) {
+            AnnotatedTypeDefinition definition = AnnotatedTypeDefinitionBuilder
+                    .with(methodDefinition.getReturnTypeDefinition().getAnnotatedType(),
+                            introspectionAnnotation, markerAnnotation)
+                    .build();
+            if (definition.requiresProcessing()) returnTypeDefinition = definition;
+        }
+
+        int[] validated = validatedCount == 0 ? NONE : validatedCount == count
+                ? validatedParameters : copy(validatedParameters, validatedCount);
+        return new MethodValidationPlan(methodDefinition, parameterDefinitions, validated, returnTypeDefinition);
+    }
+
+    private static int[] copy(int[] values, int count) {
+        int[] result = new int[count];
+        System.arraycopy(values, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Determines whether there is nothing to validate (no parameter or return value rules).
+     *
+     * @return true if there is nothing to validate.
+     */
+    public boolean isEmpty() {
+        return !isParameterValidationRequired() && !isReturnValueValidationRequired();
+    }
+
+    public boolean isParameterValidationRequired() {
+        return validatedParameters.length > 0;
+    }
+
+    public boolean isReturnValueValidationRequired() {
+        return returnTypeDefinition != null;
+    }
+
+    public MethodDefinition getMethodDefinition() {
+        return methodDefinition;
+    }
+
+    public Method getMethod() {
+        return methodDefinition.getMethod();
+    }
+
+    public int getParameterCount() {
+        return parameterDefinitions.length;
+    }
+
+    public AnnotatedTypeDefinition getParameterDefinition(int index) {
+        return parameterDefinitions[index];
+    }
+
+    /**
+     * Indexes of the parameters that need to be validated (in order).
+     *
+     * @return indexes of the parameters to validate.
+     */
+    public int[] getValidatedParameters() {
+        return validatedParameters.clone();
+    }
+
+    int getValidatedParameterCount() {
+        return validatedParameters.length;
+    }
+
+    int getValidatedParameter(int index) {
+        return validatedParameters[index];
+    }
+
+    /**
+     * Return type definition; null if the return value does not need to be validated.
+     *
+     * @return return type definition (if validated).
+     */
+    public AnnotatedTypeDefinition getReturnTypeDefinition() {
+        return returnTypeDefinition;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodValidationPlan{" +
+                "method=" + methodDefinition.getMethod() +
+                ", validatedParameters=" + validatedParameters.length +
+                ", returnValueValidated=" + isReturnValueValidationRequired() +
+                '}';
+    }
+
+    private static final class PlanKey {
+        private final Method method;
+        private final Class<?> introspectionAnnotation;
+        private final Class<?> markerAnnotation;
+
+        private PlanKey(Method method, Class<?> introspectionAnnotation, Class<?> markerAnnotation) {
+            super();
+            this.method = method;
+            this.introspectionAnnotation = introspectionAnnotation;
+            this.markerAnnotation = markerAnnotation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PlanKey planKey = (PlanKey) o;
+            return method.equals(planKey.method)
+                    && Objects.equals(introspectionAnnotation, planKey.introspectionAnnotation)
+                    && Objects.equals(markerAnnotation, planKey.markerAnnotation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, introspectionAnnotation, markerAnnotation);
+        }
+    }
+}
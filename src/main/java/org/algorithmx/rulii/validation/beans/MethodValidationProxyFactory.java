@@ -0,0 +1,145 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.beans;
+
+import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps objects so that their method arguments/return values are validated on every call. Two flavours are supported:
+ *
+ * JDK dynamic proxies (interfaces only) and generated subclasses (classes). Generated subclasses only override the
+ * methods that have something to validate; all other methods are not touched and run at full speed.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class MethodValidationProxyFactory {
+
+    // type -> (validator type -> generated subclass); the methods that get overridden depend on the validator.
+    // Stored with the type (ClassValue) so the generated classes live exactly as long as the type they extend.
+    private static final ClassValue<Map<Class<?>, Class<?>>> SUBCLASSES = new ClassValue<Map<Class<?>, Class<?>>>() {
+        @Override
+        protected Map<Class<?>, Class<?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    private MethodValidationProxyFactory() {
+        super();
+    }
+
+    public static <T> T createProxy(Class<T> type, T target) {
+        return createProxy(type, target, new MethodValidationInterceptor());
+    }
+
+    /**
+     * Creates a JDK dynamic proxy that validates calls before delegating them to the target.
+     *
+     * @param type interface to proxy.
+     * @param target target object.
+     * @param interceptor validation interceptor.
+     * @param <T> interface type.
+     * @return validating proxy.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T createProxy(Class<T> type, T target, MethodValidationInterceptor interceptor) {
+        Assert.notNull(type, "type cannot be null.");
+        Assert.notNull(target, "target cannot be null.");
+        Assert.notNull(interceptor, "interceptor cannot be null.");
+        Assert.isTrue(type.isInterface(), "type [" + type + "] must be an interface.");
+
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) return invokeObjectMethod(proxy, target, method, args);
+            return interceptor.invoke(target, method, args);
+        });
+    }
+
+    public static <T> T createSubclass(Class<T> type) {
+        return createSubclass(type, new MethodValidationInterceptor());
+    }
+
+    /**
+     * Creates an instance of a generated subclass of the given type that validates calls before/after calling the
+     * super implementation. The type must be a public, non final class with an accessible no-arg constructor.
+     *
+     * @param type class to subclass.
+     * @param interceptor validation interceptor.
+     * @param <T> class type.
+     * @return validating instance.
+     */
+    public static <T> T createSubclass(Class<T> type, MethodValidationInterceptor interceptor) {
+        Assert.notNull(interceptor, "interceptor cannot be null.");
+        Class<? extends T> subclass = getSubclass(type, interceptor);
+
+        try {
+            Constructor<? extends T> constructor = subclass.getConstructor(MethodValidationInterceptor.class);
+            return constructor.newInstance(interceptor);
+        } catch (ReflectiveOperationException e) {
+            throw new UnrulyException("Unable to create an instance of [" + subclass + "]", e);
+        }
+    }
+
+    /**
+     * Returns the generated (validating) subclass for the given type. The generated class has a public constructor
+     * taking a MethodValidationInterceptor.
+     *
+     * @param type class to subclass.
+     * @param interceptor interceptor used to work out which methods need validation.
+     * @param <T> class type.
+     * @return generated subclass.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Class<? extends T> getSubclass(Class<T> type, MethodValidationInterceptor interceptor) {
+        Assert.notNull(type, "type cannot be null.");
+        Assert.isTrue(!type.isInterface() && !type.isPrimitive() && !type.isArray(),
+                "type [" + type + "] must be a class.");
+        Assert.isTrue(Modifier.isPublic(type.getModifiers()) && !Modifier.isFinal(type.getModifiers()),
+                "type [" + type + "] must be a public non final class.");
+
+        Assert.notNull(interceptor, "interceptor cannot be null.");
+
+        return (Class<? extends T>) SUBCLASSES.get(type)
+                .computeIfAbsent(interceptor.getValidator().getClass(),
+                        v -> new ValidatingSubclassGenerator(type, interceptor).generate());
+    }
+
+    private static Object invokeObjectMethod(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals": return proxy == args[0];
+            case "hashCode": return System.identityHashCode(proxy);
+            case "toString": return "ValidatingProxy[" + target + "]";
+            default:
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+        }
+    }
+}
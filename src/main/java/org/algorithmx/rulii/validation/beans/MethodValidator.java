@@ -25,38 +25,69 @@ import org.algorithmx.rulii.core.context.RuleContext;
 import org.algorithmx.rulii.core.model.MethodDefinition;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 import org.algorithmx.rulii.validation.RuleViolations;
-import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinition;
-import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinitionBuilder;
+import org.algorithmx.rulii.validation.ViolationBudget;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 
+/**
+ * Validates the parameters/return values of Methods. The work needed to validate a Method is worked out once (see
+ * MethodValidationPlan) and Methods without any rules skip validation entirely. MethodValidator holds no per call
+ * state and can be shared between threads.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
 public class MethodValidator {
 
-    private RuleViolations violations;
-    private MethodDefinition methodDefinition;
+    private final ViolationBudget budget;
 
     public MethodValidator() {
+        this(ViolationBudget.unlimited());
+    }
+
+    /**
+     * Creates a MethodValidator that stops as soon as the given budget is used up (ie. ViolationBudget.failFast()).
+     * The budget is shared by all the parameters of the method.
+     *
+     * @param budget violation budget.
+     */
+    public MethodValidator(ViolationBudget budget) {
         super();
+        Assert.notNull(budget, "budget cannot be null.");
+        this.budget = budget;
     }
 
     public RuleViolations validateBefore(RuleContext context, Method method, Object...args) {
-        Assert.notNull(context, "context cannot be null.");
         Assert.notNull(method, "method cannot be null.");
+        return validateBefore(context, getValidationPlan(method), args);
+    }
+
+    public RuleViolations validateBefore(RuleContext context, MethodValidationPlan plan, Object...args) {
+        Assert.notNull(context, "context cannot be null.");
+        Assert.notNull(plan, "plan cannot be null.");
 
-        this.violations = new RuleViolations();
-        this.methodDefinition = MethodDefinition.load(method);
+        RuleViolations violations = RuleViolations.singleThreaded();
+        MethodDefinition methodDefinition = plan.getMethodDefinition();
 
         Assert.isTrue((methodDefinition.getParameterCount() == 0 && (args == null || args.length == 0))
                 || methodDefinition.getParameterCount() == args.length, "Args dont match the required method params");
 
+        // Nothing to validate
+        if (!plan.isParameterValidationRequired()) return violations;
+
+        Method method = methodDefinition.getMethod();
         Bindings rootMethodScope = createRootMethodScope(methodDefinition, args);
         context.getBindings().addScope("rootMethodScope", rootMethodScope);
 
         try {
-            for (int i = 0; i < methodDefinition.getParameterCount(); i++) {
-                RuleViolations parameterViolations = validateParam(context, methodDefinition, i, args[i]);
-                this.violations.add(parameterViolations.getViolations());
+            for (int i = 0; i < plan.getValidatedParameterCount(); i++) {
+                int index = plan.getValidatedParameter(i);
+                RuleViolations parameterViolations = validateParam(context, plan, index, args[index],
+                        budget.remaining(violations.size()));
+                violations.add(parameterViolations.getViolations());
+                // No need to check the remaining params
+                if (budget.isExhausted(violations)) break;
             }
         } catch (Exception e) {
             throw new MethodValidationException(method, violations, "Error trying to validate method [" + method + "]", e);
@@ -68,15 +99,18 @@ public class MethodValidator {
     }
 
     public RuleViolations validateAfter(RuleContext context, Method method, Object result, Object...args) {
-        Assert.notNull(context, "context cannot be null.");
         Assert.notNull(method, "method cannot be null.");
+        return validateAfter(context, getValidationPlan(method), result, args);
+    }
 
-        this.violations = new RuleViolations();
-        this.methodDefinition = MethodDefinition.load(method);
+    public RuleViolations validateAfter(RuleContext context, MethodValidationPlan plan, Object result, Object...args) {
+        Assert.notNull(context, "context cannot be null.");
+        Assert.notNull(plan, "plan cannot be null.");
 
-        if (methodDefinition.getReturnType().equals(void.class) || methodDefinition.getReturnType().equals(Void.class)) {
-            return violations;
-        }
+        // Nothing to validate (includes void methods)
+        if (!plan.isReturnValueValidationRequired()) return RuleViolations.singleThreaded();
+
+        MethodDefinition methodDefinition = plan.getMethodDefinition();
 
         Assert.isTrue((methodDefinition.getParameterCount() == 0 && (args == null || args.length == 0))
                 || methodDefinition.getParameterCount() == args.length, "Args dont match the required method params");
@@ -85,29 +119,49 @@ public class MethodValidator {
         bindResult(rootMethodScope, result);
         context.getBindings().addScope("rootMethodScope", rootMethodScope);
 
-        AnnotatedTypeDefinition typeDefinition = AnnotatedTypeDefinitionBuilder
-                .with(methodDefinition.getReturnTypeDefinition().getAnnotatedType(),
-                        getIntrospectionAnnotation(), getMarkerAnnotation())
-                .build();
-        MethodReturnTypeHolder holder = new MethodReturnTypeHolder(methodDefinition.getMethod(),
-                methodDefinition.getReturnTypeDefinition(), typeDefinition, result);
-        BeanValidator beanValidator = new BeanValidator();
-
-        return beanValidator.validate(context, result, holder);
+        try {
+            MethodReturnTypeHolder holder = new MethodReturnTypeHolder(methodDefinition.getMethod(),
+                    methodDefinition.getReturnTypeDefinition(), plan.getReturnTypeDefinition(), result);
+            BeanValidator beanValidator = createBeanValidator(budget);
+            return beanValidator.validate(context, result, holder);
+        } finally {
+            context.getBindings().removeScope(rootMethodScope);
+        }
     }
 
     public RuleViolations validateParam(RuleContext context, MethodDefinition methodDefinition, int index, Object value) {
-        AnnotatedTypeDefinition typeDefinition = AnnotatedTypeDefinitionBuilder
-                .with(methodDefinition.getParameterDefinition(index).getAnnotatedType(),
-                        getIntrospectionAnnotation(), getMarkerAnnotation())
-                .build();
+        Assert.notNull(methodDefinition, "methodDefinition cannot be null.");
+        return validateParam(context, getValidationPlan(methodDefinition.getMethod()), index, value, budget);
+    }
+
+    protected RuleViolations validateParam(RuleContext context, MethodValidationPlan plan, int index,
+                                           Object value, ViolationBudget budget) {
+        MethodDefinition methodDefinition = plan.getMethodDefinition();
         MethodParameterHolder holder = new MethodParameterHolder(methodDefinition.getMethod(),
-                methodDefinition.getParameterDefinition(index), typeDefinition, value);
-        BeanValidator beanValidator = new BeanValidator();
+                methodDefinition.getParameterDefinition(index), plan.getParameterDefinition(index), value);
+        BeanValidator beanValidator = createBeanValidator(budget);
 
         return beanValidator.validate(context, value, holder);
     }
 
+    /**
+     * Returns the (cached) validation plan for the given Method.
+     *
+     * @param method method to be validated.
+     * @return validation plan.
+     */
+    public MethodValidationPlan getValidationPlan(Method method) {
+        return MethodValidationPlan.load(method, getIntrospectionAnnotation(), getMarkerAnnotation());
+    }
+
+    protected BeanValidator createBeanValidator(ViolationBudget budget) {
+        return new BeanValidator(budget);
+    }
+
+    public ViolationBudget getBudget() {
+        return budget;
+    }
+
     protected Bindings createRootMethodScope(MethodDefinition definition, Object...args) {
         Bindings result = Bindings.create();
 
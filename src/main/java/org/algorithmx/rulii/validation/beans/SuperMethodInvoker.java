@@ -0,0 +1,39 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.validation.beans;
+
+/**
+ * Implemented by the generated validating subclasses; calls the overridden (super) method so the interceptor can wrap
+ * the call with the argument and the return value validation.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public interface SuperMethodInvoker {
+
+    /**
+     * Calls the super implementation of the overridden method with the given index.
+     *
+     * @param index index of the overridden method.
+     * @param args method arguments.
+     * @return result of the call (boxed; null for void methods).
+     * @throws Throwable anything thrown by the super method.
+     */
+    Object invokeSuper(int index, Object[] args) throws Throwable;
+}
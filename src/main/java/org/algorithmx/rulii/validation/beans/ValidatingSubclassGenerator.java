@@ -0,0 +1,384 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.beans;
+
+import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.lib.asm.ClassWriter;
+import org.algorithmx.rulii.lib.asm.Label;
+import org.algorithmx.rulii.lib.asm.MethodVisitor;
+import org.algorithmx.rulii.lib.asm.Opcodes;
+import org.algorithmx.rulii.lib.asm.Type;
+import org.algorithmx.rulii.lib.spring.util.ClassUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates a subclass that overrides the methods that need validation (all others are left alone). The generated
+ * class is roughly :
+ *
+ * <pre>
+ * private static final Method[] METHODS = {Type.class.getMethod("method", A.class, B.class), ...};
+ *
+ * public R method(A a, B b) {
+ *     return (R) interceptor.invoke(this, i, METHODS[i], new Object[] {a, b});
+ * }
+ *
+ * public Object invokeSuper(int index, Object[] args) {
+ *     switch (index) {
+ *         case i: return super.method((A) args[0], (B) args[1]);
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * so the arguments and the return value are validated within a single interceptor call.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+final class ValidatingSubclassGenerator implements Opcodes {
+
+    static final String SUFFIX              = "$$RuliiValidated";
+    static final String METHODS_FIELD       = "$methods";
+    static final String INTERCEPTOR_FIELD   = "$interceptor";
+
+    private static final String OBJECT          = Type.getInternalName(Object.class);
+    private static final String INTERCEPTOR     = Type.getInternalName(MethodValidationInterceptor.class);
+    private static final String INTERCEPTOR_DESC = Type.getDescriptor(MethodValidationInterceptor.class);
+    private static final String INVOKER         = Type.getInternalName(SuperMethodInvoker.class);
+    private static final String METHODS_DESC    = Type.getDescriptor(Method[].class);
+    private static final String INVOKE_DESC     = "(" + Type.getDescriptor(SuperMethodInvoker.class)
+            + "ILjava/lang/reflect/Method;[Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String INVOKE_SUPER_DESC = "(I[Ljava/lang/Object;)Ljava/lang/Object;";
+    private static final String GET_METHOD_DESC = "(Ljava/lang/String;[Ljava/lang/Class;)Ljava/lang/reflect/Method;";
+
+    private final Class<?> type;
+    private final MethodValidationInterceptor interceptor;
+    private final String className;
+    private final String internalName;
+
+    ValidatingSubclassGenerator(Class<?> type, MethodValidationInterceptor interceptor) {
+        super();
+        this.type = type;
+        this.interceptor = interceptor;
+        this.className = type.getName() + SUFFIX;
+        this.internalName = className.replace('.', '/');
+    }
+
+    Class<?> generate() {
+        Constructor<?> constructor = getDefaultConstructor();
+        List<Method> methods = getValidatedMethods();
+        String superName = Type.getInternalName(type);
+
+        // Frames are only needed for the invokeSuper switch (no reference type merges; no class loading required)
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        writer.visit(V1_8, ACC_PUBLIC | ACC_SUPER | ACC_SYNTHETIC, internalName, null, superName,
+                new String[] {INVOKER});
+        writer.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, METHODS_FIELD, METHODS_DESC, null, null).visitEnd();
+        writer.visitField(ACC_PRIVATE | ACC_FINAL, INTERCEPTOR_FIELD, INTERCEPTOR_DESC, null, null).visitEnd();
+
+        generateStaticInitializer(writer, superName, methods);
+        generateConstructor(writer, superName, constructor);
+
+        for (int i = 0; i < methods.size(); i++) {
+            generateMethod(writer, methods.get(i), i);
+        }
+
+        generateInvokeSuper(writer, superName, methods);
+        writer.visitEnd();
+
+        try {
+            return new GeneratedClassLoader(getParentClassLoader()).define(className, writer.toByteArray());
+        } catch (LinkageError e) {
+            throw new UnrulyException("Unable to generate validating subclass for [" + type + "]", e);
+        }
+    }
+
+    private void generateConstructor(ClassWriter writer, String superName, Constructor<?> constructor) {
+        MethodVisitor mv = writer.visitMethod(ACC_PUBLIC, "<init>", "(" + INTERCEPTOR_DESC + ")V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", Type.getConstructorDescriptor(constructor), false);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitFieldInsn(PUTFIELD, internalName, INTERCEPTOR_FIELD, INTERCEPTOR_DESC);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void generateStaticInitializer(ClassWriter writer, String superName, List<Method> methods) {
+        MethodVisitor mv = writer.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+        mv.visitCode();
+        pushInt(mv, methods.size());
+        mv.visitTypeInsn(ANEWARRAY, Type.getInternalName(Method.class));
+
+        for (int i = 0; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            Class<?>[] parameterTypes = method.getParameterTypes();
+
+            // METHODS[i] = Type.class.getMethod(name, parameterTypes)
+            mv.visitInsn(DUP);
+            pushInt(mv, i);
+            mv.visitLdcInsn(Type.getObjectType(superName));
+            mv.visitLdcInsn(method.getName());
+            pushInt(mv, parameterTypes.length);
+            mv.visitTypeInsn(ANEWARRAY, "java/lang/Class");
+
+            for (int j = 0; j < parameterTypes.length; j++) {
+                mv.visitInsn(DUP);
+                pushInt(mv, j);
+                pushClass(mv, parameterTypes[j]);
+                mv.visitInsn(AASTORE);
+            }
+
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Class", "getMethod", GET_METHOD_DESC, false);
+            mv.visitInsn(AASTORE);
+        }
+
+        mv.visitFieldInsn(PUTSTATIC, internalName, METHODS_FIELD, METHODS_DESC);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void generateMethod(ClassWriter writer, Method method, int index) {
+        String descriptor = Type.getMethodDescriptor(method);
+        Type[] argumentTypes = Type.getArgumentTypes(method);
+        Type returnType = Type.getReturnType(method);
+        String[] exceptions = new String[method.getExceptionTypes().length];
+
+        for (int i = 0; i < exceptions.length; i++) {
+            exceptions[i] = Type.getInternalName(method.getExceptionTypes()[i]);
+        }
+
+        int modifiers = method.getModifiers() & (ACC_PUBLIC | ACC_PROTECTED | ACC_VARARGS);
+        MethodVisitor mv = writer.visitMethod(modifiers, method.getName(), descriptor, null, exceptions);
+        mv.visitCode();
+
+        // interceptor.invoke(this, index, METHODS[index], new Object[] {...})
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, internalName, INTERCEPTOR_FIELD, INTERCEPTOR_DESC);
+        mv.visitVarInsn(ALOAD, 0);
+        pushInt(mv, index);
+        mv.visitFieldInsn(GETSTATIC, internalName, METHODS_FIELD, METHODS_DESC);
+        pushInt(mv, index);
+        mv.visitInsn(AALOAD);
+        pushInt(mv, argumentTypes.length);
+        mv.visitTypeInsn(ANEWARRAY, OBJECT);
+
+        for (int i = 0, slot = 1; i < argumentTypes.length; i++) {
+            mv.visitInsn(DUP);
+            pushInt(mv, i);
+            mv.visitVarInsn(argumentTypes[i].getOpcode(ILOAD), slot);
+            box(mv, argumentTypes[i]);
+            mv.visitInsn(AASTORE);
+            slot += argumentTypes[i].getSize();
+        }
+
+        mv.visitMethodInsn(INVOKEVIRTUAL, INTERCEPTOR, "invoke", INVOKE_DESC, false);
+
+        if (returnType.getSort() == Type.VOID) {
+            mv.visitInsn(POP);
+            mv.visitInsn(RETURN);
+        } else {
+            unbox(mv, returnType);
+            mv.visitInsn(returnType.getOpcode(IRETURN));
+        }
+
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private void generateInvokeSuper(ClassWriter writer, String superName, List<Method> methods) {
+        MethodVisitor mv = writer.visitMethod(ACC_PUBLIC, "invokeSuper", INVOKE_SUPER_DESC, null,
+                new String[] {"java/lang/Throwable"});
+        mv.visitCode();
+
+        Label defaultLabel = new Label();
+        Label[] labels = new Label[methods.size()];
+        for (int i = 0; i < labels.length; i++) labels[i] = new Label();
+
+        if (labels.length > 0) {
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+        }
+
+        for (int i = 0; i < labels.length; i++) {
+            Method method = methods.get(i);
+            Type[] argumentTypes = Type.getArgumentTypes(method);
+            Type returnType = Type.getReturnType(method);
+
+            // return super.method((A) args[0], ...)
+            mv.visitLabel(labels[i]);
+            mv.visitVarInsn(ALOAD, 0);
+
+            for (int j = 0; j < argumentTypes.length; j++) {
+                mv.visitVarInsn(ALOAD, 2);
+                pushInt(mv, j);
+                mv.visitInsn(AALOAD);
+                unbox(mv, argumentTypes[j]);
+            }
+
+            mv.visitMethodInsn(INVOKESPECIAL, superName, method.getName(), Type.getMethodDescriptor(method), false);
+
+            if (returnType.getSort() == Type.VOID) {
+                mv.visitInsn(ACONST_NULL);
+            } else {
+                box(mv, returnType);
+            }
+
+            mv.visitInsn(ARETURN);
+        }
+
+        mv.visitLabel(defaultLabel);
+        mv.visitTypeInsn(NEW, "java/lang/IndexOutOfBoundsException");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/IndexOutOfBoundsException", "<init>", "()V", false);
+        mv.visitInsn(ATHROW);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private List<Method> getValidatedMethods() {
+        Map<String, Method> result = new LinkedHashMap<>();
+
+        for (Method method : type.getMethods()) {
+            int modifiers = method.getModifiers();
+
+            if (method.getDeclaringClass() == Object.class || method.getDeclaringClass().isInterface()) continue;
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) continue;
+            if (method.isBridge() || method.isSynthetic()) continue;
+            if (interceptor.getValidationPlan(method).isEmpty()) continue;
+
+            result.putIfAbsent(method.getName() + Type.getMethodDescriptor(method), method);
+        }
+
+        return new ArrayList<>(result.values());
+    }
+
+    private Constructor<?> getDefaultConstructor() {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            int modifiers = constructor.getModifiers();
+
+            if (constructor.getParameterCount() == 0
+                    && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers))) return constructor;
+        }
+
+        throw new UnrulyException("Class [" + type + "] must have a public/protected no-arg constructor.");
+    }
+
+    private ClassLoader getParentClassLoader() {
+        ClassLoader result = type.getClassLoader();
+        return result != null ? result : ValidatingSubclassGenerator.class.getClassLoader();
+    }
+
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    private static void pushClass(MethodVisitor mv, Class<?> type) {
+        if (type.isPrimitive()) {
+            // int.class etc are Integer.TYPE etc
+            Type wrapper = Type.getType(ClassUtils.resolvePrimitiveIfNecessary(type));
+            mv.visitFieldInsn(GETSTATIC, wrapper.getInternalName(), "TYPE", "Ljava/lang/Class;");
+        } else {
+            mv.visitLdcInsn(Type.getType(type));
+        }
+    }
+
+    private static void unbox(MethodVisitor mv, Type type) {
+        String owner;
+
+        switch (type.getSort()) {
+            case Type.BOOLEAN: owner = "java/lang/Boolean"; break;
+            case Type.CHAR: owner = "java/lang/Character"; break;
+            case Type.BYTE: owner = "java/lang/Byte"; break;
+            case Type.SHORT: owner = "java/lang/Short"; break;
+            case Type.INT: owner = "java/lang/Integer"; break;
+            case Type.FLOAT: owner = "java/lang/Float"; break;
+            case Type.LONG: owner = "java/lang/Long"; break;
+            case Type.DOUBLE: owner = "java/lang/Double"; break;
+            default:
+                mv.visitTypeInsn(CHECKCAST, type.getInternalName());
+                return;
+        }
+
+        mv.visitTypeInsn(CHECKCAST, owner);
+        mv.visitMethodInsn(INVOKEVIRTUAL, owner, type.getClassName() + "Value", "()" + type.getDescriptor(), false);
+    }
+
+    private static void box(MethodVisitor mv, Type type) {
+        Class<?> wrapper;
+
+        switch (type.getSort()) {
+            case Type.BOOLEAN: wrapper = Boolean.class; break;
+            case Type.CHAR: wrapper = Character.class; break;
+            case Type.BYTE: wrapper = Byte.class; break;
+            case Type.SHORT: wrapper = Short.class; break;
+            case Type.INT: wrapper = Integer.class; break;
+            case Type.FLOAT: wrapper = Float.class; break;
+            case Type.LONG: wrapper = Long.class; break;
+            case Type.DOUBLE: wrapper = Double.class; break;
+            default: return;
+        }
+
+        String owner = Type.getInternalName(wrapper);
+        mv.visitMethodInsn(INVOKESTATIC, owner, "valueOf", "(" + type.getDescriptor() + ")L" + owner + ";", false);
+    }
+
+    /**
+     * Defines the generated classes. Falls back to the rulii ClassLoader for the rulii classes in case the parent
+     * cannot see them.
+     */
+    private static final class GeneratedClassLoader extends ClassLoader {
+
+        private GeneratedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            try {
+                return super.loadClass(name, resolve);
+            } catch (ClassNotFoundException e) {
+                return Class.forName(name, resolve, ValidatingSubclassGenerator.class.getClassLoader());
+            }
+        }
+
+        private Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
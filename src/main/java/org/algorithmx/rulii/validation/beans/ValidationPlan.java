@@ -0,0 +1,149 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.beans;
+
+import org.algorithmx.rulii.core.Runnable;
+import org.algorithmx.rulii.core.rule.Rule;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.validation.BindingValidationRule;
+import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinition;
+
+import java.util.List;
+
+/**
+ * Validation rules of an AnnotatedTypeDefinition compiled once so they can be re-run cheaply against every value
+ * of that type.
+ *
+ * When all the declared rules are simple BindingValidationRules (no "when" condition and no dependency on other
+ * Bindings) the plan is "direct" : the rules are held in a flat array and are invoked with the value straight away,
+ * without creating any scopes, matching any parameters or firing any Rule events. Every (non empty) plan also holds
+ * a RuleSet that is run the regular way; it is used when the rules cannot be run directly or when Rule events are
+ * required (ie. listeners are registered).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class ValidationPlan {
+
+    private static final BindingValidationRule[] NO_RULES = new BindingValidationRule[0];
+
+    private final AnnotatedTypeDefinition definition;
+    private final BindingValidationRule[] rules;
+    private final RuleSet ruleSet;
+
+    private ValidationPlan(AnnotatedTypeDefinition definition, BindingValidationRule[] rules, RuleSet ruleSet) {
+        super();
+        this.definition = definition;
+        this.rules = rules;
+        this.ruleSet = ruleSet;
+    }
+
+    /**
+     * Compiles the given (ordered) runnables into a plan.
+     *
+     * @param definition type definition the runnables were created for.
+     * @param runnables ordered runnables.
+     * @param name name to use if a RuleSet is required.
+     * @return compiled plan.
+     */
+    public static ValidationPlan create(AnnotatedTypeDefinition definition, List<Runnable> runnables, String name) {
+        Assert.notNull(runnables, "runnables cannot be null.");
+
+        if (runnables.isEmpty()) return new ValidationPlan(definition, NO_RULES, null);
+
+        RuleSet ruleSet = RuleSetBuilder.with(name).addAll(runnables).build();
+        BindingValidationRule[] rules = new BindingValidationRule[runnables.size()];
+
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = getDirectRule(runnables.get(i));
+
+            // Cannot run it directly; fallback to the RuleSet
+            if (rules[i] == null) return new ValidationPlan(definition, NO_RULES, ruleSet);
+        }
+
+        return new ValidationPlan(definition, rules, ruleSet);
+    }
+
+    private static BindingValidationRule getDirectRule(Runnable runnable) {
+        if (!(runnable instanceof Rule)) return null;
+
+        Rule rule = (Rule) runnable;
+
+        if (!(rule.getTarget() instanceof BindingValidationRule)) return null;
+
+        BindingValidationRule result = (BindingValidationRule) rule.getTarget();
+
+        if (!result.isBindingIndependent()) return null;
+        // Custom pre-condition (ie. "when") requires the Bindings
+        if (rule.getPreCondition() != null && rule.getPreCondition().getTarget() != result) return null;
+
+        return result;
+    }
+
+    /**
+     * Determines whether there is anything to run.
+     *
+     * @return true if there are no rules; false otherwise.
+     */
+    public boolean isEmpty() {
+        return ruleSet == null;
+    }
+
+    /**
+     * Determines whether the rules can be invoked directly (without a RuleSet).
+     *
+     * @return true if the rules can be run directly; false if the RuleSet must be used.
+     */
+    public boolean isDirect() {
+        return rules.length > 0;
+    }
+
+    public AnnotatedTypeDefinition getDefinition() {
+        return definition;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    public BindingValidationRule getRule(int index) {
+        return rules[index];
+    }
+
+    /**
+     * RuleSet holding all the rules (null if the plan is empty).
+     *
+     * @return plan rules as a RuleSet.
+     */
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationPlan{" +
+                "definition=" + definition +
+                ", direct=" + isDirect() +
+                ", size=" + (isEmpty() ? 0 : ruleSet.size()) +
+                '}';
+    }
+}
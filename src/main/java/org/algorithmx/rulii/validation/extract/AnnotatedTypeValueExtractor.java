@@ -40,6 +40,15 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Extracts the values of a container (and nested containers) that have declared rules or require introspection.
+ *
+ * Values are pushed to an ExtractedTypeValueProcessor as they are extracted, containers are never copied; lazily
+ * consumed containers (Iterables, Streams) are traversed element by element.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
 public class AnnotatedTypeValueExtractor {
 
     public AnnotatedTypeValueExtractor() {
@@ -49,77 +58,107 @@ public class AnnotatedTypeValueExtractor {
     public List<ExtractedTypeValue> extract(AnnotatedTypeDefinition definition, Object object,
                                             ExtractorRegistry extractorRegistry, ObjectFactory objectFactory) {
         List<ExtractedTypeValue> extractedValues = new ArrayList<>();
-        extractInternal(definition, object, extractorRegistry, objectFactory, extractedValues);
+        extract(definition, object, extractorRegistry, objectFactory,
+                (d, value) -> extractedValues.add(new ExtractedTypeValue(d, value)));
         return extractedValues;
     }
 
+    /**
+     * Extracts the values and hands them to the processor one by one (in extraction order).
+     *
+     * @param definition type definition of the object.
+     * @param object object to extract from.
+     * @param extractorRegistry extractors.
+     * @param objectFactory object factory.
+     * @param processor receives the extracted values.
+     */
+    public void extract(AnnotatedTypeDefinition definition, Object object,
+                        ExtractorRegistry extractorRegistry, ObjectFactory objectFactory,
+                        ExtractedTypeValueProcessor processor) {
+        Assert.notNull(processor, "processor cannot be null.");
+
+        try {
+            extractInternal(definition, object, extractorRegistry, objectFactory, processor);
+        } catch (ProcessorException e) {
+            // Errors from the processor are not extraction errors
+            throw e.getCause();
+        }
+    }
+
     public void extractInternal(AnnotatedTypeDefinition definition, Object object,
                                 ExtractorRegistry extractorRegistry, ObjectFactory objectFactory,
-                         List<ExtractedTypeValue> extractedValues) {
+                                ExtractedTypeValueProcessor processor) {
         Assert.notNull(definition, "definition cannot be null.");
         Assert.notNull(extractorRegistry, "extractorRegistry cannot be null.");
 
         // Add the candidate ?
-        addExtractedValue(definition, object, extractedValues);
+        processExtractedValue(definition, object, processor);
 
         if (object == null || (!definition.childrenRequireIntrospection() && !definition.childrenHaveRules())) return;
 
         if (definition.getKind() == AnnotatedTypeKind.PARAMETERIZED_TYPE) {
-            visit((AnnotatedParameterizedTypeDefinition) definition, object, extractorRegistry, objectFactory, extractedValues);
+            visit((AnnotatedParameterizedTypeDefinition) definition, object, extractorRegistry, objectFactory, processor);
         } else if (definition.getKind() == AnnotatedTypeKind.WILDCARD_TYPE) {
-            visit((AnnotatedWildcardTypeDefinition) definition, object, extractorRegistry, objectFactory, extractedValues);
+            visit((AnnotatedWildcardTypeDefinition) definition, object, extractorRegistry, objectFactory, processor);
         } else if (definition.getKind() == AnnotatedTypeKind.TYPE_VARIABLE_TYPE) {
-            visit((AnnotatedTypeVariableDefinition) definition, object, extractorRegistry, objectFactory, extractedValues);
+            visit((AnnotatedTypeVariableDefinition) definition, object, extractorRegistry, objectFactory, processor);
         } else if (definition.getKind() == AnnotatedTypeKind.ARRAY_TYPE) {
-            visit((AnnotatedArrayTypeDefinition) definition, object, extractorRegistry, objectFactory, extractedValues);
+            visit((AnnotatedArrayTypeDefinition) definition, object, extractorRegistry, objectFactory, processor);
         }
     }
 
     public void visit(AnnotatedParameterizedTypeDefinition definition, Object object,
                       ExtractorRegistry extractorRegistry, ObjectFactory objectFactory,
-                      List<ExtractedTypeValue> extractedValues) {
+                      ExtractedTypeValueProcessor processor) {
         for (int i = 0; i < definition.getTypeArguments().length; i++) {
-            extractAndProcess(object, i, definition.getTypeArguments()[i], extractorRegistry, objectFactory, extractedValues);
+            extractAndProcess(object, i, definition.getTypeArguments()[i], extractorRegistry, objectFactory, processor);
         }
     }
 
     public void visit(AnnotatedWildcardTypeDefinition definition, Object object,
                       ExtractorRegistry extractorRegistry, ObjectFactory objectFactory,
-                      List<ExtractedTypeValue> extractedValues) {
+                      ExtractedTypeValueProcessor processor) {
         for (int i = 0; i < definition.getLowerBounds().length; i++) {
-            extractAndProcess(object, i, definition.getLowerBounds()[i], extractorRegistry, objectFactory, extractedValues);
+            extractAndProcess(object, i, definition.getLowerBounds()[i], extractorRegistry, objectFactory, processor);
         }
 
         for (int i = 0; i < definition.getUpperBounds().length; i++) {
-            extractAndProcess(object, i, definition.getUpperBounds()[i], extractorRegistry, objectFactory, extractedValues);
+            extractAndProcess(object, i, definition.getUpperBounds()[i], extractorRegistry, objectFactory, processor);
         }
     }
 
     public void visit(AnnotatedTypeVariableDefinition definition, Object object,
                       ExtractorRegistry extractorRegistry, ObjectFactory objectFactory,
-                      List<ExtractedTypeValue> extractedValues) {
+                      ExtractedTypeValueProcessor processor) {
         for (int i = 0; i < definition.getBounds().length; i++) {
-            extractAndProcess(object, i, definition.getBounds()[i], extractorRegistry, objectFactory, extractedValues);
+            extractAndProcess(object, i, definition.getBounds()[i], extractorRegistry, objectFactory, processor);
         }
     }
 
     public void visit(AnnotatedArrayTypeDefinition definition, Object object,
                       ExtractorRegistry extractorRegistry, ObjectFactory objectFactory,
-                      List<ExtractedTypeValue> extractedValues) {
-        extractAndProcess(object, 0, definition.getComponentType(), extractorRegistry, objectFactory, extractedValues);
+                      ExtractedTypeValueProcessor processor) {
+        extractAndProcess(object, 0, definition.getComponentType(), extractorRegistry, objectFactory, processor);
     }
 
-    protected void addExtractedValue(AnnotatedTypeDefinition definition, Object value, List<ExtractedTypeValue> extractedValues) {
+    protected void processExtractedValue(AnnotatedTypeDefinition definition, Object value,
+                                         ExtractedTypeValueProcessor processor) {
         // Add the candidate ?
         if (definition.isIntrospectionRequired() || definition.hasDeclaredRules()) {
-            extractedValues.add(new ExtractedTypeValue(definition, value));
+            try {
+                processor.process(definition, value);
+            } catch (ProcessorException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                throw new ProcessorException(e);
+            }
         }
     }
 
     protected void extractAndProcess(Object container, int index, AnnotatedTypeDefinition definition,
                                      ExtractorRegistry extractorRegistry,
                                      ObjectFactory objectFactory,
-                                     List<ExtractedTypeValue> extractedValues) {
+                                     ExtractedTypeValueProcessor processor) {
         if (container == null) return;
 
         TypedValueExtractor extractor = findTypedValueExtractor(container.getClass(), index, definition,
@@ -131,16 +170,24 @@ public class AnnotatedTypeValueExtractor {
         }
 
         try {
-            SimpleTypeValueCollector collector = new SimpleTypeValueCollector();
-            extractor.extract(container, collector);
-
-            for (Object extractedValue : collector.result) {
-                extractInternal(definition, extractedValue, extractorRegistry, objectFactory, extractedValues);
-            }
-
+            // Each extracted value is processed right away
+            extractor.extract(container, new TypedValueProcessor() {
+                @Override
+                public void value(String name, Object value) {
+                    extractInternal(definition, value, extractorRegistry, objectFactory, processor);
+                }
+
+                @Override
+                public void indexedValue(String name, int index, Object value) {
+                    extractInternal(definition, value, extractorRegistry, objectFactory, processor);
+                }
+            });
+        } catch (ProcessorException | ValueExtractionException e) {
+            // Processor errors and nested extraction errors pass straight through
+            throw e;
         } catch (Exception e) {
-            // TODO : Unable to extract
-            e.printStackTrace();
+            throw new ValueExtractionException("Unable to extract values from [" + container
+                    + "] using extractor [" + extractor.getClass().getName() + "]", e);
         }
     }
 
@@ -179,22 +226,18 @@ public class AnnotatedTypeValueExtractor {
                 : null;
     }
 
-    private static class SimpleTypeValueCollector implements TypedValueProcessor {
+    /**
+     * Carries errors thrown by the ExtractedTypeValueProcessor past the extraction error handling.
+     */
+    private static class ProcessorException extends RuntimeException {
 
-        private List<Object> result = new ArrayList<>();
-
-        @Override
-        public void value(String name, Object value) {
-            result.add(value);
+        private ProcessorException(RuntimeException cause) {
+            super(cause);
         }
 
         @Override
-        public void indexedValue(String name, int index, Object value) {
-            result.add(value);
-        }
-
-        public List<Object> getResult() {
-            return result;
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
         }
     }
 
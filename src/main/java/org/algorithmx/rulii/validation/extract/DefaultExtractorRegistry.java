@@ -27,6 +27,7 @@ import org.algorithmx.rulii.validation.extract.standard.MapKeyValueExtractor;
 import org.algorithmx.rulii.validation.extract.standard.MapValueValueExtractor;
 import org.algorithmx.rulii.validation.extract.standard.OptionalValueExtractor;
 import org.algorithmx.rulii.validation.extract.standard.ReferenceValueExtractor;
+import org.algorithmx.rulii.validation.extract.standard.StreamValueExtractor;
 import org.algorithmx.rulii.validation.extract.standard.ThreadLocalValueExtractor;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 
@@ -81,6 +82,7 @@ public class DefaultExtractorRegistry implements ExtractorRegistry {
         register(new MapKeyValueExtractor());
         register(new MapValueValueExtractor());
         register(new IterableValueExtractor());
+        register(new StreamValueExtractor());
         register(new OptionalValueExtractor());
         register(new ReferenceValueExtractor());
         register(new ThreadLocalValueExtractor());
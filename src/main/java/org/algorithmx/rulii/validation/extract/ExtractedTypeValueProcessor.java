@@ -0,0 +1,41 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.extract;
+
+import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinition;
+
+/**
+ * Receives the values extracted by the AnnotatedTypeValueExtractor as they are found (ie. without collecting them
+ * first).
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+@FunctionalInterface
+public interface ExtractedTypeValueProcessor {
+
+    /**
+     * Called for every value that has declared rules or requires introspection.
+     *
+     * @param definition type definition of the value.
+     * @param value extracted value.
+     */
+    void process(AnnotatedTypeDefinition definition, Object value);
+}
@@ -0,0 +1,10 @@
+package org.algorithmx.rulii.validation.extract;
+
+import org.algorithmx.rulii.core.UnrulyException;
+
+public class ValueExtractionException extends UnrulyException {
+
+    public ValueExtractionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
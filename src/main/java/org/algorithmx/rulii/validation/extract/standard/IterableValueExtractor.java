@@ -22,12 +22,16 @@ import org.algorithmx.rulii.validation.extract.TypedValueExtractorTemplate;
 import org.algorithmx.rulii.validation.extract.TypedValueProcessor;
 import org.algorithmx.rulii.lib.spring.util.Assert;
 
-import java.util.Collection;
-
+/**
+ * Extracts the elements of an Iterable one at a time, the Iterable is only iterated once.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
 public class IterableValueExtractor extends TypedValueExtractorTemplate<Iterable<?>> {
 
     public IterableValueExtractor() {
-        super(Collection.class,0);
+        super(Iterable.class, 0);
     }
 
     @Override
@@ -45,6 +49,6 @@ public class IterableValueExtractor extends TypedValueExtractorTemplate<Iterable
 
     @Override
     public String toString() {
-        return "CollectionValueExtractor{}";
+        return "IterableValueExtractor{}";
     }
 }
@@ -9,22 +9,23 @@ import org.algorithmx.rulii.validation.beans.SourceHolder;
 import org.algorithmx.rulii.validation.extract.ExtractorRegistry;
 import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinition;
 import org.algorithmx.rulii.validation.extract.AnnotatedTypeValueExtractor;
-import org.algorithmx.rulii.validation.extract.ExtractedTypeValue;
+import org.algorithmx.rulii.validation.extract.ExtractedTypeValueProcessor;
 
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public abstract class AbstractObjectVisitor implements ObjectVisitor {
 
     private static final Map<Class<?>, AnnotatedBeanTypeDefinition> definitionMap = new ConcurrentReferenceHashMap<>();
+    private static final AnnotatedTypeValueExtractor VALUE_EXTRACTOR = new AnnotatedTypeValueExtractor();
 
     public AbstractObjectVisitor() {
         super();
@@ -33,70 +34,74 @@ public abstract class AbstractObjectVisitor implements ObjectVisitor {
     protected List<GraphNode> introspectCandidate(GraphNode candidate,
                                                   ExtractorRegistry extractorRegistry,
                                                   ObjectFactory objectFactory) {
-        if (candidate.isNull()) return Collections.emptyList();
+        List<GraphNode> result = new ArrayList<>();
+        introspectCandidate(candidate, extractorRegistry, objectFactory, result::add);
+        return result;
+    }
+
+    /**
+     * Introspects the candidate and hands its children to the sink as they are extracted.
+     *
+     * @param candidate candidate to introspect.
+     * @param extractorRegistry extractors.
+     * @param objectFactory object factory.
+     * @param sink receives the children.
+     */
+    protected void introspectCandidate(GraphNode candidate, ExtractorRegistry extractorRegistry,
+                                       ObjectFactory objectFactory, Consumer<GraphNode> sink) {
+        if (candidate.isNull()) return;
         if (candidate.getTypeDefinition() != null
-                && !candidate.getTypeDefinition().isIntrospectionRequired()) return Collections.emptyList();
+                && !candidate.getTypeDefinition().isIntrospectionRequired()) return;
 
         // TODO : Handle @Validate for Collection/Arrays or any extractable type
         Predicate<Class<?>> classFilter = getClassFilter();
 
-        if (classFilter != null && !classFilter.test(candidate.getTarget().getClass())) return Collections.emptyList();
+        if (classFilter != null && !classFilter.test(candidate.getTarget().getClass())) return;
 
         AnnotatedBeanTypeDefinition typeDefinition = getAnnotatedBeanTypeDefinition(candidate.getTarget().getClass());
-        List<GraphNode> result = new ArrayList<>();
 
-        result.addAll(findCandidates(typeDefinition.getFields(), candidate, extractorRegistry, objectFactory));
-        result.addAll(findCandidates(typeDefinition.getProperties(), candidate, extractorRegistry, objectFactory));
-
-        return result;
+        findCandidates(typeDefinition.getFields(), candidate, extractorRegistry, objectFactory, sink);
+        findCandidates(typeDefinition.getProperties(), candidate, extractorRegistry, objectFactory, sink);
     }
 
     protected List<GraphNode> findCandidates(SourceHolder[] fields, GraphNode candidate,
                                              ExtractorRegistry extractorRegistry, ObjectFactory objectFactory) {
         List<GraphNode> result = new ArrayList<>();
+        findCandidates(fields, candidate, extractorRegistry, objectFactory, result::add);
+        return result;
+    }
+
+    protected void findCandidates(SourceHolder[] fields, GraphNode candidate,
+                                  ExtractorRegistry extractorRegistry, ObjectFactory objectFactory,
+                                  Consumer<GraphNode> sink) {
+        Consumer<GraphNode> parentSink = c -> {
+            c.setParent(candidate);
+            sink.accept(c);
+        };
 
         for (SourceHolder holder : fields) {
-            List<GraphNode> candidates = extractCandidates(holder,
-                    holder.getValue(candidate.getTarget()),
-                    holder.getDefinition(),
-                    extractorRegistry, objectFactory);
-
-            candidates.stream()
-                    .filter(c -> c != null)
-                    .forEach(c -> {
-                        c.setParent(candidate);
-                        result.add(c);
-                    });
+            extractCandidates(holder, holder.getValue(candidate.getTarget()), holder.getDefinition(),
+                    extractorRegistry, objectFactory, parentSink);
         }
-
-        return result;
     }
 
     protected List<GraphNode> extractCandidates(SourceHolder sourceHolder, Object target,
                                                 AnnotatedTypeDefinition typeDefinition,
                                                 ExtractorRegistry extractorRegistry,
                                                 ObjectFactory objectFactory) {
-        AnnotatedTypeValueExtractor valueExtractor = new AnnotatedTypeValueExtractor();
-        List<ExtractedTypeValue> extractedValues = valueExtractor.extract(typeDefinition, target, extractorRegistry, objectFactory);
         List<GraphNode> result = new ArrayList<>();
-
-        for (ExtractedTypeValue extractedValue : extractedValues) {
-
-            if (extractedValue.getDefinition().hasDeclaredRules()) {
-                result.add(new GraphNode(extractedValue.getValue(), sourceHolder.copy(extractedValue.getDefinition())));
-            } else if (extractedValue.getDefinition().isIntrospectionRequired()) {
-                Object value = extractedValue.getValue();
-                Predicate<Class<?>> classFilter = getClassFilter();
-
-                if (value != null && (classFilter == null || classFilter.test(value.getClass()))) {
-                    result.add(new GraphNode(value, sourceHolder.copy(extractedValue.getDefinition())));
-                }
-            }
-        }
-
+        extractCandidates(sourceHolder, target, typeDefinition, extractorRegistry, objectFactory, result::add);
         return result;
     }
 
+    protected void extractCandidates(SourceHolder sourceHolder, Object target,
+                                     AnnotatedTypeDefinition typeDefinition,
+                                     ExtractorRegistry extractorRegistry,
+                                     ObjectFactory objectFactory,
+                                     Consumer<GraphNode> sink) {
+        VALUE_EXTRACTOR.extract(typeDefinition, target, extractorRegistry, objectFactory,
+                new CandidateProcessor(sourceHolder, getClassFilter(), sink));
+    }
     protected AnnotatedBeanTypeDefinition getAnnotatedBeanTypeDefinition(Class<?> type) {
         return definitionMap.computeIfAbsent(type, t -> buildBeanDefinition(t));
     }
@@ -145,4 +150,46 @@ public abstract class AbstractObjectVisitor implements ObjectVisitor {
     protected Comparator<Method> getMethodComparator() {
         return null;
     }
+
+    /**
+     * Turns the extracted values into GraphNodes. Values of the same type argument (ie. elements of a collection) share
+     * a single SourceHolder.
+     */
+    private static class CandidateProcessor implements ExtractedTypeValueProcessor {
+
+        private final SourceHolder sourceHolder;
+        private final Predicate<Class<?>> classFilter;
+        private final Consumer<GraphNode> sink;
+
+        private AnnotatedTypeDefinition lastDefinition;
+        private SourceHolder lastHolder;
+
+        private CandidateProcessor(SourceHolder sourceHolder, Predicate<Class<?>> classFilter,
+                                   Consumer<GraphNode> sink) {
+            super();
+            this.sourceHolder = sourceHolder;
+            this.classFilter = classFilter;
+            this.sink = sink;
+        }
+
+        @Override
+        public void process(AnnotatedTypeDefinition definition, Object value) {
+            if (definition.hasDeclaredRules()) {
+                sink.accept(new GraphNode(value, getHolder(definition)));
+            } else if (definition.isIntrospectionRequired()) {
+                if (value != null && (classFilter == null || classFilter.test(value.getClass()))) {
+                    sink.accept(new GraphNode(value, getHolder(definition)));
+                }
+            }
+        }
+
+        private SourceHolder getHolder(AnnotatedTypeDefinition definition) {
+            if (definition != lastDefinition) {
+                lastDefinition = definition;
+                lastHolder = sourceHolder.copy(definition);
+            }
+
+            return lastHolder;
+        }
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.graph;
+
+/**
+ * ObjectVisitor that can be split into independent copies so parts of the graph can be visited concurrently.
+ *
+ * Each forked visitor must have its own mutable state (scopes, result buffers etc). Forked visitors are joined back
+ * in traversal order so the final results are deterministic regardless of how the work was scheduled.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public interface ForkableObjectVisitor extends ObjectVisitor {
+
+    /**
+     * Creates an independent copy of this visitor that can be used on another thread.
+     *
+     * @return forked visitor.
+     */
+    ForkableObjectVisitor fork();
+
+    /**
+     * Merges the results of a previously forked visitor into this one.
+     *
+     * @param forked visitor created via fork().
+     */
+    void join(ForkableObjectVisitor forked);
+}
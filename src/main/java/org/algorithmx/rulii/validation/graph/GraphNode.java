@@ -34,6 +34,7 @@ public class GraphNode {
     private final Object target;
     private final SourceHolder holder;
     private GraphNode parent;
+    private int depth;
 
     public GraphNode(Object target, SourceHolder holder) {
         super();
@@ -80,6 +81,16 @@ public class GraphNode {
 
     void setParent(GraphNode parent) {
         this.parent = parent;
+        this.depth = parent != null ? parent.depth + 1 : 0;
+    }
+
+    /**
+     * Distance from the root node (root is at depth 0).
+     *
+     * @return depth of this node.
+     */
+    public int getDepth() {
+        return depth;
     }
 
     public String getPath() {
@@ -0,0 +1,125 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.graph;
+
+import java.util.Arrays;
+
+/**
+ * Compact identity based Set (open addressing with linear probing). Only supports additions; much lighter than an
+ * IdentityHashMap backed Set as there are no entry objects and no values.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+final class IdentitySet {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private Object[] table;
+    private int size;
+
+    IdentitySet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    IdentitySet(int capacity) {
+        super();
+        this.table = new Object[tableSizeFor(Math.max(capacity, 2) * 2)];
+    }
+
+    /**
+     * Adds the given object (by reference).
+     *
+     * @param value value to add.
+     * @return true if the object was added; false if it already existed.
+     */
+    boolean add(Object value) {
+        if (value == null) throw new NullPointerException("value cannot be null.");
+
+        int mask = table.length - 1;
+        int index = hash(value) & mask;
+
+        while (table[index] != null) {
+            if (table[index] == value) return false;
+            index = (index + 1) & mask;
+        }
+
+        table[index] = value;
+
+        // Keep the load factor at 0.5
+        if (++size * 2 > table.length) resize();
+
+        return true;
+    }
+
+    boolean contains(Object value) {
+        if (value == null) return false;
+
+        int mask = table.length - 1;
+        int index = hash(value) & mask;
+
+        while (table[index] != null) {
+            if (table[index] == value) return true;
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    private void resize() {
+        Object[] oldTable = table;
+        Object[] newTable = new Object[oldTable.length * 2];
+        int mask = newTable.length - 1;
+
+        for (Object value : oldTable) {
+            if (value == null) continue;
+
+            int index = hash(value) & mask;
+
+            while (newTable[index] != null) {
+                index = (index + 1) & mask;
+            }
+
+            newTable[index] = value;
+        }
+
+        this.table = newTable;
+    }
+
+    private static int hash(Object value) {
+        int h = System.identityHashCode(value);
+        // Spread the bits (identity hashes tend to cluster)
+        return (h * 0x9E3779B9) ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int result = Integer.highestOneBit(capacity - 1) << 1;
+        return result < 2 ? 2 : result;
+    }
+}
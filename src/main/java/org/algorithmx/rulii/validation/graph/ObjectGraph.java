@@ -5,52 +5,232 @@ import org.algorithmx.rulii.lib.spring.util.Assert;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.function.Consumer;
 
+/**
+ * Depth first traversal of an object graph.
+ *
+ * Children are visited as soon as they are extracted from their parent, so the memory required by the traversal
+ * depends on the depth of the graph and not on the size of its containers (a List with 100k beans is walked one
+ * element at a time). Beyond MAX_INLINE_DEPTH nested visits the children are queued and visited once the current
+ * branch is complete; this keeps deep (ie. linked) structures from exhausting the stack.
+ *
+ * Traversal is cycle safe : every object is expanded (ie. its children are traversed) at most once, no matter how many
+ * paths lead to it. An object that has already been expanded is still visited but it is not introspected again. The
+ * traversal can also be bounded by a maximum depth and a maximum number of nodes; nodes beyond these limits are
+ * skipped. The number of skipped nodes is available after the traversal.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
 public class ObjectGraph {
 
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+    public static final int MAX_INLINE_DEPTH = 64;
+
     private final Deque<GraphNode> candidates = new ArrayDeque<>();
+    private final IdentitySet expanded = new IdentitySet();
+    private final Consumer<GraphNode> sink = this::offerCandidate;
+    private final int maxDepth;
+    private final int maxNodes;
+
+    private int visitedCount = 0;
+    private int skippedCount = 0;
+    private int inlineDepth = 0;
+    private ObjectVisitor visitor;
 
     public ObjectGraph() {
+        this(UNLIMITED, UNLIMITED);
+    }
+
+    /**
+     * Creates a bounded ObjectGraph.
+     *
+     * @param maxDepth maximum depth to traverse (root is at depth 0).
+     * @param maxNodes maximum number of nodes to visit.
+     */
+    public ObjectGraph(int maxDepth, int maxNodes) {
         super();
+        Assert.isTrue(maxDepth >= 0, "maxDepth must be >= 0");
+        Assert.isTrue(maxNodes > 0, "maxNodes must be > 0");
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
     }
 
     public void traverse(GraphNode root, ObjectVisitor visitor) {
         Assert.notNull(visitor, "visitor cannot be null.");
-        candidates.clear();
-
-        // Add the root object(s)
-        addCandidate(root);
+        reset();
+        this.visitor = visitor;
 
-        while (!candidates.isEmpty()) {
-            GraphNode candidate = candidates.remove();
+        try {
+            // Add the root object(s)
+            addCandidate(root);
 
-            try {
-                traverseInternal(candidate, visitor);
-            } catch (Exception e) {
-                throw new ObjectGraphTraversalException("Error trying to traverse [" + candidate + "]", e);
+            // Only holds the root and the branches that were too deep to visit inline
+            while (!candidates.isEmpty()) {
+                visit(candidates.remove());
             }
+        } finally {
+            this.visitor = null;
         }
 
         visitor.traversalComplete();
     }
 
+    /**
+     * Visits the candidate (and, depth first, everything reachable from it) unless the visitor is done or the node
+     * budget is exhausted, in which case the candidate is counted as skipped.
+     *
+     * @param candidate candidate to visit.
+     */
+    protected void visit(GraphNode candidate) {
+        if (visitor.isDone()) {
+            skippedCount++;
+            return;
+        }
+
+        if (allocateNodes(1) == 0) return;
+
+        inlineDepth++;
+
+        try {
+            traverseInternal(candidate, visitor);
+        } catch (ObjectGraphTraversalException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ObjectGraphTraversalException("Error trying to traverse [" + candidate + "]", e);
+        } finally {
+            inlineDepth--;
+        }
+    }
+
     protected void traverseInternal(GraphNode candidate, ObjectVisitor visitor) {
-        addCandidates(visitor.visitCandidate(candidate));
+        if (markExpanded(candidate)) {
+            visitor.visitCandidate(candidate, sink);
+        } else {
+            visitor.visitExpandedCandidate(candidate);
+        }
+    }
+
+    /**
+     * Marks the candidate's object as expanded. This happens before the candidate is visited so that objects that are
+     * reachable via multiple paths are only introspected (and their children only produced) once.
+     *
+     * @param candidate candidate about to be visited.
+     * @return true if this is the first time the object is seen (or the candidate is null); false otherwise.
+     */
+    protected boolean markExpanded(GraphNode candidate) {
+        return candidate.isNull() || expanded.add(candidate.getTarget());
     }
 
     protected void addCandidates(Collection<GraphNode> candidates) {
         if (candidates == null || candidates.size() == 0) return;
 
-        candidates.stream()
-                .filter(c -> c != null)
-                .forEach(c -> addCandidate(c));
+        for (GraphNode candidate : candidates) {
+            offerCandidate(candidate);
+        }
+    }
+
+    protected void offerCandidate(GraphNode candidate) {
+        if (candidate == null || !isAccepted(candidate)) return;
+        visitOrQueue(candidate);
+    }
+
+    /**
+     * Visits the (accepted) candidate right away or queues it if the traversal is already MAX_INLINE_DEPTH visits deep.
+     *
+     * @param candidate accepted candidate.
+     */
+    protected void visitOrQueue(GraphNode candidate) {
+        if (inlineDepth < MAX_INLINE_DEPTH) {
+            visit(candidate);
+        } else {
+            addCandidate(candidate);
+        }
     }
 
     protected void addCandidate(GraphNode candidate) {
         getCandidates().add(candidate);
     }
 
+    /**
+     * Determines whether the given candidate should be traversed. Candidates that are too deep are rejected (and
+     * counted as skipped).
+     *
+     * @param candidate candidate to check.
+     * @return true if the candidate should be traversed; false otherwise.
+     */
+    protected boolean isAccepted(GraphNode candidate) {
+        if (candidate.getDepth() > maxDepth) {
+            skippedCount++;
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Reserves nodes from the node budget.
+     *
+     * @param count number of nodes required.
+     * @return number of nodes that can be visited (the rest are counted as skipped).
+     */
+    protected int allocateNodes(int count) {
+        int result = (int) Math.min(count, (long) maxNodes - visitedCount);
+        visitedCount += result;
+        skippedCount += count - result;
+        return result;
+    }
+
+    protected void addVisited(int count) {
+        visitedCount += count;
+    }
+
+    protected void addSkipped(int count) {
+        skippedCount += count;
+    }
+
+    protected void reset() {
+        candidates.clear();
+        expanded.clear();
+        visitedCount = 0;
+        skippedCount = 0;
+        inlineDepth = 0;
+        visitor = null;
+    }
+
     protected Deque<GraphNode> getCandidates() {
         return candidates;
     }
+
+    protected ObjectVisitor getVisitor() {
+        return visitor;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Number of nodes visited during the last traversal.
+     *
+     * @return visited node count.
+     */
+    public int getVisitedCount() {
+        return visitedCount;
+    }
+
+    /**
+     * Number of nodes skipped during the last traversal (too deep or over the node budget). Objects
+     * reachable via multiple paths are visited on each path but only expanded once; they are not counted as skipped.
+     *
+     * @return skipped node count.
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
 }
@@ -1,10 +1,42 @@
 package org.algorithmx.rulii.validation.graph;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 public interface ObjectVisitor {
 
     Collection<GraphNode> visitCandidate(GraphNode candidate);
 
+    /**
+     * Visits the candidate and hands the next candidates to the sink as they are found (instead of collecting them).
+     *
+     * @param candidate candidate to visit.
+     * @param sink receives the next candidates.
+     */
+    default void visitCandidate(GraphNode candidate, Consumer<GraphNode> sink) {
+        Collection<GraphNode> result = visitCandidate(candidate);
+        if (result != null) result.forEach(sink);
+    }
+
+    /**
+     * Visits a candidate whose object has already been expanded via another path. The candidate itself is visited but
+     * it must not be introspected again (its children have already been produced once).
+     *
+     * @param candidate candidate to visit.
+     */
+    default void visitExpandedCandidate(GraphNode candidate) {
+        visitCandidate(candidate, c -> {});
+    }
+
+    /**
+     * Determines whether the visitor is done (ie. it does not need any more candidates). The traversal stops once the
+     * visitor is done.
+     *
+     * @return true if the visitor is done; false otherwise.
+     */
+    default boolean isDone() {
+        return false;
+    }
+
     default void traversalComplete() {}
 }
@@ -0,0 +1,230 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.validation.graph;
+
+import org.algorithmx.rulii.lib.spring.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * ObjectGraph that splits large containers across a ForkJoinPool. The children of a candidate are gathered in batches
+ * of threshold nodes as they are extracted; full batches are handed to tasks, each of which traverses its batch depth
+ * first with its own forked visitor. The forked visitors are joined back in traversal order, so the results are the
+ * same as a sequential traversal. Candidates with fewer than threshold children are traversed on the calling thread.
+ *
+ * At most twice the pool's parallelism worth of batches are in flight at any time, so the memory required does not
+ * depend on the size of the containers.
+ *
+ * Visitors that are not ForkableObjectVisitors and traversals with a node budget (which has to be applied in
+ * traversal order) are traversed sequentially.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class ParallelObjectGraph extends ObjectGraph {
+
+    public static final int DEFAULT_THRESHOLD = 64;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final int maxPending;
+
+    private ForkableObjectVisitor forkableVisitor;
+
+    public ParallelObjectGraph() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelObjectGraph(ForkJoinPool pool, int threshold) {
+        this(pool, threshold, UNLIMITED, UNLIMITED);
+    }
+
+    public ParallelObjectGraph(ForkJoinPool pool, int threshold, int maxDepth, int maxNodes) {
+        super(maxDepth, maxNodes);
+        Assert.notNull(pool, "pool cannot be null.");
+        Assert.isTrue(threshold > 0, "threshold must be > 0");
+        this.pool = pool;
+        this.threshold = threshold;
+        this.maxPending = Math.max(2, pool.getParallelism() * 2);
+    }
+
+    @Override
+    public void traverse(GraphNode root, ObjectVisitor visitor) {
+        Assert.notNull(visitor, "visitor cannot be null.");
+        this.forkableVisitor = visitor instanceof ForkableObjectVisitor && getMaxNodes() == UNLIMITED
+                ? (ForkableObjectVisitor) visitor
+                : null;
+
+        try {
+            super.traverse(root, visitor);
+        } finally {
+            this.forkableVisitor = null;
+        }
+    }
+
+    @Override
+    protected void traverseInternal(GraphNode candidate, ObjectVisitor visitor) {
+        if (forkableVisitor == null) {
+            super.traverseInternal(candidate, visitor);
+            return;
+        }
+
+        if (!markExpanded(candidate)) {
+            visitor.visitExpandedCandidate(candidate);
+            return;
+        }
+
+        Batches batches = new Batches(forkableVisitor);
+
+        try {
+            visitor.visitCandidate(candidate, batches);
+            batches.complete();
+        } finally {
+            batches.cancel();
+        }
+    }
+
+    @Override
+    protected synchronized boolean markExpanded(GraphNode candidate) {
+        // Shared by the tasks
+        return super.markExpanded(candidate);
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Gathers the children of a candidate into batches. Full batches are forked (and joined in order); if nothing was
+     * forked the children are traversed on the calling thread.
+     */
+    private class Batches implements Consumer<GraphNode> {
+
+        private final ForkableObjectVisitor visitor;
+        // Created on demand; most candidates have no children
+        private Deque<BatchTask> pending;
+        private List<GraphNode> batch;
+
+        private Batches(ForkableObjectVisitor visitor) {
+            super();
+            this.visitor = visitor;
+        }
+
+        @Override
+        public void accept(GraphNode candidate) {
+            if (candidate == null || !isAccepted(candidate)) return;
+
+            if (visitor.isDone()) {
+                addSkipped(1);
+                return;
+            }
+
+            if (batch == null) batch = new ArrayList<>();
+            batch.add(candidate);
+            if (batch.size() >= threshold) fork();
+        }
+
+        private void fork() {
+            BatchTask task = new BatchTask(batch, visitor.fork());
+            batch = null;
+            pool.execute(task);
+            if (pending == null) pending = new ArrayDeque<>();
+            pending.add(task);
+
+            while (pending.size() > maxPending) {
+                join(pending.remove());
+            }
+        }
+
+        private void join(BatchTask task) {
+            if (visitor.isDone()) {
+                // A sequential traversal would not have visited any of these
+                task.cancel(false);
+                addSkipped(task.candidates.size());
+                return;
+            }
+
+            task.join();
+            visitor.join(task.visitor);
+            addVisited(task.visitedCount);
+            addSkipped(task.skippedCount);
+        }
+
+        private void complete() {
+            if (pending == null) {
+                List<GraphNode> candidates = batch;
+                batch = null;
+                if (candidates != null) candidates.forEach(ParallelObjectGraph.this::visitOrQueue);
+                return;
+            }
+
+            if (batch != null) fork();
+
+            while (!pending.isEmpty()) {
+                join(pending.remove());
+            }
+        }
+
+        private void cancel() {
+            while (pending != null && !pending.isEmpty()) {
+                pending.remove().cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Traverses a batch depth first with a forked visitor.
+     */
+    private class BatchTask extends RecursiveAction {
+
+        private final List<GraphNode> candidates;
+        private final ForkableObjectVisitor visitor;
+        private int visitedCount = 0;
+        private int skippedCount = 0;
+
+        private BatchTask(List<GraphNode> candidates, ForkableObjectVisitor visitor) {
+            super();
+            this.candidates = candidates;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            ObjectGraph graph = new ObjectGraph(getMaxDepth(), UNLIMITED) {
+                @Override
+                protected boolean markExpanded(GraphNode candidate) {
+                    return ParallelObjectGraph.this.markExpanded(candidate);
+                }
+            };
+
+            for (GraphNode candidate : candidates) {
+                graph.traverse(candidate, visitor);
+                visitedCount += graph.getVisitedCount();
+                skippedCount += graph.getSkippedCount();
+            }
+        }
+    }
+}
@@ -56,6 +56,11 @@ public class MustBeDefinedRule extends BindingValidationRule {
         return getBindingName();
     }
 
+    @Override
+    public boolean isBindingIndependent() {
+        return false;
+    }
+
     @Override
     public Class<?>[] getSupportedTypes() {
         return SUPPORTED_TYPES;
@@ -3,7 +3,7 @@ package org.algorithmx.rulii.validation.rules.email;
 import org.algorithmx.rulii.annotation.Description;
 import org.algorithmx.rulii.annotation.Rule;
 import org.algorithmx.rulii.core.context.RuleContext;
-import org.algorithmx.rulii.lib.apache.validation.EmailValidator;
+import org.algorithmx.rulii.lib.apache.validation.EmailScanner;
 import org.algorithmx.rulii.validation.BindingValidationRule;
 import org.algorithmx.rulii.validation.Severity;
 import org.algorithmx.rulii.validation.ValidationRuleException;
@@ -25,7 +25,7 @@ public class EmailValidationRule extends BindingValidationRule {
 
     private final boolean allowLocal;
     private final boolean allowTopLevelDomain;
-    private final EmailValidator validator;
+    private final EmailScanner validator;
 
     public EmailValidationRule(String bindingName, boolean allowLocal, boolean allowTopLevelDomain) {
         this(bindingName, ERROR_CODE, Severity.ERROR, null, allowLocal, allowTopLevelDomain);
@@ -36,7 +36,7 @@ public class EmailValidationRule extends BindingValidationRule {
         super(bindingName, errorCode, severity, errorMessage, DEFAULT_MESSAGE);
         this.allowLocal = allowLocal;
         this.allowTopLevelDomain = allowTopLevelDomain;
-        this.validator = EmailValidator.getInstance(allowLocal, allowTopLevelDomain);
+        this.validator = EmailScanner.getInstance(allowLocal, allowTopLevelDomain);
     }
 
     @Override
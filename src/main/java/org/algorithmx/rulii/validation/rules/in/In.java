@@ -7,6 +7,7 @@ import org.algorithmx.rulii.convert.Converter;
 import org.algorithmx.rulii.convert.ConverterRegistry;
 import org.algorithmx.rulii.core.rule.Rule;
 import org.algorithmx.rulii.lib.spring.core.Ordered;
+import org.algorithmx.rulii.util.collection.ValueSet;
 import org.algorithmx.rulii.validation.AnnotatedRunnableBuilder;
 import org.algorithmx.rulii.validation.Severity;
 import org.algorithmx.rulii.validation.ValidationRuleException;
@@ -16,9 +17,13 @@ import java.lang.annotation.Inherited;
 import java.lang.annotation.Repeatable;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.annotation.ElementType.ANNOTATION_TYPE;
 import static java.lang.annotation.ElementType.CONSTRUCTOR;
@@ -44,7 +49,18 @@ public @interface In {
 
     Severity severity() default Severity.ERROR;
 
-    String[] values();
+    String[] values() default {};
+
+    /**
+     * Value set file (see MappedValueSet) holding the allowed values; used instead of values for large reference
+     * lists. Values are matched by their String form, so source cannot be combined with type.
+     *
+     * Relative paths are resolved against the working directory of the JVM. Each file is memory mapped once and shared
+     * by all the rules that use it; the mapping is kept for the life of the JVM.
+     *
+     * @return path of the value set file.
+     */
+    String source() default NOT_APPLICABLE;
 
     Class<?> type() default void.class;
 
@@ -54,18 +70,39 @@ public @interface In {
 
     class InValidationRuleBuilder implements AnnotatedRunnableBuilder<In> {
 
+        // Value set files are mapped once (keyed by absolute path) and never released
+        private static final Map<String, ValueSet> SOURCES = new ConcurrentHashMap<>();
+
         public InValidationRuleBuilder() {
             super();
         }
 
         @Override
         public Rule build(In in, String bindingName) {
+            InValidationRule rule = new InValidationRule(bindingName, in.errorCode(),
+                    in.severity(), !NOT_APPLICABLE.equals(in.message()) ? in.message() : null, getValues(in));
+            return buildRule(rule, in.order(), !NOT_APPLICABLE.equals(in.when()) ? in.when() : null);
+        }
+
+        protected ValueSet getValues(In in) {
+            if (!NOT_APPLICABLE.equals(in.source())) {
+                if (in.values().length > 0)
+                    throw new ValidationRuleException("@In cannot have both values and a source [" + in.source() + "].");
+                if (!void.class.equals(in.type()))
+                    throw new ValidationRuleException("@In cannot have both a type [" + in.type()
+                            + "] and a source [" + in.source() + "]. Source values are matched by their String form.");
+
+                Path path = Paths.get(in.source()).toAbsolutePath().normalize();
+                return SOURCES.computeIfAbsent(path.toString(), p -> ValueSet.load(path));
+            }
+
+            if (in.values().length == 0)
+                throw new ValidationRuleException("@In must have either values or a source.");
+
             Set<Object> values = void.class.equals(in.type()) ?
                     new HashSet<>(Arrays.asList(in.values()))
                     : convertValues(in.values(), in.type(), RuliiSystem.getInstance().getConverterRegistry());
-            InValidationRule rule = new InValidationRule(bindingName, in.errorCode(),
-                    in.severity(), !NOT_APPLICABLE.equals(in.message()) ? in.message() : null, values);
-            return buildRule(rule, in.order(), !NOT_APPLICABLE.equals(in.when()) ? in.when() : null);
+            return ValueSet.of(values);
         }
 
         protected Set<Object> convertValues(String[] values, Class<?> type, ConverterRegistry registry) {
@@ -4,6 +4,7 @@ import org.algorithmx.rulii.annotation.Description;
 import org.algorithmx.rulii.annotation.Rule;
 import org.algorithmx.rulii.core.context.RuleContext;
 import org.algorithmx.rulii.lib.spring.util.Assert;
+import org.algorithmx.rulii.util.collection.ValueSet;
 import org.algorithmx.rulii.validation.BindingValidationRule;
 import org.algorithmx.rulii.validation.RuleViolationBuilder;
 import org.algorithmx.rulii.validation.Severity;
@@ -25,7 +26,7 @@ public class InValidationRule extends BindingValidationRule {
     public static final String ERROR_CODE       = "rulii.validation.rules.InValidationRule.errorCode";
     public static final String DEFAULT_MESSAGE  = "Value must be in one of the given values {1}. Given {0}.";
 
-    private final Set<?> values;
+    private final ValueSet values;
 
     public InValidationRule(String bindingName, Set<?> values) {
         this(bindingName, ERROR_CODE, Severity.ERROR, null, values);
@@ -33,6 +34,24 @@ public class InValidationRule extends BindingValidationRule {
 
     public InValidationRule(String bindingName, String errorCode, Severity severity, String errorMessage,
                             Set<?> values) {
+        this(bindingName, errorCode, severity, errorMessage, ValueSet.of(values));
+    }
+
+    public InValidationRule(String bindingName, ValueSet values) {
+        this(bindingName, ERROR_CODE, Severity.ERROR, null, values);
+    }
+
+    /**
+     * In rule backed by the given ValueSet (ex: compact or memory mapped set shared between rules).
+     *
+     * @param bindingName name of the Binding.
+     * @param errorCode error code.
+     * @param severity severity of the violation.
+     * @param errorMessage error message (optional).
+     * @param values allowed values.
+     */
+    public InValidationRule(String bindingName, String errorCode, Severity severity, String errorMessage,
+                            ValueSet values) {
         super(bindingName, errorCode, severity, errorMessage, DEFAULT_MESSAGE);
         Assert.notNull(values, "values cannot be null.");
         this.values = values;
@@ -53,7 +72,7 @@ public class InValidationRule extends BindingValidationRule {
         return SUPPORTED_TYPES;
     }
 
-    public Set<?> getValues() {
+    public ValueSet getValues() {
         return values;
     }
 
@@ -35,6 +35,11 @@ public class ScriptAssertRule extends BindingValidationRule {
         return scriptCondition;
     }
 
+    @Override
+    public boolean isBindingIndependent() {
+        return false;
+    }
+
     @Override
     public Class<?>[] getSupportedTypes() {
         return SUPPORTED_TYPES;
@@ -7,7 +7,7 @@ import org.algorithmx.rulii.annotation.Rule;
 import org.algorithmx.rulii.bind.match.MatchByTypeMatchingStrategy;
 import org.algorithmx.rulii.core.context.RuleContext;
 import org.algorithmx.rulii.lib.apache.validation.RegexValidator;
-import org.algorithmx.rulii.lib.apache.validation.UrlValidator;
+import org.algorithmx.rulii.lib.apache.validation.UrlScanner;
 import org.algorithmx.rulii.validation.BindingValidationRule;
 import org.algorithmx.rulii.validation.RuleViolationBuilder;
 import org.algorithmx.rulii.validation.RuleViolations;
@@ -33,7 +33,7 @@ public class UrlValidationRule extends BindingValidationRule {
 
     private String[] schemes;
     private String[] patterns;
-    private UrlValidator validator;
+    private UrlScanner validator;
 
     public UrlValidationRule(String bindingName, String[] schemes, String...patterns) {
         this(bindingName, ERROR_CODE, Severity.ERROR, null, schemes, patterns);
@@ -44,7 +44,7 @@ public class UrlValidationRule extends BindingValidationRule {
         super(bindingName, errorCode, severity, errorMessage, DEFAULT_MESSAGE);
         this.schemes = schemes;
         this.patterns = patterns;
-        this.validator = new UrlValidator(schemes, patterns != null ? new RegexValidator(patterns) : null, 0L);
+        this.validator = new UrlScanner(schemes, patterns != null ? new RegexValidator(patterns) : null, 0L);
     }
 
     @Override
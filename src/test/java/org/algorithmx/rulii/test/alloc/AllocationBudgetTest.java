@@ -0,0 +1,181 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.alloc;
+
+import org.algorithmx.rulii.annotation.Given;
+import org.algorithmx.rulii.annotation.Rule;
+import org.algorithmx.rulii.annotation.Then;
+import org.algorithmx.rulii.annotation.Validate;
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.rules.min.Min;
+import org.algorithmx.rulii.validation.rules.notnull.NotNull;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Allocation budget regression tests; fails when the bytes allocated per execution of a scenario exceed the budget
+ * configured in allocation-budgets.properties.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class AllocationBudgetTest {
+
+    public AllocationBudgetTest() {
+        super();
+    }
+
+    @Before
+    public void checkSupported() {
+        Assume.assumeTrue("Thread allocation measurement not supported", AllocationMeter.isSupported());
+    }
+
+    @Test
+    public void testLambdaRule() {
+        RuleContext context = createContext();
+        org.algorithmx.rulii.core.rule.Rule<?> rule = RuleBuilder
+                .name("LambdaRule")
+                .given(ConditionBuilder.build((Integer value) -> value != null && value < 10))
+                .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                .build();
+
+        assertBudget("rule.lambda", () -> rule.run(context));
+    }
+
+    @Test
+    public void testClassRule() {
+        RuleContext context = createContext();
+        org.algorithmx.rulii.core.rule.Rule<?> rule = RuleBuilder.build(CountingRule.class);
+        assertBudget("rule.class", () -> rule.run(context));
+    }
+
+    @Test
+    public void testSkippedRule() {
+        RuleContext context = createContext();
+        org.algorithmx.rulii.core.rule.Rule<?> rule = RuleBuilder
+                .name("SkippedRule")
+                .preCondition(ConditionBuilder.build((Integer value) -> value > 100))
+                .given(ConditionBuilder.build((Integer value) -> value < 10))
+                .build();
+
+        assertBudget("rule.skipped", () -> rule.run(context));
+    }
+
+    @Test
+    public void testRuleSet() {
+        RuleContext context = createContext();
+        RuleSetBuilder builder = RuleSetBuilder.with("AllocationRuleSet");
+
+        for (int i = 0; i < 10; i++) {
+            builder.rule(RuleBuilder
+                    .name("Rule" + i)
+                    .given(i % 2 == 0
+                            ? ConditionBuilder.build((Integer value) -> value > 0)
+                            : ConditionBuilder.build((Integer value) -> value < 0))
+                    .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                    .build());
+        }
+
+        RuleSet rules = builder.build();
+        assertBudget("ruleset.10", () -> rules.run(context));
+    }
+
+    @Test
+    public void testBeanValidator() {
+        RuleContext context = createContext();
+        Order order = new Order();
+
+        for (int i = 0; i < 5; i++) {
+            order.items.add(new LineItem(i % 2 == 0 ? null : "sku-" + i, i));
+        }
+
+        BeanHolder holder = new BeanHolder(order, Order.class);
+        assertBudget("bean.validate.5", () -> new BeanValidator().validate(context, order, holder));
+    }
+
+    private static void assertBudget(String scenario, Supplier<?> execution) {
+        long budget = AllocationMeter.getBudget(scenario);
+        long actual = AllocationMeter.measure(execution);
+        Assert.assertTrue("Scenario [" + scenario + "] allocated [" + actual + "] bytes per execution; budget is ["
+                + budget + "]", actual <= budget);
+    }
+
+    private static RuleContext createContext() {
+        return RuleContextBuilder.with(Bindings.create()
+                    .bind("value", Integer.class, 5)
+                    .bind("count", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .build();
+    }
+
+    @Rule(name = "CountingRule")
+    public static class CountingRule {
+
+        public CountingRule() {
+            super();
+        }
+
+        @Given
+        public boolean when(Integer value) {
+            return value != null && value < 10;
+        }
+
+        @Then
+        public void then(Binding<Integer> count) {
+            count.setValue(count.getValue() + 1);
+        }
+    }
+
+    public static class Order {
+
+        @Validate
+        private final List<@Validate LineItem> items = new ArrayList<>();
+    }
+
+    public static class LineItem {
+
+        @NotNull
+        private final String sku;
+        @Min(1)
+        private final Integer quantity;
+
+        public LineItem(String sku, Integer quantity) {
+            super();
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.alloc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+/**
+ * Measures the bytes allocated (by the current thread) per execution of a scenario using
+ * com.sun.management.ThreadMXBean#getThreadAllocatedBytes. Budgets (bytes per execution) are read from
+ * allocation-budgets.properties and can be overridden with system properties of the same name.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public final class AllocationMeter {
+
+    public static final String BUDGET_FILE = "allocation-budgets.properties";
+
+    private static final int DEFAULT_WARMUP = 5_000;
+    private static final int DEFAULT_ITERATIONS = 5_000;
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = loadThreadBean();
+    private static final Properties BUDGETS = loadBudgets();
+
+    private AllocationMeter() {
+        super();
+    }
+
+    /**
+     * Determines whether per thread allocation measurements are supported on this JVM.
+     *
+     * @return true if supported.
+     */
+    public static boolean isSupported() {
+        return THREAD_BEAN != null;
+    }
+
+    public static long measure(Supplier<?> scenario) {
+        return measure(scenario, DEFAULT_WARMUP, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * Runs the scenario (warmup first, so JIT/escape analysis has kicked in) and returns the average number of bytes
+     * allocated per execution.
+     *
+     * @param scenario scenario to execute.
+     * @param warmup number of warmup executions.
+     * @param iterations number of measured executions.
+     * @return bytes allocated per execution.
+     */
+    public static long measure(Supplier<?> scenario, int warmup, int iterations) {
+        if (!isSupported()) throw new IllegalStateException("Thread allocation measurement is not supported.");
+
+        Object sink = null;
+
+        for (int i = 0; i < warmup; i++) {
+            sink = scenario.get();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long start = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < iterations; i++) {
+            sink = scenario.get();
+        }
+
+        long end = THREAD_BEAN.getThreadAllocatedBytes(threadId);
+        // Keep the result reachable so the scenario cannot be optimized away.
+        if (sink == AllocationMeter.class) throw new IllegalStateException();
+        return (end - start) / iterations;
+    }
+
+    /**
+     * Returns the configured budget (bytes per execution) of the given scenario.
+     *
+     * @param scenario scenario name.
+     * @return budget.
+     */
+    public static long getBudget(String scenario) {
+        String value = System.getProperty(scenario, BUDGETS.getProperty(scenario));
+        if (value == null) throw new IllegalStateException("No allocation budget defined for [" + scenario + "] in "
+                + BUDGET_FILE);
+        return Long.parseLong(value.trim());
+    }
+
+    private static com.sun.management.ThreadMXBean loadThreadBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+
+            com.sun.management.ThreadMXBean result = (com.sun.management.ThreadMXBean) bean;
+            if (!result.isThreadAllocatedMemorySupported()) return null;
+            if (!result.isThreadAllocatedMemoryEnabled()) result.setThreadAllocatedMemoryEnabled(true);
+            return result;
+        } catch (LinkageError | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static Properties loadBudgets() {
+        Properties result = new Properties();
+
+        try (InputStream in = AllocationMeter.class.getClassLoader().getResourceAsStream(BUDGET_FILE)) {
+            if (in != null) result.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load " + BUDGET_FILE, e);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.bind;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.bind.PersistentBindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.Rule;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.util.collection.PersistentHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Tests for the persistent (HAMT based) Bindings.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class PersistentBindingsTest {
+
+    public PersistentBindingsTest() {
+        super();
+    }
+
+    @Test
+    public void testPersistentHashMap() {
+        Map<String, Integer> expected = new HashMap<>();
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5000; i++) {
+            String key = "key" + random.nextInt(3000);
+            expected.put(key, i);
+            map = map.put(key, i);
+        }
+
+        // Colliding hashes ("Aa" and "BB")
+        expected.put("Aa", 1);
+        expected.put("BB", 2);
+        map = map.put("Aa", 1).put("BB", 2);
+
+        Assert.assertEquals(expected.size(), map.size());
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+
+        PersistentHashMap<String, Integer> updated = map.put("Aa", 100).put("new-key", 7);
+        Assert.assertEquals(1, (int) map.get("Aa"));
+        Assert.assertNull(map.get("new-key"));
+        Assert.assertEquals(100, (int) updated.get("Aa"));
+        Assert.assertEquals(map.size() + 1, updated.size());
+        Assert.assertSame(map, map.put("BB", map.get("BB")));
+    }
+
+    @Test
+    public void testFork() {
+        PersistentBindings base = Bindings.createPersistent()
+                .bind("income", Integer.class, 50000)
+                .bind("rate", Double.class, 0.2d);
+        Binding<Integer> income = base.getBinding("income");
+
+        PersistentBindings scenario1 = base.fork();
+        PersistentBindings scenario2 = base.fork();
+
+        scenario1.setValue("income", 60000);
+        scenario2.setValue("income", 70000);
+        scenario2.bind("bonus", Integer.class, 10);
+
+        Assert.assertEquals(50000, (int) base.getValue("income"));
+        Assert.assertEquals(60000, (int) scenario1.getValue("income"));
+        Assert.assertEquals(70000, (int) scenario2.getValue("income"));
+        Assert.assertFalse(base.contains("bonus"));
+        Assert.assertFalse(scenario1.contains("bonus"));
+        Assert.assertEquals(3, scenario2.size());
+
+        // Binding obtained before the fork still belongs to the base
+        income.setValue(55000);
+        Assert.assertEquals(55000, (int) income.getValue());
+        Assert.assertEquals(55000, (int) base.getValue("income"));
+        Assert.assertEquals(60000, (int) scenario1.getValue("income"));
+
+        // Forks of forks
+        PersistentBindings scenario3 = scenario1.fork();
+        scenario3.getBinding("rate", Double.class).setValue(0.3d);
+        Assert.assertEquals(0.2d, scenario1.getValue("rate"), 0.0d);
+        Assert.assertEquals(0.3d, scenario3.getValue("rate"), 0.0d);
+        Assert.assertEquals(60000, (int) scenario3.getValue("income"));
+    }
+
+    @Test
+    public void testSnapshot() {
+        PersistentBindings base = Bindings.createPersistent().bind("value", Integer.class, 1);
+        PersistentBindings snapshot = base.snapshot();
+        base.setValue("value", 2);
+
+        Assert.assertTrue(snapshot.isReadOnly());
+        Assert.assertEquals(1, (int) snapshot.getValue("value"));
+        Assert.assertEquals(2, (int) base.getValue("value"));
+        Assert.assertEquals(1, snapshot.asMap().get("value"));
+        Assert.assertEquals(2, (int) base.asImmutableBindings().getValue("value"));
+
+        try {
+            snapshot.bind("other", Integer.class, 1);
+            Assert.fail("Snapshots cannot be edited");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        try {
+            snapshot.getBinding("value").setValue(5);
+            Assert.fail("Snapshots cannot be edited");
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        Assert.assertEquals(1, (int) snapshot.getValue("value"));
+    }
+
+    @Test
+    public void testWhatIfScenarios() {
+        Rule rule = RuleBuilder
+                .name("TaxRule")
+                .given(ConditionBuilder.build((Integer income) -> income > 55000))
+                .then(ActionBuilder.build((Binding<Integer> tax) -> tax.setValue(tax.getValue() + 100)))
+                .build();
+        PersistentBindings base = Bindings.createPersistent()
+                .bind("income", Integer.class, 50000)
+                .bind("tax", Integer.class, 0);
+
+        int[] incomes = {40000, 60000, 70000};
+        PersistentBindings[] scenarios = new PersistentBindings[incomes.length];
+
+        for (int i = 0; i < incomes.length; i++) {
+            scenarios[i] = base.fork();
+            scenarios[i].setValue("income", incomes[i]);
+            rule.run(RuleContextBuilder.with(scenarios[i]).ruleRegistry(RuleRegistry.create()).build());
+        }
+
+        Assert.assertEquals(0, (int) base.getValue("tax"));
+        Assert.assertEquals(0, (int) scenarios[0].getValue("tax"));
+        Assert.assertEquals(100, (int) scenarios[1].getValue("tax"));
+        Assert.assertEquals(100, (int) scenarios[2].getValue("tax"));
+    }
+}
@@ -18,8 +18,13 @@
 
 package org.algorithmx.rulii.test.condition;
 
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.condition.CompositeCondition;
 import org.algorithmx.rulii.core.condition.Condition;
 import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.condition.SimpleCondition;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
 import org.algorithmx.rulii.core.function.TriFunction;
 import org.algorithmx.rulii.util.TypeReference;
 import org.junit.Assert;
@@ -199,4 +204,28 @@ public class ConditionTest {
                 .getType().equals(new TypeReference<Map<String, Integer>>(){}.getType()));
         Assert.assertTrue(condition.isTrue("aa", 12, new HashMap<>()));
     }
+
+    @Test
+    public void testCompositeCondition() {
+        SimpleCondition greaterThan10 = ConditionBuilder.build((Integer a) -> a > 10);
+        SimpleCondition lessThan20 = ConditionBuilder.build((Integer a) -> a < 20);
+        SimpleCondition greaterThan20 = ConditionBuilder.build((Integer a) -> a > 20);
+
+        // Both operands must be evaluated (the right operand used to be ignored)
+        CompositeCondition and = greaterThan10.and(lessThan20);
+        Assert.assertTrue(and.isTrue(createContext(15)));
+        Assert.assertFalse(and.isTrue(createContext(25)));
+
+        CompositeCondition or = lessThan20.not().or(greaterThan20);
+        Assert.assertTrue(or.isTrue(createContext(25)));
+        Assert.assertFalse(or.isTrue(createContext(15)));
+
+        CompositeCondition xor = greaterThan10.xor(greaterThan20);
+        Assert.assertTrue(xor.isTrue(createContext(15)));
+        Assert.assertFalse(xor.isTrue(createContext(25)));
+    }
+
+    private static RuleContext createContext(int a) {
+        return RuleContextBuilder.build(Bindings.create().bind("a", Integer.class, a));
+    }
 }
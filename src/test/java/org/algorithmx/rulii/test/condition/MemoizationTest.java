@@ -0,0 +1,164 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.condition;
+
+import org.algorithmx.rulii.annotation.Given;
+import org.algorithmx.rulii.annotation.Pure;
+import org.algorithmx.rulii.annotation.Rule;
+import org.algorithmx.rulii.annotation.Then;
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.core.condition.Condition;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.condition.DefaultCondition;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.function.DefaultFunction;
+import org.algorithmx.rulii.core.function.Function;
+import org.algorithmx.rulii.core.function.FunctionBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.util.cache.ArgumentKey;
+import org.algorithmx.rulii.util.cache.CacheStats;
+import org.algorithmx.rulii.util.cache.ResultCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for memoized (pure) Conditions and Functions.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class MemoizationTest {
+
+    private static final AtomicInteger CONDITION_CALLS = new AtomicInteger();
+    private static final AtomicInteger FUNCTION_CALLS = new AtomicInteger();
+    private static final AtomicInteger RULE_CALLS = new AtomicInteger();
+
+    public MemoizationTest() {
+        super();
+    }
+
+    @Test
+    public void testMemoizedCondition() {
+        CONDITION_CALLS.set(0);
+        Condition condition = ConditionBuilder
+                .with((Integer value) -> CONDITION_CALLS.incrementAndGet() > 0 && value > 10)
+                .memoize(100)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(condition.isTrue(createContext(Bindings.create().bind("value", Integer.class, 20))));
+            Assert.assertFalse(condition.isTrue(createContext(Bindings.create().bind("value", Integer.class, 5))));
+        }
+
+        // Each distinct input is only evaluated once
+        Assert.assertEquals(2, CONDITION_CALLS.get());
+        CacheStats stats = ((DefaultCondition) condition).getResultCache().getStats();
+        Assert.assertEquals(18, stats.getHitCount());
+        Assert.assertEquals(2, stats.getMissCount());
+    }
+
+    @Test
+    public void testMemoizedFunction() {
+        FUNCTION_CALLS.set(0);
+        Function<String> function = FunctionBuilder
+                .with((Integer income) -> FUNCTION_CALLS.incrementAndGet() > 0 && income > 50000 ? "HIGH" : "LOW")
+                .memoize(10, 1, TimeUnit.HOURS)
+                .build();
+        RuleContext context = createContext(Bindings.create().bind("income", Integer.class, 75000));
+
+        Assert.assertEquals("HIGH", function.apply(context));
+        Assert.assertEquals("HIGH", function.apply(context));
+        Assert.assertEquals(1, FUNCTION_CALLS.get());
+        Assert.assertEquals(1, ((DefaultFunction) function).getResultCache().size());
+    }
+
+    @Test
+    public void testPureRule() {
+        RULE_CALLS.set(0);
+        org.algorithmx.rulii.core.rule.Rule rule = RuleBuilder.build(TaxBandRule.class);
+        Bindings bindings = Bindings.create()
+                .bind("income", Integer.class, 20000)
+                .bind("count", Integer.class, 0);
+        RuleContext context = createContext(bindings);
+
+        for (int i = 0; i < 5; i++) {
+            rule.run(context);
+        }
+
+        // Condition is cached but the Actions still run
+        Assert.assertEquals(1, RULE_CALLS.get());
+        Assert.assertEquals(5, (int) bindings.getValue("count"));
+    }
+
+    @Test(expected = UnrulyException.class)
+    public void testPureWithBinding() {
+        ConditionBuilder
+                .with((Binding<Integer> value) -> value.getValue() > 10)
+                .memoize(10)
+                .build();
+    }
+
+    @Test
+    public void testResultCacheEviction() throws Exception {
+        ResultCache<ArgumentKey, String> cache = ResultCache.create(1);
+        cache.put(ArgumentKey.of(1, "a"), "x");
+        Assert.assertEquals("x", cache.get(ArgumentKey.of(1, "a")));
+        cache.put(ArgumentKey.of(2, "b"), "y");
+        Assert.assertNull(cache.get(ArgumentKey.of(1, "a")));
+        Assert.assertEquals(1, cache.getStats().getEvictionCount());
+
+        ResultCache<ArgumentKey, String> expiring = ResultCache.create(10, 1, TimeUnit.MILLISECONDS);
+        expiring.put(ArgumentKey.of(new int[] {1, 2}), "z");
+        Assert.assertEquals("z", expiring.get(ArgumentKey.of(new int[] {1, 2})));
+        Thread.sleep(5);
+        Assert.assertNull(expiring.get(ArgumentKey.of(new int[] {1, 2})));
+        Assert.assertEquals(1, expiring.getStats().getExpirationCount());
+    }
+
+    private static RuleContext createContext(Bindings bindings) {
+        return RuleContextBuilder.with(bindings).ruleRegistry(RuleRegistry.create()).build();
+    }
+
+    @Rule(name = "TaxBandRule")
+    @Pure(maxSize = 100)
+    public static class TaxBandRule {
+
+        public TaxBandRule() {
+            super();
+        }
+
+        @Given
+        public boolean when(Integer income) {
+            RULE_CALLS.incrementAndGet();
+            return income < 50000;
+        }
+
+        @Then
+        public void then(Binding<Integer> count) {
+            count.setValue(count.getValue() + 1);
+        }
+    }
+}
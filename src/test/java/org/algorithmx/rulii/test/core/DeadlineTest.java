@@ -0,0 +1,206 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.core;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.context.RuleEngine;
+import org.algorithmx.rulii.core.context.RuleSession;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.Rule;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.rule.RuleExecutionStatus;
+import org.algorithmx.rulii.core.rule.RuleResult;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSetResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for execution deadlines and Rule execution limits.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class DeadlineTest {
+
+    public DeadlineTest() {
+        super();
+    }
+
+    @Test
+    public void testRuleTimeout() {
+        Rule rule = RuleBuilder
+                .name("SlowRule")
+                .timeout(5, TimeUnit.MILLISECONDS)
+                .given(ConditionBuilder.build((Integer value) -> spin(25)))
+                .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                .build();
+
+        Bindings bindings = Bindings.create()
+                .bind("value", Integer.class, 1)
+                .bind("count", Integer.class, 0);
+        RuleContext context = RuleContextBuilder.with(bindings).ruleRegistry(RuleRegistry.create()).build();
+        RuleResult result = (RuleResult) rule.run(context);
+
+        Assert.assertEquals(RuleExecutionStatus.TIMED_OUT, result.getStatus());
+        // Action must not run once the budget is used up
+        Assert.assertEquals(0, (int) bindings.getValue("count"));
+        Assert.assertTrue(context.isActive());
+        Assert.assertFalse(context.isTimedOut());
+    }
+
+    @Test
+    public void testRuleTimeoutInRuleSet() {
+        RuleSet rules = RuleSetBuilder
+                .with("RuleSet1")
+                .rule(RuleBuilder
+                        .name("SlowRule")
+                        .timeout(5, TimeUnit.MILLISECONDS)
+                        .given(ConditionBuilder.build((Integer value) -> spin(25)))
+                        .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer value) -> value > 0))
+                        .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                        .build())
+                .build();
+
+        Bindings bindings = Bindings.create()
+                .bind("value", Integer.class, 1)
+                .bind("count", Integer.class, 0);
+        RuleContext context = RuleContextBuilder.with(bindings).ruleRegistry(RuleRegistry.create()).build();
+        RuleSetResult result = rules.run(context);
+
+        // Only the slow Rule times out; its siblings still run
+        Assert.assertFalse(result.isTimedOut());
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals(1, result.getTimedOutResults().length);
+        Assert.assertEquals("Rule2", result.getLastResult().getRuleName());
+        Assert.assertEquals(1, (int) bindings.getValue("count"));
+    }
+
+    @Test
+    public void testContextTimeout() {
+        RuleSet rules = RuleSetBuilder
+                .with("RuleSet1")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer value) -> spin(25)))
+                        .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer value) -> value > 0))
+                        .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                        .build())
+                .build();
+
+        Bindings bindings = Bindings.create()
+                .bind("value", Integer.class, 1)
+                .bind("count", Integer.class, 0);
+        RuleContext context = RuleContextBuilder.with(bindings)
+                .ruleRegistry(RuleRegistry.create())
+                .timeout(5, TimeUnit.MILLISECONDS)
+                .build();
+        RuleSetResult result = rules.run(context);
+
+        Assert.assertTrue(context.isTimedOut());
+        Assert.assertTrue(result.isTimedOut());
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals(1, result.getTimedOutResults().length);
+        Assert.assertEquals("Rule1", result.getLastResult().getRuleName());
+        Assert.assertEquals(0, (int) bindings.getValue("count"));
+
+        // Anything run after the deadline ends straight away
+        Rule rule = rules.get("Rule2", Rule.class);
+        Assert.assertEquals(RuleExecutionStatus.TIMED_OUT, ((RuleResult) rule.run(context)).getStatus());
+    }
+
+    @Test
+    public void testMaxRuleExecutions() {
+        RuleSet rules = RuleSetBuilder
+                .with("RuleSet1")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer value) -> value > 0))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer value) -> value > 0))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule3")
+                        .given(ConditionBuilder.build((Integer value) -> value > 0))
+                        .build())
+                .build();
+
+        RuleContext context = RuleContextBuilder.with(Bindings.create().bind("value", Integer.class, 1))
+                .ruleRegistry(RuleRegistry.create())
+                .maxRuleExecutions(2)
+                .build();
+        RuleSetResult result = rules.run(context);
+
+        // Hitting the execution limit is not a timeout
+        Assert.assertTrue(result.isBudgetExhausted());
+        Assert.assertFalse(result.isTimedOut());
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals(2, result.getPassed().length);
+        Assert.assertEquals(2, context.getBudget().getRuleExecutions());
+
+        // A Rule run once the limit has been reached does not start
+        Rule rule = RuleBuilder
+                .name("Rule4")
+                .given(ConditionBuilder.build((Integer value) -> value > 0))
+                .build();
+        Assert.assertEquals(RuleExecutionStatus.BUDGET_EXHAUSTED, rule.run(context).getStatus());
+    }
+
+    @Test
+    public void testSessionBudget() {
+        RuleEngine engine = RuleContextBuilder.with()
+                .ruleRegistry(RuleRegistry.create())
+                .timeout(5, TimeUnit.MILLISECONDS)
+                .buildEngine();
+        RuleSession session = engine.newSession();
+
+        Assert.assertTrue(session.getBudget().hasDeadline());
+        spin(10);
+        Assert.assertTrue(session.isTimedOut());
+
+        // Reset gives the session a fresh budget
+        session.reset();
+        Assert.assertFalse(session.isTimedOut());
+        Assert.assertTrue(session.createChildContext().getBudget() == session.getBudget());
+    }
+
+    private static boolean spin(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() - end < 0) Thread.yield();
+        return true;
+    }
+}
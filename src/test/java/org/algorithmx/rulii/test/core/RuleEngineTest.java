@@ -0,0 +1,180 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.core;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.bind.ReservedBindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.context.RuleEngine;
+import org.algorithmx.rulii.core.context.RuleSession;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.metrics.RuleMetricsListener;
+import org.algorithmx.rulii.metrics.RuleMetricsRegistry;
+import org.algorithmx.rulii.script.ScriptProcessor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for the shareable RuleEngine and its sessions.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class RuleEngineTest {
+
+    public RuleEngineTest() {
+        super();
+    }
+
+    @Test
+    public void testSessionReset() {
+        RuleEngine engine = RuleContextBuilder.with().ruleRegistry(RuleRegistry.create()).buildEngine();
+        RuleSession session = engine.newSession(Bindings.create().bind("value", Integer.class, 5));
+
+        Assert.assertSame(session, session.getBindings().getValue(ReservedBindings.RULE_CONTEXT.getName()));
+        Assert.assertEquals(5, (int) session.getBindings().getValue("value"));
+
+        session.getBindings().addScope("request-scope").bind("temp", String.class, "x");
+        session.stopExecution();
+        Assert.assertFalse(session.isActive());
+
+        session.reset(Bindings.create().bind("value", Integer.class, 7));
+        Assert.assertTrue(session.isActive());
+        Assert.assertEquals(2, session.getBindings().getScopeSize());
+        Assert.assertNull(session.getBindings().getBinding("temp"));
+        Assert.assertEquals(7, (int) session.getBindings().getValue("value"));
+        Assert.assertSame(session, session.getBindings().getValue(ReservedBindings.RULE_CONTEXT.getName()));
+
+        // Sessions share the engine configuration but not the event state
+        RuleSession other = engine.newSession();
+        Assert.assertSame(session.getRuleRegistry(), other.getRuleRegistry());
+        Assert.assertSame(session.getConverterRegistry(), other.getConverterRegistry());
+        Assert.assertNotSame(session.getEventProcessor(), other.getEventProcessor());
+    }
+
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        RuleMetricsRegistry metrics = RuleMetricsRegistry.create();
+        RuleEngine engine = RuleContextBuilder.with()
+                .ruleRegistry(RuleRegistry.create())
+                .traceUsing(new RuleMetricsListener(metrics))
+                .buildEngine();
+
+        RuleSet rules = RuleSetBuilder
+                .with("RuleSet1")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer value) -> value % 2 == 0))
+                        .then(ActionBuilder.build((Binding<Integer> count) -> count.setValue(count.getValue() + 1)))
+                        .build())
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < 4; t++) {
+                results.add(executor.submit(() -> {
+                    RuleSession session = engine.newSession();
+                    int passed = 0;
+
+                    for (int i = 0; i < 100; i++) {
+                        Bindings bindings = Bindings.create()
+                                .bind("value", Integer.class, i)
+                                .bind("count", Integer.class, 0);
+                        rules.run(session.reset(bindings));
+                        passed += bindings.<Integer>getValue("count");
+                    }
+
+                    return passed;
+                }));
+            }
+
+            for (Future<Integer> result : results) {
+                Assert.assertEquals(50, (int) result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(400, metrics.getRuleSetMetrics("RuleSet1").getPassCount());
+        Assert.assertEquals(200, metrics.getRuleMetrics("Rule1").getPassCount());
+    }
+
+    @Test
+    public void testDefaultEngine() {
+        RuleContext session = RuleEngine.create().newSession();
+        Assert.assertTrue(session.isActive());
+        Assert.assertNotNull(session.getRuleRegistry());
+    }
+
+    @Test
+    public void testScriptEnginePerThread() throws Exception {
+        ScriptEngineFactory factory = createScriptEngineFactory();
+        RuleEngine engine = RuleContextBuilder.with()
+                .ruleRegistry(RuleRegistry.create())
+                .scriptProcessor(ScriptProcessor.create(factory.getScriptEngine()))
+                .buildEngine();
+
+        ScriptEngine current = engine.newSession().getScriptProcessor().getEngine();
+        Assert.assertSame(current, engine.newSession().getScriptProcessor().getEngine());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            ScriptEngine other = executor.submit(() -> engine.newSession().getScriptProcessor().getEngine()).get();
+            Assert.assertNotSame(current, other);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static ScriptEngineFactory createScriptEngineFactory() {
+        ScriptEngineFactory[] factory = new ScriptEngineFactory[1];
+        factory[0] = (ScriptEngineFactory) Proxy.newProxyInstance(getClassLoader(),
+                new Class<?>[] {ScriptEngineFactory.class}, (proxy, method, args) -> {
+                    if ("getScriptEngine".equals(method.getName())) {
+                        return Proxy.newProxyInstance(getClassLoader(), new Class<?>[] {ScriptEngine.class},
+                                (engine, m, a) -> "getFactory".equals(m.getName()) ? factory[0] : null);
+                    }
+                    return null;
+                });
+        return factory[0];
+    }
+
+    private static ClassLoader getClassLoader() {
+        return RuleEngineTest.class.getClassLoader();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.extract;
+
+import org.algorithmx.rulii.annotation.Validate;
+import org.algorithmx.rulii.annotation.ValidationMarker;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.util.reflect.ObjectFactory;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.extract.AnnotatedTypeValueExtractor;
+import org.algorithmx.rulii.validation.extract.ExtractorRegistry;
+import org.algorithmx.rulii.validation.rules.min.Min;
+import org.algorithmx.rulii.validation.rules.notnull.NotNull;
+import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinition;
+import org.algorithmx.rulii.validation.types.AnnotatedTypeDefinitionBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class StreamingExtractionTest {
+
+    public StreamingExtractionTest() {
+        super();
+    }
+
+    @Test
+    public void testExtractIterable() throws NoSuchFieldException {
+        AnnotatedTypeDefinition definition = AnnotatedTypeDefinitionBuilder.with(
+                LazyBean.class.getDeclaredField("values").getAnnotatedType(), Validate.class, ValidationMarker.class)
+                .build();
+        AtomicInteger count = new AtomicInteger();
+
+        new AnnotatedTypeValueExtractor().extract(definition, new Sequence(1000), ExtractorRegistry.create(),
+                ObjectFactory.create(), (d, value) -> count.incrementAndGet());
+        // The container + the elements
+        Assert.assertEquals(1001, count.get());
+    }
+
+    @Test
+    public void testProcessorErrors() throws NoSuchFieldException {
+        AnnotatedTypeDefinition definition = AnnotatedTypeDefinitionBuilder.with(
+                LazyBean.class.getDeclaredField("values").getAnnotatedType(), Validate.class, ValidationMarker.class)
+                .build();
+
+        try {
+            new AnnotatedTypeValueExtractor().extract(definition, new Sequence(10), ExtractorRegistry.create(),
+                    ObjectFactory.create(), (d, value) -> {
+                        if ("value-5".equals(value)) throw new IllegalStateException();
+                    });
+            Assert.fail("IllegalStateException expected.");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testValidateLazyContainers() {
+        LazyBean bean = new LazyBean();
+        bean.values = new Sequence(100_000);
+        bean.numbers = IntStream.range(0, 100).boxed();
+
+        RuleViolations violations = new BeanValidator().validate(
+                RuleContextBuilder.with(Bindings.create()).ruleRegistry(RuleRegistry.create()).build(),
+                bean, new BeanHolder(bean, LazyBean.class));
+        // every 10,000th value is null + 0 is less than 1
+        Assert.assertEquals(10 + 1, violations.size());
+    }
+
+    public static class LazyBean {
+
+        @Validate
+        private Iterable<@NotNull String> values;
+        @Validate
+        private Stream<@Min(1) Integer> numbers;
+    }
+
+    /**
+     * Iterable that creates its values as it is iterated.
+     */
+    private static class Sequence implements Iterable<String> {
+
+        private final int size;
+
+        private Sequence(int size) {
+            super();
+            this.size = size;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public String next() {
+                    int result = index++;
+                    return result % 10_000 == 0 ? null : "value-" + result;
+                }
+            };
+        }
+    }
+}
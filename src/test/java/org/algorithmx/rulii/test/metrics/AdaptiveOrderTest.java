@@ -0,0 +1,182 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.metrics;
+
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.core.condition.AdaptiveCompositeCondition;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSetResult;
+import org.algorithmx.rulii.core.ruleset.RulingFamily;
+import org.algorithmx.rulii.core.ruleset.StopConditions;
+import org.algorithmx.rulii.metrics.AdaptiveOrder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the adaptive ordering of Conditions and RuleSet items.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class AdaptiveOrderTest {
+
+    public AdaptiveOrderTest() {
+        super();
+    }
+
+    @Test
+    public void testAdaptiveCondition() {
+        AdaptiveCompositeCondition condition = new AdaptiveCompositeCondition(AdaptiveCompositeCondition.Operator.AND,
+                10,
+                ConditionBuilder.build((Integer value) -> spin(1) && value > 0),
+                ConditionBuilder.build((Integer value) -> value < 0));
+
+        for (int i = 0; i < 20; i++) {
+            Assert.assertFalse(condition.isTrue(createContext()));
+        }
+
+        // The cheap (and always false) Condition is moved up front
+        AdaptiveOrder order = condition.getAdaptiveOrder();
+        Assert.assertEquals(1, order.getOrder()[0]);
+        Assert.assertEquals(1, order.getReorderCount());
+        Assert.assertEquals(1, order.snapshot().get(0).getIndex());
+        Assert.assertEquals(1.0d, order.snapshot().get(0).getDecisiveRate(), 0.0d);
+
+        AdaptiveCompositeCondition any = AdaptiveCompositeCondition.anyOf(
+                ConditionBuilder.build((Integer value) -> value < 0),
+                ConditionBuilder.build((Integer value) -> value > 0));
+        Assert.assertTrue(any.isTrue(createContext()));
+    }
+
+    @Test
+    public void testAdaptiveRuleSet() {
+        RuleSet rules = RuleSetBuilder
+                .with("RuleSet1")
+                .rule(RuleBuilder
+                        .name("SlowRule")
+                        .given(ConditionBuilder.build((Integer value) -> spin(1) && value > 0))
+                        .build())
+                .rule(RuleBuilder
+                        .name("FailingRule")
+                        .given(ConditionBuilder.build((Integer value) -> value < 0))
+                        .build())
+                .stopCondition(StopConditions.ANY_FAIL)
+                .adaptiveOrdering(5)
+                .build();
+
+        RuleSetResult result = null;
+
+        for (int i = 0; i < 10; i++) {
+            result = rules.run(createContext());
+            Assert.assertTrue(result.isAnyFail());
+        }
+
+        // Once reordered the failing Rule ends the RuleSet straight away
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("FailingRule", result.getLastResult().getRuleName());
+        AdaptiveOrder order = ((RulingFamily) rules).getAdaptiveOrder();
+        Assert.assertEquals("FailingRule", order.snapshot().get(0).getName());
+        Assert.assertEquals(10, order.getExecutionCount());
+    }
+
+    @Test(expected = UnrulyException.class)
+    public void testAdaptiveRuleSetWithoutAnyFail() {
+        RuleSetBuilder
+                .with("RuleSet1")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer value) -> value > 0))
+                        .build())
+                .adaptiveOrdering()
+                .build();
+    }
+
+    @Test
+    public void testExploration() {
+        AdaptiveOrder order = new AdaptiveOrder(new String[] {"a", "b"}, 1);
+
+        // b is cheap and decisive; a is never reached once b is first
+        for (int i = 0; i < 3; i++) {
+            order.record(0, 1000, false);
+            order.record(1, 10, true);
+            order.executionComplete();
+        }
+
+        Assert.assertEquals(1, order.getOrder()[0]);
+
+        int reorders = 0;
+
+        while (order.getOrder()[0] == 1) {
+            order.record(1, 10, true);
+            order.executionComplete();
+            Assert.assertTrue(++reorders <= AdaptiveOrder.EXPLORATION_INTERVAL);
+        }
+
+        // a is explored for one interval and then moved back
+        order.record(0, 1000, false);
+        order.record(1, 10, true);
+        order.executionComplete();
+        Assert.assertEquals(1, order.getOrder()[0]);
+    }
+
+    @Test
+    public void testDecay() {
+        AdaptiveOrder order = new AdaptiveOrder(new String[] {"a", "b"}, 10);
+
+        // a used to be cheap and decisive
+        for (int i = 0; i < 1000; i++) {
+            order.record(0, 10, true);
+            order.record(1, 100, true);
+            order.executionComplete();
+        }
+
+        Assert.assertEquals(0, order.getOrder()[0]);
+        Assert.assertTrue(order.snapshot().get(0).getEvaluationCount() <= 10 * AdaptiveOrder.DECAY_WINDOW + 10);
+
+        // ... but it is no longer; the old stats do not hold it up front for long
+        for (int i = 0; i < 100; i++) {
+            order.record(0, 200, false);
+            order.record(1, 100, true);
+            order.executionComplete();
+        }
+
+        Assert.assertEquals(1, order.getOrder()[0]);
+    }
+
+    private static RuleContext createContext() {
+        return RuleContextBuilder.with(Bindings.create().bind("value", Integer.class, 5))
+                .ruleRegistry(RuleRegistry.create())
+                .build();
+    }
+
+    private static boolean spin(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() - end < 0) Thread.yield();
+        return true;
+    }
+}
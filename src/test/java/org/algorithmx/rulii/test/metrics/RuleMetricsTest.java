@@ -0,0 +1,150 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.metrics;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.metrics.ExecutionMetrics;
+import org.algorithmx.rulii.metrics.ExecutionMetricsSnapshot;
+import org.algorithmx.rulii.metrics.ExecutionPhase;
+import org.algorithmx.rulii.metrics.HistogramSnapshot;
+import org.algorithmx.rulii.metrics.LatencyHistogram;
+import org.algorithmx.rulii.metrics.RuleMetricsListener;
+import org.algorithmx.rulii.metrics.RuleMetricsRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+/**
+ * Tests for the Rule/RuleSet metrics.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class RuleMetricsTest {
+
+    public RuleMetricsTest() {
+        super();
+    }
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(1000, snapshot.getCount());
+        Assert.assertEquals(1000L, snapshot.getMin());
+        Assert.assertEquals(1_000_000L, snapshot.getMax());
+        Assert.assertEquals(500_500.0d, snapshot.getMean(), 0.001d);
+        // 12.5% precision
+        Assert.assertEquals(500_000.0d, snapshot.getValueAtPercentile(50), 500_000 * 0.125d);
+        Assert.assertEquals(990_000.0d, snapshot.getValueAtPercentile(99), 990_000 * 0.125d);
+        Assert.assertEquals(1_000_000L, snapshot.getValueAtPercentile(100));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.snapshot().getCount());
+        Assert.assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testListener() throws Exception {
+        RuleMetricsRegistry registry = RuleMetricsRegistry.create();
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        registry.registerMBeans(server);
+
+        for (int i = 0; i < 10; i++) {
+            run(registry);
+        }
+
+        ExecutionMetricsSnapshot rule1 = registry.getRuleMetrics("Rule1").snapshot();
+        Assert.assertEquals(10, rule1.getPassCount());
+        Assert.assertEquals(10, rule1.getLatency().getCount());
+        Assert.assertEquals(10, rule1.getLatency(ExecutionPhase.CONDITION).getCount());
+        Assert.assertEquals(10, rule1.getLatency(ExecutionPhase.ACTION).getCount());
+
+        ExecutionMetricsSnapshot rule2 = registry.getRuleMetrics("Rule2").snapshot();
+        Assert.assertEquals(10, rule2.getFailCount());
+        Assert.assertEquals(10, rule2.getLatency(ExecutionPhase.ACTION).getCount());
+
+        ExecutionMetricsSnapshot rule3 = registry.getRuleMetrics("Rule3").snapshot();
+        Assert.assertEquals(10, rule3.getSkipCount());
+        Assert.assertEquals(10, rule3.getLatency(ExecutionPhase.PRE_CONDITION).getCount());
+        Assert.assertEquals(0, rule3.getLatency(ExecutionPhase.CONDITION).getCount());
+
+        ExecutionMetricsSnapshot ruleSet = registry.getRuleSetMetrics("RuleSet1").snapshot();
+        Assert.assertEquals(ExecutionMetrics.Kind.RULE_SET, ruleSet.getKind());
+        Assert.assertEquals(10, ruleSet.getPassCount());
+        Assert.assertTrue(ruleSet.getLatency().getMax() >= rule1.getLatency().getMin());
+        Assert.assertEquals(4, registry.snapshot().size());
+
+        ObjectName name = registry.getObjectName(registry.getRuleMetrics("Rule2"));
+        Assert.assertEquals(10L, server.getAttribute(name, "FailCount"));
+        Assert.assertEquals(10L, server.getAttribute(name, "ExecutionCount"));
+        Assert.assertTrue((Long) server.getAttribute(name, "P99Nanos") > 0);
+
+        registry.reset();
+        Assert.assertEquals(0L, server.getAttribute(name, "ExecutionCount"));
+
+        registry.unregisterMBeans();
+        Assert.assertFalse(server.isRegistered(name));
+    }
+
+    private static void run(RuleMetricsRegistry registry) {
+        RuleContext context = RuleContextBuilder.with(Bindings.create().bind("c", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .traceUsing(new RuleMetricsListener(registry))
+                .build();
+
+        RuleSet rules = RuleSetBuilder
+                .with("RuleSet1", "Test Rule Set")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .then(ActionBuilder.build((Binding<Integer> c) -> c.setValue(c.getValue() + 1)))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .otherwise(ActionBuilder.build((Binding<Integer> c) -> c.setValue(c.getValue() + 1)))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule3")
+                        .preCondition(ConditionBuilder.build((Integer c) -> c > 10))
+                        .given(ConditionBuilder.build((Integer c) -> c == 2))
+                        .build())
+                .build();
+
+        rules.run(context);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.ruleset;
+
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.condition.Condition;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.rule.RuleExecutionStatus;
+import org.algorithmx.rulii.core.rule.RuleResult;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSetResult;
+import org.algorithmx.rulii.core.ruleset.StopConditions;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for RuleSetResult and the StopConditions.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class RuleSetResultTest {
+
+    public RuleSetResultTest() {
+        super();
+    }
+
+    @Test
+    public void testIsAny() {
+        RuleSetResult result = createResult(RuleExecutionStatus.PASS, RuleExecutionStatus.FAIL);
+        Assert.assertTrue(result.isAnyPass());
+        Assert.assertTrue(result.isAnyFail());
+        Assert.assertFalse(result.isAnySkip());
+
+        result = createResult(RuleExecutionStatus.SKIPPED, RuleExecutionStatus.SKIPPED);
+        Assert.assertFalse(result.isAnyPass());
+        Assert.assertFalse(result.isAnyFail());
+        Assert.assertTrue(result.isAnySkip());
+
+        result = createResult();
+        Assert.assertFalse(result.isAnyPass());
+        Assert.assertFalse(result.isAnyFail());
+        Assert.assertFalse(result.isAnySkip());
+    }
+
+    @Test
+    public void testIsTrueStatuses() {
+        RuleSetResult result = createResult(RuleExecutionStatus.PASS, RuleExecutionStatus.SKIPPED);
+        Assert.assertTrue(result.isTrue(RuleExecutionStatus.PASS, RuleExecutionStatus.SKIPPED));
+        Assert.assertFalse(result.isTrue(RuleExecutionStatus.PASS));
+        Assert.assertFalse(result.isTrue(RuleExecutionStatus.FAIL));
+    }
+
+    @Test
+    public void testStopConditions() {
+        RuleSetResult result = createResult(RuleExecutionStatus.PASS, RuleExecutionStatus.FAIL);
+        Assert.assertFalse(isTrue(StopConditions.ALL_PASS, result));
+        Assert.assertFalse(isTrue(StopConditions.ALL_PASS_OR_SKIP, result));
+        Assert.assertTrue(isTrue(StopConditions.ANY_PASS, result));
+        Assert.assertFalse(isTrue(StopConditions.ANY_SKIP, result));
+        Assert.assertTrue(isTrue(StopConditions.ANY_FAIL, result));
+
+        result = createResult(RuleExecutionStatus.PASS, RuleExecutionStatus.SKIPPED);
+        Assert.assertFalse(isTrue(StopConditions.ALL_PASS, result));
+        Assert.assertTrue(isTrue(StopConditions.ALL_PASS_OR_SKIP, result));
+        Assert.assertTrue(isTrue(StopConditions.ANY_SKIP, result));
+        Assert.assertFalse(isTrue(StopConditions.ANY_FAIL, result));
+    }
+
+    @Test
+    public void testStopConditionInRuleSet() {
+        RuleSet rules = RuleSetBuilder
+                .with("RuleSet1")
+                .rule(RuleBuilder.name("Rule1").given(ConditionBuilder.TRUE()).build())
+                .rule(RuleBuilder.name("Rule2").given(ConditionBuilder.FALSE()).build())
+                .rule(RuleBuilder.name("Rule3").given(ConditionBuilder.TRUE()).build())
+                .stopCondition(StopConditions.ANY_FAIL)
+                .build();
+
+        RuleSetResult result = rules.run(RuleContextBuilder.build(Bindings.create()));
+        Assert.assertEquals(2, result.size());
+        Assert.assertEquals("Rule2", result.getLastResult().getRuleName());
+    }
+
+    private static boolean isTrue(Condition condition, RuleSetResult result) {
+        RuleContext context = RuleContextBuilder.build(Bindings.create()
+                .bind("ruleSetResult", RuleSetResult.class, result));
+        return condition.isTrue(context);
+    }
+
+    private static RuleSetResult createResult(RuleExecutionStatus...statuses) {
+        RuleSetResult result = new RuleSetResult(Bindings.create());
+
+        for (int i = 0; i < statuses.length; i++) {
+            result.add(new RuleResult("Rule" + i, statuses[i]));
+        }
+
+        return result;
+    }
+}
@@ -22,10 +22,15 @@ import org.algorithmx.rulii.bind.Binding;
 import org.algorithmx.rulii.bind.Bindings;
 import org.algorithmx.rulii.core.action.ActionBuilder;
 import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
 import org.algorithmx.rulii.core.rule.Rule;
 import org.algorithmx.rulii.core.rule.RuleBuilder;
 import org.algorithmx.rulii.core.ruleset.RuleSet;
 import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSetResult;
+import org.algorithmx.rulii.core.ruleset.RulingFamily;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -131,4 +136,58 @@ public class RuleSetTest {
         Assert.assertTrue(bindings.getValue("c", Integer.class) == 2);
         Assert.assertTrue(rule3.getCondition().isTrue("", "hello", 20));
     }
+
+    @Test
+    public void testFlatten() {
+        RuleSet inner = RuleSetBuilder
+                .with("Inner")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer c) -> c > 0))
+                        .then(ActionBuilder.build((Binding<Integer> c) -> c.setValue(c.getValue() + 1)))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer c) -> c > 0))
+                        .then(ActionBuilder.build((Binding<Integer> c) -> c.setValue(c.getValue() + 1)))
+                        .build())
+                .build();
+        // Refers to the ruleSetResult; needs its own scope
+        RuleSet scoped = RuleSetBuilder
+                .with("Scoped")
+                .rule(RuleBuilder
+                        .name("Rule3")
+                        .given(ConditionBuilder.build((RuleSetResult ruleSetResult) -> ruleSetResult.size() == 0))
+                        .build())
+                .build();
+        RuleSet outer = RuleSetBuilder
+                .with("Outer")
+                .rules(inner)
+                .rules(scoped)
+                .rule(RuleBuilder
+                        .name("Rule4")
+                        .given(ConditionBuilder.build((Integer c) -> c == 2))
+                        .build())
+                .flatten()
+                .build();
+
+        Assert.assertFalse(((RulingFamily) inner).isScopeRequired());
+        Assert.assertTrue(((RulingFamily) scoped).isScopeRequired());
+        Assert.assertFalse(((RulingFamily) outer).isScopeRequired());
+        Assert.assertEquals(4, ((RulingFamily) outer).getExecutionItems().length);
+
+        Bindings bindings = Bindings.create().bind("c", Integer.class, 0);
+        RuleContext context = RuleContextBuilder.with(bindings).ruleRegistry(RuleRegistry.create()).build();
+        bindings.setValue("c", 1);
+        RuleSetResult result = outer.run(context);
+
+        Assert.assertEquals(3, (int) bindings.getValue("c"));
+        Assert.assertEquals(4, result.size());
+        Assert.assertEquals("Inner", result.getRuleResult("Rule1")[0].getParentName());
+        Assert.assertEquals("Scoped", result.getRuleResult("Rule3")[0].getParentName());
+        Assert.assertEquals("Outer", result.getRuleResult("Rule4")[0].getParentName());
+        Assert.assertTrue(result.getRuleResult("Rule3")[0].getStatus().isPass());
+        // No scopes left behind
+        Assert.assertEquals(2, context.getBindings().getScopeSize());
+    }
 }
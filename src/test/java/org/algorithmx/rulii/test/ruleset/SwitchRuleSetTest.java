@@ -0,0 +1,206 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.ruleset;
+
+import org.algorithmx.rulii.annotation.Case;
+import org.algorithmx.rulii.annotation.Given;
+import org.algorithmx.rulii.annotation.Rule;
+import org.algorithmx.rulii.annotation.Then;
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSetResult;
+import org.algorithmx.rulii.core.ruleset.SwitchingFamily;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Tests for the switch (hash dispatched) RuleSets.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class SwitchRuleSetTest {
+
+    public SwitchRuleSetTest() {
+        super();
+    }
+
+    @Test
+    public void testSwitch() {
+        RuleSet rules = RuleSetBuilder
+                .with("Products")
+                .switchOn("type")
+                .when("BOOK", RuleBuilder
+                        .name("BookRule")
+                        .given(ConditionBuilder.build((Integer price) -> price > 10))
+                        .then(ActionBuilder.build((Binding<Integer> price) -> price.setValue(price.getValue() - 1)))
+                        .build())
+                .when(ProductType.FOOD, RuleBuilder
+                        .name("FoodRule")
+                        .given(ConditionBuilder.build((Integer price) -> price > 10))
+                        .then(ActionBuilder.build((Binding<Integer> price) -> price.setValue(price.getValue() - 2)))
+                        .build())
+                .otherwise(RuleBuilder
+                        .name("DefaultRule")
+                        .given(ConditionBuilder.build((Integer price) -> price > 0))
+                        .build())
+                .build();
+
+        Assert.assertTrue(rules instanceof SwitchingFamily);
+        Assert.assertEquals(3, rules.size());
+
+        RuleContext context = createContext("BOOK", 20);
+        RuleSetResult result = rules.run(context);
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("BookRule", result.getLastResult().getRuleName());
+        Assert.assertEquals("Products", result.getLastResult().getParentName());
+        Assert.assertEquals(19, (int) context.getBindings().getValue("price"));
+
+        context = createContext(ProductType.FOOD, 20);
+        result = rules.run(context);
+        Assert.assertEquals("FoodRule", result.getLastResult().getRuleName());
+        Assert.assertEquals(18, (int) context.getBindings().getValue("price"));
+
+        result = rules.run(createContext("TOY", 20));
+        Assert.assertEquals(1, result.size());
+        Assert.assertEquals("DefaultRule", result.getLastResult().getRuleName());
+
+        // No discriminator binding
+        result = rules.run(RuleContextBuilder.with(Bindings.create().bind("price", Integer.class, 5))
+                .ruleRegistry(RuleRegistry.create())
+                .build());
+        Assert.assertEquals("DefaultRule", result.getLastResult().getRuleName());
+    }
+
+    @Test
+    public void testAnnotatedSwitch() {
+        org.algorithmx.rulii.core.rule.Rule bookRule = RuleBuilder.build(BookRule.class);
+        RuleSet rules = RuleSetBuilder
+                .with("Products")
+                .switchOn("type")
+                .rules(bookRule, RuleBuilder.build(FoodRule.class))
+                .build();
+
+        SwitchingFamily switchRules = (SwitchingFamily) rules;
+        Assert.assertEquals("type", switchRules.getDiscriminator());
+        Assert.assertEquals(3, switchRules.getCases().size());
+        // Declared order is kept
+        Assert.assertEquals(Arrays.asList("BOOK", "EBOOK", "FOOD"), new ArrayList<>(switchRules.getCases().keySet()));
+        Assert.assertEquals(1, switchRules.getDefaultItems().length);
+        Assert.assertEquals(2, rules.size());
+
+        // Enums are matched against their names
+        RuleContext context = createContext(ProductType.BOOK, 20);
+        RuleSetResult result = rules.run(context);
+        Assert.assertEquals("BookRule", result.getLastResult().getRuleName());
+        Assert.assertEquals(15, (int) context.getBindings().getValue("price"));
+
+        context = createContext("EBOOK", 20);
+        rules.run(context);
+        Assert.assertEquals(15, (int) context.getBindings().getValue("price"));
+
+        context = createContext("TOY", 20);
+        result = rules.run(context);
+        Assert.assertEquals("FoodRule", result.getLastResult().getRuleName());
+        Assert.assertEquals(19, (int) context.getBindings().getValue("price"));
+    }
+
+    @Test(expected = UnrulyException.class)
+    public void testUnregisteredItem() {
+        RuleSetBuilder
+                .with("Products")
+                .switchOn("type")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer price) -> price > 0))
+                        .build())
+                .build();
+    }
+
+    @Test(expected = UnrulyException.class)
+    public void testCasesWithoutSwitch() {
+        RuleSetBuilder
+                .with("Products")
+                .when("BOOK", RuleBuilder
+                        .name("BookRule")
+                        .given(ConditionBuilder.build((Integer price) -> price > 10))
+                        .build())
+                .build();
+    }
+
+    private static RuleContext createContext(Object type, int price) {
+        return RuleContextBuilder.with(Bindings.create()
+                    .bind("type", Object.class, type)
+                    .bind("price", Integer.class, price))
+                .ruleRegistry(RuleRegistry.create())
+                .build();
+    }
+
+    public enum ProductType { BOOK, FOOD }
+
+    @Rule
+    @Case({"BOOK", "EBOOK"})
+    public static class BookRule {
+
+        public BookRule() {
+            super();
+        }
+
+        @Given
+        public boolean when(Integer price) {
+            return price > 10;
+        }
+
+        @Then
+        public void then(Binding<Integer> price) {
+            price.setValue(price.getValue() - 5);
+        }
+    }
+
+    @Rule
+    @Case(value = "FOOD", isDefault = true)
+    public static class FoodRule {
+
+        public FoodRule() {
+            super();
+        }
+
+        @Given
+        public boolean when(Integer price) {
+            return price > 10;
+        }
+
+        @Then
+        public void then(Binding<Integer> price) {
+            price.setValue(price.getValue() - 1);
+        }
+    }
+}
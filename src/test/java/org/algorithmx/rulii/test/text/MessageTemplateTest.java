@@ -0,0 +1,114 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.text;
+
+import org.algorithmx.rulii.text.CachedMessageResolver;
+import org.algorithmx.rulii.text.DefaultMessageFormatter;
+import org.algorithmx.rulii.text.MessageResolver;
+import org.algorithmx.rulii.text.MessageTemplate;
+import org.algorithmx.rulii.text.ParameterInfo;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MessageTemplateTest {
+
+    private static final String[] TEMPLATES = {
+            "this is a test",
+            "",
+            "Value ${value} must be greater than ${min}.",
+            "${value}",
+            "${ value }${min}",
+            "Test: {0} {1} {2}",
+            "Test: ${value} {1} ${missing}",
+            "Test: {5}",
+            "Test: ${value,number,integer} ${min}",
+            "It''s ${value}",
+            "Cost $ 5 for ${value}",
+    };
+
+    public MessageTemplateTest() {
+        super();
+    }
+
+    @Test
+    public void testSameAsMessageFormat() {
+        DefaultMessageFormatter formatter = new DefaultMessageFormatter();
+        Object[] values = {5, -999, 1234567, 12.5, new BigDecimal("1000.25"), "text", null, new Date(0), Boolean.TRUE};
+        Locale[] locales = {Locale.US, Locale.GERMANY, Locale.FRANCE, new Locale("ar", "EG"), new Locale("hi", "IN")};
+
+        for (Locale locale : locales) {
+            for (Object value : values) {
+                ParameterInfo[] params = {new ParameterInfo(0, "value", value), new ParameterInfo(1, "min", 1000),
+                        new ParameterInfo(2, "max", "x")};
+
+                for (String template : TEMPLATES) {
+                    String expected;
+
+                    try {
+                        expected = formatter.format(locale, template, params);
+                    } catch (IllegalArgumentException e) {
+                        // Not a valid number format for the value
+                        continue;
+                    }
+
+                    Assert.assertEquals(template + " " + locale, expected,
+                            MessageTemplate.compile(template).format(locale, params));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSimpleTemplates() {
+        Assert.assertTrue(MessageTemplate.compile("Value ${value} must be greater than {1}.").isSimple());
+        Assert.assertFalse(MessageTemplate.compile("Value ${value,number,integer}").isSimple());
+        Assert.assertFalse(MessageTemplate.compile("It''s {0}").isSimple());
+        Assert.assertEquals("a 1 b", MessageTemplate.compile("a {0} b").format(Locale.US, new Object[] {1}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTemplate() {
+        MessageTemplate.compile("Test: ${a}  ${b,number, integer ${a} ${b} {0} {1}")
+                .format(Locale.US, new ParameterInfo(0, "a", "oh"), new ParameterInfo(1, "b", 123));
+    }
+
+    @Test
+    public void testCachedMessageResolver() {
+        AtomicInteger lookups = new AtomicInteger();
+        MessageResolver resolver = new CachedMessageResolver((locale, code, defaultMessage) -> {
+            lookups.incrementAndGet();
+            return "known".equals(code) ? code + "-" + locale : defaultMessage;
+        });
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("known-en_US", resolver.resolve(Locale.US, "known", "default"));
+            Assert.assertEquals("default", resolver.resolve(Locale.US, "unknown", "default"));
+            Assert.assertNull(resolver.resolve(Locale.US, "unknown"));
+        }
+
+        Assert.assertEquals("known-fr_FR", resolver.resolve(Locale.FRANCE, "known"));
+        Assert.assertEquals(3, lookups.get());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.trace;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.trace.jfr.FlightRecorderEvents;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for the Flight Recorder events.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class FlightRecorderEventsTest {
+
+    public FlightRecorderEventsTest() {
+        super();
+    }
+
+    @Test
+    public void testEvents() throws IOException {
+        Assert.assertTrue(FlightRecorderEvents.isSupported());
+        Path file = Files.createTempFile("rulii", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(FlightRecorderEvents.PREFIX + "RuleExecuted").withoutThreshold();
+            recording.enable(FlightRecorderEvents.PREFIX + "ConditionEvaluated").withoutThreshold();
+            recording.enable(FlightRecorderEvents.PREFIX + "RuleSetExecuted").withoutThreshold();
+            recording.start();
+            run();
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            List<RecordedEvent> rules = events.stream()
+                    .filter(e -> e.getEventType().getName().equals(FlightRecorderEvents.PREFIX + "RuleExecuted"))
+                    .collect(Collectors.toList());
+
+            Assert.assertEquals(2, rules.size());
+            Assert.assertTrue(rules.stream().anyMatch(e -> "Rule1".equals(e.getString("ruleName"))
+                    && "PASS".equals(e.getString("outcome"))));
+            Assert.assertTrue(rules.stream().anyMatch(e -> "Rule2".equals(e.getString("ruleName"))
+                    && "FAIL".equals(e.getString("outcome"))));
+            Assert.assertEquals(2, events.stream()
+                    .filter(e -> e.getEventType().getName().endsWith("ConditionEvaluated")).count());
+            Assert.assertEquals(1, events.stream()
+                    .filter(e -> e.getEventType().getName().endsWith("RuleSetExecuted")
+                            && "COMPLETED".equals(e.getString("outcome"))).count());
+            // Not enabled
+            Assert.assertEquals(0, events.stream()
+                    .filter(e -> e.getEventType().getName().endsWith("ActionExecuted")).count());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void run() {
+        RuleContext context = RuleContextBuilder.with(Bindings.create().bind("c", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .build();
+
+        RuleSet rules = RuleSetBuilder
+                .with("JfrRuleSet")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .then(ActionBuilder.build(() -> {}))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer c) -> c == 1))
+                        .build())
+                .build();
+
+        rules.run(context);
+    }
+}
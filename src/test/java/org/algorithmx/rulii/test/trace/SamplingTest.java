@@ -0,0 +1,224 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.trace;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.Rule;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.event.EventProcessor;
+import org.algorithmx.rulii.event.EventType;
+import org.algorithmx.rulii.event.ExecutionEvent;
+import org.algorithmx.rulii.event.ExecutionListener;
+import org.algorithmx.rulii.event.SamplingPolicy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tests for sampled tracing.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class SamplingTest {
+
+    public SamplingTest() {
+        super();
+    }
+
+    @Test
+    public void testOneInN() {
+        SamplingPolicy policy = SamplingPolicy.oneIn(5);
+        CountingListener listener = new CountingListener();
+        RuleSet rules = createRuleSet();
+
+        for (int i = 0; i < 10; i++) {
+            rules.run(createContext(listener).sampleUsing(policy).build());
+        }
+
+        // Decision is made once per top-level run; nested rules/conditions follow it
+        Assert.assertEquals(2, listener.count(EventType.RULE_SET_START));
+        Assert.assertEquals(2, listener.count(EventType.RULE_SET_END));
+        Assert.assertEquals(4, listener.count(EventType.RULE_START));
+        Assert.assertEquals(4, listener.count(EventType.ON_CONDITION));
+        Assert.assertEquals(2, listener.count(EventType.ON_ACTION));
+    }
+
+    @Test
+    public void testPerName() {
+        CountingListener listener = new CountingListener();
+        RuleSet rules = createRuleSet();
+        Rule rule = rules.get("Rule1", Rule.class);
+
+        for (int i = 0; i < 4; i++) {
+            RuleContext context = createContext(listener)
+                    .sampleUsing(SamplingPolicy.never())
+                    .sampleUsing("Rule1", SamplingPolicy.always())
+                    .build();
+            rules.run(context);
+            rule.run(context);
+        }
+
+        // Only the top-level Rule1 runs are traced
+        Assert.assertEquals(0, listener.count(EventType.RULE_SET_START));
+        Assert.assertEquals(4, listener.count(EventType.RULE_START));
+        Assert.assertEquals(4, listener.count(EventType.RULE_END));
+    }
+
+    @Test
+    public void testConcurrentExecutions() throws Exception {
+        EventProcessor processor = EventProcessor.create();
+        processor.addEventListener(new CountingListener());
+        processor.setSamplingPolicy(SamplingPolicy.never());
+
+        // Executions on other threads (ex: child contexts) do not disturb the sampling state of this thread
+        processor.beginExecution("RuleSet1");
+        Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    processor.beginExecution("RuleSet2");
+                    processor.beginExecution("Rule1");
+                    processor.endExecution();
+                    processor.endExecution();
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) thread.join();
+
+        Assert.assertFalse(processor.isSampled());
+        processor.endExecution();
+        Assert.assertTrue(processor.isSampled());
+    }
+
+    @Test
+    public void testNestedProcessors() {
+        EventProcessor outer = EventProcessor.create();
+        outer.addEventListener(new CountingListener());
+        outer.setSamplingPolicy(SamplingPolicy.never());
+        EventProcessor inner = EventProcessor.create();
+        inner.addEventListener(new CountingListener());
+
+        // The top-level decision holds for nested executions on other processors (same thread)
+        outer.beginExecution("RuleSet1");
+        inner.beginExecution("RuleSet2");
+        Assert.assertFalse(inner.isSampled());
+        inner.endExecution();
+        outer.endExecution();
+
+        inner.beginExecution("RuleSet2");
+        Assert.assertTrue(inner.isSampled());
+        inner.endExecution();
+    }
+
+    @Test
+    public void testListenersAddedWhileFiring() {
+        EventProcessor processor = EventProcessor.create();
+        CountingListener counter = new CountingListener();
+        processor.addEventListener(new ExecutionListener() {
+            @Override
+            public <T> void onEvent(ExecutionEvent<T> event) {
+                processor.addEventListener(counter);
+            }
+        });
+
+        processor.fireListeners(new ExecutionEvent<>(EventType.RULE_START, null));
+        Assert.assertEquals(0, counter.count(EventType.RULE_START));
+        processor.fireListeners(new ExecutionEvent<>(EventType.RULE_START, null));
+        Assert.assertEquals(1, counter.count(EventType.RULE_START));
+    }
+
+    @Test
+    public void testDefaultSampling() {
+        // Processors that predate sampling are always sampled
+        EventProcessor processor = new EventProcessor() {
+            public boolean isEventsEnabled() { return true; }
+            public void setEventsEnabled(boolean eventsEnabled) {}
+            public void addEventListener(ExecutionListener listener) {}
+            public void removeEventListener(ExecutionListener listener) {}
+            public <T> void fireListeners(ExecutionEvent<T> event) {}
+        };
+
+        Assert.assertTrue(processor.beginExecution("Rule1"));
+        processor.endExecution();
+        Assert.assertTrue(processor.isSampled());
+    }
+
+    @Test
+    public void testRateLimited() {
+        SamplingPolicy policy = SamplingPolicy.perSecond(3);
+        int sampled = 0;
+
+        for (int i = 0; i < 100; i++) {
+            if (policy.sample()) sampled++;
+        }
+
+        // At most two windows could have been crossed
+        Assert.assertTrue(sampled >= 3 && sampled <= 6);
+        Assert.assertFalse(SamplingPolicy.perSecond(0).sample());
+    }
+
+    private static RuleContextBuilder createContext(ExecutionListener listener) {
+        return RuleContextBuilder.with(Bindings.create().bind("c", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .traceUsing(listener);
+    }
+
+    private static RuleSet createRuleSet() {
+        return RuleSetBuilder
+                .with("RuleSet1", "Test Rule Set")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .then(ActionBuilder.build((Binding<Integer> c) -> c.setValue(c.getValue() + 1)))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .build())
+                .build();
+    }
+
+    private static class CountingListener implements ExecutionListener {
+
+        private final Map<EventType, Integer> counts = new EnumMap<>(EventType.class);
+
+        @Override
+        public <T> void onEvent(ExecutionEvent<T> event) {
+            counts.merge(event.getEventType(), 1, Integer::sum);
+        }
+
+        int count(EventType eventType) {
+            return counts.getOrDefault(eventType, 0);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.trace;
+
+import org.algorithmx.rulii.bind.Binding;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.rule.RuleExecutionStatus;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.event.EventType;
+import org.algorithmx.rulii.trace.TraceDecoder;
+import org.algorithmx.rulii.trace.TraceRecord;
+import org.algorithmx.rulii.trace.TraceRecorder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the binary TraceRecorder.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class TraceRecorderTest {
+
+    public TraceRecorderTest() {
+        super();
+    }
+
+    @Test
+    public void testRecordAndDecode() throws IOException {
+        TraceRecorder recorder = new TraceRecorder(64);
+        run(recorder);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.dump(out);
+        List<TraceRecord> records = TraceDecoder.read(new ByteArrayInputStream(out.toByteArray()));
+
+        Assert.assertEquals(EventType.RULE_SET_START, records.get(0).getEventType());
+        Assert.assertEquals("RuleSet1", records.get(0).getName());
+        Assert.assertEquals(EventType.RULE_SET_END, records.get(records.size() - 1).getEventType());
+
+        TraceRecord rule2End = records.stream()
+                .filter(r -> r.getEventType() == EventType.RULE_END && "Rule2".equals(r.getName()))
+                .findFirst().get();
+        Assert.assertEquals(Boolean.FALSE, rule2End.getResult());
+
+        String text = TraceDecoder.format(records);
+        Assert.assertTrue(text.contains("RuleSet : RuleSet1"));
+        Assert.assertTrue(text.contains("\tRule : Rule1"));
+        Assert.assertTrue(text.contains("\t\tGiven : "));
+        Assert.assertTrue(text.contains("Condition Result : true"));
+        Assert.assertTrue(text.contains("\t\tOtherwise : "));
+        Assert.assertEquals(text, TraceDecoder.decode(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    public void testRuleStatus() throws IOException {
+        TraceRecorder recorder = new TraceRecorder(64);
+        RuleContext context = RuleContextBuilder.with(Bindings.create().bind("c", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .traceUsing(recorder)
+                .build();
+
+        RuleSetBuilder
+                .with("RuleSet1")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .preCondition(ConditionBuilder.FALSE())
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .build())
+                .build()
+                .run(context);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.dump(out);
+        List<TraceRecord> records = TraceDecoder.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // A skipped Rule is not recorded as a failure
+        Assert.assertEquals(RuleExecutionStatus.SKIPPED, getRuleEnd(records, "Rule1").getStatus());
+        Assert.assertNull(getRuleEnd(records, "Rule1").getResult());
+        Assert.assertEquals(RuleExecutionStatus.PASS, getRuleEnd(records, "Rule2").getStatus());
+        Assert.assertEquals(Boolean.TRUE, getRuleEnd(records, "Rule2").getResult());
+    }
+
+    @Test
+    public void testRingBuffer() throws IOException {
+        TraceRecorder recorder = new TraceRecorder(8);
+        Assert.assertEquals(8, recorder.getCapacity());
+
+        for (int i = 0; i < 20; i++) {
+            recorder.record(EventType.RULE_START, "Rule" + i, TraceRecord.NONE);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.dump(out, 1, TimeUnit.MINUTES);
+        List<TraceRecord> records = TraceDecoder.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // Only the last 8 are kept
+        Assert.assertEquals(8, records.size());
+        Assert.assertEquals("Rule12", records.get(0).getName());
+        Assert.assertEquals("Rule19", records.get(7).getName());
+
+        recorder.clear();
+        out = new ByteArrayOutputStream();
+        recorder.dump(out);
+        Assert.assertTrue(TraceDecoder.read(new ByteArrayInputStream(out.toByteArray())).isEmpty());
+    }
+
+    @Test
+    public void testClearFromAnotherThread() throws Exception {
+        TraceRecorder recorder = new TraceRecorder(8);
+
+        for (int i = 0; i < 20; i++) {
+            recorder.record(EventType.RULE_START, "Before" + i, TraceRecord.NONE);
+        }
+
+        Thread thread = new Thread(recorder::clear);
+        thread.start();
+        thread.join();
+
+        for (int i = 0; i < 3; i++) {
+            recorder.record(EventType.RULE_START, "After" + i, TraceRecord.NONE);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.dump(out);
+        List<TraceRecord> records = TraceDecoder.read(new ByteArrayInputStream(out.toByteArray()));
+
+        // Only the records written after the clear
+        Assert.assertEquals(3, records.size());
+        Assert.assertEquals("After0", records.get(0).getName());
+        Assert.assertEquals("After2", records.get(2).getName());
+    }
+
+    private static TraceRecord getRuleEnd(List<TraceRecord> records, String name) {
+        return records.stream()
+                .filter(r -> r.getEventType() == EventType.RULE_END && name.equals(r.getName()))
+                .findFirst().get();
+    }
+
+    private static void run(TraceRecorder recorder) {
+        RuleContext context = RuleContextBuilder.with(Bindings.create().bind("c", Integer.class, 0))
+                .ruleRegistry(RuleRegistry.create())
+                .traceUsing(recorder)
+                .build();
+
+        RuleSet rules = RuleSetBuilder
+                .with("RuleSet1", "Test Rule Set")
+                .rule(RuleBuilder
+                        .name("Rule1")
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .then(ActionBuilder.build((Binding<Integer> c) -> c.setValue(c.getValue() + 1)))
+                        .build())
+                .rule(RuleBuilder
+                        .name("Rule2")
+                        .given(ConditionBuilder.build((Integer c) -> c == 0))
+                        .otherwise(ActionBuilder.build((Binding<Integer> c) -> c.setValue(c.getValue() + 1)))
+                        .build())
+                .build();
+
+        rules.run(context);
+    }
+}
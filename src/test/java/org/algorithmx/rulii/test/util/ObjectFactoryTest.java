@@ -29,6 +29,8 @@ import org.algorithmx.rulii.util.reflect.ObjectFactory;
 import org.junit.Assert;
 import org.junit.Test;
 
+import javax.annotation.PostConstruct;
+
 /**
  * Binding ParameterDefinition tests.
  *
@@ -51,6 +53,35 @@ public class ObjectFactoryTest {
         Assert.assertTrue(factory.createRule(TestRule.class) instanceof TestRule);
     }
 
+    @Test
+    public void cachedObjectTest() {
+        ObjectFactory factory = ObjectFactory.create();
+        InitializedObject object = factory.create(InitializedObject.class, true);
+        Assert.assertTrue(object.initialized);
+
+        // Cached instances must survive a GC (the class is still loaded)
+        System.gc();
+        Assert.assertSame(object, factory.create(InitializedObject.class, true));
+
+        InitializedObject uncached = factory.create(InitializedObject.class, false);
+        Assert.assertNotSame(object, uncached);
+        Assert.assertTrue(uncached.initialized);
+    }
+
+    public static class InitializedObject {
+
+        private boolean initialized;
+
+        public InitializedObject() {
+            super();
+        }
+
+        @PostConstruct
+        public void init() {
+            initialized = true;
+        }
+    }
+
     @Rule @Description("This is test rule")
     public static final class TestRule {
 
@@ -0,0 +1,190 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.algorithmx.rulii.test.util;
+
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.util.collection.BloomFilter;
+import org.algorithmx.rulii.util.collection.CollectionValueSet;
+import org.algorithmx.rulii.util.collection.LongHashValueSet;
+import org.algorithmx.rulii.util.collection.MappedValueSet;
+import org.algorithmx.rulii.util.collection.SortedValueSet;
+import org.algorithmx.rulii.util.collection.ValueSet;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.ValidationRuleException;
+import org.algorithmx.rulii.validation.rules.in.In;
+import org.algorithmx.rulii.validation.rules.in.InValidationRule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Tests for the compact/memory mapped ValueSets.
+ *
+ * @author Max Arulananthan
+ * @since 1.0
+ */
+public class ValueSetTest {
+
+    public ValueSetTest() {
+        super();
+    }
+
+    @Test
+    public void testCompactSets() {
+        ValueSet numbers = ValueSet.of(Arrays.asList(0, 1, -5, 1000, 1000));
+        Assert.assertTrue(numbers instanceof LongHashValueSet);
+        Assert.assertEquals(4, numbers.size());
+        Assert.assertTrue(numbers.contains(0));
+        Assert.assertTrue(numbers.contains(-5));
+        Assert.assertFalse(numbers.contains(2));
+        // Same semantics as a HashSet<Integer>
+        Assert.assertFalse(numbers.contains(1000L));
+        Assert.assertFalse(numbers.contains(null));
+
+        LongHashValueSet longs = LongHashValueSet.of(3L, 7L);
+        Assert.assertTrue(longs.contains(7L));
+        Assert.assertFalse(longs.contains(0L));
+
+        ValueSet strings = ValueSet.of(Arrays.asList("b", "a", "c", "a"));
+        Assert.assertTrue(strings instanceof SortedValueSet);
+        Assert.assertEquals(3, strings.size());
+        Assert.assertTrue(strings.contains("a"));
+        Assert.assertFalse(strings.contains("d"));
+        Assert.assertFalse(strings.contains(1));
+
+        ValueSet mixed = ValueSet.of(Arrays.asList("a", 1));
+        Assert.assertTrue(mixed instanceof CollectionValueSet);
+        Assert.assertTrue(mixed.contains(1));
+    }
+
+    @Test
+    public void testMappedSet() throws Exception {
+        List<String> postcodes = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) postcodes.add("PC-" + i);
+        postcodes.add("Zürich");
+        postcodes.add("PC-1");
+
+        Path file = Files.createTempFile("postcodes", ".rvs");
+        file.toFile().deleteOnExit();
+        MappedValueSet.write(file, postcodes, 0.01d);
+        MappedValueSet values = MappedValueSet.load(file);
+
+        Assert.assertTrue(values.hasBloomFilter());
+        Assert.assertEquals(10001, values.size());
+        Assert.assertTrue(values.contains("PC-0"));
+        Assert.assertTrue(values.contains("PC-9999"));
+        Assert.assertTrue(values.contains("Zürich"));
+        Assert.assertFalse(values.contains("PC-10000"));
+        Assert.assertFalse(values.contains("PC"));
+        Assert.assertFalse(values.contains(""));
+        Assert.assertTrue(values.toString().endsWith("... (10001 values)]"));
+
+        Path plain = Files.createTempFile("codes", ".rvs");
+        plain.toFile().deleteOnExit();
+        MappedValueSet.write(plain, Arrays.asList("10", "20"), 0);
+        ValueSet codes = ValueSet.load(plain);
+        Assert.assertFalse(((MappedValueSet) codes).hasBloomFilter());
+        // Matched by the String form
+        Assert.assertTrue(codes.contains(10));
+        Assert.assertFalse(codes.contains(30));
+
+        Path invalid = Files.createTempFile("invalid", ".rvs");
+        invalid.toFile().deleteOnExit();
+        Files.write(invalid, "not a value set file".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            MappedValueSet.load(invalid);
+            Assert.fail("Invalid file");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBloomFilter() {
+        BloomFilter filter = new BloomFilter(1000, 0.01d);
+
+        for (int i = 0; i < 1000; i++) filter.add(("key" + i).getBytes(StandardCharsets.UTF_8));
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertTrue(filter.mightContain(("key" + i).getBytes(StandardCharsets.UTF_8)));
+            if (filter.mightContain(("other" + i).getBytes(StandardCharsets.UTF_8))) falsePositives++;
+        }
+
+        Assert.assertTrue(falsePositives < 50);
+    }
+
+    @Test
+    public void testInValidationRule() throws Exception {
+        Path file = Files.createTempFile("skus", ".rvs");
+        file.toFile().deleteOnExit();
+        MappedValueSet.write(file, Arrays.asList("SKU-1", "SKU-2"), 0.01d);
+        ValueSet skus = ValueSet.load(file);
+
+        RuleViolations errors = new RuleViolations();
+        RuleBuilder.build(new InValidationRule("value", skus))
+                .run(RuleContextBuilder.build(Bindings.create()
+                        .bind("value", "SKU-2")
+                        .bind("errors", errors)));
+        Assert.assertEquals(0, errors.size());
+
+        RuleBuilder.build(new InValidationRule("value", skus))
+                .run(RuleContextBuilder.build(Bindings.create()
+                        .bind("value", "SKU-3")
+                        .bind("errors", errors)));
+        Assert.assertEquals(1, errors.size());
+
+        // Existing Set based rules now use the compact sets
+        InValidationRule rule = new InValidationRule("value", new HashSet<>(Arrays.asList(1, 2, 3)));
+        Assert.assertTrue(rule.getValues() instanceof LongHashValueSet);
+    }
+
+    @Test(expected = ValidationRuleException.class)
+    public void testInWithoutValues() throws Exception {
+        new In.InValidationRuleBuilder().build(getIn("noValues"), "value");
+    }
+
+    @Test(expected = ValidationRuleException.class)
+    public void testInWithTypedSource() throws Exception {
+        new In.InValidationRuleBuilder().build(getIn("typedSource"), "value");
+    }
+
+    private static In getIn(String field) throws NoSuchFieldException {
+        return InHolder.class.getDeclaredField(field).getAnnotation(In.class);
+    }
+
+    private static class InHolder {
+
+        @In
+        private String noValues;
+        @In(source = "skus.rvs", type = Integer.class)
+        private Integer typedSource;
+    }
+}
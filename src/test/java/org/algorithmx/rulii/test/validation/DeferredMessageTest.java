@@ -0,0 +1,93 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.validation;
+
+import org.algorithmx.rulii.text.MessageFormatter;
+import org.algorithmx.rulii.text.MessageResolver;
+import org.algorithmx.rulii.validation.RuleViolation;
+import org.algorithmx.rulii.validation.RuleViolationBuilder;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DeferredMessageTest {
+
+    public DeferredMessageTest() {
+        super();
+    }
+
+    @Test
+    public void testFormattedOnFirstRead() {
+        AtomicInteger lookups = new AtomicInteger();
+        MessageResolver resolver = (locale, code, defaultMessage) -> {
+            lookups.incrementAndGet();
+            return "Value ${value} must be greater than ${min}.";
+        };
+
+        RuleViolation violation = RuleViolationBuilder.with("MinRule")
+                .errorCode("rulii.validation.rules.min.validator.error")
+                .param("value", 5)
+                .param("min", 10)
+                .build(resolver, MessageFormatter.create(), Locale.US);
+
+        Assert.assertEquals(0, lookups.get());
+        Assert.assertEquals("rulii.validation.rules.min.validator.error", violation.getErrorCode());
+        Assert.assertEquals("5", violation.getParameters().get("value"));
+        Assert.assertEquals(0, lookups.get());
+
+        Assert.assertEquals("Value 5 must be greater than 10.", violation.getErrorMessage());
+        Assert.assertEquals("Value 5 must be greater than 10.", violation.getErrorMessage());
+        Assert.assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void testFormatAll() {
+        MessageResolver resolver = (locale, code, defaultMessage) ->
+                Locale.FRENCH.equals(locale) ? "Valeur ${value}" : "Value ${value}";
+        RuleViolations violations = new RuleViolations();
+
+        for (int i = 0; i < 3; i++) {
+            violations.add(RuleViolationBuilder.with("Rule" + i)
+                    .errorCode("error." + i)
+                    .param("value", i)
+                    .build(resolver, MessageFormatter.create(), Locale.US));
+        }
+
+        violations.format(Locale.FRENCH);
+        Assert.assertEquals("Valeur 2", violations.getViolations()[2].getErrorMessage());
+
+        violations.format(null);
+        Assert.assertEquals("Value 2", violations.getViolations()[2].getErrorMessage());
+    }
+
+    @Test
+    public void testExplicitMessage() {
+        RuleViolation violation = RuleViolationBuilder.with("Rule")
+                .errorCode("error.1")
+                .errorMessage("Bad value ${value}")
+                .param("value", "x")
+                .build(MessageResolver.create(), MessageFormatter.create(), Locale.US);
+        Assert.assertEquals("Bad value x", violation.getErrorMessage());
+        Assert.assertNull(RuleViolationBuilder.with("Rule").errorCode("error.1").build().getErrorMessage());
+    }
+}
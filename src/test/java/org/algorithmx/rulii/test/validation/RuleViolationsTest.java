@@ -0,0 +1,139 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.validation;
+
+import org.algorithmx.rulii.annotation.Validate;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.validation.RuleViolation;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.Severity;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.rules.min.Min;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public class RuleViolationsTest {
+
+    public RuleViolationsTest() {
+        super();
+    }
+
+    @Test
+    public void testCounts() {
+        RuleViolations violations = new RuleViolations();
+        Severity[] severities = Severity.values();
+
+        for (int i = 0; i < 1000; i++) {
+            violations.add("rule" + i, "error." + i, severities[i % severities.length], null);
+        }
+
+        Assert.assertEquals(1000, violations.size());
+        Assert.assertEquals(1000 / severities.length, violations.getErrorCount(Severity.ERROR));
+        Assert.assertTrue(violations.hasSevereErrors());
+        Assert.assertTrue(violations.hasWarnings());
+
+        RuleViolation[] result = violations.getViolations();
+        Assert.assertEquals(1000, result.length);
+
+        for (int i = 0; i < result.length; i++) {
+            Assert.assertEquals("rule" + i, result[i].getRuleName());
+        }
+
+        int count = 0;
+        for (RuleViolation violation : violations) count++;
+        Assert.assertEquals(1000, count);
+    }
+
+    @Test
+    public void testEmpty() {
+        RuleViolations violations = new RuleViolations();
+        Assert.assertEquals(0, violations.size());
+        Assert.assertEquals(0, violations.getViolations().length);
+        Assert.assertFalse(violations.hasSevereErrors());
+        Assert.assertFalse(violations.hasErrors());
+    }
+
+    @Test
+    public void testConcurrent() {
+        RuleViolations violations = RuleViolations.concurrent();
+        IntStream.range(0, 10_000).parallel().forEach(i -> violations.add("rule" + i, "error"));
+        Assert.assertEquals(10_000, violations.size());
+        Assert.assertEquals(10_000, violations.getViolations().length);
+
+        // Default is thread safe as well
+        RuleViolations defaultViolations = new RuleViolations();
+        IntStream.range(0, 10_000).parallel().forEach(i -> defaultViolations.add("rule" + i, "error"));
+        Assert.assertEquals(10_000, defaultViolations.size());
+        Assert.assertEquals(10_000, defaultViolations.getViolations().length);
+    }
+
+    @Test
+    public void testSingleThreaded() {
+        RuleViolations violations = RuleViolations.singleThreaded();
+        violations.add("rule1", "error.1");
+        violations.add("rule2", "error.2", Severity.WARNING, null);
+
+        Assert.assertEquals(2, violations.size());
+        Assert.assertTrue(violations.hasErrors());
+        Assert.assertTrue(violations.hasWarnings());
+        Assert.assertEquals("rule2", violations.getViolations()[1].getRuleName());
+    }
+
+    @Test
+    public void testStreaming() {
+        List<RuleViolation> received = new ArrayList<>();
+        RuleViolations violations = RuleViolations.streaming(received::add);
+        violations.add("rule1", "error.1");
+        violations.add("rule2", "error.2", Severity.WARNING, null);
+
+        Assert.assertEquals(2, received.size());
+        Assert.assertEquals(2, violations.size());
+        Assert.assertTrue(violations.hasWarnings());
+        Assert.assertEquals(0, violations.getViolations().length);
+    }
+
+    @Test
+    public void testStreamingBeanValidation() {
+        Numbers numbers = new Numbers();
+        for (int i = 0; i < 100; i++) numbers.values.add(i % 4);
+
+        List<RuleViolation> received = new ArrayList<>();
+        RuleViolations result = new BeanValidator().validate(
+                RuleContextBuilder.with(Bindings.create()).ruleRegistry(RuleRegistry.create()).build(),
+                numbers, new BeanHolder(numbers, Numbers.class), received::add);
+
+        Assert.assertEquals(25, received.size());
+        Assert.assertEquals(25, result.size());
+        Assert.assertEquals(0, result.getViolations().length);
+    }
+
+    public static class Numbers {
+
+        @Validate
+        private List<@Min(1) Integer> values = new ArrayList<>();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.validation;
+
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.Runnable;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.event.ExecutionEvent;
+import org.algorithmx.rulii.event.ExecutionListener;
+import org.algorithmx.rulii.validation.RuleViolation;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.beans.ValidationPlan;
+import org.algorithmx.rulii.validation.rules.min.MinValidationRule;
+import org.algorithmx.rulii.validation.rules.notnull.NotNull;
+import org.algorithmx.rulii.validation.rules.notnull.NotNullValidationRule;
+import org.algorithmx.rulii.validation.rules.script.ScriptAssertRule;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ValidationPlanTest {
+
+    public ValidationPlanTest() {
+        super();
+    }
+
+    @Test
+    public void testDirectPlan() {
+        ValidationPlan plan = ValidationPlan.create(null, Arrays.asList(
+                RuleBuilder.with(new NotNullValidationRule("$value")).build(),
+                RuleBuilder.with(new MinValidationRule("$value", 5)).build()), "testRules");
+
+        Assert.assertTrue(plan.isDirect());
+        Assert.assertEquals(2, plan.size());
+        // Used when Rule events are required
+        Assert.assertEquals(2, plan.getRuleSet().size());
+
+        RuleContext context = RuleContextBuilder.empty();
+        Assert.assertNotNull(plan.getRule(0).validate(context, null));
+        Assert.assertNull(plan.getRule(1).validate(context, 10));
+
+        RuleViolation violation = plan.getRule(1).validate(context, 1);
+        Assert.assertNotNull(violation);
+        Assert.assertEquals(MinValidationRule.ERROR_CODE, violation.getErrorCode());
+        // Unsupported types are skipped
+        Assert.assertNull(plan.getRule(1).validate(context, new Object()));
+    }
+
+    @Test
+    public void testFallbackPlan() {
+        ValidationPlan plan = ValidationPlan.create(null, Arrays.asList(
+                RuleBuilder.with(new NotNullValidationRule("$value")).build(),
+                RuleBuilder.with(new ScriptAssertRule("$value", "$value != null")).build()), "testRules");
+
+        Assert.assertFalse(plan.isDirect());
+        Assert.assertEquals(2, plan.getRuleSet().size());
+
+        Runnable rule = RuleBuilder.with(new NotNullValidationRule("$value"))
+                .preCondition(ConditionBuilder.build("x != null"))
+                .build();
+        plan = ValidationPlan.create(null, Collections.singletonList(rule), "testRules");
+        Assert.assertFalse(plan.isDirect());
+    }
+
+    @Test
+    public void testEmptyPlan() {
+        ValidationPlan plan = ValidationPlan.create(null, Collections.emptyList(), "testRules");
+        Assert.assertTrue(plan.isEmpty());
+    }
+
+    @Test
+    public void testDirectPlanWithListener() {
+        Person person = new Person();
+        int[] events = new int[1];
+
+        RuleContext context = RuleContextBuilder.with(Bindings.create())
+                .ruleRegistry(RuleRegistry.create())
+                .traceUsing(new ExecutionListener() {
+                    @Override
+                    public <T> void onEvent(ExecutionEvent<T> event) {
+                        events[0]++;
+                    }
+                })
+                .build();
+
+        // Listeners must still see the Rule events (the RuleSet is run instead of the direct rules)
+        RuleViolations violations = new BeanValidator().validate(context, person, new BeanHolder(person, Person.class));
+        Assert.assertEquals(1, violations.size());
+        Assert.assertTrue(events[0] > 0);
+
+        events[0] = 0;
+        violations = new BeanValidator().validate(RuleContextBuilder.with(Bindings.create())
+                .ruleRegistry(RuleRegistry.create()).build(), person, new BeanHolder(person, Person.class));
+        Assert.assertEquals(1, violations.size());
+        Assert.assertEquals(0, events[0]);
+    }
+
+    public static class Person {
+
+        @NotNull
+        private String name;
+
+        public Person() {
+            super();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.validation;
+
+import org.algorithmx.rulii.annotation.Validate;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.validation.RuleViolation;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.Severity;
+import org.algorithmx.rulii.validation.ViolationBudget;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.graph.ParallelObjectGraph;
+import org.algorithmx.rulii.validation.rules.min.Min;
+import org.algorithmx.rulii.validation.rules.notnull.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class ViolationBudgetTest {
+
+    public ViolationBudgetTest() {
+        super();
+    }
+
+    @Test
+    public void testUnlimited() {
+        BeanValidator validator = new BeanValidator();
+        RuleViolations violations = validate(validator, createBasket(100));
+        // 50 warnings + 10 errors
+        Assert.assertEquals(60, violations.size());
+        Assert.assertFalse(validator.isBudgetExhausted());
+    }
+
+    @Test
+    public void testFailFast() {
+        BeanValidator validator = new BeanValidator(ViolationBudget.failFast());
+        RuleViolations violations = validate(validator, createBasket(100));
+        Assert.assertEquals(1, violations.size());
+        Assert.assertEquals(Severity.ERROR, violations.getViolations()[0].getSeverity());
+        Assert.assertTrue(validator.isBudgetExhausted());
+        Assert.assertTrue(validator.getSkippedCount() > 0);
+
+        // Nodes left over once the visitor is done are counted the same way by the parallel graph
+        BeanValidator parallel = new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 1000),
+                ViolationBudget.failFast());
+        violations = validate(parallel, createBasket(100));
+        Assert.assertEquals(1, violations.size());
+        Assert.assertEquals(validator.getSkippedCount(), parallel.getSkippedCount());
+    }
+
+    @Test
+    public void testFailFastIgnoresWarnings() {
+        Basket basket = new Basket();
+        basket.items.add(new Item(null, 1));
+        basket.items.add(new Item(null, 1));
+
+        BeanValidator validator = new BeanValidator(ViolationBudget.failFast());
+        RuleViolations violations = validate(validator, basket);
+        Assert.assertEquals(2, violations.size());
+        Assert.assertFalse(validator.isBudgetExhausted());
+    }
+
+    @Test
+    public void testMaxViolations() {
+        Basket basket = createBasket(1000);
+        RuleViolations sequential = validate(new BeanValidator(ViolationBudget.maxViolations(25)), basket);
+        Assert.assertEquals(25, sequential.size());
+
+        RuleViolations parallel = validate(new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 8),
+                ViolationBudget.maxViolations(25)), basket);
+        Assert.assertEquals(25, parallel.size());
+
+        RuleViolation[] expected = sequential.getViolations();
+        RuleViolation[] actual = parallel.getViolations();
+
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i].getRuleName(), actual[i].getRuleName());
+            Assert.assertEquals(expected[i].getParameters(), actual[i].getParameters());
+        }
+    }
+
+    private static RuleViolations validate(BeanValidator validator, Basket basket) {
+        RuleContext context = RuleContextBuilder.with(Bindings.create()).ruleRegistry(RuleRegistry.create()).build();
+        return validator.validate(context, basket, new BeanHolder(basket, Basket.class));
+    }
+
+    private static Basket createBasket(int size) {
+        Basket result = new Basket();
+
+        for (int i = 0; i < size; i++) {
+            result.items.add(new Item(i < size / 2 ? "note-" + i : null, i % 10 == 5 ? 0 : i + 1));
+        }
+
+        return result;
+    }
+
+    public static class Basket {
+
+        @Validate
+        private List<@Validate Item> items = new ArrayList<>();
+    }
+
+    public static class Item {
+
+        @NotNull(severity = Severity.WARNING)
+        private String note;
+        @Min(1)
+        private Integer quantity;
+
+        public Item(String note, Integer quantity) {
+            super();
+            this.note = note;
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.validation.method;
+
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.validation.beans.MethodValidationException;
+import org.algorithmx.rulii.validation.beans.MethodValidationInterceptor;
+import org.algorithmx.rulii.validation.beans.MethodValidationPlan;
+import org.algorithmx.rulii.validation.beans.MethodValidationProxyFactory;
+import org.algorithmx.rulii.validation.beans.MethodValidator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+public class MethodValidationProxyTest {
+
+    public MethodValidationProxyTest() {
+        super();
+    }
+
+    @Test
+    public void testPlan() throws NoSuchMethodException {
+        MethodValidator validator = new MethodValidator();
+        Method addCustomer = TestService.class.getMethod("addCustomer", String.class, String.class, Integer.class);
+        Method ping = TestServiceImpl.class.getMethod("ping", long.class);
+        Method adjust = TestServiceImpl.class.getMethod("adjust", String.class, int.class);
+
+        MethodValidationPlan plan = validator.getValidationPlan(addCustomer);
+        Assert.assertSame(plan, validator.getValidationPlan(addCustomer));
+        Assert.assertArrayEquals(new int[] {0, 1, 2}, plan.getValidatedParameters());
+        Assert.assertFalse(plan.isReturnValueValidationRequired());
+
+        Assert.assertTrue(validator.getValidationPlan(ping).isEmpty());
+
+        plan = validator.getValidationPlan(adjust);
+        Assert.assertArrayEquals(new int[] {0}, plan.getValidatedParameters());
+        Assert.assertTrue(plan.isReturnValueValidationRequired());
+    }
+
+    @Test
+    public void testProxy() {
+        TestServiceImpl target = new TestServiceImpl();
+        TestService proxy = MethodValidationProxyFactory.createProxy(TestService.class, target, createInterceptor());
+
+        proxy.addCustomer("25", "Jordan", 150);
+        Assert.assertEquals(1, target.getCalls());
+
+        try {
+            proxy.addCustomer("Michael", "Jordan", 50);
+            Assert.fail("Expected a MethodValidationException");
+        } catch (MethodValidationException e) {
+            Assert.assertEquals(2, e.getViolations().size());
+        }
+
+        // Target not called
+        Assert.assertEquals(1, target.getCalls());
+        Assert.assertEquals(proxy, proxy);
+    }
+
+    @Test
+    public void testSubclass() throws NoSuchMethodException, NoSuchFieldException {
+        MethodValidationInterceptor interceptor = createInterceptor();
+        Class<? extends TestServiceImpl> subclass = MethodValidationProxyFactory
+                .getSubclass(TestServiceImpl.class, interceptor);
+        TestServiceImpl service = MethodValidationProxyFactory.createSubclass(TestServiceImpl.class, interceptor);
+
+        Assert.assertSame(subclass, service.getClass());
+        // Only the methods with rules are overridden
+        subclass.getDeclaredMethod("adjust", String.class, int.class);
+
+        try {
+            subclass.getDeclaredMethod("ping", long.class);
+            Assert.fail("ping should not be overridden");
+        } catch (NoSuchMethodException e) {
+            // expected
+        }
+
+        Assert.assertEquals(42L, service.ping(42L));
+        Assert.assertEquals(5, service.adjust("x", 5));
+        service.addCustomer("25", "Jordan", 150);
+        Assert.assertEquals(3, service.getCalls());
+
+        try {
+            service.adjust(null, 5);
+            Assert.fail("Expected a MethodValidationException");
+        } catch (MethodValidationException e) {
+            Assert.assertEquals(1, e.getViolations().size());
+        }
+
+        Assert.assertEquals(3, service.getCalls());
+
+        try {
+            // Return value is validated after the call
+            service.adjust("x", -1);
+            Assert.fail("Expected a MethodValidationException");
+        } catch (MethodValidationException e) {
+            Assert.assertEquals(1, e.getViolations().size());
+        }
+
+        Assert.assertEquals(4, service.getCalls());
+
+        // The Methods are kept in a private static final field
+        int modifiers = subclass.getDeclaredField("$methods").getModifiers();
+        Assert.assertTrue(Modifier.isPrivate(modifiers) && Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers));
+    }
+
+    @Test
+    public void testSubclassUsesOneContextPerCall() {
+        int[] contexts = new int[1];
+        MethodValidationInterceptor interceptor = new MethodValidationInterceptor(new MethodValidator(), () -> {
+            contexts[0]++;
+            return RuleContextBuilder.with(Bindings.create()).ruleRegistry(RuleRegistry.create()).build();
+        });
+        TestServiceImpl service = MethodValidationProxyFactory.createSubclass(TestServiceImpl.class, interceptor);
+
+        // Arguments and return value are validated within the same RuleContext
+        Assert.assertEquals(5, service.adjust("x", 5));
+        Assert.assertEquals(1, contexts[0]);
+    }
+
+    @Test
+    public void testSharedEngine() {
+        MethodValidationInterceptor interceptor = new MethodValidationInterceptor(new MethodValidator(),
+                RuleContextBuilder.with().ruleRegistry(RuleRegistry.create()).buildEngine());
+        TestServiceImpl target = new TestServiceImpl();
+        TestService proxy = MethodValidationProxyFactory.createProxy(TestService.class, target, interceptor);
+
+        // The per thread session is reused between calls
+        for (int i = 0; i < 3; i++) {
+            proxy.addCustomer("25", "Jordan", 150);
+
+            try {
+                proxy.addCustomer("Michael", "Jordan", 50);
+                Assert.fail("Expected a MethodValidationException");
+            } catch (MethodValidationException e) {
+                Assert.assertEquals(2, e.getViolations().size());
+            }
+        }
+
+        Assert.assertEquals(3, target.getCalls());
+
+        // Generated subclasses are kept as long as the type
+        Class<?> subclass = MethodValidationProxyFactory.getSubclass(TestServiceImpl.class, interceptor);
+        System.gc();
+        Assert.assertSame(subclass, MethodValidationProxyFactory.getSubclass(TestServiceImpl.class, interceptor));
+    }
+
+    private static MethodValidationInterceptor createInterceptor() {
+        return new MethodValidationInterceptor(new MethodValidator(),
+                () -> RuleContextBuilder.with(Bindings.create()).ruleRegistry(RuleRegistry.create()).build());
+    }
+}
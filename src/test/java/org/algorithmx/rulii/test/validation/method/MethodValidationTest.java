@@ -18,15 +18,18 @@
 
 package org.algorithmx.rulii.test.validation.method;
 
+import org.algorithmx.rulii.bind.Bindings;
 import org.algorithmx.rulii.core.action.ActionBuilder;
 import org.algorithmx.rulii.core.condition.ConditionBuilder;
 import org.algorithmx.rulii.core.context.RuleContext;
 import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
 import org.algorithmx.rulii.core.rule.RuleBuilder;
 import org.algorithmx.rulii.core.ruleset.RuleSet;
 import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
 import org.algorithmx.rulii.validation.RuleViolationBuilder;
 import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.ViolationBudget;
 import org.algorithmx.rulii.validation.beans.MethodValidator;
 import org.junit.Assert;
 import org.junit.Test;
@@ -52,6 +55,19 @@ public class MethodValidationTest {
         Assert.assertTrue(violations.size() == 2);
     }
 
+    @Test
+    public void testFailFast() throws NoSuchMethodException {
+        Method method = TestService.class.getMethod("addCustomer", String.class, String.class, Integer.class);
+        RuleRegistry registry = RuleRegistry.create();
+        registry.register(createLastNameRuleSet());
+        RuleContext context = RuleContextBuilder.with(Bindings.create()).ruleRegistry(registry).build();
+
+        MethodValidator validator = new MethodValidator(ViolationBudget.failFast());
+
+        RuleViolations violations = validator.validateBefore(context, method, "Michael", "Jordan", 50);
+        Assert.assertEquals(1, violations.size());
+    }
+
     private RuleSet createLastNameRuleSet() {
         RuleSet result = RuleSetBuilder.with("lastNameRules")
                 .rule(RuleBuilder
@@ -0,0 +1,260 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.validation.objectgraph;
+
+import org.algorithmx.rulii.annotation.Validate;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.UnrulyException;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.graph.GraphNode;
+import org.algorithmx.rulii.validation.graph.ObjectGraph;
+import org.algorithmx.rulii.validation.graph.ParallelObjectGraph;
+import org.algorithmx.rulii.validation.rules.notnull.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+public class BoundedObjectGraphTest {
+
+    public BoundedObjectGraphTest() {
+        super();
+    }
+
+    @Test
+    public void testCycle() {
+        Node a = new Node(null);
+        Node b = new Node(null);
+        a.next = b;
+        b.next = a;
+
+        BeanValidator validator = new BeanValidator();
+        RuleViolations violations = validator.validate(createContext(), a, new BeanHolder(a, Node.class));
+        // Each object is expanded once; a is visited again (via b) but not introspected
+        Assert.assertEquals(2, violations.size());
+        Assert.assertEquals(0, validator.getSkippedCount());
+
+        violations = new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 1))
+                .validate(createContext(), a, new BeanHolder(a, Node.class));
+        Assert.assertEquals(2, violations.size());
+    }
+
+    @Test
+    public void testSelfReference() {
+        Node a = new Node("a");
+        a.next = a;
+
+        BeanValidator validator = new BeanValidator();
+        RuleViolations violations = validator.validate(createContext(), a, new BeanHolder(a, Node.class));
+        Assert.assertEquals(0, violations.size());
+        Assert.assertEquals(0, validator.getSkippedCount());
+    }
+
+    @Test
+    public void testSharedObject() {
+        Holder holder = new Holder(Stream.of("a", null, "c"));
+        Pair pair = new Pair(holder, holder);
+
+        // The shared holder (and its stream) must only be introspected once
+        RuleViolations violations = new BeanValidator().validate(createContext(), pair, new BeanHolder(pair, Pair.class));
+        Assert.assertEquals(1, violations.size());
+
+        holder = new Holder(Stream.of("a", null, "c"));
+        pair = new Pair(holder, holder);
+        violations = new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 1))
+                .validate(createContext(), pair, new BeanHolder(pair, Pair.class));
+        Assert.assertEquals(1, violations.size());
+    }
+
+    @Test
+    public void testLeavesAreNotQueued() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) values.add(i % 1000 == 0 ? null : "value-" + i);
+        Holder holder = new Holder(values.stream());
+
+        int[] queued = new int[1];
+        ObjectGraph graph = new ObjectGraph() {
+            @Override
+            protected void addCandidate(GraphNode candidate) {
+                queued[0]++;
+                super.addCandidate(candidate);
+            }
+        };
+        RuleViolations violations = new BeanValidator(() -> graph)
+                .validate(createContext(), holder, new BeanHolder(holder, Holder.class));
+        Assert.assertEquals(10, violations.size());
+        // Only the root is queued; the elements are validated as they are extracted
+        Assert.assertEquals(1, queued[0]);
+        Assert.assertEquals(10_001, graph.getVisitedCount());
+    }
+
+    @Test
+    public void testContainersAreNotQueued() {
+        Nodes nodes = new Nodes(100_000);
+        int[] queued = new int[1];
+        ObjectGraph graph = new ObjectGraph() {
+            @Override
+            protected void addCandidate(GraphNode candidate) {
+                queued[0]++;
+                super.addCandidate(candidate);
+            }
+        };
+        RuleViolations violations = new BeanValidator(() -> graph)
+                .validate(createContext(), nodes, new BeanHolder(nodes, Nodes.class));
+        Assert.assertEquals(100, violations.size());
+        // Only the root is queued; the beans are traversed (depth first) as they are extracted
+        Assert.assertEquals(1, queued[0]);
+        Assert.assertEquals(200_001, graph.getVisitedCount());
+
+        RuleViolations parallel = new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 8))
+                .validate(createContext(), nodes, new BeanHolder(nodes, Nodes.class));
+        Assert.assertEquals(100, parallel.size());
+
+        for (int i = 0; i < violations.size(); i++) {
+            Assert.assertEquals(violations.getViolations()[i].getParameters(),
+                    parallel.getViolations()[i].getParameters());
+        }
+    }
+
+    @Test
+    public void testDeepChain() {
+        Node node = createChain(ObjectGraph.MAX_INLINE_DEPTH * 10);
+        RuleViolations violations = new BeanValidator().validate(createContext(), node, new BeanHolder(node, Node.class));
+        Assert.assertEquals(ObjectGraph.MAX_INLINE_DEPTH * 10, violations.size());
+
+        violations = new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 1))
+                .validate(createContext(), node, new BeanHolder(node, Node.class));
+        Assert.assertEquals(ObjectGraph.MAX_INLINE_DEPTH * 10, violations.size());
+    }
+
+    @Test(expected = UnrulyException.class)
+    public void testExtractionError() {
+        Stream<String> values = Stream.of("a", "b");
+        values.forEach(v -> {});
+        Holder holder = new Holder(values);
+
+        // The stream has already been consumed; this must not be swallowed
+        new BeanValidator().validate(createContext(), holder, new BeanHolder(holder, Holder.class));
+    }
+
+    @Test
+    public void testMaxDepth() {
+        Node root = createChain(10);
+
+        BeanValidator validator = new BeanValidator(() -> new ObjectGraph(4, ObjectGraph.UNLIMITED));
+        RuleViolations violations = validator.validate(createContext(), root, new BeanHolder(root, Node.class));
+        // Names of nodes 0-3 are within depth 4
+        Assert.assertEquals(4, violations.size());
+        Assert.assertEquals(2, validator.getSkippedCount());
+
+        violations = new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 1, 4, ObjectGraph.UNLIMITED))
+                .validate(createContext(), root, new BeanHolder(root, Node.class));
+        Assert.assertEquals(4, violations.size());
+    }
+
+    @Test
+    public void testMaxNodes() {
+        Node root = createChain(10);
+
+        ObjectGraph graph = new ObjectGraph(ObjectGraph.UNLIMITED, 5);
+        BeanValidator validator = new BeanValidator(() -> graph);
+        RuleViolations violations = validator.validate(createContext(), root, new BeanHolder(root, Node.class));
+        // root, name0, node1, name1, node2
+        Assert.assertEquals(5, graph.getVisitedCount());
+        Assert.assertEquals(2, violations.size());
+        // name2, node3 were queued
+        Assert.assertEquals(2, validator.getSkippedCount());
+
+        violations = new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 1, ObjectGraph.UNLIMITED, 5))
+                .validate(createContext(), root, new BeanHolder(root, Node.class));
+        Assert.assertEquals(2, violations.size());
+    }
+
+    private static RuleContext createContext() {
+        return RuleContextBuilder.with(Bindings.create()).ruleRegistry(RuleRegistry.create()).build();
+    }
+
+    private static Node createChain(int size) {
+        Node result = new Node(null);
+        Node current = result;
+
+        for (int i = 1; i < size; i++) {
+            current.next = new Node(null);
+            current = current.next;
+        }
+
+        return result;
+    }
+
+    public static class Pair {
+
+        @Validate
+        private Holder left;
+        @Validate
+        private Holder right;
+
+        public Pair(Holder left, Holder right) {
+            super();
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    public static class Holder {
+
+        private Stream<@NotNull String> values;
+
+        public Holder(Stream<String> values) {
+            super();
+            this.values = values;
+        }
+    }
+
+    public static class Nodes {
+
+        private List<@Validate Node> nodes = new ArrayList<>();
+
+        public Nodes(int size) {
+            super();
+            for (int i = 0; i < size; i++) nodes.add(new Node(i % 1000 == 0 ? null : "node-" + i));
+        }
+    }
+
+    public static class Node {
+
+        @NotNull
+        private String name;
+        @Validate
+        private Node next;
+
+        public Node(String name) {
+            super();
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This software is licensed under the Apache 2 license, quoted below.
+ *
+ * Copyright (c) 1999-2021, Algorithmx Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.algorithmx.rulii.test.validation.objectgraph;
+
+import org.algorithmx.rulii.annotation.Validate;
+import org.algorithmx.rulii.bind.Bindings;
+import org.algorithmx.rulii.core.action.ActionBuilder;
+import org.algorithmx.rulii.core.condition.ConditionBuilder;
+import org.algorithmx.rulii.core.context.RuleContext;
+import org.algorithmx.rulii.core.context.RuleContextBuilder;
+import org.algorithmx.rulii.core.registry.RuleRegistry;
+import org.algorithmx.rulii.core.rule.RuleBuilder;
+import org.algorithmx.rulii.core.ruleset.RuleSet;
+import org.algorithmx.rulii.core.ruleset.RuleSetBuilder;
+import org.algorithmx.rulii.validation.RuleViolation;
+import org.algorithmx.rulii.validation.RuleViolationBuilder;
+import org.algorithmx.rulii.validation.RuleViolations;
+import org.algorithmx.rulii.validation.actions.rules.Rules;
+import org.algorithmx.rulii.validation.beans.BeanHolder;
+import org.algorithmx.rulii.validation.beans.BeanValidator;
+import org.algorithmx.rulii.validation.graph.ParallelObjectGraph;
+import org.algorithmx.rulii.validation.rules.min.Min;
+import org.algorithmx.rulii.validation.rules.notnull.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelObjectGraphTest {
+
+    public ParallelObjectGraphTest() {
+        super();
+    }
+
+    @Test
+    public void testSameResultsAsSequential() {
+        Order order = createOrder(1000);
+
+        RuleViolations sequential = new BeanValidator()
+                .validate(createContext(), order, new BeanHolder(order, Order.class));
+        RuleViolations parallel = new BeanValidator(() -> new ParallelObjectGraph(ForkJoinPool.commonPool(), 8))
+                .validate(createContext(), order, new BeanHolder(order, Order.class));
+
+        // 1/3 missing skus, 1/5 zero quantities, 1/7 over the limit (unless already zero)
+        Assert.assertEquals(334 + 200 + 114, sequential.size());
+        Assert.assertEquals(sequential.size(), parallel.size());
+
+        RuleViolation[] expected = sequential.getViolations();
+        RuleViolation[] actual = parallel.getViolations();
+
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i].getRuleName(), actual[i].getRuleName());
+            Assert.assertEquals(expected[i].getErrorCode(), actual[i].getErrorCode());
+            Assert.assertEquals(expected[i].getParameters(), actual[i].getParameters());
+        }
+    }
+
+    @Test
+    public void testSmallGraphSequential() {
+        Order order = createOrder(3);
+        RuleViolations violations = BeanValidator.parallel()
+                .validate(createContext(), order, new BeanHolder(order, Order.class));
+        Assert.assertEquals(2, violations.size());
+    }
+
+    private static RuleContext createContext() {
+        RuleRegistry registry = RuleRegistry.create();
+        registry.register(createLineItemRules());
+        return RuleContextBuilder.with(Bindings.create()).ruleRegistry(registry).build();
+    }
+
+    private static RuleSet createLineItemRules() {
+        return RuleSetBuilder.with("lineItemRules")
+                .rule(RuleBuilder
+                        .name("maxQuantityRule")
+                        .given(ConditionBuilder.build((Integer quantity) -> quantity == null || quantity < 100))
+                        .otherwise(ActionBuilder.build((String sku, Integer quantity, RuleViolations violations) ->
+                                violations.add(RuleViolationBuilder
+                                        .with("MaxQuantityRule")
+                                        .errorCode("error.201")
+                                        .param("sku", sku)
+                                        .param("quantity", quantity)
+                                        .build())))
+                        .build())
+                .build();
+    }
+
+    private static Order createOrder(int size) {
+        Order result = new Order();
+
+        for (int i = 0; i < size; i++) {
+            result.items.add(new LineItem(i % 3 == 0 ? null : "sku-" + i,
+                    i % 5 == 0 ? 0 : (i % 7 == 0 ? 100 + i : i % 50 + 1)));
+        }
+
+        return result;
+    }
+
+    public static class Order {
+
+        @Validate
+        private List<@Validate @Rules(ruleSet = "lineItemRules") LineItem> items = new ArrayList<>();
+    }
+
+    public static class LineItem {
+
+        @NotNull
+        private String sku;
+        @Min(1)
+        private Integer quantity;
+
+        public LineItem(String sku, Integer quantity) {
+            super();
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+    }
+}